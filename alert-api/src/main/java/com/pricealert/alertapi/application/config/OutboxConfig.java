@@ -0,0 +1,55 @@
+package com.pricealert.alertapi.application.config;
+
+import com.pricealert.common.event.AlertChange;
+import com.pricealert.common.json.JacksonConfig;
+import com.pricealert.common.kafka.KafkaTopics;
+import com.pricealert.common.outbox.OutboxProperties;
+import com.pricealert.common.outbox.OutboxRelay;
+import com.pricealert.common.outbox.OutboxWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+    @Bean
+    public OutboxWriter outboxWriter(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            OutboxProperties properties) {
+        return new OutboxWriter(
+                primaryDataSource, JacksonConfig.createObjectMapper(), properties.tablePrefix());
+    }
+
+    /**
+     * Alert changes also go to the symbol-keyed topic that is co-partitioned with market-ticks,
+     * for evaluators in co-partitioned routing mode. A retry after a partial failure re-sends
+     * both; the evaluator applies changes as idempotent upserts.
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public OutboxRelay outboxRelay(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            PlatformTransactionManager transactionManager,
+            KafkaTemplate<String, Object> kafkaTemplate,
+            OutboxProperties properties,
+            MeterRegistry registry) {
+        return new OutboxRelay(
+                primaryDataSource,
+                transactionManager,
+                kafkaTemplate,
+                JacksonConfig.createObjectMapper(),
+                properties,
+                Map.of(
+                        AlertChange.class,
+                        List.of(KafkaTopics.ALERT_CHANGES, KafkaTopics.ALERT_CHANGES_BY_SYMBOL)),
+                registry);
+    }
+}
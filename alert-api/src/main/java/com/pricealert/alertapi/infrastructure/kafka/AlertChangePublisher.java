@@ -2,7 +2,7 @@ package com.pricealert.alertapi.infrastructure.kafka;
 
 import com.pricealert.alertapi.domain.alert.AlertEventPublisher;
 import com.pricealert.common.event.AlertChange;
-import io.namastack.outbox.Outbox;
+import com.pricealert.common.outbox.OutboxWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -12,11 +12,11 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class AlertChangePublisher implements AlertEventPublisher {
 
-    private final Outbox outbox;
+    private final OutboxWriter outboxWriter;
 
     @Override
     public void publish(AlertChange event) {
-        outbox.schedule(event, event.symbol());
+        outboxWriter.schedule(event, event.symbol());
         log.debug(
                 "Scheduled AlertChange {} for alert {} to outbox",
                 event.eventType(),
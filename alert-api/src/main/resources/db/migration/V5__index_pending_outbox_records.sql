@@ -0,0 +1,21 @@
+-- OutboxRelay deletes records once Kafka acks them, and only ever selects NEW ones: the
+-- per-key anti-join and the created_at scan now read partial indexes over pending records
+-- instead of ranging over every COMPLETED row a key has ever had.
+
+DELETE FROM alertapi_outbox_record WHERE status = 'COMPLETED';
+DELETE FROM evaluator_outbox_record WHERE status = 'COMPLETED';
+DELETE FROM ingestor_outbox_record WHERE status = 'COMPLETED';
+
+DROP INDEX IF EXISTS idx_alertapi_outbox_record_key_created;
+DROP INDEX IF EXISTS idx_alertapi_outbox_record_key_comp;
+DROP INDEX IF EXISTS idx_evaluator_outbox_record_key_created;
+DROP INDEX IF EXISTS idx_evaluator_outbox_record_key_comp;
+DROP INDEX IF EXISTS idx_ingestor_outbox_record_key_created;
+DROP INDEX IF EXISTS idx_ingestor_outbox_record_key_comp;
+
+CREATE INDEX IF NOT EXISTS idx_alertapi_outbox_record_new_key ON alertapi_outbox_record (record_key, created_at) WHERE status = 'NEW';
+CREATE INDEX IF NOT EXISTS idx_alertapi_outbox_record_new_created ON alertapi_outbox_record (created_at) WHERE status = 'NEW';
+CREATE INDEX IF NOT EXISTS idx_evaluator_outbox_record_new_key ON evaluator_outbox_record (record_key, created_at) WHERE status = 'NEW';
+CREATE INDEX IF NOT EXISTS idx_evaluator_outbox_record_new_created ON evaluator_outbox_record (created_at) WHERE status = 'NEW';
+CREATE INDEX IF NOT EXISTS idx_ingestor_outbox_record_new_key ON ingestor_outbox_record (record_key, created_at) WHERE status = 'NEW';
+CREATE INDEX IF NOT EXISTS idx_ingestor_outbox_record_new_created ON ingestor_outbox_record (created_at) WHERE status = 'NEW';
@@ -71,9 +71,7 @@ public abstract class BaseIntegrationTest {
         registry.add("spring.data.redis.port", () -> redis.getMappedPort(6379));
         registry.add("jwt.secret", () -> JWT_SECRET);
         registry.add("alert.daily-reset.cron", () -> "-");
-        registry.add("namastack.outbox.poll-interval", () -> "500");
-        registry.add("namastack.outbox.batch-size", () -> "50");
-        registry.add("namastack.outbox.jdbc.table-prefix", () -> "alertapi_");
-        registry.add("namastack.outbox.jdbc.schema-initialization.enabled", () -> "false");
+        registry.add("outbox.poll-interval", () -> "500ms");
+        registry.add("outbox.batch-size", () -> "50");
     }
 }
@@ -0,0 +1,30 @@
+plugins {
+    id("io.spring.dependency-management")
+    id("me.champeau.jmh")
+}
+
+dependencyManagement {
+    imports {
+        mavenBom("org.springframework.boot:spring-boot-dependencies:4.0.3")
+    }
+}
+
+dependencies {
+    jmh(project(":common"))
+    jmh(project(":evaluator"))
+    jmh(project(":tick-ingestor"))
+    // The projects keep these as implementation dependencies; the suites use them directly.
+    jmh("tools.jackson.core:jackson-databind")
+    jmh("org.springframework.kafka:spring-kafka")
+}
+
+// ./gradlew :benchmarks:jmh                      — every suite
+// ./gradlew :benchmarks:jmh -Pjmh.includes=Index — suites whose name matches the regex
+jmh {
+    jmhVersion.set("1.37")
+    includes.set(listOfNotNull(providers.gradleProperty("jmh.includes").orNull))
+    profilers.set(listOf("gc"))
+    jvmArgs.set(listOf("--enable-preview", "-Xms4g", "-Xmx4g", "-XX:+UseZGC"))
+    resultFormat.set("JSON")
+    humanOutputFile.set(layout.buildDirectory.file("results/jmh/human.txt"))
+}
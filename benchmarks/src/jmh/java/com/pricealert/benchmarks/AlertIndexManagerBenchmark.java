@@ -0,0 +1,82 @@
+package com.pricealert.benchmarks;
+
+import com.pricealert.common.id.SymbolDictionary;
+import com.pricealert.evaluator.domain.evaluation.AlertIndexManager;
+import com.pricealert.evaluator.domain.evaluation.SymbolAlertIndex;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link AlertIndexManager#getOrCreate} from the 16 tick consumer threads over a symbol universe
+ * where a few hot symbols take most lookups. All symbols are registered up front, as after
+ * warm-up, so this measures the lookup path that every tick and alert change goes through:
+ * {@code getOrCreate} by symbol string, as alert changes and object-decoded ticks look it up, and
+ * {@code getBySymbolId} by dictionary id, as flyweight ticks do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+public class AlertIndexManagerBenchmark {
+
+    private static final int LOOKUPS = 1 << 16;
+
+    @Param({"500", "5000"})
+    private int symbols;
+
+    private AlertIndexManager indexManager;
+    private String[] lookups;
+    private int[] lookupIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var model = new MarketModel(42);
+        indexManager = new AlertIndexManager();
+        for (var i = 0; i < symbols; i++) {
+            indexManager.getOrCreate(MarketModel.symbol(i));
+        }
+        lookups = new String[LOOKUPS];
+        lookupIds = new int[LOOKUPS];
+        for (var i = 0; i < LOOKUPS; i++) {
+            lookups[i] = MarketModel.symbol(model.skewed(symbols));
+            lookupIds[i] = SymbolDictionary.shared().idOf(lookups[i]);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            // Each thread starts somewhere else in the shared lookup sequence.
+            next = System.identityHashCode(this);
+        }
+    }
+
+    @Benchmark
+    public SymbolAlertIndex getOrCreate(Cursor cursor) {
+        return indexManager.getOrCreate(lookups[cursor.next++ & (LOOKUPS - 1)]);
+    }
+
+    @Benchmark
+    public SymbolAlertIndex getBySymbolId(Cursor cursor) {
+        return indexManager.get(lookupIds[cursor.next++ & (LOOKUPS - 1)]);
+    }
+}
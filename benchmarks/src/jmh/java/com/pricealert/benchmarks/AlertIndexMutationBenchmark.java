@@ -0,0 +1,75 @@
+package com.pricealert.benchmarks;
+
+import com.pricealert.evaluator.domain.evaluation.AlertEntry;
+import com.pricealert.evaluator.domain.evaluation.AlertIndexType;
+import com.pricealert.evaluator.domain.evaluation.SymbolAlertIndex;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Alert changes applied to a hot symbol's index. Both benchmarks leave the index at {@code
+ * alerts} entries: {@code addAlert} re-prices an indexed alert (the update path, which replaces
+ * the entry under the same alertId), {@code removeAndAddAlert} deletes one and creates it again.
+ * Entries are generated up front so only the index itself is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AlertIndexMutationBenchmark {
+
+    private static final String SYMBOL = MarketModel.symbol(0);
+
+    @Param({"TREE_MAP", "FIXED_POINT", "OFF_HEAP"})
+    private AlertIndexType indexType;
+
+    @Param({"1000", "100000", "500000"})
+    private int alerts;
+
+    private SymbolAlertIndex index;
+    private AlertEntry[] indexed;
+    private AlertEntry[] repriced;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var model = new MarketModel(42);
+        var spot = MarketModel.spot(0);
+        index = indexType.newIndex();
+        indexed = new AlertEntry[alerts];
+        repriced = new AlertEntry[alerts];
+        for (var i = 0; i < alerts; i++) {
+            indexed[i] = model.alert(SYMBOL, spot);
+            repriced[i] = model.rearm(indexed[i], spot);
+            index.addAlert(indexed[i]);
+        }
+    }
+
+    @Benchmark
+    public void addAlert() {
+        var i = cursor % alerts;
+        var alert = (cursor / alerts & 1) == 0 ? repriced[i] : indexed[i];
+        cursor++;
+        index.addAlert(alert);
+    }
+
+    @Benchmark
+    public void removeAndAddAlert() {
+        var alert = indexed[cursor++ % alerts];
+        index.removeAlert(alert.alertId());
+        index.addAlert(alert);
+    }
+}
@@ -0,0 +1,138 @@
+package com.pricealert.benchmarks;
+
+import com.pricealert.common.event.AlertLevelTrigger;
+import com.pricealert.common.event.MarketTick;
+import com.pricealert.evaluator.domain.evaluation.AlertEntry;
+import com.pricealert.evaluator.domain.evaluation.AlertIndexManager;
+import com.pricealert.evaluator.domain.evaluation.AlertIndexType;
+import com.pricealert.evaluator.domain.evaluation.EvaluationEngine;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The engine over a 50-symbol universe like the simulator's: symbol 0 is hot, holding {@code
+ * hotAlerts} alerts and taking the largest share of ticks; the rest hold {@link #COLD_ALERTS}
+ * each. Every symbol walks randomly around its own spot. {@code evaluate} is the per-tick call,
+ * {@code evaluateBatch} the per-poll call the tick consumer makes. As in {@link
+ * SymbolAlertIndexBenchmark}, fired alerts are re-armed around the price that fired them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EvaluationEngineBenchmark {
+
+    private static final int SYMBOLS = 50;
+    private static final int COLD_ALERTS = 2_000;
+    private static final int TICKS = 1 << 16;
+
+    /** Kafka's default {@code max.poll.records}. */
+    private static final int BATCH = 500;
+
+    @Param({"TREE_MAP", "FIXED_POINT", "OFF_HEAP"})
+    private AlertIndexType indexType;
+
+    @Param({"100000", "500000"})
+    private int hotAlerts;
+
+    private MarketModel model;
+    private AlertIndexManager indexManager;
+    private EvaluationEngine engine;
+    private MarketTick[] ticks;
+    private List<List<MarketTick>> batches;
+    private int tick;
+    private int batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        model = new MarketModel(42);
+        indexManager = new AlertIndexManager(indexType);
+        engine = new EvaluationEngine(indexManager);
+
+        var order = new int[TICKS];
+        var counts = new int[SYMBOLS];
+        for (var i = 0; i < TICKS; i++) {
+            order[i] = model.skewed(SYMBOLS);
+            counts[order[i]]++;
+        }
+
+        // Each symbol's walk spans exactly the ticks it receives, so it closes on every cycle.
+        var walks = new BigDecimal[SYMBOLS][];
+        for (var s = 0; s < SYMBOLS; s++) {
+            var symbol = MarketModel.symbol(s);
+            var spot = MarketModel.spot(s);
+            var alerts = s == 0 ? hotAlerts : COLD_ALERTS;
+            for (var i = 0; i < alerts; i++) {
+                indexManager.addAlert(model.alert(symbol, spot));
+            }
+            indexManager.get(symbol).setLastPrice(spot);
+            walks[s] = model.walk(spot, counts[s]);
+        }
+
+        var positions = new int[SYMBOLS];
+        var start = Instant.now();
+        ticks = new MarketTick[TICKS];
+        for (var i = 0; i < TICKS; i++) {
+            var s = order[i];
+            ticks[i] =
+                    MarketTick.builder()
+                            .symbol(MarketModel.symbol(s))
+                            .price(walks[s][positions[s]++])
+                            .timestamp(start.plusMillis(i))
+                            .sequence(i)
+                            .build();
+        }
+        var tickList = List.of(ticks);
+        batches = new ArrayList<>();
+        for (var from = 0; from < TICKS; from += BATCH) {
+            batches.add(tickList.subList(from, Math.min(from + BATCH, TICKS)));
+        }
+    }
+
+    @Benchmark
+    public void evaluate(Blackhole blackhole) {
+        var next = ticks[tick++ & (TICKS - 1)];
+        var triggers = engine.evaluate(next.symbol(), next.price(), next.timestamp());
+        rearm(triggers);
+        blackhole.consume(triggers);
+    }
+
+    @Benchmark
+    public void evaluateBatch(Blackhole blackhole) {
+        var triggers = engine.evaluateBatch(batches.get(batch++ % batches.size()));
+        rearm(triggers);
+        blackhole.consume(triggers);
+    }
+
+    private void rearm(List<AlertLevelTrigger> triggers) {
+        for (var trigger : triggers) {
+            for (var fired : trigger.alerts()) {
+                var alert =
+                        AlertEntry.builder()
+                                .alertId(fired.alertId())
+                                .userId(fired.userId())
+                                .symbol(trigger.symbol())
+                                .build();
+                indexManager.addAlert(model.rearm(alert, trigger.triggerPrice()));
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.pricealert.benchmarks;
+
+import com.pricealert.common.event.Direction;
+import com.pricealert.common.id.UlidGenerator;
+import com.pricealert.evaluator.domain.evaluation.AlertEntry;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded generator of the alert and tick distributions the benchmarks run under. Thresholds are
+ * normally distributed around spot, as users set alerts a few percent from the current price:
+ * ABOVE alerts above it, BELOW alerts below it, CROSS alerts on either side. Ticks follow a
+ * geometric random walk rounded to the cent.
+ *
+ * <p>Alert and user ids are ULIDs, as in production. The off-heap index stores ULIDs as 128-bit
+ * columns and keeps any other id in heap side maps, so other ids would measure that fallback.
+ */
+final class MarketModel {
+
+    /** Standard deviation of an alert threshold's distance from spot, as a fraction of spot. */
+    static final double THRESHOLD_SPREAD = 0.02;
+
+    /** Standard deviation of one tick's move, as a fraction of the price (1 bp). */
+    static final double TICK_VOLATILITY = 0.0001;
+
+    private static final double CROSS_SHARE = 0.2;
+
+    private static final int USERS = 100_000;
+
+    private final SplittableRandom random;
+    private final String[] userIds = new String[USERS];
+
+    MarketModel(long seed) {
+        this.random = new SplittableRandom(seed);
+        for (var i = 0; i < USERS; i++) {
+            userIds[i] = UlidGenerator.generate();
+        }
+    }
+
+    /** A new alert with its own ULID, owned by one of {@value #USERS} users. */
+    AlertEntry alert(String symbol, BigDecimal spot) {
+        var alert =
+                AlertEntry.builder()
+                        .alertId(UlidGenerator.generate())
+                        .userId(userIds[random.nextInt(USERS)])
+                        .symbol(symbol)
+                        .build();
+        return rearm(alert, spot);
+    }
+
+    /** The same alert with a fresh threshold and direction drawn around {@code spot}. */
+    AlertEntry rearm(AlertEntry alert, BigDecimal spot) {
+        var distance = random.nextGaussian() * THRESHOLD_SPREAD;
+        Direction direction;
+        if (random.nextDouble() < CROSS_SHARE) {
+            direction = Direction.CROSS;
+        } else {
+            direction = distance >= 0 ? Direction.ABOVE : Direction.BELOW;
+        }
+        return alert.toBuilder()
+                .thresholdPrice(cents(spot.doubleValue() * (1 + distance)))
+                .direction(direction)
+                .build();
+    }
+
+    /**
+     * A random walk from {@code spot} that returns to it: the first half walks out and the
+     * second half retraces it, so cycling through the ticks never jumps from the last price back
+     * to the first and fires everything in between.
+     */
+    BigDecimal[] walk(BigDecimal spot, int ticks) {
+        var path = new BigDecimal[ticks];
+        var half = (ticks + 1) / 2;
+        var price = spot.doubleValue();
+        for (var i = 0; i < half; i++) {
+            price *= 1 + random.nextGaussian() * TICK_VOLATILITY;
+            path[i] = cents(price);
+        }
+        for (var i = half; i < ticks; i++) {
+            path[i] = path[ticks - 1 - i];
+        }
+        return path;
+    }
+
+    /** Index into {@code n} items skewed towards the front, roughly Zipf with exponent 1. */
+    int skewed(int n) {
+        return (int) Math.min(n - 1, Math.floor(Math.exp(random.nextDouble() * Math.log(n)) - 1));
+    }
+
+    static BigDecimal spot(int symbolIndex) {
+        return BigDecimal.valueOf(20 + (symbolIndex * 37L) % 480).setScale(2);
+    }
+
+    static String symbol(int symbolIndex) {
+        return "SYM" + symbolIndex;
+    }
+
+    private static BigDecimal cents(double price) {
+        return BigDecimal.valueOf(price).setScale(2, RoundingMode.HALF_EVEN);
+    }
+}
@@ -0,0 +1,70 @@
+package com.pricealert.benchmarks;
+
+import com.pricealert.evaluator.domain.evaluation.AlertIndexType;
+import com.pricealert.evaluator.domain.evaluation.SymbolAlertIndex;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * One hot symbol's index under a random walk of ticks. Evaluation removes the alerts it fires,
+ * so each fired alert is re-armed around the new price within the same operation; that keeps
+ * the index at {@code alerts} and its thresholds clustered around spot for the whole run, as
+ * new alerts do in production. The re-arm cost is part of the measurement.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SymbolAlertIndexBenchmark {
+
+    private static final String SYMBOL = MarketModel.symbol(0);
+    private static final int TICKS = 1 << 16;
+
+    @Param({"TREE_MAP", "FIXED_POINT", "OFF_HEAP"})
+    private AlertIndexType indexType;
+
+    @Param({"1000", "100000", "500000"})
+    private int alerts;
+
+    private MarketModel model;
+    private SymbolAlertIndex index;
+    private BigDecimal[] ticks;
+    private int tick;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        model = new MarketModel(42);
+        var spot = MarketModel.spot(0);
+        index = indexType.newIndex();
+        for (var i = 0; i < alerts; i++) {
+            index.addAlert(model.alert(SYMBOL, spot));
+        }
+        index.setLastPrice(spot);
+        ticks = model.walk(spot, TICKS);
+    }
+
+    @Benchmark
+    public void evaluate(Blackhole blackhole) {
+        var price = ticks[tick++ & (TICKS - 1)];
+        var fired = index.evaluate(price);
+        for (var alert : fired) {
+            index.addAlert(model.rearm(alert, price));
+        }
+        blackhole.consume(fired);
+    }
+}
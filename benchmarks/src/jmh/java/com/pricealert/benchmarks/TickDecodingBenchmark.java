@@ -0,0 +1,172 @@
+package com.pricealert.benchmarks;
+
+import com.pricealert.common.event.AlertLevelTrigger;
+import com.pricealert.common.event.MarketTick;
+import com.pricealert.common.wire.MarketTickView;
+import com.pricealert.common.wire.WireDeserializer;
+import com.pricealert.common.wire.WireSerializer;
+import com.pricealert.evaluator.domain.evaluation.AlertEntry;
+import com.pricealert.evaluator.domain.evaluation.AlertIndexManager;
+import com.pricealert.evaluator.domain.evaluation.AlertIndexType;
+import com.pricealert.evaluator.domain.evaluation.EvaluationEngine;
+import com.pricealert.evaluator.domain.evaluation.EvaluationUndoLog;
+import com.pricealert.evaluator.domain.evaluation.TickBuffer;
+import com.pricealert.evaluator.infrastructure.kafka.FlyweightTickDeserializer;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.kafka.support.serializer.JacksonJsonDeserializer;
+
+/**
+ * One poll of binary market-ticks records, from record value to evaluated index, the two ways
+ * the evaluator can decode them: {@code objects} deserializes every record into a {@link
+ * MarketTick} and evaluates the list, {@code flyweight} keeps the raw values and reads them
+ * through a {@link MarketTickView} into a reused {@link TickBuffer}. Market and alerts follow
+ * {@link EvaluationEngineBenchmark}; fired alerts are re-armed.
+ *
+ * <p>Read {@code gc.alloc.rate.norm} from the gc profiler: it is bytes per 500-tick poll. With a
+ * fixed-point or off-heap index, what {@code flyweight} allocates is the ticks that fired: their
+ * triggers and the re-armed alerts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TickDecodingBenchmark {
+
+    private static final int SYMBOLS = 50;
+    private static final int ALERTS_PER_SYMBOL = 2_000;
+    private static final int TICKS = 1 << 16;
+    private static final String TOPIC = "market-ticks";
+
+    /** Kafka's default {@code max.poll.records}. */
+    private static final int BATCH = 500;
+
+    @Param({"TREE_MAP", "FIXED_POINT", "OFF_HEAP"})
+    private AlertIndexType indexType;
+
+    private final WireDeserializer<MarketTick> objectDeserializer = objectDeserializer();
+    private final FlyweightTickDeserializer flyweightDeserializer =
+            new FlyweightTickDeserializer(objectDeserializer);
+    private final TickBuffer buffer = new TickBuffer(BATCH);
+    private final MarketTickView view = new MarketTickView();
+    private final EvaluationUndoLog undoLog = new EvaluationUndoLog();
+
+    private MarketModel model;
+    private AlertIndexManager indexManager;
+    private EvaluationEngine engine;
+    private Headers headers;
+    private byte[][] records;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        model = new MarketModel(42);
+        indexManager = new AlertIndexManager(indexType);
+        engine = new EvaluationEngine(indexManager);
+
+        var order = new int[TICKS];
+        var counts = new int[SYMBOLS];
+        for (var i = 0; i < TICKS; i++) {
+            order[i] = model.skewed(SYMBOLS);
+            counts[order[i]]++;
+        }
+        var walks = new BigDecimal[SYMBOLS][];
+        for (var s = 0; s < SYMBOLS; s++) {
+            var symbol = MarketModel.symbol(s);
+            var spot = MarketModel.spot(s);
+            for (var i = 0; i < ALERTS_PER_SYMBOL; i++) {
+                indexManager.addAlert(model.alert(symbol, spot));
+            }
+            indexManager.get(symbol).setLastPrice(spot);
+            walks[s] = model.walk(spot, counts[s]);
+        }
+
+        var serializer = new WireSerializer();
+        serializer.configure(Map.of(WireSerializer.FORMAT_CONFIG, "binary"), false);
+        headers = new RecordHeaders();
+        var positions = new int[SYMBOLS];
+        var start = Instant.now();
+        records = new byte[TICKS][];
+        for (var i = 0; i < TICKS; i++) {
+            var s = order[i];
+            var price = walks[s][positions[s]++];
+            var tick =
+                    new MarketTick(
+                            MarketModel.symbol(s),
+                            price,
+                            price,
+                            price,
+                            100,
+                            start.plusMillis(i),
+                            i);
+            records[i] = serializer.serialize(TOPIC, headers, tick);
+        }
+    }
+
+    @Benchmark
+    public void objects(Blackhole blackhole) {
+        var ticks = new ArrayList<MarketTick>(BATCH);
+        for (var i = 0; i < BATCH; i++) {
+            ticks.add(objectDeserializer.deserialize(TOPIC, headers, nextRecord()));
+        }
+        evaluated(engine.evaluateBatch(ticks, undoLog), blackhole);
+    }
+
+    @Benchmark
+    public void flyweight(Blackhole blackhole) {
+        buffer.clear();
+        for (var i = 0; i < BATCH; i++) {
+            var value = (byte[]) flyweightDeserializer.deserialize(TOPIC, headers, nextRecord());
+            view.wrap(value);
+            buffer.add(view.symbolId(), view.price(), view.timestampNanos());
+        }
+        evaluated(engine.evaluateBatch(buffer, undoLog), blackhole);
+    }
+
+    private byte[] nextRecord() {
+        return records[next++ & (TICKS - 1)];
+    }
+
+    private void evaluated(List<AlertLevelTrigger> triggers, Blackhole blackhole) {
+        undoLog.commit();
+        for (var trigger : triggers) {
+            for (var fired : trigger.alerts()) {
+                var alert =
+                        AlertEntry.builder()
+                                .alertId(fired.alertId())
+                                .userId(fired.userId())
+                                .symbol(trigger.symbol())
+                                .build();
+                indexManager.addAlert(model.rearm(alert, trigger.triggerPrice()));
+            }
+        }
+        blackhole.consume(triggers);
+    }
+
+    private static WireDeserializer<MarketTick> objectDeserializer() {
+        var json = new JacksonJsonDeserializer<>(MarketTick.class);
+        json.addTrustedPackages("com.pricealert.common.*");
+        return new WireDeserializer<>(MarketTick.class, json);
+    }
+}
@@ -0,0 +1,112 @@
+package com.pricealert.benchmarks;
+
+import com.pricealert.common.event.MarketTick;
+import com.pricealert.ingestor.infrastructure.websocket.TickMessageParser;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * The ingestor's per-message parse. {@code twoPass} is the previous path: {@code readTree} to
+ * check {@code type}, then {@code readValue} into {@link MarketTick}. {@code streaming} is
+ * {@link TickMessageParser}. Messages are shaped like the simulator's, with fields in a random
+ * order per message, since the simulator does not fix it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TickParsingBenchmark {
+
+    private static final int MESSAGES = 1 << 12;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private final TickMessageParser parser = new TickMessageParser();
+    private String[] ticks;
+    private String[] heartbeats;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var random = new Random(42);
+        var start = Instant.parse("2026-02-25T14:30:00Z");
+        ticks = new String[MESSAGES];
+        heartbeats = new String[MESSAGES];
+        for (var i = 0; i < MESSAGES; i++) {
+            var price =
+                    BigDecimal.valueOf(50 + random.nextDouble() * 450)
+                            .setScale(2, RoundingMode.HALF_UP);
+            var fields = new LinkedHashMap<String, Object>();
+            fields.put("type", "TICK");
+            fields.put("symbol", MarketModel.symbol(random.nextInt(50)));
+            fields.put("price", price);
+            fields.put("bid", price.subtract(new BigDecimal("0.02")));
+            fields.put("ask", price.add(new BigDecimal("0.02")));
+            fields.put("volume", random.nextInt(1000, 10000));
+            fields.put("timestamp", start.plusMillis(i).toString());
+            fields.put("sequence", i);
+            ticks[i] = objectMapper.writeValueAsString(shuffled(fields, random));
+
+            var heartbeat = new LinkedHashMap<String, Object>();
+            heartbeat.put("type", "HEARTBEAT");
+            heartbeat.put("timestamp", start.plusSeconds(i).toString());
+            heartbeats[i] = objectMapper.writeValueAsString(shuffled(heartbeat, random));
+        }
+    }
+
+    private static LinkedHashMap<String, Object> shuffled(
+            LinkedHashMap<String, Object> fields, Random random) {
+        var keys = new ArrayList<>(fields.keySet());
+        Collections.shuffle(keys, random);
+        var result = new LinkedHashMap<String, Object>();
+        for (var key : keys) {
+            result.put(key, fields.get(key));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public MarketTick twoPassTick() {
+        return twoPass(ticks[next++ & (MESSAGES - 1)]);
+    }
+
+    @Benchmark
+    public MarketTick streamingTick() {
+        return parser.parse(ticks[next++ & (MESSAGES - 1)]);
+    }
+
+    @Benchmark
+    public MarketTick twoPassHeartbeat() {
+        return twoPass(heartbeats[next++ & (MESSAGES - 1)]);
+    }
+
+    @Benchmark
+    public MarketTick streamingHeartbeat() {
+        return parser.parse(heartbeats[next++ & (MESSAGES - 1)]);
+    }
+
+    private MarketTick twoPass(String message) {
+        var type = objectMapper.readTree(message).path("type").asString("");
+        return "TICK".equals(type) ? objectMapper.readValue(message, MarketTick.class) : null;
+    }
+}
@@ -10,8 +10,15 @@ dependencyManagement {
 
 dependencies {
     implementation("tools.jackson.core:jackson-databind")
+    implementation("org.springframework.boot:spring-boot")
+    implementation("org.springframework:spring-jdbc")
+    implementation("org.springframework.kafka:spring-kafka")
 
     testImplementation("org.junit.jupiter:junit-jupiter")
     testImplementation("org.assertj:assertj-core")
+    testImplementation("org.mockito:mockito-junit-jupiter")
+    testImplementation("org.testcontainers:junit-jupiter")
+    testImplementation("org.testcontainers:postgresql")
+    testRuntimeOnly("org.postgresql:postgresql")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
@@ -0,0 +1,98 @@
+package com.pricealert.common.concurrent;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free multi-producer / single-consumer queue over a power-of-two ring.
+ * Each slot carries a sequence number (Vyukov's bounded queue): a producer claims a position
+ * with one CAS on the tail, writes the element, then publishes it by advancing the slot's
+ * sequence; the consumer owns the head outright and never contends with producers.
+ *
+ * <p>{@link #offer}, {@link #size} and {@link #capacity} are safe from any thread;
+ * {@link #poll} and {@link #drain} must only be called by the single consumer thread.
+ */
+public final class MpscRingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    public MpscRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("Capacity must be at least 2");
+        }
+        var capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (var i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /** Enqueues {@code element}, or returns false without blocking if the ring is full. */
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new NullPointerException("element");
+        }
+        while (true) {
+            var position = tail.get();
+            var slot = (int) position & mask;
+            var available = sequences.get(slot) - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(slot, element);
+                    sequences.lazySet(slot, position + 1);
+                    return true;
+                }
+            } else if (available < 0) {
+                return false;
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /** Dequeues the oldest element, or returns null if none is published yet. Consumer only. */
+    public E poll() {
+        var position = head.get();
+        var slot = (int) position & mask;
+        if (sequences.get(slot) != position + 1) {
+            return null;
+        }
+        var element = elements.get(slot);
+        elements.lazySet(slot, null);
+        sequences.lazySet(slot, position + mask + 1);
+        head.lazySet(position + 1);
+        return element;
+    }
+
+    /** Hands up to {@code limit} elements to {@code handler} in FIFO order. Consumer only. */
+    public int drain(Consumer<? super E> handler, int limit) {
+        var drained = 0;
+        E element;
+        while (drained < limit && (element = poll()) != null) {
+            handler.accept(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    /** Approximate number of claimed positions not yet consumed. */
+    public int size() {
+        return (int) Math.max(0, Math.min(tail.get() - head.get(), mask + 1L));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
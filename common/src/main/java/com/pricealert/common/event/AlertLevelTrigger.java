@@ -0,0 +1,53 @@
+package com.pricealert.common.event;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.Builder;
+
+/**
+ * Every alert one tick fired at one threshold price. The tick context is carried once and each
+ * alert is packed as a JSON array {@code [alert_id, user_id, direction, note]}, so a gap through a
+ * popular round number becomes one record instead of one {@link AlertTrigger} per alert.
+ */
+@Builder(toBuilder = true)
+public record AlertLevelTrigger(
+        @JsonProperty("trigger_id") String triggerId,
+        String symbol,
+        @JsonProperty("threshold_price") BigDecimal thresholdPrice,
+        @JsonProperty("trigger_price") BigDecimal triggerPrice,
+        @JsonProperty("tick_timestamp") Instant tickTimestamp,
+        @JsonProperty("triggered_at") Instant triggeredAt,
+        @JsonProperty("trading_date") LocalDate tradingDate,
+        List<Entry> alerts) {
+
+    /** Keeps a level record far below Kafka's 1 MB default; larger levels are split. */
+    public static final int MAX_ALERTS = 1_000;
+
+    @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+    public record Entry(String alertId, String userId, Direction direction, String note) {}
+
+    /** One {@link AlertTrigger} per alert, all sharing this level's trigger ID. */
+    public List<AlertTrigger> expand() {
+        return alerts.stream()
+                .map(
+                        alert ->
+                                AlertTrigger.builder()
+                                        .triggerId(triggerId)
+                                        .alertId(alert.alertId())
+                                        .userId(alert.userId())
+                                        .symbol(symbol)
+                                        .thresholdPrice(thresholdPrice)
+                                        .triggerPrice(triggerPrice)
+                                        .direction(alert.direction())
+                                        .note(alert.note())
+                                        .tickTimestamp(tickTimestamp)
+                                        .triggeredAt(triggeredAt)
+                                        .tradingDate(tradingDate)
+                                        .build())
+                .toList();
+    }
+}
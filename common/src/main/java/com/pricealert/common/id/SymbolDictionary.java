@@ -0,0 +1,196 @@
+package com.pricealert.common.id;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dense int ids for symbols, assigned on first sight and never reused, so per-symbol state can
+ * live in arrays indexed by id instead of maps keyed by string. Each symbol is held once; {@link
+ * #symbol} returns that one instance for every id.
+ *
+ * <p>Symbols can be looked up as strings or as UTF-8 bytes straight out of a record value. Both
+ * lookups read published state without locking; only a symbol not seen before takes the lock.
+ * Ids are process-wide: every component that indexes by id uses {@link #shared()}.
+ *
+ * <p>Ids are never freed, so only symbols alerts watch are registered without limit, through
+ * {@link #idOf(String)}. Symbols that merely turn up in ticks go through {@code idOfTicked}, which
+ * stops assigning ids once the dictionary holds {@code maxTickedSymbols}. Up to that many symbols
+ * turned away are remembered too, so a feed that keeps sending them costs a lock-free lookup per
+ * tick instead of memory; a symbol registered later through {@link #idOf(String)} replaces its
+ * remembered miss.
+ */
+public final class SymbolDictionary {
+
+    public static final int NONE = -1;
+
+    private static final int MAX_TICKED_SYMBOLS = 1 << 16;
+    private static final SymbolDictionary SHARED = new SymbolDictionary();
+
+    /** Assigned ids, and {@link #NONE} for symbols turned away. */
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+
+    private volatile String[] symbols = new String[256];
+    private volatile Utf8Entry[] utf8 = new Utf8Entry[256];
+    private final int maxTickedSymbols;
+    private volatile int size;
+    private int utf8Size;
+    private int misses;
+    private int utf8Misses;
+
+    SymbolDictionary() {
+        this(MAX_TICKED_SYMBOLS);
+    }
+
+    SymbolDictionary(int maxTickedSymbols) {
+        this.maxTickedSymbols = maxTickedSymbols;
+    }
+
+    public static SymbolDictionary shared() {
+        return SHARED;
+    }
+
+    /** The symbol's id, assigning the next one if the symbol is new. */
+    public int idOf(String symbol) {
+        var id = ids.get(symbol);
+        return id != null && id != NONE ? id : register(symbol, Integer.MAX_VALUE);
+    }
+
+    /**
+     * The id of a symbol seen in a tick, assigning the next one only while the dictionary holds
+     * fewer than {@code maxTickedSymbols}; {@link #NONE} past that for a symbol not seen before.
+     */
+    public int idOfTicked(String symbol) {
+        var id = ids.get(symbol);
+        return id != null ? id : register(symbol, maxTickedSymbols);
+    }
+
+    /** The symbol's id, or {@link #NONE} if it has never been seen. */
+    public int find(String symbol) {
+        var id = ids.get(symbol);
+        return id != null ? id : NONE;
+    }
+
+    /**
+     * {@link #idOfTicked(String)} for the symbol whose UTF-8 encoding is {@code source[offset,
+     * offset + length)}.
+     */
+    public int idOfTicked(byte[] source, int offset, int length) {
+        var table = utf8;
+        var entry = table[slot(table, source, offset, length)];
+        return entry != null ? entry.id() : registerUtf8(source, offset, length);
+    }
+
+    public String symbol(int id) {
+        return symbols[id];
+    }
+
+    /** One more than the highest id assigned so far. */
+    public int size() {
+        return size;
+    }
+
+    private synchronized int register(String symbol, int limit) {
+        var existing = ids.get(symbol);
+        if (existing != null && existing != NONE) {
+            return existing;
+        }
+        if (size >= limit) {
+            if (existing == null && misses < maxTickedSymbols) {
+                misses++;
+                ids.put(symbol, NONE);
+            }
+            return NONE;
+        }
+        var id = size;
+        var current = symbols;
+        if (id == current.length) {
+            current = Arrays.copyOf(current, id * 2);
+        }
+        current[id] = symbol;
+        symbols = current;
+        ids.put(symbol, id);
+        if (existing != null) {
+            misses--;
+        }
+        size = id + 1;
+        if (utf8Misses > 0) {
+            replaceUtf8Miss(symbol.getBytes(StandardCharsets.UTF_8), id);
+        }
+        return id;
+    }
+
+    private synchronized int registerUtf8(byte[] source, int offset, int length) {
+        var entry = utf8[slot(utf8, source, offset, length)];
+        if (entry != null) {
+            return entry.id();
+        }
+        var key = Arrays.copyOfRange(source, offset, offset + length);
+        var id = idOfTicked(new String(key, StandardCharsets.UTF_8));
+        if (id == NONE) {
+            if (utf8Misses >= maxTickedSymbols) {
+                return NONE;
+            }
+            utf8Misses++;
+        }
+        insertUtf8(new Utf8Entry(key, id));
+        return id;
+    }
+
+    /**
+     * Adds an entry in place, copying the table only when it grows; storing the table again
+     * publishes the entry to readers.
+     */
+    private void insertUtf8(Utf8Entry entry) {
+        var table = utf8;
+        if ((utf8Size + 1) * 2 > table.length) {
+            var grown = new Utf8Entry[table.length * 2];
+            for (var existing : table) {
+                if (existing != null) {
+                    grown[slot(grown, existing.key(), 0, existing.key().length)] = existing;
+                }
+            }
+            table = grown;
+        }
+        table[slot(table, entry.key(), 0, entry.key().length)] = entry;
+        utf8 = table;
+        utf8Size++;
+    }
+
+    private void replaceUtf8Miss(byte[] key, int id) {
+        var table = utf8;
+        var slot = slot(table, key, 0, key.length);
+        if (table[slot] != null) {
+            table[slot] = new Utf8Entry(key, id);
+            utf8 = table;
+            utf8Misses--;
+        }
+    }
+
+    /** The slot holding the symbol's entry, or the empty slot where it would go. */
+    private static int slot(Utf8Entry[] table, byte[] source, int offset, int length) {
+        var mask = table.length - 1;
+        for (var slot = hash(source, offset, length) & mask; ; slot = (slot + 1) & mask) {
+            var entry = table[slot];
+            if (entry == null
+                    || Arrays.equals(
+                            entry.key(), 0, entry.key().length, source, offset, offset + length)) {
+                return slot;
+            }
+        }
+    }
+
+    private static int hash(byte[] source, int offset, int length) {
+        var hash = 1;
+        for (var i = offset; i < offset + length; i++) {
+            hash = 31 * hash + source[i];
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * A symbol's UTF-8 bytes and its id, or {@link #NONE} if it was turned away. Immutable, so a
+     * reader that sees the entry in the table also sees its key and id.
+     */
+    private record Utf8Entry(byte[] key, int id) {}
+}
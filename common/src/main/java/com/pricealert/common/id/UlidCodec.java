@@ -0,0 +1,70 @@
+package com.pricealert.common.id;
+
+import java.util.Arrays;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Converts canonical ULID strings to and from their 128-bit value, held as two longs.
+ * Canonical means 26 upper-case Crockford Base32 characters with a first character of at most
+ * '7' — exactly what {@link UlidGenerator} produces — so {@code toString(high, low)} restores
+ * the original string.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class UlidCodec {
+
+    public static final int LENGTH = 26;
+
+    private static final char[] ENCODING = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final byte[] DECODING = new byte[128];
+
+    static {
+        Arrays.fill(DECODING, (byte) -1);
+        for (var i = 0; i < ENCODING.length; i++) {
+            DECODING[ENCODING[i]] = (byte) i;
+        }
+    }
+
+    public static boolean isCanonical(String value) {
+        if (value == null || value.length() != LENGTH || value.charAt(0) > '7') {
+            return false;
+        }
+        for (var i = 0; i < LENGTH; i++) {
+            var c = value.charAt(i);
+            if (c >= 128 || DECODING[c] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Upper 64 bits of a canonical ULID. */
+    public static long high(String ulid) {
+        var high = 0L;
+        var low = 0L;
+        for (var i = 0; i < LENGTH; i++) {
+            high = (high << 5) | (low >>> 59);
+            low = (low << 5) | DECODING[ulid.charAt(i)];
+        }
+        return high;
+    }
+
+    /** Lower 64 bits of a canonical ULID. */
+    public static long low(String ulid) {
+        var low = 0L;
+        for (var i = 0; i < LENGTH; i++) {
+            low = (low << 5) | DECODING[ulid.charAt(i)];
+        }
+        return low;
+    }
+
+    public static String toString(long high, long low) {
+        var chars = new char[LENGTH];
+        for (var i = LENGTH - 1; i >= 0; i--) {
+            chars[i] = ENCODING[(int) (low & 0x1F)];
+            low = (low >>> 5) | (high << 59);
+            high >>>= 5;
+        }
+        return new String(chars);
+    }
+}
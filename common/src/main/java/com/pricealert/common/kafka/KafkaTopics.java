@@ -8,5 +8,11 @@ public final class KafkaTopics {
 
     public static final String MARKET_TICKS = "market-ticks";
     public static final String ALERT_CHANGES = "alert-changes";
+
+    /**
+     * Alert changes keyed by symbol on as many partitions as {@link #MARKET_TICKS}, so a symbol's
+     * changes land on the partition number that carries its ticks.
+     */
+    public static final String ALERT_CHANGES_BY_SYMBOL = "alert-changes-by-symbol";
     public static final String ALERT_TRIGGERS = "alert-triggers";
 }
@@ -0,0 +1,43 @@
+package com.pricealert.common.outbox;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * What the relay does with each record of a sent batch. A record completes only if it and every
+ * earlier record with the same key were acked. After a key's first failure its later records are
+ * held back: neither completed nor failed, they stay NEW behind the failed one and are sent again
+ * after it.
+ */
+record BatchOutcome(
+        List<OutboxRecord> completed, List<Failure> failed, List<OutboxRecord> heldBack) {
+
+    record Failure(OutboxRecord record, Throwable error) {}
+
+    /**
+     * @param batch the records in send order
+     * @param errors each record's send error, or null if it was acked; same order as the batch
+     */
+    static BatchOutcome of(List<OutboxRecord> batch, List<Throwable> errors) {
+        var completed = new ArrayList<OutboxRecord>(batch.size());
+        var failed = new ArrayList<Failure>();
+        var heldBack = new ArrayList<OutboxRecord>();
+        var blockedKeys = new HashSet<String>();
+        for (var i = 0; i < batch.size(); i++) {
+            var record = batch.get(i);
+            if (blockedKeys.contains(record.key())) {
+                heldBack.add(record);
+                continue;
+            }
+            var error = errors.get(i);
+            if (error == null) {
+                completed.add(record);
+            } else {
+                failed.add(new Failure(record, error));
+                blockedKeys.add(record.key());
+            }
+        }
+        return new BatchOutcome(completed, failed, heldBack);
+    }
+}
@@ -0,0 +1,30 @@
+package com.pricealert.common.outbox;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Outbox table and relay settings, bound from {@code outbox.*} in each publishing service.
+ *
+ * @param tablePrefix prefix of the service's {@code outbox_record} table, e.g. {@code evaluator_}
+ * @param pollInterval how long the relay waits after a batch that did not fill up
+ * @param batchSize records sent per relay transaction
+ * @param sendTimeout how long the relay waits for a batch's broker acks
+ */
+@ConfigurationProperties(prefix = "outbox")
+public record OutboxProperties(
+        String tablePrefix,
+        Duration pollInterval,
+        int batchSize,
+        Duration sendTimeout,
+        Retry retry) {
+
+    /** Exponential backoff for records whose send failed; FAILED after {@code maxRetries}. */
+    public record Retry(int maxRetries, Duration initialDelay, Duration maxDelay) {
+
+        Duration delayAfter(int failures) {
+            var delay = initialDelay.multipliedBy(1L << Math.min(failures - 1, 30));
+            return delay.compareTo(maxDelay) > 0 ? maxDelay : delay;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.pricealert.common.outbox;
+
+import java.time.Instant;
+
+/** One pending row of an outbox table, payload still serialized. */
+record OutboxRecord(
+        String id,
+        String key,
+        String type,
+        String payload,
+        Instant createdAt,
+        int failureCount) {}
@@ -0,0 +1,337 @@
+package com.pricealert.common.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Publishes a service's outbox records to Kafka in batches. Every record of the batch is sent
+ * before any ack is awaited, so a batch costs about one broker round trip instead of one per
+ * record; the acked records are then deleted with a single DELETE.
+ *
+ * <p>No transaction or connection is held while acks are awaited. A short transaction selects a
+ * batch and claims it by pushing its next_retry_at past the send timeout; the outcome is written
+ * in a second one. A relay that dies in between leaves its claim to expire, and the batch is sent
+ * again. With several instances, a transaction-scoped advisory lock serializes the claims.
+ *
+ * <p>Per-key order: records are selected and sent in created_at order, and the producer must be
+ * idempotent so retries cannot reorder a partition. A record is never selected while an older
+ * record with its key is claimed or waits out a retry, and a failure holds back the rest of its
+ * key in the batch (see {@link BatchOutcome}).
+ *
+ * <p>Errors are handled like exceptions: a send that throws one fails its record, which is
+ * retried, and a batch that throws one is logged and claimed again once its claim expires. Only
+ * stop ends the relay thread.
+ */
+@Slf4j
+public class OutboxRelay {
+
+    private static final String LOCK_SQL = "SELECT pg_try_advisory_xact_lock(hashtext(?))";
+
+    private static final String SELECT_SQL =
+            """
+            SELECT id, record_key, record_type, payload, created_at, failure_count
+            FROM %1$soutbox_record r
+            WHERE status = 'NEW' AND next_retry_at <= now()
+              AND NOT EXISTS (
+                  SELECT 1 FROM %1$soutbox_record o
+                  WHERE o.record_key = r.record_key AND o.status = 'NEW'
+                    AND o.created_at < r.created_at AND o.next_retry_at > now())
+            ORDER BY created_at
+            LIMIT ?
+            """;
+
+    private static final String CLAIM_SQL =
+            "UPDATE %soutbox_record SET next_retry_at = ? WHERE id = ANY(?)";
+
+    private static final String RELEASE_SQL =
+            "UPDATE %soutbox_record SET next_retry_at = now() WHERE id = ANY(?)";
+
+    private static final String COMPLETE_SQL = "DELETE FROM %soutbox_record WHERE id = ANY(?)";
+
+    private static final String FAIL_SQL =
+            "UPDATE %soutbox_record SET failure_count = ?, failure_reason = ?, next_retry_at = ?,"
+                    + " status = ? WHERE id = ?";
+
+    private static final int MAX_REASON_LENGTH = 1000;
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(10);
+
+    /** How long a claim outlives the send timeout, for the outcome to be written. */
+    private static final Duration CLAIM_MARGIN = Duration.ofSeconds(30);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Route> routes;
+    private final String table;
+    private final String selectSql;
+    private final String claimSql;
+    private final String releaseSql;
+    private final String completeSql;
+    private final String failSql;
+    private final int batchSize;
+    private final long pollIntervalNanos;
+    private final long sendTimeoutNanos;
+    private final Duration claimTimeout;
+    private final OutboxProperties.Retry retry;
+    private final Thread relay;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter published;
+    private final Counter failed;
+    private final Timer lag;
+    private volatile boolean running = true;
+
+    /**
+     * @param topics the topics each payload type is published to; a record completes once every
+     *     one of its sends is acked
+     */
+    public OutboxRelay(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            KafkaTemplate<String, Object> kafkaTemplate,
+            ObjectMapper objectMapper,
+            OutboxProperties properties,
+            Map<Class<?>, List<String>> topics,
+            MeterRegistry registry) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.routes =
+                topics.entrySet().stream()
+                        .collect(
+                                Collectors.toMap(
+                                        e -> e.getKey().getName(),
+                                        e -> new Route(e.getKey(), e.getValue())));
+        var prefix = properties.tablePrefix();
+        this.table = prefix + "outbox_record";
+        this.selectSql = SELECT_SQL.formatted(prefix);
+        this.claimSql = CLAIM_SQL.formatted(prefix);
+        this.releaseSql = RELEASE_SQL.formatted(prefix);
+        this.completeSql = COMPLETE_SQL.formatted(prefix);
+        this.failSql = FAIL_SQL.formatted(prefix);
+        this.batchSize = properties.batchSize();
+        this.pollIntervalNanos = properties.pollInterval().toNanos();
+        this.sendTimeoutNanos = properties.sendTimeout().toNanos();
+        this.claimTimeout = properties.sendTimeout().plus(CLAIM_MARGIN);
+        this.retry = properties.retry();
+        this.relay = Thread.ofPlatform().name("outbox-relay").unstarted(this::run);
+
+        Gauge.builder("outbox.relay.in.flight", inFlight, AtomicInteger::get)
+                .description("Outbox records sent to Kafka and not yet acked")
+                .register(registry);
+        this.published =
+                Counter.builder("outbox.relay.published")
+                        .description("Outbox records acked by Kafka and deleted")
+                        .register(registry);
+        this.failed =
+                Counter.builder("outbox.relay.failed")
+                        .description("Outbox record sends that failed and were scheduled to retry")
+                        .register(registry);
+        this.lag =
+                Timer.builder("outbox.relay.lag")
+                        .description("Time from scheduling an outbox record to its completion")
+                        .publishPercentileHistogram()
+                        .register(registry);
+    }
+
+    public void start() {
+        relay.start();
+    }
+
+    /** Lets the batch in progress finish before the datasource and producer close. */
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(relay);
+        relay.join(STOP_TIMEOUT);
+    }
+
+    private void run() {
+        while (running) {
+            var drained = 0;
+            try {
+                drained = drainBatch();
+            } catch (RuntimeException | Error e) {
+                log.warn("Outbox relay batch on {} failed: {}", table, e.getMessage(), e);
+            }
+            if (drained < batchSize) {
+                LockSupport.parkNanos(pollIntervalNanos);
+            }
+        }
+        log.info("Outbox relay on {} stopped", table);
+    }
+
+    private int drainBatch() {
+        var batch = transactionTemplate.execute(status -> claimBatch());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        var sends = batch.stream().map(this::send).toList();
+        var outcome = BatchOutcome.of(batch, await(sends));
+        transactionTemplate.executeWithoutResult(
+                status -> {
+                    markCompleted(outcome.completed());
+                    markFailed(outcome.failed());
+                    release(outcome.heldBack());
+                });
+        return batch.size();
+    }
+
+    private List<OutboxRecord> claimBatch() {
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(LOCK_SQL, Boolean.class, table))) {
+            return List.of(); // another instance is claiming
+        }
+        var batch =
+                jdbcTemplate.query(
+                        selectSql,
+                        (rs, rowNum) ->
+                                new OutboxRecord(
+                                        rs.getString("id"),
+                                        rs.getString("record_key"),
+                                        rs.getString("record_type"),
+                                        rs.getString("payload"),
+                                        rs.getTimestamp("created_at").toInstant(),
+                                        rs.getInt("failure_count")),
+                        batchSize);
+        if (!batch.isEmpty()) {
+            var ids = batch.stream().map(OutboxRecord::id).toArray();
+            var claimedUntil = Timestamp.from(Instant.now().plus(claimTimeout));
+            jdbcTemplate.update(
+                    claimSql,
+                    ps -> {
+                        ps.setTimestamp(1, claimedUntil);
+                        ps.setArray(2, ps.getConnection().createArrayOf("varchar", ids));
+                    });
+        }
+        return batch;
+    }
+
+    private CompletableFuture<Void> send(OutboxRecord record) {
+        try {
+            var route = routes.get(record.type());
+            if (route == null) {
+                throw new IllegalStateException("No outbox route for " + record.type());
+            }
+            var payload = objectMapper.readValue(record.payload(), route.type());
+            var acks = new CompletableFuture<?>[route.topics().size()];
+            for (var i = 0; i < acks.length; i++) {
+                acks[i] = kafkaTemplate.send(route.topics().get(i), record.key(), payload);
+            }
+            inFlight.incrementAndGet();
+            return CompletableFuture.allOf(acks).whenComplete((v, e) -> inFlight.decrementAndGet());
+        } catch (RuntimeException | Error e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /** Waits for every send against one shared deadline; null means acked. */
+    private List<Throwable> await(List<CompletableFuture<Void>> sends) {
+        var deadline = System.nanoTime() + sendTimeoutNanos;
+        var errors = new ArrayList<Throwable>(sends.size());
+        for (var send : sends) {
+            try {
+                send.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                errors.add(null);
+            } catch (ExecutionException e) {
+                errors.add(e.getCause());
+            } catch (TimeoutException e) {
+                errors.add(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                errors.add(e);
+            }
+        }
+        return errors;
+    }
+
+    private void markCompleted(List<OutboxRecord> completed) {
+        if (completed.isEmpty()) {
+            return;
+        }
+        var ids = completed.stream().map(OutboxRecord::id).toArray();
+        jdbcTemplate.update(
+                completeSql,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("varchar", ids)));
+        var now = Instant.now();
+        for (var record : completed) {
+            lag.record(Duration.between(record.createdAt(), now));
+        }
+        published.increment(completed.size());
+    }
+
+    /**
+     * Ends the claim of records held back behind a failure, so they follow it once its retry is
+     * due instead of once the claim expires; the per-key check in the select keeps them behind it.
+     */
+    private void release(List<OutboxRecord> heldBack) {
+        if (heldBack.isEmpty()) {
+            return;
+        }
+        var ids = heldBack.stream().map(OutboxRecord::id).toArray();
+        jdbcTemplate.update(
+                releaseSql, ps -> ps.setArray(1, ps.getConnection().createArrayOf("varchar", ids)));
+    }
+
+    private void markFailed(List<BatchOutcome.Failure> failures) {
+        if (failures.isEmpty()) {
+            return;
+        }
+        var now = Instant.now();
+        jdbcTemplate.batchUpdate(
+                failSql,
+                failures,
+                failures.size(),
+                (ps, failure) -> {
+                    var record = failure.record();
+                    var failureCount = record.failureCount() + 1;
+                    var exhausted = failureCount > retry.maxRetries();
+                    ps.setInt(1, failureCount);
+                    ps.setString(2, reason(failure.error()));
+                    ps.setTimestamp(3, Timestamp.from(now.plus(retry.delayAfter(failureCount))));
+                    ps.setString(4, exhausted ? "FAILED" : "NEW");
+                    ps.setString(5, record.id());
+                    if (exhausted) {
+                        log.error(
+                                "Outbox record {} ({}) FAILED after {} attempts: {}",
+                                record.id(),
+                                record.type(),
+                                failureCount,
+                                failure.error().getMessage());
+                    }
+                });
+        failed.increment(failures.size());
+        log.warn("{} outbox records on {} failed to publish", failures.size(), table);
+    }
+
+    private static String reason(Throwable error) {
+        var reason = String.valueOf(error.getMessage());
+        return reason.length() > MAX_REASON_LENGTH
+                ? reason.substring(0, MAX_REASON_LENGTH)
+                : reason;
+    }
+
+    private record Route(Class<?> type, List<String> topics) {}
+}
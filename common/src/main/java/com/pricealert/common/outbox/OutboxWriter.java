@@ -0,0 +1,80 @@
+package com.pricealert.common.outbox;
+
+import com.pricealert.common.id.UlidGenerator;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Inserts events into the service's outbox table. Joins the caller's transaction, so an event is
+ * only published if the transaction that scheduled it commits; {@link OutboxRelay} does the
+ * publishing.
+ */
+public class OutboxWriter {
+
+    // partition_no and handler_id drove the previous library's dispatch; the relay ignores them.
+    private static final String INSERT_SQL =
+            "INSERT INTO %soutbox_record (id, status, record_key, record_type, payload,"
+                    + " created_at, failure_count, next_retry_at, partition_no, handler_id)"
+                    + " VALUES (?, 'NEW', ?, ?, ?, ?, 0, ?, 0, 'outbox-relay')";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final String insertSql;
+    private final AtomicLong lastCreatedMicros = new AtomicLong();
+
+    public OutboxWriter(DataSource dataSource, ObjectMapper objectMapper, String tablePrefix) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.objectMapper = objectMapper;
+        this.insertSql = INSERT_SQL.formatted(tablePrefix);
+    }
+
+    /** Schedules one event, published with {@code key} as its Kafka key. */
+    public void schedule(Object payload, String key) {
+        var createdAt = Timestamp.from(nextCreatedAt());
+        jdbcTemplate.update(
+                insertSql,
+                UlidGenerator.generate(),
+                key,
+                payload.getClass().getName(),
+                objectMapper.writeValueAsString(payload),
+                createdAt,
+                createdAt);
+    }
+
+    /** Schedules several events in one JDBC batch, published in list order per key. */
+    public <T> void scheduleAll(List<T> payloads, Function<? super T, String> keyOf) {
+        if (payloads.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(
+                insertSql,
+                payloads,
+                payloads.size(),
+                (ps, payload) -> {
+                    var createdAt = Timestamp.from(nextCreatedAt());
+                    ps.setString(1, UlidGenerator.generate());
+                    ps.setString(2, keyOf.apply(payload));
+                    ps.setString(3, payload.getClass().getName());
+                    ps.setString(4, objectMapper.writeValueAsString(payload));
+                    ps.setTimestamp(5, createdAt);
+                    ps.setTimestamp(6, createdAt);
+                });
+    }
+
+    /**
+     * Strictly increasing at the column's microsecond precision, so the relay's created_at order
+     * is the order events were scheduled in, even within one batch.
+     */
+    private Instant nextCreatedAt() {
+        var now = ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+        var micros = lastCreatedMicros.accumulateAndGet(now, (last, n) -> Math.max(last + 1, n));
+        return Instant.EPOCH.plus(micros, ChronoUnit.MICROS);
+    }
+}
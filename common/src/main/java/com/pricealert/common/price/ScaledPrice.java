@@ -0,0 +1,25 @@
+package com.pricealert.common.price;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fixed-point price representation: price × 10^6 as a {@code long}.
+ * Matches the DECIMAL(12,6) price columns, so every persisted threshold converts exactly.
+ * Inputs with more than six decimals are rounded HALF_UP.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ScaledPrice {
+
+    public static final int SCALE = 6;
+
+    public static long toScaled(BigDecimal price) {
+        return price.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long scaled) {
+        return BigDecimal.valueOf(scaled, SCALE);
+    }
+}
@@ -0,0 +1,381 @@
+package com.pricealert.common.wire;
+
+import com.pricealert.common.event.AlertChange;
+import com.pricealert.common.event.AlertChangeType;
+import com.pricealert.common.event.AlertLevelTrigger;
+import com.pricealert.common.event.AlertTrigger;
+import com.pricealert.common.event.Direction;
+import com.pricealert.common.event.MarketTick;
+import com.pricealert.common.id.UlidCodec;
+import com.pricealert.common.price.ScaledPrice;
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Big-endian binary form of the event records. Every value starts with a magic byte, the format
+ * version and a type tag, and decoding rejects any of them it does not know, as well as
+ * trailing bytes. Fields follow in record component order:
+ *
+ * <ul>
+ *   <li>prices: {@link ScaledPrice} longs, so they decode at scale 6 and compare equal
+ *   <li>instants: epoch nanoseconds; dates: epoch days as an int
+ *   <li>enums: one byte, the constant's ordinal, so constants may only be appended
+ *   <li>IDs: a tag byte, then 16 bytes for a canonical ULID or a length-prefixed string
+ *   <li>strings: an unsigned short byte length, then UTF-8
+ * </ul>
+ *
+ * Nulls are -1 lengths and ordinals and {@link Long#MIN_VALUE} / {@link Integer#MIN_VALUE} for
+ * numbers. A layout change takes a new {@link #VERSION}.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BinaryEventCodec {
+
+    public static final int VERSION = 1;
+
+    static final byte MAGIC = (byte) 0xA1;
+    static final byte MARKET_TICK = 1;
+    private static final byte ALERT_CHANGE = 2;
+    private static final byte ALERT_TRIGGER = 3;
+    private static final byte ALERT_LEVEL_TRIGGER = 4;
+
+    private static final byte ID_NULL = -1;
+    private static final byte ID_ULID = 0;
+    private static final byte ID_TEXT = 1;
+    static final int NULL_LENGTH = 0xFFFF;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private static final AlertChangeType[] CHANGE_TYPES = AlertChangeType.values();
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /** Whether {@link #encode(Object)} has a layout for the value. */
+    public static boolean supports(Object value) {
+        return value instanceof MarketTick
+                || value instanceof AlertChange
+                || value instanceof AlertTrigger
+                || value instanceof AlertLevelTrigger;
+    }
+
+    public static byte[] encode(Object value) {
+        return switch (value) {
+            case MarketTick tick -> encode(tick);
+            case AlertChange change -> encode(change);
+            case AlertTrigger trigger -> encode(trigger);
+            case AlertLevelTrigger level -> encode(level);
+            default ->
+                    throw new IllegalArgumentException(
+                            "No binary layout for " + value.getClass().getName());
+        };
+    }
+
+    static byte[] encode(MarketTick tick) {
+        var out = new Writer(64, MARKET_TICK);
+        out.string(tick.symbol());
+        out.price(tick.price());
+        out.price(tick.bid());
+        out.price(tick.ask());
+        out.longValue(tick.volume());
+        out.instant(tick.timestamp());
+        out.longValue(tick.sequence());
+        return out.toByteArray();
+    }
+
+    static byte[] encode(AlertChange change) {
+        var out = new Writer(80, ALERT_CHANGE);
+        out.ordinal(change.eventType());
+        out.id(change.alertId());
+        out.id(change.userId());
+        out.string(change.symbol());
+        out.price(change.thresholdPrice());
+        out.ordinal(change.direction());
+        out.instant(change.timestamp());
+        return out.toByteArray();
+    }
+
+    static byte[] encode(AlertTrigger trigger) {
+        var out = new Writer(128, ALERT_TRIGGER);
+        out.id(trigger.triggerId());
+        out.id(trigger.alertId());
+        out.id(trigger.userId());
+        out.string(trigger.symbol());
+        out.price(trigger.thresholdPrice());
+        out.price(trigger.triggerPrice());
+        out.ordinal(trigger.direction());
+        out.string(trigger.note());
+        out.instant(trigger.tickTimestamp());
+        out.instant(trigger.triggeredAt());
+        out.date(trigger.tradingDate());
+        return out.toByteArray();
+    }
+
+    static byte[] encode(AlertLevelTrigger level) {
+        var alerts = level.alerts();
+        var capacity = 64 + (alerts == null ? 0 : alerts.size() * 40);
+        var out = new Writer(capacity, ALERT_LEVEL_TRIGGER);
+        out.id(level.triggerId());
+        out.string(level.symbol());
+        out.price(level.thresholdPrice());
+        out.price(level.triggerPrice());
+        out.instant(level.tickTimestamp());
+        out.instant(level.triggeredAt());
+        out.date(level.tradingDate());
+        out.intValue(alerts == null ? -1 : alerts.size());
+        if (alerts != null) {
+            for (var alert : alerts) {
+                out.id(alert.alertId());
+                out.id(alert.userId());
+                out.ordinal(alert.direction());
+                out.string(alert.note());
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a value written by {@link #encode(Object)}.
+     *
+     * @throws IllegalArgumentException if the bytes are not a complete value of a known version
+     *     and type
+     */
+    public static Object decode(byte[] bytes) {
+        var in = ByteBuffer.wrap(bytes);
+        try {
+            if (in.get() != MAGIC) {
+                throw new IllegalArgumentException("Not a binary event");
+            }
+            var version = in.get() & 0xFF;
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported binary event version " + version);
+            }
+            var type = in.get();
+            Object value =
+                    switch (type) {
+                        case MARKET_TICK -> decodeMarketTick(in);
+                        case ALERT_CHANGE -> decodeAlertChange(in);
+                        case ALERT_TRIGGER -> decodeAlertTrigger(in);
+                        case ALERT_LEVEL_TRIGGER -> decodeAlertLevelTrigger(in);
+                        default ->
+                                throw new IllegalArgumentException(
+                                        "Unknown binary event type " + type);
+                    };
+            if (in.hasRemaining()) {
+                throw new IllegalArgumentException(
+                        in.remaining() + " bytes after binary event type " + type);
+            }
+            return value;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated binary event", e);
+        }
+    }
+
+    private static MarketTick decodeMarketTick(ByteBuffer in) {
+        return new MarketTick(
+                string(in),
+                price(in),
+                price(in),
+                price(in),
+                in.getLong(),
+                instant(in),
+                in.getLong());
+    }
+
+    private static AlertChange decodeAlertChange(ByteBuffer in) {
+        return new AlertChange(
+                ordinal(in, CHANGE_TYPES),
+                id(in),
+                id(in),
+                string(in),
+                price(in),
+                ordinal(in, DIRECTIONS),
+                instant(in));
+    }
+
+    private static AlertTrigger decodeAlertTrigger(ByteBuffer in) {
+        return new AlertTrigger(
+                id(in),
+                id(in),
+                id(in),
+                string(in),
+                price(in),
+                price(in),
+                ordinal(in, DIRECTIONS),
+                string(in),
+                instant(in),
+                instant(in),
+                date(in));
+    }
+
+    private static AlertLevelTrigger decodeAlertLevelTrigger(ByteBuffer in) {
+        var triggerId = id(in);
+        var symbol = string(in);
+        var thresholdPrice = price(in);
+        var triggerPrice = price(in);
+        var tickTimestamp = instant(in);
+        var triggeredAt = instant(in);
+        var tradingDate = date(in);
+        var count = in.getInt();
+        if (count > in.remaining()) {
+            throw new IllegalArgumentException("Level trigger claims " + count + " alerts");
+        }
+        ArrayList<AlertLevelTrigger.Entry> alerts = null;
+        if (count >= 0) {
+            alerts = new ArrayList<>(count);
+            for (var i = 0; i < count; i++) {
+                alerts.add(
+                        new AlertLevelTrigger.Entry(
+                                id(in), id(in), ordinal(in, DIRECTIONS), string(in)));
+            }
+        }
+        return new AlertLevelTrigger(
+                triggerId,
+                symbol,
+                thresholdPrice,
+                triggerPrice,
+                tickTimestamp,
+                triggeredAt,
+                tradingDate,
+                alerts);
+    }
+
+    private static String string(ByteBuffer in) {
+        var length = Short.toUnsignedInt(in.getShort());
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        if (length > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        var start = in.arrayOffset() + in.position();
+        var value = new String(in.array(), start, length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    private static String id(ByteBuffer in) {
+        return switch (in.get()) {
+            case ID_NULL -> null;
+            case ID_ULID -> UlidCodec.toString(in.getLong(), in.getLong());
+            case ID_TEXT -> string(in);
+            default -> throw new IllegalArgumentException("Unknown ID tag");
+        };
+    }
+
+    private static BigDecimal price(ByteBuffer in) {
+        var scaled = in.getLong();
+        return scaled == Long.MIN_VALUE ? null : ScaledPrice.toBigDecimal(scaled);
+    }
+
+    private static Instant instant(ByteBuffer in) {
+        var nanos = in.getLong();
+        return nanos == Long.MIN_VALUE ? null : Instant.ofEpochSecond(0, nanos);
+    }
+
+    private static LocalDate date(ByteBuffer in) {
+        var day = in.getInt();
+        return day == Integer.MIN_VALUE ? null : LocalDate.ofEpochDay(day);
+    }
+
+    private static <E extends Enum<E>> E ordinal(ByteBuffer in, E[] constants) {
+        var ordinal = in.get();
+        if (ordinal == -1) {
+            return null;
+        }
+        if (ordinal < 0 || ordinal >= constants.length) {
+            throw new IllegalArgumentException(
+                    "Unknown " + constants[0].getDeclaringClass().getSimpleName() + " " + ordinal);
+        }
+        return constants[ordinal];
+    }
+
+    /** Grows its buffer as needed; every fixed-width field reserves its bytes first. */
+    private static final class Writer {
+
+        private ByteBuffer buffer;
+
+        Writer(int capacity, byte type) {
+            buffer = ByteBuffer.allocate(capacity);
+            buffer.put(MAGIC).put((byte) VERSION).put(type);
+        }
+
+        void ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                var capacity = Math.max(buffer.capacity() * 2, buffer.position() + bytes);
+                buffer = ByteBuffer.allocate(capacity).put(buffer.flip());
+            }
+        }
+
+        void longValue(long value) {
+            ensure(Long.BYTES);
+            buffer.putLong(value);
+        }
+
+        void intValue(int value) {
+            ensure(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        void string(String value) {
+            if (value == null) {
+                ensure(Short.BYTES);
+                buffer.putShort((short) NULL_LENGTH);
+                return;
+            }
+            var bytes = value.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length >= NULL_LENGTH) {
+                throw new IllegalArgumentException("String of " + bytes.length + " bytes");
+            }
+            ensure(Short.BYTES + bytes.length);
+            buffer.putShort((short) bytes.length).put(bytes);
+        }
+
+        void id(String value) {
+            if (value == null) {
+                ensure(1);
+                buffer.put(ID_NULL);
+            } else if (UlidCodec.isCanonical(value)) {
+                ensure(1 + 2 * Long.BYTES);
+                buffer.put(ID_ULID).putLong(UlidCodec.high(value)).putLong(UlidCodec.low(value));
+            } else {
+                ensure(1);
+                buffer.put(ID_TEXT);
+                string(value);
+            }
+        }
+
+        void price(BigDecimal value) {
+            ensure(Long.BYTES);
+            buffer.putLong(value == null ? Long.MIN_VALUE : ScaledPrice.toScaled(value));
+        }
+
+        void instant(Instant value) {
+            ensure(Long.BYTES);
+            buffer.putLong(
+                    value == null
+                            ? Long.MIN_VALUE
+                            : Math.addExact(
+                                    Math.multiplyExact(value.getEpochSecond(), NANOS_PER_SECOND),
+                                    value.getNano()));
+        }
+
+        void date(LocalDate value) {
+            ensure(Integer.BYTES);
+            buffer.putInt(value == null ? Integer.MIN_VALUE : Math.toIntExact(value.toEpochDay()));
+        }
+
+        void ordinal(Enum<?> value) {
+            ensure(1);
+            buffer.put(value == null ? -1 : (byte) value.ordinal());
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer.array(), buffer.position());
+        }
+    }
+}
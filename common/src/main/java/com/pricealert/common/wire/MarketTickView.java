@@ -0,0 +1,134 @@
+package com.pricealert.common.wire;
+
+import com.pricealert.common.event.MarketTick;
+import com.pricealert.common.id.SymbolDictionary;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Flyweight over a {@link BinaryEventCodec} market tick: {@link #wrap} points the view at a record
+ * value and the accessors read fields in place, so a tick can be evaluated without ever becoming a
+ * {@link MarketTick}. Prices are {@link com.pricealert.common.price.ScaledPrice} longs and the
+ * timestamp is epoch nanoseconds, exactly as encoded.
+ *
+ * <p>Symbols resolve through the shared {@link SymbolDictionary} straight from the encoded bytes,
+ * so once a symbol has been seen reading it allocates nothing. A symbol the dictionary has no room
+ * for has no id and is decoded on every read. A view is reused by one thread at a time.
+ */
+public final class MarketTickView {
+
+    private static final int HEADER_BYTES = 3;
+    private static final int SYMBOL_BYTES_OFFSET = HEADER_BYTES + Short.BYTES;
+    private static final int FIXED_FIELDS_BYTES = 6 * Long.BYTES;
+    private static final int NONE = -1;
+    private static final VarHandle LONG =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final SymbolDictionary SYMBOLS = SymbolDictionary.shared();
+
+    private byte[] bytes;
+    private int fields;
+
+    /** Points the view at {@code value}, which must pass {@link #isMarketTick}. */
+    public MarketTickView wrap(byte[] value) {
+        this.fields = fieldsOffset(value);
+        this.bytes = value;
+        return this;
+    }
+
+    /**
+     * Whether {@code value} is a complete binary market tick of this version, with a symbol and a
+     * price, so {@link #wrap} will accept it.
+     */
+    public static boolean isMarketTick(byte[] value) {
+        return fieldsOffsetOrNone(value) != NONE;
+    }
+
+    /** The symbol of a binary market tick, for routing before a view is at hand. */
+    public static String symbolOf(byte[] value) {
+        return symbol(value, fieldsOffset(value));
+    }
+
+    public String symbol() {
+        return symbol(bytes, fields);
+    }
+
+    /**
+     * The symbol's {@link SymbolDictionary} id, or {@link SymbolDictionary#NONE} for a new symbol
+     * once the dictionary is full.
+     */
+    public int symbolId() {
+        return SYMBOLS.idOfTicked(bytes, SYMBOL_BYTES_OFFSET, fields - SYMBOL_BYTES_OFFSET);
+    }
+
+    private static String symbol(byte[] value, int fieldsOffset) {
+        var length = fieldsOffset - SYMBOL_BYTES_OFFSET;
+        var id = SYMBOLS.idOfTicked(value, SYMBOL_BYTES_OFFSET, length);
+        return id != SymbolDictionary.NONE
+                ? SYMBOLS.symbol(id)
+                : new String(value, SYMBOL_BYTES_OFFSET, length, StandardCharsets.UTF_8);
+    }
+
+    public long price() {
+        return field(0);
+    }
+
+    /** {@link Long#MIN_VALUE} when the tick carried no bid. */
+    public long bid() {
+        return field(1);
+    }
+
+    /** {@link Long#MIN_VALUE} when the tick carried no ask. */
+    public long ask() {
+        return field(2);
+    }
+
+    public long volume() {
+        return field(3);
+    }
+
+    /** {@link Long#MIN_VALUE} when the tick carried no timestamp. */
+    public long timestampNanos() {
+        return field(4);
+    }
+
+    public long sequence() {
+        return field(5);
+    }
+
+    /** Decodes the whole tick, for the paths that still need the record. */
+    public MarketTick toMarketTick() {
+        return (MarketTick) BinaryEventCodec.decode(bytes);
+    }
+
+    private long field(int index) {
+        return (long) LONG.get(bytes, fields + index * Long.BYTES);
+    }
+
+    private static int fieldsOffset(byte[] value) {
+        var offset = fieldsOffsetOrNone(value);
+        if (offset == NONE) {
+            throw new IllegalArgumentException("Not a well-formed binary market tick");
+        }
+        return offset;
+    }
+
+    private static int fieldsOffsetOrNone(byte[] value) {
+        if (value == null
+                || value.length < SYMBOL_BYTES_OFFSET
+                || value[0] != BinaryEventCodec.MAGIC
+                || (value[1] & 0xFF) != BinaryEventCodec.VERSION
+                || value[2] != BinaryEventCodec.MARKET_TICK) {
+            return NONE;
+        }
+        var length = ((value[HEADER_BYTES] & 0xFF) << 8) | (value[HEADER_BYTES + 1] & 0xFF);
+        var offset = SYMBOL_BYTES_OFFSET + length;
+        if (length == BinaryEventCodec.NULL_LENGTH
+                || value.length != offset + FIXED_FIELDS_BYTES
+                || (long) LONG.get(value, offset) == Long.MIN_VALUE) {
+            return NONE;
+        }
+        return offset;
+    }
+}
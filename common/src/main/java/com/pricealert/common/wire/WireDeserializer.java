@@ -0,0 +1,64 @@
+package com.pricealert.common.wire;
+
+import java.util.Map;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * Reads records in either wire format: binary when the content-type header says so, otherwise
+ * through the JSON deserializer it wraps. Lets JSON and binary producers share a topic while a
+ * rollout is under way.
+ */
+public class WireDeserializer<T> implements Deserializer<T> {
+
+    private final Class<T> type;
+    private final Deserializer<T> json;
+
+    /** @param type what every binary record on the topic must decode to */
+    public WireDeserializer(Class<T> type, Deserializer<T> json) {
+        this.type = type;
+        this.json = json;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        json.configure(configs, isKey);
+    }
+
+    @Override
+    public T deserialize(String topic, byte[] data) {
+        return json.deserialize(topic, data);
+    }
+
+    @Override
+    public T deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            if (WireFormat.of(headers) == WireFormat.JSON) {
+                return json.deserialize(topic, headers, data);
+            }
+            return decode(data);
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException(
+                    "Cannot read record on " + topic + ": " + e.getMessage(), e);
+        }
+    }
+
+    private T decode(byte[] data) {
+        var value = BinaryEventCodec.decode(data);
+        if (!type.isInstance(value)) {
+            var actual = value.getClass().getSimpleName();
+            throw new IllegalArgumentException(
+                    "Expected " + type.getSimpleName() + ", got " + actual);
+        }
+        return type.cast(value);
+    }
+
+    @Override
+    public void close() {
+        json.close();
+    }
+}
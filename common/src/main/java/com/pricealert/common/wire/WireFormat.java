@@ -0,0 +1,56 @@
+package com.pricealert.common.wire;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.apache.kafka.common.header.Headers;
+
+/**
+ * Record value formats on the event topics. Producers tag every record with a {@value
+ * #CONTENT_TYPE_HEADER} header; a record without one is JSON from a producer that predates the
+ * header.
+ */
+public enum WireFormat {
+    JSON("application/json"),
+    BINARY("application/vnd.pricealert.event.v" + BinaryEventCodec.VERSION);
+
+    public static final String CONTENT_TYPE_HEADER = "content-type";
+
+    private static final WireFormat[] FORMATS = values();
+
+    private final String contentType;
+    private final byte[] header;
+
+    WireFormat(String contentType) {
+        this.contentType = contentType;
+        this.header = contentType.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    /** Shared header value; Kafka only reads it. */
+    byte[] header() {
+        return header;
+    }
+
+    /** The format a record's content-type header names; JSON when it has none. */
+    public static WireFormat of(Headers headers) {
+        var contentType = headers.lastHeader(CONTENT_TYPE_HEADER);
+        return of(contentType == null ? null : contentType.value());
+    }
+
+    /** The format a content-type header names; JSON when it is absent. */
+    static WireFormat of(byte[] header) {
+        if (header == null) {
+            return JSON;
+        }
+        for (var format : FORMATS) {
+            if (Arrays.equals(format.header, header)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException(
+                "Unsupported content type " + new String(header, StandardCharsets.UTF_8));
+    }
+}
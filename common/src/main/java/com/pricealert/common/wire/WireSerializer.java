@@ -0,0 +1,56 @@
+package com.pricealert.common.wire;
+
+import java.util.Locale;
+import java.util.Map;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JacksonJsonSerializer;
+
+/**
+ * Writes event records as JSON or {@link BinaryEventCodec} binary, chosen by the {@value
+ * #FORMAT_CONFIG} producer property, and names the format in the content-type header. Values
+ * without a binary layout are always written as JSON.
+ *
+ * <p>Switch a producer to binary only once every consumer of its topics reads through {@link
+ * WireDeserializer}.
+ */
+public class WireSerializer implements Serializer<Object> {
+
+    public static final String FORMAT_CONFIG = "wire.format";
+
+    private final JacksonJsonSerializer<Object> json = new JacksonJsonSerializer<>();
+    private WireFormat format = WireFormat.JSON;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        json.configure(configs, isKey);
+        var configured = configs.get(FORMAT_CONFIG);
+        if (configured != null) {
+            format = WireFormat.valueOf(configured.toString().trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        return json.serialize(topic, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (data == null) {
+            return null;
+        }
+        headers.remove(WireFormat.CONTENT_TYPE_HEADER);
+        if (format == WireFormat.BINARY && BinaryEventCodec.supports(data)) {
+            headers.add(WireFormat.CONTENT_TYPE_HEADER, WireFormat.BINARY.header());
+            return BinaryEventCodec.encode(data);
+        }
+        headers.add(WireFormat.CONTENT_TYPE_HEADER, WireFormat.JSON.header());
+        return json.serialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        json.close();
+    }
+}
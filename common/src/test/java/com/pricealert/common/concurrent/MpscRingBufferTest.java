@@ -0,0 +1,110 @@
+package com.pricealert.common.concurrent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+
+class MpscRingBufferTest {
+
+    @Test
+    void roundsCapacityUpToPowerOfTwo() {
+        assertThat(new MpscRingBuffer<String>(5).capacity()).isEqualTo(8);
+        assertThat(new MpscRingBuffer<String>(8).capacity()).isEqualTo(8);
+    }
+
+    @Test
+    void rejectsCapacityBelowTwo() {
+        assertThatThrownBy(() -> new MpscRingBuffer<String>(1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void pollsInFifoOrderAndReportsEmpty() {
+        var ring = new MpscRingBuffer<Integer>(4);
+        ring.offer(1);
+        ring.offer(2);
+
+        assertThat(ring.size()).isEqualTo(2);
+        assertThat(ring.poll()).isEqualTo(1);
+        assertThat(ring.poll()).isEqualTo(2);
+        assertThat(ring.poll()).isNull();
+        assertThat(ring.isEmpty()).isTrue();
+    }
+
+    @Test
+    void refusesOfferWhenFullAndAcceptsAgainAfterPoll() {
+        var ring = new MpscRingBuffer<Integer>(2);
+        assertThat(ring.offer(1)).isTrue();
+        assertThat(ring.offer(2)).isTrue();
+        assertThat(ring.offer(3)).isFalse();
+
+        ring.poll();
+
+        assertThat(ring.offer(3)).isTrue();
+        var drained = new ArrayList<Integer>();
+        assertThat(ring.drain(drained::add, 10)).isEqualTo(2);
+        assertThat(drained).containsExactly(2, 3);
+    }
+
+    @Test
+    void deliversEveryElementOncePreservingPerProducerOrder() throws InterruptedException {
+        var ring = new MpscRingBuffer<long[]>(64);
+        var producers = 4;
+        var perProducer = 50_000;
+        var start = new CountDownLatch(1);
+        var threads = new ArrayList<Thread>();
+        for (var p = 0; p < producers; p++) {
+            var producer = p;
+            threads.add(
+                    Thread.ofPlatform()
+                            .start(
+                                    () -> {
+                                        awaitQuietly(start);
+                                        for (var i = 0; i < perProducer; i++) {
+                                            var element = new long[] {producer, i};
+                                            while (!ring.offer(element)) {
+                                                Thread.yield();
+                                            }
+                                        }
+                                    }));
+        }
+
+        start.countDown();
+        var lastSeen = new long[producers];
+        Arrays.fill(lastSeen, -1);
+        var received = 0;
+        var outOfOrder = new ArrayList<long[]>();
+        while (received < producers * perProducer) {
+            var element = ring.poll();
+            if (element == null) {
+                Thread.yield();
+                continue;
+            }
+            var producer = (int) element[0];
+            if (element[1] != lastSeen[producer] + 1) {
+                outOfOrder.add(element);
+            }
+            lastSeen[producer] = element[1];
+            received++;
+        }
+        for (var thread : threads) {
+            thread.join();
+        }
+
+        assertThat(outOfOrder).isEmpty();
+        assertThat(lastSeen).containsOnly(perProducer - 1L);
+        assertThat(ring.poll()).isNull();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
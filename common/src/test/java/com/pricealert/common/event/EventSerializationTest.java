@@ -1,11 +1,13 @@
 package com.pricealert.common.event;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 import com.pricealert.common.json.JacksonConfig;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.List;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.Test;
 import tools.jackson.databind.ObjectMapper;
@@ -93,6 +95,72 @@ class EventSerializationTest {
                 .isEqualTo(trigger);
     }
 
+    @SneakyThrows
+    @Test
+    void alertLevelTriggerRoundTripPacksAlerts() {
+        // given
+        var trigger =
+                new AlertLevelTrigger(
+                        "trg_01HZ4Y",
+                        "AAPL",
+                        new BigDecimal("150.00"),
+                        new BigDecimal("150.25"),
+                        Instant.parse("2026-02-21T14:30:00.123Z"),
+                        Instant.parse("2026-02-21T14:30:00.200Z"),
+                        LocalDate.of(2026, 2, 21),
+                        List.of(
+                                new AlertLevelTrigger.Entry(
+                                        "alt_01HZ3X", "usr_93fa", Direction.ABOVE, "Buy signal"),
+                                new AlertLevelTrigger.Entry(
+                                        "alt_01HZ3Y", "usr_77cd", Direction.CROSS, null)));
+
+        // when
+        var json = mapper.writeValueAsString(trigger);
+        var deserialized = mapper.readValue(json, AlertLevelTrigger.class);
+
+        // then
+        assertThat(json).contains("[\"alt_01HZ3X\",\"usr_93fa\",\"ABOVE\",\"Buy signal\"]");
+        assertThat(deserialized)
+                .usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(trigger);
+    }
+
+    @Test
+    void alertLevelTriggerExpandsToOneTriggerPerAlert() {
+        // given
+        var trigger =
+                AlertLevelTrigger.builder()
+                        .triggerId("trg_01HZ4Y")
+                        .symbol("AAPL")
+                        .thresholdPrice(new BigDecimal("150.00"))
+                        .triggerPrice(new BigDecimal("150.25"))
+                        .tradingDate(LocalDate.of(2026, 2, 21))
+                        .alerts(
+                                List.of(
+                                        new AlertLevelTrigger.Entry(
+                                                "alt_1", "usr_1", Direction.ABOVE, null),
+                                        new AlertLevelTrigger.Entry(
+                                                "alt_2", "usr_2", Direction.CROSS, "note")))
+                        .build();
+
+        // when
+        var expanded = trigger.expand();
+
+        // then
+        assertThat(expanded)
+                .extracting(
+                        AlertTrigger::triggerId,
+                        AlertTrigger::alertId,
+                        AlertTrigger::userId,
+                        AlertTrigger::direction,
+                        AlertTrigger::note)
+                .containsExactly(
+                        tuple("trg_01HZ4Y", "alt_1", "usr_1", Direction.ABOVE, null),
+                        tuple("trg_01HZ4Y", "alt_2", "usr_2", Direction.CROSS, "note"));
+        assertThat(expanded).allMatch(t -> t.symbol().equals("AAPL"));
+    }
+
     @Test
     void alertChangeTypeIncludesReset() {
         assertThat(AlertChangeType.valueOf("RESET")).isEqualTo(AlertChangeType.RESET);
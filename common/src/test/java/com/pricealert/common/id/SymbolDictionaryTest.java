@@ -0,0 +1,107 @@
+package com.pricealert.common.id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class SymbolDictionaryTest {
+
+    @Test
+    void assignsDenseIdsOnFirstSight() {
+        var dictionary = new SymbolDictionary();
+
+        assertThat(dictionary.find("AAPL")).isEqualTo(SymbolDictionary.NONE);
+        assertThat(dictionary.idOf("AAPL")).isZero();
+        assertThat(dictionary.idOf("MSFT")).isEqualTo(1);
+        assertThat(dictionary.idOf("AAPL")).isZero();
+        assertThat(dictionary.find("MSFT")).isEqualTo(1);
+        assertThat(dictionary.size()).isEqualTo(2);
+    }
+
+    @Test
+    void returnsOneInstancePerSymbol() {
+        var dictionary = new SymbolDictionary();
+        var first = dictionary.idOf(new String("AAPL"));
+
+        assertThat(dictionary.symbol(dictionary.idOf(new String("AAPL"))))
+                .isSameAs(dictionary.symbol(first));
+    }
+
+    @Test
+    void resolvesEncodedSymbolsToTheSameIds() {
+        var dictionary = new SymbolDictionary();
+        var msft = dictionary.idOf("MSFT");
+        var value = "xxAAPLMSFT".getBytes(StandardCharsets.UTF_8);
+
+        var aapl = dictionary.idOfTicked(value, 2, 4);
+
+        assertThat(dictionary.idOfTicked(value, 6, 4)).isEqualTo(msft);
+        assertThat(dictionary.idOfTicked(value, 2, 4)).isEqualTo(aapl);
+        assertThat(dictionary.find("AAPL")).isEqualTo(aapl);
+        assertThat(dictionary.symbol(aapl)).isEqualTo("AAPL");
+    }
+
+    @Test
+    void growsPastInitialCapacity() {
+        var dictionary = new SymbolDictionary();
+        for (var i = 0; i < 1_000; i++) {
+            var symbol = "S" + i;
+            var bytes = symbol.getBytes(StandardCharsets.UTF_8);
+            assertThat(dictionary.idOfTicked(bytes, 0, bytes.length)).isEqualTo(i);
+        }
+
+        assertThat(dictionary.symbol(999)).isEqualTo("S999");
+        assertThat(dictionary.find("S500")).isEqualTo(500);
+    }
+
+    @Test
+    void stopsAssigningIdsToTickedSymbolsOnceFull() {
+        var dictionary = new SymbolDictionary(2);
+        dictionary.idOf("AAPL");
+        var value = "MSFTGOOG".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(dictionary.idOfTicked(value, 0, 4)).isEqualTo(1);
+        assertThat(dictionary.idOfTicked(value, 4, 4)).isEqualTo(SymbolDictionary.NONE);
+        assertThat(dictionary.idOfTicked("GOOG")).isEqualTo(SymbolDictionary.NONE);
+        assertThat(dictionary.find("GOOG")).isEqualTo(SymbolDictionary.NONE);
+        assertThat(dictionary.size()).isEqualTo(2);
+    }
+
+    @Test
+    void registersWatchedSymbolsPastTheTickedLimit() {
+        var dictionary = new SymbolDictionary(1);
+        dictionary.idOf("AAPL");
+        var value = "MSFT".getBytes(StandardCharsets.UTF_8);
+        assertThat(dictionary.idOfTicked(value, 0, 4)).isEqualTo(SymbolDictionary.NONE);
+
+        var msft = dictionary.idOf("MSFT");
+
+        assertThat(msft).isEqualTo(1);
+        assertThat(dictionary.idOfTicked(value, 0, 4)).isEqualTo(msft);
+        assertThat(dictionary.idOfTicked("MSFT")).isEqualTo(msft);
+    }
+
+    @Test
+    void keepsTurningAwaySymbolsPastTheRememberedMisses() {
+        var dictionary = new SymbolDictionary(2);
+        dictionary.idOf("AAPL");
+        dictionary.idOf("MSFT");
+        for (var i = 0; i < 1_000; i++) {
+            var bytes = ("S" + i).getBytes(StandardCharsets.UTF_8);
+            assertThat(dictionary.idOfTicked(bytes, 0, bytes.length))
+                    .isEqualTo(SymbolDictionary.NONE);
+            assertThat(dictionary.idOfTicked(bytes, 0, bytes.length))
+                    .isEqualTo(SymbolDictionary.NONE);
+        }
+
+        var watched = dictionary.idOf("S999");
+
+        assertThat(watched).isEqualTo(2);
+        var bytes = "S999".getBytes(StandardCharsets.UTF_8);
+        assertThat(dictionary.idOfTicked(bytes, 0, bytes.length)).isEqualTo(watched);
+        assertThat(dictionary.idOfTicked("S0")).isEqualTo(SymbolDictionary.NONE);
+        assertThat(dictionary.find("S0")).isEqualTo(SymbolDictionary.NONE);
+        assertThat(dictionary.size()).isEqualTo(3);
+    }
+}
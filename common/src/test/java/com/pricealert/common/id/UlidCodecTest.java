@@ -0,0 +1,34 @@
+package com.pricealert.common.id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class UlidCodecTest {
+
+    @Test
+    void roundTripsGeneratedUlid() {
+        String ulid = UlidGenerator.generate();
+        assertThat(UlidCodec.toString(UlidCodec.high(ulid), UlidCodec.low(ulid))).isEqualTo(ulid);
+    }
+
+    @Test
+    void roundTripsExtremeValues() {
+        assertThat(UlidCodec.toString(UlidCodec.high("00000000000000000000000000"),
+                UlidCodec.low("00000000000000000000000000"))).isEqualTo("00000000000000000000000000");
+        assertThat(UlidCodec.toString(UlidCodec.high("7ZZZZZZZZZZZZZZZZZZZZZZZZZ"),
+                UlidCodec.low("7ZZZZZZZZZZZZZZZZZZZZZZZZZ"))).isEqualTo("7ZZZZZZZZZZZZZZZZZZZZZZZZZ");
+        assertThat(UlidCodec.high("7ZZZZZZZZZZZZZZZZZZZZZZZZZ")).isEqualTo(-1L);
+        assertThat(UlidCodec.low("7ZZZZZZZZZZZZZZZZZZZZZZZZZ")).isEqualTo(-1L);
+    }
+
+    @Test
+    void acceptsOnlyCanonicalUlids() {
+        assertThat(UlidCodec.isCanonical(UlidGenerator.generate())).isTrue();
+        assertThat(UlidCodec.isCanonical("a1")).isFalse();
+        assertThat(UlidCodec.isCanonical(null)).isFalse();
+        assertThat(UlidCodec.isCanonical("80000000000000000000000000")).isFalse();
+        assertThat(UlidCodec.isCanonical("01ARZ3NDEKTSV4RRFFQ69G5FAv")).isFalse();
+        assertThat(UlidCodec.isCanonical("01ARZ3NDEKTSV4RRFFQ69G5FAI")).isFalse();
+    }
+}
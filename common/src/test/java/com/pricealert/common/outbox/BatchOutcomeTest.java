@@ -0,0 +1,80 @@
+package com.pricealert.common.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class BatchOutcomeTest {
+
+    private static final RuntimeException BROKER_DOWN = new RuntimeException("broker down");
+
+    private static OutboxRecord record(String id, String key) {
+        return new OutboxRecord(id, key, "Event", "{}", Instant.now(), 0);
+    }
+
+    @Test
+    void shouldCompleteEveryAckedRecord() {
+        // given
+        var batch = List.of(record("1", "AAPL"), record("2", "MSFT"), record("3", "AAPL"));
+
+        // when
+        var outcome = BatchOutcome.of(batch, Arrays.asList(null, null, null));
+
+        // then
+        assertThat(outcome.completed()).extracting(OutboxRecord::id).containsExactly("1", "2", "3");
+        assertThat(outcome.failed()).isEmpty();
+        assertThat(outcome.heldBack()).isEmpty();
+    }
+
+    @Test
+    void shouldHoldBackLaterRecordsOfAFailedKey() {
+        // given
+        var batch =
+                List.of(
+                        record("1", "AAPL"),
+                        record("2", "AAPL"),
+                        record("3", "MSFT"),
+                        record("4", "AAPL"));
+
+        // when
+        var outcome = BatchOutcome.of(batch, Arrays.asList(null, BROKER_DOWN, null, null));
+
+        // then
+        assertThat(outcome.completed()).extracting(OutboxRecord::id).containsExactly("1", "3");
+        assertThat(outcome.failed())
+                .extracting(failure -> failure.record().id())
+                .containsExactly("2");
+        assertThat(outcome.heldBack()).extracting(OutboxRecord::id).containsExactly("4");
+    }
+
+    @Test
+    void shouldCountOnlyTheFirstFailureOfAKey() {
+        // given
+        var batch = List.of(record("1", "AAPL"), record("2", "AAPL"));
+
+        // when
+        var outcome = BatchOutcome.of(batch, Arrays.asList(BROKER_DOWN, BROKER_DOWN));
+
+        // then
+        assertThat(outcome.completed()).isEmpty();
+        assertThat(outcome.failed())
+                .singleElement()
+                .satisfies(failure -> assertThat(failure.error()).isSameAs(BROKER_DOWN));
+    }
+
+    @Test
+    void shouldBackOffExponentiallyUpToMaxDelay() {
+        // given
+        var retry = new OutboxProperties.Retry(3, Duration.ofMillis(500), Duration.ofSeconds(3));
+
+        // then
+        assertThat(retry.delayAfter(1)).isEqualTo(Duration.ofMillis(500));
+        assertThat(retry.delayAfter(2)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(retry.delayAfter(3)).isEqualTo(Duration.ofSeconds(2));
+        assertThat(retry.delayAfter(4)).isEqualTo(Duration.ofSeconds(3));
+    }
+}
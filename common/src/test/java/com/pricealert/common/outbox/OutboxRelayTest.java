@@ -0,0 +1,274 @@
+package com.pricealert.common.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+
+import com.pricealert.common.json.JacksonConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private static final String PREFIX = "test_";
+
+    private static final PostgreSQLContainer<?> postgres;
+
+    private static final DriverManagerDataSource dataSource;
+
+    static {
+        postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:17-alpine"));
+        postgres.start();
+
+        dataSource =
+                new DriverManagerDataSource(
+                        postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        new JdbcTemplate(dataSource)
+                .execute(
+                        """
+                        CREATE TABLE test_outbox_record
+                        (
+                            id             VARCHAR(255)             NOT NULL PRIMARY KEY,
+                            status         VARCHAR(20)              NOT NULL,
+                            record_key     VARCHAR(255)             NOT NULL,
+                            record_type    VARCHAR(255)             NOT NULL,
+                            payload        TEXT                     NOT NULL,
+                            created_at     TIMESTAMP WITH TIME ZONE NOT NULL,
+                            failure_count  INT                      NOT NULL,
+                            failure_reason VARCHAR(1000),
+                            next_retry_at  TIMESTAMP WITH TIME ZONE NOT NULL,
+                            partition_no   INTEGER                  NOT NULL,
+                            handler_id     VARCHAR(1000)            NOT NULL
+                        )
+                        """);
+    }
+
+    record PriceMoved(String symbol, long sequence) {}
+
+    @Mock KafkaTemplate<String, Object> kafkaTemplate;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    private final OutboxWriter writer =
+            new OutboxWriter(dataSource, JacksonConfig.createObjectMapper(), PREFIX);
+
+    /** Every send, acked or not, as "topic symbol#sequence". */
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+
+    /** How many more sends of each "symbol#sequence" fail. */
+    private final Map<String, Integer> failuresLeft = new ConcurrentHashMap<>();
+
+    /** How many more sends throw an Error before reaching the broker. */
+    private final AtomicInteger errorsLeft = new AtomicInteger();
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void cleanTable() {
+        jdbcTemplate.update("DELETE FROM test_outbox_record");
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (relay != null) {
+            relay.stop();
+        }
+    }
+
+    private void startRelay(List<String> topics, int maxRetries) {
+        var properties =
+                new OutboxProperties(
+                        PREFIX,
+                        Duration.ofMillis(10),
+                        10,
+                        Duration.ofSeconds(1),
+                        new OutboxProperties.Retry(
+                                maxRetries, Duration.ofMillis(10), Duration.ofMillis(100)));
+        relay =
+                new OutboxRelay(
+                        dataSource,
+                        new DataSourceTransactionManager(dataSource),
+                        kafkaTemplate,
+                        JacksonConfig.createObjectMapper(),
+                        properties,
+                        Map.of(PriceMoved.class, topics),
+                        registry);
+        relay.start();
+    }
+
+    private void givenKafkaSends() {
+        given(kafkaTemplate.send(anyString(), anyString(), any()))
+                .willAnswer(
+                        invocation -> {
+                            if (errorsLeft.getAndUpdate(n -> Math.max(n - 1, 0)) > 0) {
+                                throw new NoClassDefFoundError("serializer missing");
+                            }
+                            PriceMoved payload = invocation.getArgument(2);
+                            var event = payload.symbol() + "#" + payload.sequence();
+                            sent.add(invocation.getArgument(0) + " " + event);
+                            if (failuresLeft.getOrDefault(event, 0) > 0) {
+                                failuresLeft.merge(event, -1, Integer::sum);
+                                return CompletableFuture.failedFuture(
+                                        new IllegalStateException("broker down"));
+                            }
+                            return CompletableFuture.completedFuture(null);
+                        });
+    }
+
+    private void schedule(String symbol, long sequence) {
+        writer.schedule(new PriceMoved(symbol, sequence), symbol);
+    }
+
+    private int pending() {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM test_outbox_record", Integer.class);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        var deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).as("condition met within 5s").isTrue();
+    }
+
+    private double count(String name) {
+        return registry.counter(name).count();
+    }
+
+    @Test
+    void shouldPublishEveryRecordToEachTopicInOrderAndDeleteIt() throws Exception {
+        // given
+        givenKafkaSends();
+        schedule("AAPL", 1);
+        schedule("MSFT", 1);
+        schedule("AAPL", 2);
+
+        // when
+        startRelay(List.of("prices", "prices-by-symbol"), 3);
+
+        // then
+        await(() -> pending() == 0);
+        assertThat(sent)
+                .containsExactly(
+                        "prices AAPL#1",
+                        "prices-by-symbol AAPL#1",
+                        "prices MSFT#1",
+                        "prices-by-symbol MSFT#1",
+                        "prices AAPL#2",
+                        "prices-by-symbol AAPL#2");
+        assertThat(count("outbox.relay.published")).isEqualTo(3.0);
+        assertThat(count("outbox.relay.failed")).isZero();
+    }
+
+    @Test
+    void shouldResendAFailedRecordBeforeTheLaterRecordsOfItsKey() throws Exception {
+        // given
+        givenKafkaSends();
+        failuresLeft.put("AAPL#1", 1);
+        schedule("AAPL", 1);
+        schedule("MSFT", 1);
+        schedule("AAPL", 2);
+
+        // when
+        startRelay(List.of("prices"), 3);
+
+        // then AAPL#2 was acked behind the failure, so it is sent again after AAPL#1
+        await(() -> pending() == 0);
+        assertThat(sent)
+                .containsExactly(
+                        "prices AAPL#1",
+                        "prices MSFT#1",
+                        "prices AAPL#2",
+                        "prices AAPL#1",
+                        "prices AAPL#2");
+        assertThat(count("outbox.relay.published")).isEqualTo(3.0);
+        assertThat(count("outbox.relay.failed")).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldMarkARecordFailedOnceItsRetriesAreExhausted() throws Exception {
+        // given
+        givenKafkaSends();
+        failuresLeft.put("AAPL#1", Integer.MAX_VALUE);
+        schedule("AAPL", 1);
+
+        // when
+        startRelay(List.of("prices"), 1);
+
+        // then
+        await(
+                () ->
+                        jdbcTemplate.queryForObject(
+                                        "SELECT count(*) FROM test_outbox_record"
+                                                + " WHERE status = 'FAILED'",
+                                        Integer.class)
+                                == 1);
+        var failure =
+                jdbcTemplate.queryForMap(
+                        "SELECT failure_count, failure_reason FROM test_outbox_record");
+        assertThat(failure)
+                .containsEntry("failure_count", 2)
+                .containsEntry("failure_reason", "broker down");
+        assertThat(sent).containsExactly("prices AAPL#1", "prices AAPL#1");
+    }
+
+    @Test
+    void shouldNotSendARecordBehindAnOlderRecordOfItsKeyAwaitingRetry() throws Exception {
+        // given AAPL#1 waiting out a retry
+        givenKafkaSends();
+        schedule("AAPL", 1);
+        schedule("AAPL", 2);
+        schedule("MSFT", 1);
+        jdbcTemplate.update(
+                "UPDATE test_outbox_record SET next_retry_at = now() + interval '1 hour'"
+                        + " WHERE id = (SELECT id FROM test_outbox_record ORDER BY created_at"
+                        + " LIMIT 1)");
+
+        // when
+        startRelay(List.of("prices"), 3);
+
+        // then
+        await(() -> pending() == 2);
+        relay.stop();
+        assertThat(sent).containsExactly("prices MSFT#1");
+    }
+
+    @Test
+    void shouldRetryARecordWhoseSendThrowsAnError() throws Exception {
+        // given
+        givenKafkaSends();
+        errorsLeft.set(1);
+        schedule("AAPL", 1);
+
+        // when
+        startRelay(List.of("prices"), 3);
+
+        // then the relay thread survived the Error and sent the record on retry
+        await(() -> pending() == 0);
+        assertThat(sent).containsExactly("prices AAPL#1");
+        assertThat(count("outbox.relay.published")).isEqualTo(1.0);
+        assertThat(count("outbox.relay.failed")).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,32 @@
+package com.pricealert.common.price;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+
+class ScaledPriceTest {
+
+    @Test
+    void toScaledIsExactForSixDecimals() {
+        assertThat(ScaledPrice.toScaled(new BigDecimal("150.123456"))).isEqualTo(150_123_456L);
+    }
+
+    @Test
+    void toScaledPadsShorterScales() {
+        assertThat(ScaledPrice.toScaled(new BigDecimal("150.25"))).isEqualTo(150_250_000L);
+        assertThat(ScaledPrice.toScaled(new BigDecimal("999999.99"))).isEqualTo(999_999_990_000L);
+    }
+
+    @Test
+    void toScaledRoundsHalfUpBeyondSixDecimals() {
+        assertThat(ScaledPrice.toScaled(new BigDecimal("0.0000005"))).isEqualTo(1L);
+    }
+
+    @Test
+    void roundTripPreservesValue() {
+        var price = new BigDecimal("184.48");
+        assertThat(ScaledPrice.toBigDecimal(ScaledPrice.toScaled(price)))
+                .isEqualByComparingTo(price);
+    }
+}
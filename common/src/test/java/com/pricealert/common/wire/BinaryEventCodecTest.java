@@ -0,0 +1,198 @@
+package com.pricealert.common.wire;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.pricealert.common.event.AlertChange;
+import com.pricealert.common.event.AlertChangeType;
+import com.pricealert.common.event.AlertLevelTrigger;
+import com.pricealert.common.event.AlertTrigger;
+import com.pricealert.common.event.Direction;
+import com.pricealert.common.event.MarketTick;
+import com.pricealert.common.id.UlidGenerator;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JacksonJsonDeserializer;
+
+class BinaryEventCodecTest {
+
+    private static final MarketTick TICK =
+            new MarketTick(
+                    "AAPL",
+                    new BigDecimal("150.25"),
+                    new BigDecimal("150.24"),
+                    new BigDecimal("150.26"),
+                    1200,
+                    Instant.parse("2026-02-21T14:30:00.123456789Z"),
+                    98237482L);
+
+    @Test
+    void marketTickRoundTrip() {
+        // when
+        var bytes = BinaryEventCodec.encode(TICK);
+
+        // then
+        assertThat(bytes).hasSize(3 + 2 + 4 + 6 * Long.BYTES);
+        assertThat(BinaryEventCodec.decode(bytes))
+                .usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(TICK);
+    }
+
+    @Test
+    void alertChangeRoundTripKeepsNullFields() {
+        // given
+        var change =
+                new AlertChange(
+                        AlertChangeType.DELETED,
+                        UlidGenerator.generate(),
+                        UlidGenerator.generate(),
+                        "MSFT",
+                        null,
+                        null,
+                        Instant.parse("2026-02-21T14:30:00Z"));
+
+        // when
+        var decoded = BinaryEventCodec.decode(BinaryEventCodec.encode(change));
+
+        // then
+        assertThat(decoded).isEqualTo(change);
+    }
+
+    @Test
+    void alertTriggerRoundTripKeepsNonUlidIds() {
+        // given
+        var trigger =
+                new AlertTrigger(
+                        UlidGenerator.generate(),
+                        "alt_01HZ3X",
+                        "usr_93fa",
+                        "AAPL",
+                        new BigDecimal("150.00"),
+                        new BigDecimal("150.25"),
+                        Direction.ABOVE,
+                        "Kauf-Signal ✓",
+                        Instant.parse("2026-02-21T14:30:00.123Z"),
+                        Instant.parse("2026-02-21T14:30:00.200Z"),
+                        LocalDate.of(2026, 2, 21));
+
+        // when
+        var decoded = BinaryEventCodec.decode(BinaryEventCodec.encode(trigger));
+
+        // then
+        assertThat(decoded)
+                .usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(trigger);
+    }
+
+    @Test
+    void alertLevelTriggerRoundTrip() {
+        // given
+        var trigger =
+                new AlertLevelTrigger(
+                        UlidGenerator.generate(),
+                        "AAPL",
+                        new BigDecimal("150.00"),
+                        new BigDecimal("150.25"),
+                        Instant.parse("2026-02-21T14:30:00.123Z"),
+                        Instant.parse("2026-02-21T14:30:00.200Z"),
+                        LocalDate.of(2026, 2, 21),
+                        List.of(
+                                new AlertLevelTrigger.Entry(
+                                        UlidGenerator.generate(),
+                                        UlidGenerator.generate(),
+                                        Direction.ABOVE,
+                                        "Buy signal"),
+                                new AlertLevelTrigger.Entry(
+                                        "alt_legacy", "usr_77cd", Direction.CROSS, null)));
+
+        // when
+        var decoded = BinaryEventCodec.decode(BinaryEventCodec.encode(trigger));
+
+        // then
+        assertThat(decoded)
+                .usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(trigger);
+    }
+
+    @Test
+    void decodeRejectsUnknownVersion() {
+        // given
+        var bytes = BinaryEventCodec.encode(TICK);
+        bytes[1] = (byte) (BinaryEventCodec.VERSION + 1);
+
+        // then
+        assertThatThrownBy(() -> BinaryEventCodec.decode(bytes))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("version");
+    }
+
+    @Test
+    void decodeRejectsTruncatedAndTrailingBytes() {
+        // given
+        var bytes = BinaryEventCodec.encode(TICK);
+
+        // then
+        assertThatThrownBy(() -> BinaryEventCodec.decode(Arrays.copyOf(bytes, bytes.length - 1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Truncated");
+        assertThatThrownBy(() -> BinaryEventCodec.decode(Arrays.copyOf(bytes, bytes.length + 1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("after");
+    }
+
+    @Test
+    void wireFormatsCoexistOnOneTopic() {
+        // given
+        var binary = new WireSerializer();
+        binary.configure(Map.of(WireSerializer.FORMAT_CONFIG, "binary"), false);
+        var json = new WireSerializer();
+        json.configure(Map.of(), false);
+        var jsonDeserializer = new JacksonJsonDeserializer<>(MarketTick.class);
+        jsonDeserializer.addTrustedPackages("com.pricealert.common.*");
+        var deserializer = new WireDeserializer<>(MarketTick.class, jsonDeserializer);
+        var binaryHeaders = new RecordHeaders();
+        var jsonHeaders = new RecordHeaders();
+
+        // when
+        var binaryBytes = binary.serialize("market-ticks", binaryHeaders, TICK);
+        var jsonBytes = json.serialize("market-ticks", jsonHeaders, TICK);
+
+        // then
+        assertThat(binaryBytes.length).isLessThan(jsonBytes.length);
+        assertThat(deserializer.deserialize("market-ticks", binaryHeaders, binaryBytes))
+                .usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(TICK);
+        assertThat(deserializer.deserialize("market-ticks", jsonHeaders, jsonBytes))
+                .usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(TICK);
+    }
+
+    @Test
+    void deserializerRejectsBinaryRecordOfAnotherType() {
+        // given
+        var serializer = new WireSerializer();
+        serializer.configure(Map.of(WireSerializer.FORMAT_CONFIG, "binary"), false);
+        var deserializer =
+                new WireDeserializer<>(
+                        AlertChange.class, new JacksonJsonDeserializer<>(AlertChange.class));
+        var headers = new RecordHeaders();
+        var bytes = serializer.serialize("alert-changes", headers, TICK);
+
+        // then
+        assertThatThrownBy(() -> deserializer.deserialize("alert-changes", headers, bytes))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("Expected AlertChange");
+    }
+}
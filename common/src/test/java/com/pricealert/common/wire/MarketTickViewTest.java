@@ -0,0 +1,86 @@
+package com.pricealert.common.wire;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.pricealert.common.event.AlertChange;
+import com.pricealert.common.event.AlertChangeType;
+import com.pricealert.common.event.MarketTick;
+import com.pricealert.common.price.ScaledPrice;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class MarketTickViewTest {
+
+    private static final MarketTick TICK =
+            new MarketTick(
+                    "AAPL",
+                    new BigDecimal("150.25"),
+                    new BigDecimal("150.24"),
+                    null,
+                    1200,
+                    Instant.parse("2026-02-21T14:30:00.123456789Z"),
+                    98237482L);
+
+    @Test
+    void readsFieldsInPlace() {
+        // when
+        var view = new MarketTickView().wrap(BinaryEventCodec.encode(TICK));
+
+        // then
+        assertThat(view.symbol()).isEqualTo("AAPL");
+        assertThat(view.price()).isEqualTo(ScaledPrice.toScaled(TICK.price()));
+        assertThat(view.bid()).isEqualTo(ScaledPrice.toScaled(TICK.bid()));
+        assertThat(view.ask()).isEqualTo(Long.MIN_VALUE);
+        assertThat(view.volume()).isEqualTo(1200);
+        assertThat(Instant.ofEpochSecond(0, view.timestampNanos())).isEqualTo(TICK.timestamp());
+        assertThat(view.sequence()).isEqualTo(98237482L);
+        assertThat(view.toMarketTick())
+                .usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(TICK);
+    }
+
+    @Test
+    void rewrapsAndInternsSymbols() {
+        // given
+        var view = new MarketTickView();
+        var msft =
+                BinaryEventCodec.encode(
+                        new MarketTick("MSFT", BigDecimal.ONE, null, null, 0, null, 0));
+
+        // when
+        var first = view.wrap(BinaryEventCodec.encode(TICK)).symbol();
+        var other = view.wrap(msft).symbol();
+        var again = view.wrap(BinaryEventCodec.encode(TICK)).symbol();
+
+        // then
+        assertThat(other).isEqualTo("MSFT");
+        assertThat(again).isSameAs(first);
+        assertThat(MarketTickView.symbolOf(msft)).isSameAs(other);
+    }
+
+    @Test
+    void rejectsAnythingButAWellFormedTick() {
+        // given
+        var tick = BinaryEventCodec.encode(TICK);
+        var change =
+                BinaryEventCodec.encode(
+                        new AlertChange(
+                                AlertChangeType.DELETED, "a1", "u1", "AAPL", null, null, null));
+        var noPrice = BinaryEventCodec.encode(new MarketTick("AAPL", null, null, null, 0, null, 0));
+        var json = "{\"symbol\":\"AAPL\"}".getBytes(StandardCharsets.UTF_8);
+
+        // then
+        assertThat(MarketTickView.isMarketTick(tick)).isTrue();
+        assertThat(MarketTickView.isMarketTick(Arrays.copyOf(tick, tick.length - 1))).isFalse();
+        assertThat(MarketTickView.isMarketTick(change)).isFalse();
+        assertThat(MarketTickView.isMarketTick(noPrice)).isFalse();
+        assertThat(MarketTickView.isMarketTick(json)).isFalse();
+        assertThatThrownBy(() -> new MarketTickView().wrap(json))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -1,8 +1,16 @@
 package com.pricealert.evaluator.application.config;
 
+import com.pricealert.evaluator.domain.evaluation.AlertIndexManager;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 @EnableConfigurationProperties(EvaluatorProperties.class)
-public class EvaluatorConfig {}
+public class EvaluatorConfig {
+
+    @Bean
+    public AlertIndexManager alertIndexManager(EvaluatorProperties properties) {
+        return new AlertIndexManager(properties.index().type());
+    }
+}
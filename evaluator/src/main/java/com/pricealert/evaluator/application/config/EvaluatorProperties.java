@@ -1,14 +1,114 @@
 package com.pricealert.evaluator.application.config;
 
+import com.pricealert.evaluator.domain.evaluation.AlertIndexType;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import java.nio.file.Path;
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
 @Validated
 @ConfigurationProperties(prefix = "evaluator")
-public record EvaluatorProperties(@NotNull @Valid Warmup warmup) {
+public record EvaluatorProperties(
+        @NotNull @Valid Warmup warmup,
+        @NotNull @Valid Index index,
+        @NotNull @Valid Ticks ticks,
+        @NotNull @Valid Changes changes,
+        @NotNull @Valid Execution execution,
+        @NotNull @Valid Snapshot snapshot,
+        @NotNull @Valid StatusUpdates statusUpdates) {
 
-    public record Warmup(@Min(1) int batchSize) {}
+    /**
+     * A shared group hands each alert change to one instance, which under partition-aware warm-up
+     * is often not the one indexing the symbol: the owner would miss every change after its load.
+     */
+    @AssertTrue(message = "partition-aware warm-up needs co-partitioned change routing")
+    public boolean isChangeRoutingSupported() {
+        return warmup == null
+                || changes == null
+                || warmup.mode() != Warmup.Mode.PARTITION_AWARE
+                || changes.routing() != Changes.Routing.SHARED_GROUP;
+    }
+
+    public record Warmup(
+            @Min(1) int batchSize,
+            @NotNull Mode mode,
+            @Min(1) int parallelism,
+            @NotNull @Valid Retry retry) {
+
+        public enum Mode {
+            /** Load every ACTIVE alert before any listener starts. */
+            FULL,
+            /** Load only the symbols of assigned market-ticks partitions, evict on revocation. */
+            PARTITION_AWARE
+        }
+
+        /**
+         * Backoff for an assigned partition whose alerts fail to load. After {@code maxRetries}
+         * the partition is paused and retried at {@code maxDelay} at most until it loads.
+         */
+        public record Retry(
+                @Min(0) int maxRetries,
+                @NotNull Duration initialDelay,
+                @NotNull Duration maxDelay) {
+
+            public Duration delayAfter(int failures) {
+                var delay = initialDelay.multipliedBy(1L << Math.min(failures - 1, 30));
+                return delay.compareTo(maxDelay) > 0 ? maxDelay : delay;
+            }
+        }
+    }
+
+    public record Index(@NotNull AlertIndexType type) {}
+
+    /**
+     * How tick records are decoded. With {@code skipUnwatched}, ticks for symbols no alert
+     * watches are dropped by record key before their value is decoded.
+     */
+    public record Ticks(@NotNull Decoding decoding, boolean skipUnwatched) {
+
+        public enum Decoding {
+            /** Deserialize every tick into a MarketTick before evaluation. */
+            OBJECT,
+            /** Keep binary ticks as raw bytes, read in place; JSON ticks still become objects. */
+            FLYWEIGHT
+        }
+    }
+
+    public record Changes(@NotNull Routing routing) {
+
+        public enum Routing {
+            /** alert-changes through the evaluator-changes group, on its own threads. */
+            SHARED_GROUP,
+            /** alert-changes-by-symbol in the tick container, on the symbol's tick thread. */
+            CO_PARTITIONED
+        }
+    }
+
+    public record Execution(@NotNull Mode mode, @Min(1) int shards, @Min(2) int queueCapacity) {
+
+        public enum Mode {
+            /** Evaluate and apply changes on the Kafka listener thread that received them. */
+            CONSUMER_THREAD,
+            /** Hand events to one single-writer evaluation thread per symbol shard. */
+            SHARDED
+        }
+    }
+
+    /**
+     * Per-partition index snapshots, restored on assignment instead of loading from the DB.
+     * Only used with co-partitioned routing and partition-aware warm-up.
+     */
+    public record Snapshot(
+            boolean enabled,
+            @NotNull Path directory,
+            @NotNull Duration interval,
+            @NotNull Duration maxAge) {}
+
+    /** Write-behind TRIGGERED_TODAY updates, flushed every interval or every max-batch IDs. */
+    public record StatusUpdates(
+            @NotNull Duration flushInterval, @Min(1) int maxBatch, @Min(2) int queueCapacity) {}
 }
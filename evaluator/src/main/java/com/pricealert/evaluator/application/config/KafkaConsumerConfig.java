@@ -2,8 +2,22 @@ package com.pricealert.evaluator.application.config;
 
 import com.pricealert.common.event.AlertChange;
 import com.pricealert.common.event.MarketTick;
+import com.pricealert.common.kafka.KafkaTopics;
+import com.pricealert.common.wire.WireDeserializer;
+import com.pricealert.evaluator.application.config.EvaluatorProperties.Ticks.Decoding;
+import com.pricealert.evaluator.application.config.EvaluatorProperties.Warmup.Mode;
+import com.pricealert.evaluator.domain.evaluation.AlertIndexManager;
+import com.pricealert.evaluator.infrastructure.kafka.FlyweightTickDeserializer;
+import com.pricealert.evaluator.infrastructure.kafka.TickPartitionRebalanceListener;
+import com.pricealert.evaluator.infrastructure.kafka.TickRecordReader;
+import io.micrometer.core.instrument.Counter;
 import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.RangeAssignor;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.boot.kafka.autoconfigure.KafkaProperties;
 import org.springframework.context.annotation.Bean;
@@ -12,17 +26,25 @@ import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.support.serializer.DelegatingByTopicDeserializer;
 import org.springframework.kafka.support.serializer.JacksonJsonDeserializer;
 
 @Configuration
 public class KafkaConsumerConfig {
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, MarketTick>
-            marketTickListenerContainerFactory(KafkaProperties kafkaProperties) {
-        var factory = new ConcurrentKafkaListenerContainerFactory<String, MarketTick>();
+    public ConcurrentKafkaListenerContainerFactory<String, Object>
+            marketTickListenerContainerFactory(
+                    KafkaProperties kafkaProperties,
+                    EvaluatorProperties evaluatorProperties,
+                    TickPartitionRebalanceListener rebalanceListener) {
+        var factory = new ConcurrentKafkaListenerContainerFactory<String, Object>();
         factory.setConsumerFactory(
-                consumerFactory(kafkaProperties, MarketTick.class, "evaluator-ticks"));
+                consumerFactory(
+                        kafkaProperties,
+                        "evaluator-ticks",
+                        containerTickDeserializer(evaluatorProperties),
+                        null));
         factory.setBatchListener(true);
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
         factory.setConcurrency(16);
@@ -31,6 +53,40 @@ public class KafkaConsumerConfig {
         // when Kafka consumer threads and the warm-up main thread both call addAlert()
         // on the same SymbolAlertIndex concurrently.
         factory.setAutoStartup(false);
+        if (evaluatorProperties.warmup().mode() == Mode.PARTITION_AWARE) {
+            partitionAware(factory, evaluatorProperties, rebalanceListener);
+        }
+        return factory;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object>
+            coPartitionedListenerContainerFactory(
+                    KafkaProperties kafkaProperties,
+                    EvaluatorProperties evaluatorProperties,
+                    TickPartitionRebalanceListener rebalanceListener) {
+        var valueDeserializer =
+                new DelegatingByTopicDeserializer(
+                        Map.of(
+                                Pattern.compile(KafkaTopics.ALERT_CHANGES_BY_SYMBOL),
+                                valueDeserializer(AlertChange.class)),
+                        containerTickDeserializer(evaluatorProperties));
+        var factory = new ConcurrentKafkaListenerContainerFactory<String, Object>();
+        // RangeAssignor gives partition N of both 16-partition topics to the same consumer;
+        // the cooperative-sticky assignor balances each topic independently and would not.
+        factory.setConsumerFactory(
+                consumerFactory(
+                        kafkaProperties,
+                        "evaluator-ticks",
+                        valueDeserializer,
+                        RangeAssignor.class.getName()));
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        factory.setConcurrency(16);
+        factory.setAutoStartup(false);
+        if (evaluatorProperties.warmup().mode() == Mode.PARTITION_AWARE) {
+            partitionAware(factory, evaluatorProperties, rebalanceListener);
+        }
         return factory;
     }
 
@@ -46,8 +102,42 @@ public class KafkaConsumerConfig {
         return factory;
     }
 
+    @Bean
+    public TickRecordReader tickRecordReader(
+            EvaluatorProperties evaluatorProperties,
+            AlertIndexManager alertIndexManager,
+            Counter ticksSkippedCounter) {
+        return new TickRecordReader(
+                tickDeserializer(evaluatorProperties),
+                alertIndexManager,
+                evaluatorProperties.ticks().skipUnwatched(),
+                ticksSkippedCounter);
+    }
+
+    /**
+     * Loads alerts as partitions are assigned. Idle events let a consumer whose partitions are
+     * all held paused keep retrying their load; see {@link TickPartitionRebalanceListener}.
+     */
+    private static void partitionAware(
+            ConcurrentKafkaListenerContainerFactory<String, Object> factory,
+            EvaluatorProperties evaluatorProperties,
+            TickPartitionRebalanceListener rebalanceListener) {
+        var containerProperties = factory.getContainerProperties();
+        containerProperties.setConsumerRebalanceListener(rebalanceListener);
+        containerProperties.setIdleEventInterval(
+                evaluatorProperties.warmup().retry().initialDelay().toMillis());
+    }
+
     private <T> ConsumerFactory<String, T> consumerFactory(
             KafkaProperties kafkaProperties, Class<T> valueType, String groupId) {
+        return consumerFactory(kafkaProperties, groupId, valueDeserializer(valueType), null);
+    }
+
+    private <T> ConsumerFactory<String, T> consumerFactory(
+            KafkaProperties kafkaProperties,
+            String groupId,
+            Deserializer<T> valueDeserializer,
+            String assignmentStrategyOverride) {
         var props = new HashMap<String, Object>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaProperties.getBootstrapServers());
         props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
@@ -57,14 +147,47 @@ public class KafkaConsumerConfig {
         props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
 
         var assignmentStrategy =
-                kafkaProperties.getConsumer().getProperties().get("partition.assignment.strategy");
+                assignmentStrategyOverride != null
+                        ? assignmentStrategyOverride
+                        : kafkaProperties
+                                .getConsumer()
+                                .getProperties()
+                                .get("partition.assignment.strategy");
         if (assignmentStrategy != null) {
             props.put(ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG, assignmentStrategy);
         }
 
-        var deserializer = new JacksonJsonDeserializer<>(valueType);
-        deserializer.addTrustedPackages("com.pricealert.common.*");
+        return new DefaultKafkaConsumerFactory<>(
+                props, new StringDeserializer(), valueDeserializer);
+    }
+
+    /**
+     * Skipping unwatched symbols leaves tick values undecoded for {@link TickRecordReader}, which
+     * decodes only the ticks it keeps.
+     */
+    @SuppressWarnings("unchecked")
+    private static Deserializer<Object> containerTickDeserializer(
+            EvaluatorProperties evaluatorProperties) {
+        if (evaluatorProperties.ticks().skipUnwatched()) {
+            return (Deserializer<Object>) (Deserializer<?>) new ByteArrayDeserializer();
+        }
+        return tickDeserializer(evaluatorProperties);
+    }
+
+    /** Flyweight decoding keeps binary ticks as raw bytes: {@link FlyweightTickDeserializer}. */
+    @SuppressWarnings("unchecked")
+    private static Deserializer<Object> tickDeserializer(EvaluatorProperties evaluatorProperties) {
+        var ticks = valueDeserializer(MarketTick.class);
+        if (evaluatorProperties.ticks().decoding() == Decoding.FLYWEIGHT) {
+            return new FlyweightTickDeserializer(ticks);
+        }
+        return (Deserializer<Object>) (Deserializer<?>) ticks;
+    }
 
-        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), deserializer);
+    /** Reads binary and JSON records alike, so producers can switch formats independently. */
+    private static <T> WireDeserializer<T> valueDeserializer(Class<T> valueType) {
+        var json = new JacksonJsonDeserializer<>(valueType);
+        json.addTrustedPackages("com.pricealert.common.*");
+        return new WireDeserializer<>(valueType, json);
     }
 }
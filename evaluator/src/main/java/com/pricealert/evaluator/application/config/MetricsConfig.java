@@ -1,6 +1,8 @@
 package com.pricealert.evaluator.application.config;
 
 import com.pricealert.evaluator.domain.evaluation.AlertIndexManager;
+import com.pricealert.evaluator.infrastructure.db.ParallelWarmUpLoader;
+import com.pricealert.evaluator.infrastructure.kafka.SymbolOwnership;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -17,6 +19,13 @@ public class MetricsConfig {
                 .register(registry);
     }
 
+    @Bean
+    public Counter ticksSkippedCounter(MeterRegistry registry) {
+        return Counter.builder("evaluator.ticks.skipped")
+                .description("Ticks for unwatched symbols dropped before their value was decoded")
+                .register(registry);
+    }
+
     @Bean
     public Counter alertsTriggeredCounter(MeterRegistry registry) {
         return Counter.builder("evaluator.alerts.triggered")
@@ -24,6 +33,20 @@ public class MetricsConfig {
                 .register(registry);
     }
 
+    @Bean
+    public Counter levelTriggersCounter(MeterRegistry registry) {
+        return Counter.builder("evaluator.level.triggers")
+                .description("Level trigger records written to the outbox")
+                .register(registry);
+    }
+
+    @Bean
+    public Counter alertsRestoredCounter(MeterRegistry registry) {
+        return Counter.builder("evaluator.alerts.restored")
+                .description("Fired alerts put back in the index after their outbox write failed")
+                .register(registry);
+    }
+
     @Bean
     public Gauge indexedSymbolsGauge(MeterRegistry registry, AlertIndexManager indexManager) {
         return Gauge.builder("evaluator.index.symbols", indexManager::symbolCount)
@@ -37,4 +60,41 @@ public class MetricsConfig {
                 .description("Total alerts in the evaluation index")
                 .register(registry);
     }
+
+    @Bean
+    public Gauge indexLocatorBytesGauge(MeterRegistry registry, AlertIndexManager indexManager) {
+        return Gauge.builder("evaluator.index.locator.bytes", indexManager::locatorBytes)
+                .description("Estimated heap retained by the alertId locator maps")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    @Bean
+    public Gauge indexOffHeapBytesGauge(MeterRegistry registry, AlertIndexManager indexManager) {
+        return Gauge.builder("evaluator.index.offheap.bytes", indexManager::offHeapBytes)
+                .description("Native memory reserved by off-heap alert slabs")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    @Bean
+    public Counter warmUpAlertsCounter(MeterRegistry registry) {
+        return Counter.builder("evaluator.warmup.alerts.loaded")
+                .description("Alerts loaded from the DB into the index during warm-up")
+                .register(registry);
+    }
+
+    @Bean
+    public Gauge warmUpProgressGauge(MeterRegistry registry, ParallelWarmUpLoader loader) {
+        return Gauge.builder("evaluator.warmup.progress", loader::progress)
+                .description("Fraction of requested symbols whose alerts are loaded")
+                .register(registry);
+    }
+
+    @Bean
+    public Gauge warmUpHeldPartitionsGauge(MeterRegistry registry, SymbolOwnership ownership) {
+        return Gauge.builder("evaluator.warmup.partitions.held", ownership::heldCount)
+                .description("Assigned partitions paused because their alerts failed to load")
+                .register(registry);
+    }
 }
@@ -0,0 +1,59 @@
+package com.pricealert.evaluator.domain.evaluation;
+
+import com.pricealert.common.event.AlertChange;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/** Applies {@link AlertChange} events from either change stream to the in-memory index. */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AlertChangeApplier {
+
+    private final AlertIndexManager indexManager;
+
+    public void apply(AlertChange change) {
+        switch (change.eventType()) {
+            case CREATED -> handleCreated(change);
+            case UPDATED -> handleUpdated(change);
+            case DELETED -> handleDeleted(change);
+            case RESET -> handleReset(change);
+        }
+    }
+
+    // addAlert replaces any entry already indexed under the same alertId, so
+    // CREATED/UPDATED/RESET are idempotent upserts touching a single price level.
+    private void handleCreated(AlertChange change) {
+        log.debug("Adding alert {} for {} to index", change.alertId(), change.symbol());
+        indexManager.addAlert(toEntry(change));
+    }
+
+    private void handleUpdated(AlertChange change) {
+        log.debug("Updating alert {} for {} in index", change.alertId(), change.symbol());
+        indexManager.addAlert(toEntry(change));
+    }
+
+    private void handleDeleted(AlertChange change) {
+        log.debug("Removing alert {} for {} from index", change.alertId(), change.symbol());
+        indexManager.removeAlert(change.alertId(), change.symbol());
+    }
+
+    private void handleReset(AlertChange change) {
+        log.debug(
+                "Re-adding alert {} for {} to index (daily reset)",
+                change.alertId(),
+                change.symbol());
+        indexManager.addAlert(toEntry(change));
+    }
+
+    private AlertEntry toEntry(AlertChange change) {
+        return AlertEntry.builder()
+                .alertId(change.alertId())
+                .userId(change.userId())
+                .symbol(change.symbol())
+                .thresholdPrice(change.thresholdPrice())
+                .direction(change.direction())
+                .build();
+    }
+}
@@ -1,14 +1,27 @@
 package com.pricealert.evaluator.domain.evaluation;
 
 import com.pricealert.common.event.Direction;
+import com.pricealert.common.id.SymbolDictionary;
 import java.math.BigDecimal;
 import lombok.Builder;
 
+/**
+ * An indexed alert: only what evaluation needs. The note stays in the database; the
+ * notification-persister reads it when the alert fires. The symbol is canonicalized on
+ * construction, so however it was decoded, every alert of a symbol shares the {@link
+ * SymbolDictionary} instance.
+ */
 @Builder(toBuilder = true)
 public record AlertEntry(
         String alertId,
         String userId,
         String symbol,
         BigDecimal thresholdPrice,
-        Direction direction,
-        String note) {}
+        Direction direction) {
+
+    private static final SymbolDictionary SYMBOLS = SymbolDictionary.shared();
+
+    public AlertEntry {
+        symbol = symbol == null ? null : SYMBOLS.symbol(SYMBOLS.idOf(symbol));
+    }
+}
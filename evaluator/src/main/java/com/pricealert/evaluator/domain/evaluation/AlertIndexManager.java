@@ -1,19 +1,92 @@
 package com.pricealert.evaluator.domain.evaluation;
 
-import java.util.concurrent.ConcurrentHashMap;
-import org.springframework.stereotype.Component;
+import com.pricealert.common.id.SymbolDictionary;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
-@Component
+/**
+ * Per-symbol alert indexes in an array indexed by {@link SymbolDictionary} id, so the tick path
+ * reaches a symbol's index with an array load instead of a string hash and compare. Lookups by
+ * id or string never lock; creating, publishing and dropping indexes take the manager's lock,
+ * which only alert changes, warm-up and rebalances contend for.
+ */
 public class AlertIndexManager {
 
-    private final ConcurrentHashMap<String, SymbolAlertIndex> indices = new ConcurrentHashMap<>();
+    private static final long NO_PRICE = Long.MIN_VALUE;
+
+    private final SymbolDictionary symbols = SymbolDictionary.shared();
+    private final AlertIndexType indexType;
+
+    /** Grown under the lock; a slot, once set, stays for the life of the manager. */
+    private volatile AtomicReferenceArray<Slot> slots = new AtomicReferenceArray<>(256);
+
+    public AlertIndexManager() {
+        this(AlertIndexType.TREE_MAP);
+    }
+
+    public AlertIndexManager(AlertIndexType indexType) {
+        this.indexType = indexType;
+    }
 
     public SymbolAlertIndex getOrCreate(String symbol) {
-        return indices.computeIfAbsent(symbol, k -> new SymbolAlertIndex());
+        return getOrCreate(symbols.idOf(symbol));
+    }
+
+    public SymbolAlertIndex getOrCreate(int symbolId) {
+        var index = get(symbolId);
+        return index != null ? index : create(symbolId);
+    }
+
+    /** Whether any alert watches the symbol; ticks for other symbols need no evaluation. */
+    public boolean isWatched(String symbol) {
+        var index = get(symbol);
+        return index != null && !index.isEmpty();
+    }
+
+    /**
+     * Remembers the last price of a symbol that has no index, so a CROSS alert created for it
+     * later is judged against the price before its first evaluated tick. Not kept for a symbol
+     * the {@link SymbolDictionary} has no room for.
+     */
+    public void recordUnindexedPrice(String symbol, long scaledPrice) {
+        recordUnindexedPrice(symbols.idOfTicked(symbol), scaledPrice);
+    }
+
+    public void recordUnindexedPrice(int symbolId, long scaledPrice) {
+        if (symbolId == SymbolDictionary.NONE) {
+            return;
+        }
+        var slot = slot(symbolId);
+        if (slot == null) {
+            slot = slotOrCreateLocked(symbolId);
+        }
+        slot.unindexedPrice = scaledPrice;
+    }
+
+    /** Creates an empty index of the configured type without registering it. */
+    public SymbolAlertIndex newIndex() {
+        return indexType.newIndex();
+    }
+
+    /** Makes a fully built index visible, replacing any index the symbol already had. */
+    public synchronized void publish(String symbol, SymbolAlertIndex index) {
+        var slot = slotOrCreate(symbols.idOf(symbol));
+        slot.index = index.getLastPrice() == null ? seeded(slot, index) : index;
+        slot.unindexedPrice = NO_PRICE;
     }
 
     public SymbolAlertIndex get(String symbol) {
-        return indices.get(symbol);
+        var symbolId = symbols.find(symbol);
+        return symbolId == SymbolDictionary.NONE ? null : get(symbolId);
+    }
+
+    public SymbolAlertIndex get(int symbolId) {
+        var slot = slot(symbolId);
+        return slot == null ? null : slot.index;
     }
 
     public void addAlert(AlertEntry alert) {
@@ -21,21 +94,122 @@ public class AlertIndexManager {
     }
 
     public void removeAlert(String alertId, String symbol) {
-        var index = indices.get(symbol);
+        var index = get(symbol);
         if (index != null) {
             index.removeAlert(alertId);
         }
     }
 
+    public void forEach(BiConsumer<String, SymbolAlertIndex> action) {
+        var current = slots;
+        for (var symbolId = 0; symbolId < current.length(); symbolId++) {
+            var slot = current.get(symbolId);
+            var index = slot == null ? null : slot.index;
+            if (index != null) {
+                action.accept(symbols.symbol(symbolId), index);
+            }
+        }
+    }
+
+    /** Drops the indices of every matching symbol; returns how many alerts they held. */
+    public synchronized int removeSymbols(Predicate<String> symbolFilter) {
+        var removed = 0;
+        var current = slots;
+        for (var symbolId = 0; symbolId < current.length(); symbolId++) {
+            var slot = current.get(symbolId);
+            if (slot != null && symbolFilter.test(symbols.symbol(symbolId))) {
+                var index = slot.index;
+                if (index != null) {
+                    removed += index.size();
+                    slot.index = null;
+                }
+                slot.unindexedPrice = NO_PRICE;
+            }
+        }
+        return removed;
+    }
+
     public int totalAlerts() {
-        return indices.values().stream().mapToInt(SymbolAlertIndex::size).sum();
+        return indexes().mapToInt(SymbolAlertIndex::size).sum();
+    }
+
+    public long locatorBytes() {
+        return indexes().mapToLong(SymbolAlertIndex::locatorBytes).sum();
+    }
+
+    public long offHeapBytes() {
+        return indexes().mapToLong(SymbolAlertIndex::offHeapBytes).sum();
     }
 
     public int symbolCount() {
-        return indices.size();
+        return (int) indexes().count();
+    }
+
+    public synchronized void clear() {
+        slots = new AtomicReferenceArray<>(256);
+    }
+
+    private synchronized SymbolAlertIndex create(int symbolId) {
+        var slot = slotOrCreate(symbolId);
+        if (slot.index == null) {
+            slot.index = seeded(slot, indexType.newIndex());
+        }
+        return slot.index;
+    }
+
+    private SymbolAlertIndex seeded(Slot slot, SymbolAlertIndex index) {
+        var lastPrice = slot.unindexedPrice;
+        if (lastPrice != NO_PRICE) {
+            index.setLastScaledPrice(lastPrice);
+            slot.unindexedPrice = NO_PRICE;
+        }
+        return index;
+    }
+
+    private Stream<SymbolAlertIndex> indexes() {
+        var current = slots;
+        return IntStream.range(0, current.length())
+                .mapToObj(current::get)
+                .filter(Objects::nonNull)
+                .map(slot -> slot.index)
+                .filter(Objects::nonNull);
+    }
+
+    private Slot slot(int symbolId) {
+        var current = slots;
+        return symbolId < current.length() ? current.get(symbolId) : null;
+    }
+
+    private synchronized Slot slotOrCreateLocked(int symbolId) {
+        return slotOrCreate(symbolId);
+    }
+
+    /** Callers hold the lock. */
+    private Slot slotOrCreate(int symbolId) {
+        var current = slots;
+        if (symbolId >= current.length()) {
+            var capacity = Math.max(symbolId + 1, current.length() * 2);
+            var grown = new AtomicReferenceArray<Slot>(capacity);
+            for (var i = 0; i < current.length(); i++) {
+                grown.set(i, current.get(i));
+            }
+            slots = grown;
+            current = grown;
+        }
+        var slot = current.get(symbolId);
+        if (slot == null) {
+            slot = new Slot();
+            current.set(symbolId, slot);
+        }
+        return slot;
     }
 
-    public void clear() {
-        indices.clear();
+    /**
+     * A symbol's index, or while it has none, the last scaled price it was ticked at, seeded into
+     * the index once made.
+     */
+    private static final class Slot {
+        volatile SymbolAlertIndex index;
+        volatile long unindexedPrice = NO_PRICE;
     }
 }
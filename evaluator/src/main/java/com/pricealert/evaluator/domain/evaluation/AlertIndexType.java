@@ -0,0 +1,18 @@
+package com.pricealert.evaluator.domain.evaluation;
+
+public enum AlertIndexType {
+    /** {@code TreeMap<BigDecimal, List<AlertEntry>>} per direction. */
+    TREE_MAP,
+    /** Thresholds as scaled longs in sorted primitive arrays. */
+    FIXED_POINT,
+    /** Fixed-point levels over slot handles into an off-heap struct-of-arrays slab. */
+    OFF_HEAP;
+
+    public SymbolAlertIndex newIndex() {
+        return switch (this) {
+            case TREE_MAP -> new TreeMapSymbolAlertIndex();
+            case FIXED_POINT -> new FixedPointSymbolAlertIndex();
+            case OFF_HEAP -> new OffHeapSymbolAlertIndex();
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package com.pricealert.evaluator.domain.evaluation;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * alertId → indexed entry. The entry carries the direction and threshold, so removal and
+ * upsert go straight to the one price level holding the alert instead of scanning the index.
+ */
+final class AlertLocator {
+
+    // Compressed-oops estimates: HashMap itself, one HashMap.Node, one table slot.
+    private static final long MAP_BYTES = 48;
+    private static final long NODE_BYTES = 32;
+    private static final long SLOT_BYTES = 4;
+
+    private final HashMap<String, AlertEntry> entries = new HashMap<>();
+
+    /** Returns the entry previously indexed under the same alertId, or null. */
+    AlertEntry put(AlertEntry alert) {
+        return entries.put(alert.alertId(), alert);
+    }
+
+    AlertEntry remove(String alertId) {
+        return entries.remove(alertId);
+    }
+
+    void removeAll(List<AlertEntry> alerts) {
+        for (var alert : alerts) {
+            entries.remove(alert.alertId());
+        }
+    }
+
+    void forEach(Consumer<AlertEntry> action) {
+        entries.values().forEach(action);
+    }
+
+    /** Estimated retained size of the locator; keys and values are shared with the index. */
+    long estimatedBytes() {
+        return estimatedBytes(entries.size());
+    }
+
+    static long estimatedBytes(int size) {
+        if (size == 0) {
+            return MAP_BYTES;
+        }
+        var tableSlots = Math.max(16, Integer.highestOneBit((int) Math.ceil(size / 0.75) - 1) << 1);
+        return MAP_BYTES + size * NODE_BYTES + tableSlots * SLOT_BYTES;
+    }
+}
@@ -0,0 +1,191 @@
+package com.pricealert.evaluator.domain.evaluation;
+
+import com.pricealert.common.event.Direction;
+import com.pricealert.common.id.UlidCodec;
+import com.pricealert.common.price.ScaledPrice;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Struct-of-arrays alert storage in native memory. Each alert occupies one slot across parallel
+ * columns: alertId and userId as two longs each, the threshold as a scaled long, the direction
+ * as a byte, and {@code next}/{@code prev} links used by {@link SlabPriceLevels} to chain slots
+ * that share a price level. Freed slots are recycled through the {@code next} column.
+ *
+ * <p>Ids that are not canonical ULIDs are rare enough to keep in small on-heap side maps keyed
+ * by slot. Columns are reallocated from a fresh automatic arena on growth so the previous
+ * generation is released once unreachable.
+ */
+final class AlertSlab {
+
+    static final int NONE = -1;
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final byte FOREIGN_ALERT_ID = 1;
+    private static final byte FOREIGN_USER_ID = 2;
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final long BYTES_PER_SLOT = 5 * Long.BYTES + 2 + 2 * Integer.BYTES;
+
+    private MemorySegment alertIdHigh;
+    private MemorySegment alertIdLow;
+    private MemorySegment userIdHigh;
+    private MemorySegment userIdLow;
+    private MemorySegment prices;
+    private MemorySegment directions;
+    private MemorySegment flags;
+    private MemorySegment next;
+    private MemorySegment prev;
+
+    private final Map<Integer, String> foreignAlertIds = new HashMap<>();
+    private final Map<Integer, String> foreignUserIds = new HashMap<>();
+
+    private int capacity;
+    private int highWater;
+    private int freeHead = NONE;
+
+    AlertSlab() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    int store(AlertEntry alert, long scaledPrice) {
+        var slot = takeSlot();
+        var alertId = alert.alertId();
+        var userId = alert.userId();
+        byte slotFlags = 0;
+        if (UlidCodec.isCanonical(alertId)) {
+            alertIdHigh.setAtIndex(ValueLayout.JAVA_LONG, slot, UlidCodec.high(alertId));
+            alertIdLow.setAtIndex(ValueLayout.JAVA_LONG, slot, UlidCodec.low(alertId));
+        } else {
+            foreignAlertIds.put(slot, alertId);
+            slotFlags |= FOREIGN_ALERT_ID;
+        }
+        if (UlidCodec.isCanonical(userId)) {
+            userIdHigh.setAtIndex(ValueLayout.JAVA_LONG, slot, UlidCodec.high(userId));
+            userIdLow.setAtIndex(ValueLayout.JAVA_LONG, slot, UlidCodec.low(userId));
+        } else {
+            foreignUserIds.put(slot, userId);
+            slotFlags |= FOREIGN_USER_ID;
+        }
+        prices.setAtIndex(ValueLayout.JAVA_LONG, slot, scaledPrice);
+        directions.set(ValueLayout.JAVA_BYTE, slot, (byte) alert.direction().ordinal());
+        flags.set(ValueLayout.JAVA_BYTE, slot, slotFlags);
+        setNext(slot, NONE);
+        setPrev(slot, NONE);
+        return slot;
+    }
+
+    void free(int slot) {
+        var slotFlags = flags.get(ValueLayout.JAVA_BYTE, slot);
+        if ((slotFlags & FOREIGN_ALERT_ID) != 0) {
+            foreignAlertIds.remove(slot);
+        }
+        if ((slotFlags & FOREIGN_USER_ID) != 0) {
+            foreignUserIds.remove(slot);
+        }
+        setNext(slot, freeHead);
+        freeHead = slot;
+    }
+
+    AlertEntry toEntry(int slot, String symbol) {
+        var price = price(slot);
+        return new AlertEntry(
+                alertId(slot),
+                userId(slot),
+                symbol,
+                ScaledPrice.toBigDecimal(price),
+                direction(slot));
+    }
+
+    String alertId(int slot) {
+        return hasForeignAlertId(slot)
+                ? foreignAlertIds.get(slot)
+                : UlidCodec.toString(alertIdHigh(slot), alertIdLow(slot));
+    }
+
+    boolean hasForeignAlertId(int slot) {
+        return (flags.get(ValueLayout.JAVA_BYTE, slot) & FOREIGN_ALERT_ID) != 0;
+    }
+
+    long alertIdHigh(int slot) {
+        return alertIdHigh.getAtIndex(ValueLayout.JAVA_LONG, slot);
+    }
+
+    long alertIdLow(int slot) {
+        return alertIdLow.getAtIndex(ValueLayout.JAVA_LONG, slot);
+    }
+
+    long price(int slot) {
+        return prices.getAtIndex(ValueLayout.JAVA_LONG, slot);
+    }
+
+    Direction direction(int slot) {
+        return DIRECTIONS[directions.get(ValueLayout.JAVA_BYTE, slot)];
+    }
+
+    int next(int slot) {
+        return next.getAtIndex(ValueLayout.JAVA_INT, slot);
+    }
+
+    void setNext(int slot, int value) {
+        next.setAtIndex(ValueLayout.JAVA_INT, slot, value);
+    }
+
+    int prev(int slot) {
+        return prev.getAtIndex(ValueLayout.JAVA_INT, slot);
+    }
+
+    void setPrev(int slot, int value) {
+        prev.setAtIndex(ValueLayout.JAVA_INT, slot, value);
+    }
+
+    /** Native bytes reserved by the columns, including free and never-used slots. */
+    long offHeapBytes() {
+        return capacity * BYTES_PER_SLOT;
+    }
+
+    private String userId(int slot) {
+        return (flags.get(ValueLayout.JAVA_BYTE, slot) & FOREIGN_USER_ID) != 0
+                ? foreignUserIds.get(slot)
+                : UlidCodec.toString(
+                        userIdHigh.getAtIndex(ValueLayout.JAVA_LONG, slot),
+                        userIdLow.getAtIndex(ValueLayout.JAVA_LONG, slot));
+    }
+
+    private int takeSlot() {
+        if (freeHead != NONE) {
+            var slot = freeHead;
+            freeHead = next(slot);
+            return slot;
+        }
+        if (highWater == capacity) {
+            allocate(capacity * 2);
+        }
+        return highWater++;
+    }
+
+    private void allocate(int newCapacity) {
+        var arena = Arena.ofAuto();
+        alertIdHigh = grow(arena, alertIdHigh, ValueLayout.JAVA_LONG, newCapacity);
+        alertIdLow = grow(arena, alertIdLow, ValueLayout.JAVA_LONG, newCapacity);
+        userIdHigh = grow(arena, userIdHigh, ValueLayout.JAVA_LONG, newCapacity);
+        userIdLow = grow(arena, userIdLow, ValueLayout.JAVA_LONG, newCapacity);
+        prices = grow(arena, prices, ValueLayout.JAVA_LONG, newCapacity);
+        directions = grow(arena, directions, ValueLayout.JAVA_BYTE, newCapacity);
+        flags = grow(arena, flags, ValueLayout.JAVA_BYTE, newCapacity);
+        next = grow(arena, next, ValueLayout.JAVA_INT, newCapacity);
+        prev = grow(arena, prev, ValueLayout.JAVA_INT, newCapacity);
+        capacity = newCapacity;
+    }
+
+    private static MemorySegment grow(
+            Arena arena, MemorySegment current, ValueLayout layout, int newCapacity) {
+        var segment = arena.allocate(layout, newCapacity);
+        if (current != null) {
+            MemorySegment.copy(current, 0, segment, 0, current.byteSize());
+        }
+        return segment;
+    }
+}
@@ -1,12 +1,17 @@
 package com.pricealert.evaluator.domain.evaluation;
 
-import com.pricealert.common.event.AlertTrigger;
+import com.pricealert.common.event.AlertLevelTrigger;
+import com.pricealert.common.event.MarketTick;
 import com.pricealert.common.id.UlidGenerator;
+import com.pricealert.common.price.ScaledPrice;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,9 +26,11 @@ public class EvaluationEngine {
 
     private final AlertIndexManager indexManager;
 
-    public List<AlertTrigger> evaluate(String symbol, BigDecimal newPrice, Instant tickTimestamp) {
+    public List<AlertLevelTrigger> evaluate(
+            String symbol, BigDecimal newPrice, Instant tickTimestamp) {
         var index = indexManager.get(symbol);
         if (index == null) {
+            indexManager.recordUnindexedPrice(symbol, ScaledPrice.toScaled(newPrice));
             return Collections.emptyList();
         }
 
@@ -32,25 +39,125 @@ public class EvaluationEngine {
             return Collections.emptyList();
         }
 
+        var triggers = new ArrayList<AlertLevelTrigger>();
         var now = Instant.now();
-        var tradingDate = LocalDate.ofInstant(tickTimestamp, NY_ZONE);
-
-        return firedAlerts.stream()
-                .map(
-                        alert ->
-                                AlertTrigger.builder()
-                                        .triggerId(UlidGenerator.generate())
-                                        .alertId(alert.alertId())
-                                        .userId(alert.userId())
-                                        .symbol(symbol)
-                                        .thresholdPrice(alert.thresholdPrice())
-                                        .triggerPrice(newPrice)
-                                        .direction(alert.direction())
-                                        .note(alert.note())
-                                        .tickTimestamp(tickTimestamp)
-                                        .triggeredAt(now)
-                                        .tradingDate(tradingDate)
-                                        .build())
-                .toList();
+        for (var level : byLevel(firedAlerts.stream().map(a -> new FiredAlert(a, 0)).toList())) {
+            addLevelTriggers(level, symbol, newPrice, tickTimestamp, now, triggers);
+        }
+        return triggers;
+    }
+
+    /**
+     * Evaluates a batch of ticks with one {@link SymbolAlertIndex#evaluatePath} sweep per symbol.
+     * Each level trigger carries the price and timestamp of the tick that fired it, exactly as
+     * evaluating the ticks one at a time would.
+     */
+    public List<AlertLevelTrigger> evaluateBatch(List<MarketTick> ticks) {
+        return evaluateBatch(ticks, new EvaluationUndoLog());
+    }
+
+    /**
+     * {@link #evaluateBatch(List)}, recording what it removes from the index in {@code undoLog}
+     * so the caller can roll the batch back if its triggers fail to commit.
+     */
+    public List<AlertLevelTrigger> evaluateBatch(
+            List<MarketTick> ticks, EvaluationUndoLog undoLog) {
+        var buffer = new TickBuffer(ticks.size());
+        for (var tick : ticks) {
+            buffer.add(tick);
+        }
+        return evaluateBatch(buffer, undoLog);
     }
+
+    /**
+     * {@link #evaluateBatch(List, EvaluationUndoLog)} over ticks already laid out in a {@link
+     * TickBuffer}. Trigger prices and timestamps are only materialized for the ticks that fire.
+     */
+    public List<AlertLevelTrigger> evaluateBatch(TickBuffer ticks, EvaluationUndoLog undoLog) {
+        List<AlertLevelTrigger> triggers = List.of();
+        Instant now = null;
+        for (var group = 0; group < ticks.groupCount(); group++) {
+            var symbolId = ticks.symbolId(group);
+            var index = indexManager.get(symbolId);
+            if (index == null) {
+                indexManager.recordUnindexedPrice(symbolId, ticks.lastPrice(group));
+                continue;
+            }
+            var symbol = ticks.symbol(group);
+            undoLog.recordEvaluated(symbol, index.getLastScaledPrice());
+            var fired = index.evaluatePath(ticks.path(group));
+            if (fired.isEmpty()) {
+                continue;
+            }
+            if (now == null) {
+                now = Instant.now();
+                triggers = new ArrayList<>();
+            }
+            for (var alert : fired) {
+                undoLog.recordFired(symbol, alert.alert());
+            }
+            for (var level : byLevel(fired)) {
+                var position = ticks.position(level.tickIndex());
+                addLevelTriggers(
+                        level,
+                        symbol,
+                        ticks.price(position),
+                        ticks.timestamp(position),
+                        now,
+                        triggers);
+            }
+        }
+        return triggers;
+    }
+
+    /** Groups fired alerts by the tick that fired them and their threshold, keeping fire order. */
+    private static Collection<Level> byLevel(List<FiredAlert> fired) {
+        var levels = new LinkedHashMap<LevelKey, Level>();
+        for (var alert : fired) {
+            var threshold = alert.alert().thresholdPrice();
+            levels.computeIfAbsent(
+                            new LevelKey(alert.tickIndex(), threshold.stripTrailingZeros()),
+                            k -> new Level(alert.tickIndex(), threshold, new ArrayList<>()))
+                    .alerts()
+                    .add(alert.alert());
+        }
+        return levels.values();
+    }
+
+    private void addLevelTriggers(
+            Level level,
+            String symbol,
+            BigDecimal triggerPrice,
+            Instant tickTimestamp,
+            Instant triggeredAt,
+            List<AlertLevelTrigger> out) {
+        var alerts = level.alerts();
+        for (var from = 0; from < alerts.size(); from += AlertLevelTrigger.MAX_ALERTS) {
+            var chunk =
+                    alerts.subList(
+                            from, Math.min(from + AlertLevelTrigger.MAX_ALERTS, alerts.size()));
+            out.add(
+                    AlertLevelTrigger.builder()
+                            .triggerId(UlidGenerator.generate())
+                            .symbol(symbol)
+                            .thresholdPrice(level.thresholdPrice())
+                            .triggerPrice(triggerPrice)
+                            .tickTimestamp(tickTimestamp)
+                            .triggeredAt(triggeredAt)
+                            .tradingDate(LocalDate.ofInstant(tickTimestamp, NY_ZONE))
+                            .alerts(chunk.stream().map(EvaluationEngine::toEntry).toList())
+                            .build());
+        }
+    }
+
+    private static AlertLevelTrigger.Entry toEntry(AlertEntry alert) {
+        // No note: the notification-persister reads the alert's current note when it persists.
+        return new AlertLevelTrigger.Entry(
+                alert.alertId(), alert.userId(), alert.direction(), null);
+    }
+
+    /** Threshold without trailing zeros, so 150.0 and 150.00 share a level. */
+    private record LevelKey(int tickIndex, BigDecimal threshold) {}
+
+    private record Level(int tickIndex, BigDecimal thresholdPrice, List<AlertEntry> alerts) {}
 }
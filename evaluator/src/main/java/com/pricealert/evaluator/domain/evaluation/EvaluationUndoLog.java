@@ -0,0 +1,63 @@
+package com.pricealert.evaluator.domain.evaluation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * What one {@link EvaluationEngine#evaluateBatch} call took out of the index: every fired alert
+ * and each evaluated symbol's last price before the batch. Until the triggers are durably
+ * written the evaluation is speculative; {@link #rollback} puts the index back as it was, so a
+ * redelivered batch fires the same alerts again instead of finding them gone.
+ *
+ * <p>Both {@link #commit} and {@link #rollback} leave the log empty, so one thread can reuse it
+ * batch after batch; prices are kept as {@link com.pricealert.common.price.ScaledPrice} longs.
+ */
+public class EvaluationUndoLog {
+
+    private String[] symbols = new String[16];
+    private long[] previousPrices = new long[16];
+    private int evaluated;
+    private final List<String> firedSymbols = new ArrayList<>();
+    private final List<AlertEntry> fired = new ArrayList<>();
+
+    void recordEvaluated(String symbol, long previousPrice) {
+        if (evaluated == symbols.length) {
+            symbols = Arrays.copyOf(symbols, evaluated * 2);
+            previousPrices = Arrays.copyOf(previousPrices, evaluated * 2);
+        }
+        symbols[evaluated] = symbol;
+        previousPrices[evaluated++] = previousPrice;
+    }
+
+    void recordFired(String symbol, AlertEntry alert) {
+        firedSymbols.add(symbol);
+        fired.add(alert);
+    }
+
+    /**
+     * Restores the fired alerts and last prices recorded since the last commit or rollback. Prices
+     * are restored newest first, so a symbol evaluated twice ends at its price before both.
+     */
+    public void rollback(AlertIndexManager indexManager) {
+        for (var i = 0; i < fired.size(); i++) {
+            indexManager.getOrCreate(firedSymbols.get(i)).addAlert(fired.get(i));
+        }
+        for (var i = evaluated - 1; i >= 0; i--) {
+            indexManager.getOrCreate(symbols[i]).setLastScaledPrice(previousPrices[i]);
+        }
+        commit();
+    }
+
+    /** Discards the log once the fired alerts' triggers have been committed. */
+    public void commit() {
+        Arrays.fill(symbols, 0, evaluated, null);
+        evaluated = 0;
+        firedSymbols.clear();
+        fired.clear();
+    }
+
+    public int firedCount() {
+        return fired.size();
+    }
+}
@@ -0,0 +1,4 @@
+package com.pricealert.evaluator.domain.evaluation;
+
+/** An alert fired by {@link SymbolAlertIndex#evaluatePath}, with the first tick that fired it. */
+public record FiredAlert(AlertEntry alert, int tickIndex) {}
@@ -0,0 +1,153 @@
+package com.pricealert.evaluator.domain.evaluation;
+
+import com.pricealert.common.event.Direction;
+import com.pricealert.common.price.ScaledPrice;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * {@link SymbolAlertIndex} over scaled-long thresholds (see {@link ScaledPrice}).
+ * Range queries are binary searches over primitive arrays — no BigDecimal compareTo, no boxed
+ * keys, no tree nodes. ABOVE levels are keyed by the negated threshold so that, like BELOW,
+ * the levels a tick fires form a key suffix.
+ */
+public class FixedPointSymbolAlertIndex implements SymbolAlertIndex {
+
+    private static final long NO_PRICE = Long.MIN_VALUE;
+
+    private final PriceLevels aboveAlerts = new PriceLevels();
+    private final PriceLevels belowAlerts = new PriceLevels();
+    private final PriceLevels crossAlerts = new PriceLevels();
+    private final AlertLocator locator = new AlertLocator();
+
+    /** Scratch for {@link #evaluatePath}, so a path that fires nothing allocates nothing. */
+    private final List<FiredAlert> firing = new ArrayList<>();
+
+    private long lastPrice = NO_PRICE;
+
+    @Override
+    public void addAlert(AlertEntry alert) {
+        var previous = locator.put(alert);
+        if (previous != null) {
+            removeFromLevel(previous);
+        }
+        levelsFor(alert.direction()).add(keyOf(alert), alert);
+    }
+
+    @Override
+    public void removeAlert(String alertId) {
+        var entry = locator.remove(alertId);
+        if (entry != null) {
+            removeFromLevel(entry);
+        }
+    }
+
+    @Override
+    public List<AlertEntry> evaluate(BigDecimal newPrice) {
+        return evaluate(ScaledPrice.toScaled(newPrice));
+    }
+
+    public List<AlertEntry> evaluate(long newPrice) {
+        var fired = new ArrayList<AlertEntry>();
+
+        aboveAlerts.drainFrom(-newPrice, fired);
+        belowAlerts.drainFrom(newPrice, fired);
+
+        var previousPrice = lastPrice;
+        if (previousPrice != NO_PRICE && previousPrice != newPrice) {
+            crossAlerts.drainBetween(
+                    Math.min(previousPrice, newPrice), Math.max(previousPrice, newPrice), fired);
+        }
+
+        locator.removeAll(fired);
+        lastPrice = newPrice;
+        return fired;
+    }
+
+    @Override
+    public List<FiredAlert> evaluatePath(PricePath path) {
+        firing.clear();
+
+        aboveAlerts.drainFrom(-path.max(), path.atOrAboveNegatedKey(), firing);
+        belowAlerts.drainFrom(path.min(), path.atOrBelowKey(), firing);
+
+        var previousPrice = lastPrice;
+        var low = previousPrice == NO_PRICE ? path.min() : Math.min(previousPrice, path.min());
+        var high = previousPrice == NO_PRICE ? path.max() : Math.max(previousPrice, path.max());
+        if (low < high) {
+            crossAlerts.drainBetween(low, high, path.strictCrossingFrom(previousPrice), firing);
+        }
+        lastPrice = path.last();
+        if (firing.isEmpty()) {
+            return List.of();
+        }
+
+        var fired = new ArrayList<>(firing);
+        firing.clear();
+        for (var firedAlert : fired) {
+            locator.remove(firedAlert.alert().alertId());
+        }
+        fired.sort(Comparator.comparingInt(FiredAlert::tickIndex));
+        return fired;
+    }
+
+    @Override
+    public BigDecimal getLastPrice() {
+        return lastPrice == NO_PRICE ? null : ScaledPrice.toBigDecimal(lastPrice);
+    }
+
+    @Override
+    public void setLastPrice(BigDecimal price) {
+        this.lastPrice = price == null ? NO_PRICE : ScaledPrice.toScaled(price);
+    }
+
+    @Override
+    public long getLastScaledPrice() {
+        return lastPrice;
+    }
+
+    @Override
+    public void setLastScaledPrice(long price) {
+        this.lastPrice = price;
+    }
+
+    @Override
+    public int size() {
+        return aboveAlerts.size() + belowAlerts.size() + crossAlerts.size();
+    }
+
+    @Override
+    public void forEachAlert(Consumer<AlertEntry> action) {
+        locator.forEach(action);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return aboveAlerts.isEmpty() && belowAlerts.isEmpty() && crossAlerts.isEmpty();
+    }
+
+    @Override
+    public long locatorBytes() {
+        return locator.estimatedBytes();
+    }
+
+    private void removeFromLevel(AlertEntry alert) {
+        levelsFor(alert.direction()).remove(keyOf(alert), alert.alertId());
+    }
+
+    private PriceLevels levelsFor(Direction direction) {
+        return switch (direction) {
+            case ABOVE -> aboveAlerts;
+            case BELOW -> belowAlerts;
+            case CROSS -> crossAlerts;
+        };
+    }
+
+    private static long keyOf(AlertEntry alert) {
+        var threshold = ScaledPrice.toScaled(alert.thresholdPrice());
+        return alert.direction() == Direction.ABOVE ? -threshold : threshold;
+    }
+}
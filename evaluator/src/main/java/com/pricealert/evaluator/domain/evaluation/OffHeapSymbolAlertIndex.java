@@ -0,0 +1,179 @@
+package com.pricealert.evaluator.domain.evaluation;
+
+import com.pricealert.common.event.Direction;
+import com.pricealert.common.price.ScaledPrice;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * {@link FixedPointSymbolAlertIndex} with alert payloads in an off-heap {@link AlertSlab}.
+ * Levels and the locator hold only {@code int} slot handles, so the heap cost of an indexed
+ * alert is a few bytes of primitive arrays that the GC never traces. {@link AlertEntry} objects
+ * are only materialised for alerts that fire.
+ */
+public class OffHeapSymbolAlertIndex implements SymbolAlertIndex {
+
+    private static final long NO_PRICE = Long.MIN_VALUE;
+
+    private final AlertSlab slab = new AlertSlab();
+    private final SlotLocator locator = new SlotLocator(slab);
+    private final SlabPriceLevels aboveAlerts = new SlabPriceLevels(slab);
+    private final SlabPriceLevels belowAlerts = new SlabPriceLevels(slab);
+    private final SlabPriceLevels crossAlerts = new SlabPriceLevels(slab);
+    private final SlotBuffer firedSlots = new SlotBuffer();
+    private final SlotBuffer firedTicks = new SlotBuffer();
+
+    private String symbol;
+    private long lastPrice = NO_PRICE;
+
+    @Override
+    public void addAlert(AlertEntry alert) {
+        removeAlert(alert.alertId());
+        symbol = alert.symbol();
+        var threshold = ScaledPrice.toScaled(alert.thresholdPrice());
+        var slot = slab.store(alert, threshold);
+        locator.put(slot);
+        levelsFor(alert.direction()).add(keyOf(alert.direction(), threshold), slot);
+    }
+
+    @Override
+    public void removeAlert(String alertId) {
+        var slot = locator.get(alertId);
+        if (slot == AlertSlab.NONE) {
+            return;
+        }
+        var direction = slab.direction(slot);
+        levelsFor(direction).remove(keyOf(direction, slab.price(slot)), slot);
+        locator.remove(slot);
+        slab.free(slot);
+    }
+
+    @Override
+    public List<AlertEntry> evaluate(BigDecimal newPrice) {
+        return evaluate(ScaledPrice.toScaled(newPrice));
+    }
+
+    public List<AlertEntry> evaluate(long newPrice) {
+        firedSlots.clear();
+
+        aboveAlerts.drainFrom(-newPrice, firedSlots);
+        belowAlerts.drainFrom(newPrice, firedSlots);
+
+        var previousPrice = lastPrice;
+        if (previousPrice != NO_PRICE && previousPrice != newPrice) {
+            crossAlerts.drainBetween(
+                    Math.min(previousPrice, newPrice),
+                    Math.max(previousPrice, newPrice),
+                    firedSlots);
+        }
+        lastPrice = newPrice;
+
+        var fired = new ArrayList<AlertEntry>(firedSlots.size());
+        for (var i = 0; i < firedSlots.size(); i++) {
+            var slot = firedSlots.get(i);
+            fired.add(slab.toEntry(slot, symbol));
+            locator.remove(slot);
+            slab.free(slot);
+        }
+        return fired;
+    }
+
+    @Override
+    public List<FiredAlert> evaluatePath(PricePath path) {
+        firedSlots.clear();
+        firedTicks.clear();
+
+        aboveAlerts.drainFrom(-path.max(), path.atOrAboveNegatedKey(), firedSlots, firedTicks);
+        belowAlerts.drainFrom(path.min(), path.atOrBelowKey(), firedSlots, firedTicks);
+
+        var previousPrice = lastPrice;
+        var low = previousPrice == NO_PRICE ? path.min() : Math.min(previousPrice, path.min());
+        var high = previousPrice == NO_PRICE ? path.max() : Math.max(previousPrice, path.max());
+        if (low < high) {
+            crossAlerts.drainBetween(
+                    low,
+                    high,
+                    path.strictCrossingFrom(previousPrice),
+                    firedSlots,
+                    firedTicks);
+        }
+        lastPrice = path.last();
+        if (firedSlots.size() == 0) {
+            return List.of();
+        }
+
+        var fired = new ArrayList<FiredAlert>(firedSlots.size());
+        for (var i = 0; i < firedSlots.size(); i++) {
+            var slot = firedSlots.get(i);
+            fired.add(new FiredAlert(slab.toEntry(slot, symbol), firedTicks.get(i)));
+            locator.remove(slot);
+            slab.free(slot);
+        }
+        fired.sort(Comparator.comparingInt(FiredAlert::tickIndex));
+        return fired;
+    }
+
+    @Override
+    public BigDecimal getLastPrice() {
+        return lastPrice == NO_PRICE ? null : ScaledPrice.toBigDecimal(lastPrice);
+    }
+
+    @Override
+    public void setLastPrice(BigDecimal price) {
+        this.lastPrice = price == null ? NO_PRICE : ScaledPrice.toScaled(price);
+    }
+
+    @Override
+    public long getLastScaledPrice() {
+        return lastPrice;
+    }
+
+    @Override
+    public void setLastScaledPrice(long price) {
+        this.lastPrice = price;
+    }
+
+    @Override
+    public int size() {
+        return aboveAlerts.size() + belowAlerts.size() + crossAlerts.size();
+    }
+
+    @Override
+    public void forEachAlert(Consumer<AlertEntry> action) {
+        IntConsumer visit = slot -> action.accept(slab.toEntry(slot, symbol));
+        aboveAlerts.forEachSlot(visit);
+        belowAlerts.forEachSlot(visit);
+        crossAlerts.forEachSlot(visit);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return aboveAlerts.isEmpty() && belowAlerts.isEmpty() && crossAlerts.isEmpty();
+    }
+
+    @Override
+    public long locatorBytes() {
+        return locator.estimatedBytes();
+    }
+
+    @Override
+    public long offHeapBytes() {
+        return slab.offHeapBytes();
+    }
+
+    private SlabPriceLevels levelsFor(Direction direction) {
+        return switch (direction) {
+            case ABOVE -> aboveAlerts;
+            case BELOW -> belowAlerts;
+            case CROSS -> crossAlerts;
+        };
+    }
+
+    private static long keyOf(Direction direction, long threshold) {
+        return direction == Direction.ABOVE ? -threshold : threshold;
+    }
+}
@@ -0,0 +1,188 @@
+package com.pricealert.evaluator.domain.evaluation;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongToIntFunction;
+
+/**
+ * Price levels sorted ascending by a primitive {@code long} key, each holding the alerts that
+ * share the key in a growable array. Keys are unique; empty levels are removed eagerly.
+ * Draining "every key ≥ k" touches only a suffix, so it is released by truncation.
+ */
+final class PriceLevels {
+
+    private static final int INITIAL_LEVELS = 8;
+    private static final int INITIAL_BUCKET = 2;
+
+    private long[] keys = new long[INITIAL_LEVELS];
+    private AlertEntry[][] buckets = new AlertEntry[INITIAL_LEVELS][];
+    private int[] bucketSizes = new int[INITIAL_LEVELS];
+    private int levelCount;
+    private int alertCount;
+
+    void add(long key, AlertEntry alert) {
+        var level = Arrays.binarySearch(keys, 0, levelCount, key);
+        if (level < 0) {
+            level = -(level + 1);
+            insertLevel(level, key);
+        }
+        var bucket = buckets[level];
+        var bucketSize = bucketSizes[level];
+        if (bucketSize == bucket.length) {
+            bucket = Arrays.copyOf(bucket, bucketSize * 2);
+            buckets[level] = bucket;
+        }
+        bucket[bucketSize] = alert;
+        bucketSizes[level] = bucketSize + 1;
+        alertCount++;
+    }
+
+    void remove(long key, String alertId) {
+        var level = Arrays.binarySearch(keys, 0, levelCount, key);
+        if (level >= 0 && removeFromLevel(level, alertId) && bucketSizes[level] == 0) {
+            removeLevel(level);
+        }
+    }
+
+    /** Moves every alert whose key is ≥ {@code fromKey} into {@code out}. */
+    void drainFrom(long fromKey, List<AlertEntry> out) {
+        var from = lowerBound(fromKey);
+        drain(from, levelCount, out);
+    }
+
+    /** Moves every alert whose key is strictly between the two bounds into {@code out}. */
+    void drainBetween(long lowExclusive, long highExclusive, List<AlertEntry> out) {
+        var from = upperBound(lowExclusive);
+        var to = lowerBound(highExclusive);
+        if (from < to) {
+            drain(from, to, out);
+        }
+    }
+
+    /**
+     * Moves the alerts of every level whose key is strictly between the two bounds and for which
+     * {@code tickOf} yields a tick into {@code out}; levels mapped to {@link PricePath#NONE} stay.
+     */
+    void drainBetween(
+            long lowExclusive, long highExclusive, LongToIntFunction tickOf, List<FiredAlert> out) {
+        var from = upperBound(lowExclusive);
+        var to = lowerBound(highExclusive);
+        if (from < to) {
+            drainFiring(from, to, tickOf, out);
+        }
+    }
+
+    /** Moves every alert whose key is ≥ {@code fromKey} into {@code out}, with its tick. */
+    void drainFrom(long fromKey, LongToIntFunction tickOf, List<FiredAlert> out) {
+        drainFiring(lowerBound(fromKey), levelCount, tickOf, out);
+    }
+
+    int size() {
+        return alertCount;
+    }
+
+    boolean isEmpty() {
+        return alertCount == 0;
+    }
+
+    private void drain(int from, int to, List<AlertEntry> out) {
+        for (var level = from; level < to; level++) {
+            var bucket = buckets[level];
+            var bucketSize = bucketSizes[level];
+            for (var i = 0; i < bucketSize; i++) {
+                out.add(bucket[i]);
+            }
+            alertCount -= bucketSize;
+        }
+        var tail = levelCount - to;
+        System.arraycopy(keys, to, keys, from, tail);
+        System.arraycopy(buckets, to, buckets, from, tail);
+        System.arraycopy(bucketSizes, to, bucketSizes, from, tail);
+        var newLevelCount = from + tail;
+        Arrays.fill(buckets, newLevelCount, levelCount, null);
+        levelCount = newLevelCount;
+    }
+
+    private void drainFiring(int from, int to, LongToIntFunction tickOf, List<FiredAlert> out) {
+        var kept = from;
+        for (var level = from; level < to; level++) {
+            var tick = tickOf.applyAsInt(keys[level]);
+            if (tick == PricePath.NONE) {
+                keys[kept] = keys[level];
+                buckets[kept] = buckets[level];
+                bucketSizes[kept] = bucketSizes[level];
+                kept++;
+                continue;
+            }
+            var bucket = buckets[level];
+            var bucketSize = bucketSizes[level];
+            for (var i = 0; i < bucketSize; i++) {
+                out.add(new FiredAlert(bucket[i], tick));
+            }
+            alertCount -= bucketSize;
+        }
+        var tail = levelCount - to;
+        System.arraycopy(keys, to, keys, kept, tail);
+        System.arraycopy(buckets, to, buckets, kept, tail);
+        System.arraycopy(bucketSizes, to, bucketSizes, kept, tail);
+        var newLevelCount = kept + tail;
+        Arrays.fill(buckets, newLevelCount, levelCount, null);
+        levelCount = newLevelCount;
+    }
+
+    private boolean removeFromLevel(int level, String alertId) {
+        var bucket = buckets[level];
+        var bucketSize = bucketSizes[level];
+        var kept = 0;
+        for (var i = 0; i < bucketSize; i++) {
+            if (!bucket[i].alertId().equals(alertId)) {
+                bucket[kept++] = bucket[i];
+            }
+        }
+        if (kept == bucketSize) {
+            return false;
+        }
+        Arrays.fill(bucket, kept, bucketSize, null);
+        bucketSizes[level] = kept;
+        alertCount -= bucketSize - kept;
+        return true;
+    }
+
+    private void insertLevel(int level, long key) {
+        if (levelCount == keys.length) {
+            var capacity = keys.length * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            buckets = Arrays.copyOf(buckets, capacity);
+            bucketSizes = Arrays.copyOf(bucketSizes, capacity);
+        }
+        var tail = levelCount - level;
+        System.arraycopy(keys, level, keys, level + 1, tail);
+        System.arraycopy(buckets, level, buckets, level + 1, tail);
+        System.arraycopy(bucketSizes, level, bucketSizes, level + 1, tail);
+        keys[level] = key;
+        buckets[level] = new AlertEntry[INITIAL_BUCKET];
+        bucketSizes[level] = 0;
+        levelCount++;
+    }
+
+    private void removeLevel(int level) {
+        var tail = levelCount - level - 1;
+        System.arraycopy(keys, level + 1, keys, level, tail);
+        System.arraycopy(buckets, level + 1, buckets, level, tail);
+        System.arraycopy(bucketSizes, level + 1, bucketSizes, level, tail);
+        levelCount--;
+        buckets[levelCount] = null;
+    }
+
+    /** Index of the first level with key ≥ {@code key}. */
+    private int lowerBound(long key) {
+        var level = Arrays.binarySearch(keys, 0, levelCount, key);
+        return level >= 0 ? level : -(level + 1);
+    }
+
+    /** Index of the first level with key > {@code key}. */
+    private int upperBound(long key) {
+        var level = Arrays.binarySearch(keys, 0, levelCount, key);
+        return level >= 0 ? level + 1 : -(level + 1);
+    }
+}
@@ -0,0 +1,182 @@
+package com.pricealert.evaluator.domain.evaluation;
+
+import com.pricealert.common.price.ScaledPrice;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongToIntFunction;
+
+/**
+ * Consecutive tick prices for one symbol, held as {@link ScaledPrice} longs together with their
+ * running max/min envelope. Because the envelope is monotone, the first tick to reach a
+ * threshold is a binary search rather than a replay of the whole path.
+ */
+public final class PricePath {
+
+    public static final int NONE = -1;
+    static final long NO_PRICE = Long.MIN_VALUE;
+
+    private long[] prices;
+    private long[] runningMax;
+    private long[] runningMin;
+    private int length;
+    private BigDecimal lastPrice;
+    private long crossingFrom = NO_PRICE;
+
+    // Tick lookups for the index sweeps, built once per path instead of once per sweep.
+    private final LongToIntFunction atOrAboveNegatedKey = key -> firstAtOrAbove(-key);
+    private final LongToIntFunction atOrBelowKey = this::firstAtOrBelow;
+    private final LongToIntFunction strictCrossingKey =
+            key -> firstStrictCrossing(crossingFrom, key);
+
+    /** An empty path for {@link #add} to fill; {@link TickBuffer} reuses one across batches. */
+    PricePath(int capacity) {
+        this.prices = new long[capacity];
+        this.runningMax = new long[capacity];
+        this.runningMin = new long[capacity];
+    }
+
+    public static PricePath of(List<BigDecimal> prices) {
+        if (prices.isEmpty()) {
+            throw new IllegalArgumentException("Price path must contain at least one tick");
+        }
+        var path = new PricePath(prices.size());
+        for (var price : prices) {
+            path.add(ScaledPrice.toScaled(price));
+        }
+        path.lastPrice(prices.getLast());
+        return path;
+    }
+
+    void reset() {
+        length = 0;
+        lastPrice = null;
+    }
+
+    void add(long price) {
+        if (length == prices.length) {
+            var capacity = Math.max(8, length * 2);
+            prices = Arrays.copyOf(prices, capacity);
+            runningMax = Arrays.copyOf(runningMax, capacity);
+            runningMin = Arrays.copyOf(runningMin, capacity);
+        }
+        prices[length] = price;
+        runningMax[length] = length == 0 ? price : Math.max(runningMax[length - 1], price);
+        runningMin[length] = length == 0 ? price : Math.min(runningMin[length - 1], price);
+        length++;
+    }
+
+    /** Sets the final tick price as received; without one it is derived from the scaled price. */
+    void lastPrice(BigDecimal price) {
+        this.lastPrice = price;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    long price(int tickIndex) {
+        return prices[tickIndex];
+    }
+
+    long last() {
+        return prices[length - 1];
+    }
+
+    /** The final tick price as received, before scaling, when it was received as one. */
+    BigDecimal lastPrice() {
+        return lastPrice != null ? lastPrice : ScaledPrice.toBigDecimal(last());
+    }
+
+    long max() {
+        return runningMax[length - 1];
+    }
+
+    long min() {
+        return runningMin[length - 1];
+    }
+
+    /** First tick priced ≥ {@code threshold}, or {@link #NONE}. */
+    int firstAtOrAbove(long threshold) {
+        var low = 0;
+        var high = length;
+        while (low < high) {
+            var mid = (low + high) >>> 1;
+            if (runningMax[mid] >= threshold) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low == length ? NONE : low;
+    }
+
+    /** First tick priced ≤ {@code threshold}, or {@link #NONE}. */
+    int firstAtOrBelow(long threshold) {
+        var low = 0;
+        var high = length;
+        while (low < high) {
+            var mid = (low + high) >>> 1;
+            if (runningMin[mid] <= threshold) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low == length ? NONE : low;
+    }
+
+    /** {@link #firstAtOrAbove} of a negated key, as ABOVE levels are keyed. */
+    LongToIntFunction atOrAboveNegatedKey() {
+        return atOrAboveNegatedKey;
+    }
+
+    LongToIntFunction atOrBelowKey() {
+        return atOrBelowKey;
+    }
+
+    /** {@link #firstStrictCrossing} from {@code previous}; valid until the next call. */
+    LongToIntFunction strictCrossingFrom(long previous) {
+        crossingFrom = previous;
+        return strictCrossingKey;
+    }
+
+    /**
+     * First tick whose move from the preceding price (or {@code previous} for tick 0) passes
+     * strictly through {@code threshold}, or {@link #NONE}. Until the envelope strictly contains
+     * the threshold every price sits on one side of it, so the search starts there; only a path
+     * that touched the threshold exactly needs the linear scan that follows.
+     */
+    int firstStrictCrossing(long previous, long threshold) {
+        var low = 0;
+        var high = length;
+        while (low < high) {
+            var mid = (low + high) >>> 1;
+            if (strictlyInsideEnvelope(previous, mid, threshold)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        for (var i = low; i < length; i++) {
+            var from = i == 0 ? previous : prices[i - 1];
+            var to = prices[i];
+            if (from != NO_PRICE
+                    && Math.min(from, to) < threshold
+                    && threshold < Math.max(from, to)) {
+                return i;
+            }
+        }
+        return NONE;
+    }
+
+    private boolean strictlyInsideEnvelope(long previous, int tickIndex, long threshold) {
+        var max = runningMax[tickIndex];
+        var min = runningMin[tickIndex];
+        if (previous != NO_PRICE) {
+            max = Math.max(max, previous);
+            min = Math.min(min, previous);
+        }
+        return min < threshold && threshold < max;
+    }
+}
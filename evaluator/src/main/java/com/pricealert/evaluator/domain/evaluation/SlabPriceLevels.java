@@ -0,0 +1,208 @@
+package com.pricealert.evaluator.domain.evaluation;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.function.LongToIntFunction;
+
+/**
+ * {@link PriceLevels} over {@link AlertSlab} slot handles. Each level stores only the head and
+ * tail of a doubly linked chain threaded through the slab's {@code next}/{@code prev} columns,
+ * so there is no per-level or per-alert object on the heap.
+ */
+final class SlabPriceLevels {
+
+    private static final int INITIAL_LEVELS = 8;
+
+    private final AlertSlab slab;
+
+    private long[] keys = new long[INITIAL_LEVELS];
+    private int[] heads = new int[INITIAL_LEVELS];
+    private int[] tails = new int[INITIAL_LEVELS];
+    private int[] counts = new int[INITIAL_LEVELS];
+    private int levelCount;
+    private int alertCount;
+
+    SlabPriceLevels(AlertSlab slab) {
+        this.slab = slab;
+    }
+
+    void add(long key, int slot) {
+        var level = Arrays.binarySearch(keys, 0, levelCount, key);
+        if (level < 0) {
+            level = -(level + 1);
+            insertLevel(level, key);
+        }
+        var tail = tails[level];
+        slab.setPrev(slot, tail);
+        slab.setNext(slot, AlertSlab.NONE);
+        if (tail == AlertSlab.NONE) {
+            heads[level] = slot;
+        } else {
+            slab.setNext(tail, slot);
+        }
+        tails[level] = slot;
+        counts[level]++;
+        alertCount++;
+    }
+
+    void remove(long key, int slot) {
+        var level = Arrays.binarySearch(keys, 0, levelCount, key);
+        if (level < 0) {
+            return;
+        }
+        var prev = slab.prev(slot);
+        var next = slab.next(slot);
+        if (prev == AlertSlab.NONE) {
+            heads[level] = next;
+        } else {
+            slab.setNext(prev, next);
+        }
+        if (next == AlertSlab.NONE) {
+            tails[level] = prev;
+        } else {
+            slab.setPrev(next, prev);
+        }
+        alertCount--;
+        if (--counts[level] == 0) {
+            removeLevel(level);
+        }
+    }
+
+    /** Moves every slot whose key is ≥ {@code fromKey} into {@code out}. */
+    void drainFrom(long fromKey, SlotBuffer out) {
+        drain(lowerBound(fromKey), levelCount, out);
+    }
+
+    /** Moves every slot whose key is strictly between the two bounds into {@code out}. */
+    void drainBetween(long lowExclusive, long highExclusive, SlotBuffer out) {
+        var from = upperBound(lowExclusive);
+        var to = lowerBound(highExclusive);
+        if (from < to) {
+            drain(from, to, out);
+        }
+    }
+
+    /**
+     * Moves every slot whose key is ≥ {@code fromKey} into {@code out}, with the tick from
+     * {@code tickOf} appended to {@code ticks} in step.
+     */
+    void drainFrom(long fromKey, LongToIntFunction tickOf, SlotBuffer out, SlotBuffer ticks) {
+        drainFiring(lowerBound(fromKey), levelCount, tickOf, out, ticks);
+    }
+
+    /**
+     * Moves the slots of every level strictly between the two bounds for which {@code tickOf}
+     * yields a tick; levels mapped to {@link PricePath#NONE} stay.
+     */
+    void drainBetween(
+            long lowExclusive,
+            long highExclusive,
+            LongToIntFunction tickOf,
+            SlotBuffer out,
+            SlotBuffer ticks) {
+        var from = upperBound(lowExclusive);
+        var to = lowerBound(highExclusive);
+        if (from < to) {
+            drainFiring(from, to, tickOf, out, ticks);
+        }
+    }
+
+    void forEachSlot(IntConsumer action) {
+        for (var level = 0; level < levelCount; level++) {
+            for (var slot = heads[level]; slot != AlertSlab.NONE; slot = slab.next(slot)) {
+                action.accept(slot);
+            }
+        }
+    }
+
+    int size() {
+        return alertCount;
+    }
+
+    boolean isEmpty() {
+        return alertCount == 0;
+    }
+
+    private void drain(int from, int to, SlotBuffer out) {
+        for (var level = from; level < to; level++) {
+            for (var slot = heads[level]; slot != AlertSlab.NONE; slot = slab.next(slot)) {
+                out.add(slot);
+            }
+            alertCount -= counts[level];
+        }
+        var tail = levelCount - to;
+        System.arraycopy(keys, to, keys, from, tail);
+        System.arraycopy(heads, to, heads, from, tail);
+        System.arraycopy(tails, to, tails, from, tail);
+        System.arraycopy(counts, to, counts, from, tail);
+        levelCount = from + tail;
+    }
+
+    private void drainFiring(
+            int from, int to, LongToIntFunction tickOf, SlotBuffer out, SlotBuffer ticks) {
+        var kept = from;
+        for (var level = from; level < to; level++) {
+            var tick = tickOf.applyAsInt(keys[level]);
+            if (tick == PricePath.NONE) {
+                keys[kept] = keys[level];
+                heads[kept] = heads[level];
+                tails[kept] = tails[level];
+                counts[kept] = counts[level];
+                kept++;
+                continue;
+            }
+            for (var slot = heads[level]; slot != AlertSlab.NONE; slot = slab.next(slot)) {
+                out.add(slot);
+                ticks.add(tick);
+            }
+            alertCount -= counts[level];
+        }
+        var tail = levelCount - to;
+        System.arraycopy(keys, to, keys, kept, tail);
+        System.arraycopy(heads, to, heads, kept, tail);
+        System.arraycopy(tails, to, tails, kept, tail);
+        System.arraycopy(counts, to, counts, kept, tail);
+        levelCount = kept + tail;
+    }
+
+    private void insertLevel(int level, long key) {
+        if (levelCount == keys.length) {
+            var capacity = keys.length * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            heads = Arrays.copyOf(heads, capacity);
+            tails = Arrays.copyOf(tails, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+        }
+        var tail = levelCount - level;
+        System.arraycopy(keys, level, keys, level + 1, tail);
+        System.arraycopy(heads, level, heads, level + 1, tail);
+        System.arraycopy(tails, level, tails, level + 1, tail);
+        System.arraycopy(counts, level, counts, level + 1, tail);
+        keys[level] = key;
+        heads[level] = AlertSlab.NONE;
+        tails[level] = AlertSlab.NONE;
+        counts[level] = 0;
+        levelCount++;
+    }
+
+    private void removeLevel(int level) {
+        var tail = levelCount - level - 1;
+        System.arraycopy(keys, level + 1, keys, level, tail);
+        System.arraycopy(heads, level + 1, heads, level, tail);
+        System.arraycopy(tails, level + 1, tails, level, tail);
+        System.arraycopy(counts, level + 1, counts, level, tail);
+        levelCount--;
+    }
+
+    /** Index of the first level with key ≥ {@code key}. */
+    private int lowerBound(long key) {
+        var level = Arrays.binarySearch(keys, 0, levelCount, key);
+        return level >= 0 ? level : -(level + 1);
+    }
+
+    /** Index of the first level with key > {@code key}. */
+    private int upperBound(long key) {
+        var level = Arrays.binarySearch(keys, 0, levelCount, key);
+        return level >= 0 ? level + 1 : -(level + 1);
+    }
+}
@@ -0,0 +1,29 @@
+package com.pricealert.evaluator.domain.evaluation;
+
+import java.util.Arrays;
+
+/** Reusable growable list of slab slot handles. */
+final class SlotBuffer {
+
+    private int[] slots = new int[16];
+    private int size;
+
+    void add(int slot) {
+        if (size == slots.length) {
+            slots = Arrays.copyOf(slots, size * 2);
+        }
+        slots[size++] = slot;
+    }
+
+    int get(int index) {
+        return slots[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        size = 0;
+    }
+}
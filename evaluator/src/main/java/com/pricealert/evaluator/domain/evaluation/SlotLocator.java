@@ -0,0 +1,132 @@
+package com.pricealert.evaluator.domain.evaluation;
+
+import com.pricealert.common.id.UlidCodec;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * alertId → slot lookup for an {@link AlertSlab}. ULID ids live in a linear-probing table of
+ * {@code int} slot handles whose keys are read back from the slab, so an entry costs a few bytes
+ * and no objects; deletion shifts the probe run back instead of leaving tombstones. Ids that are
+ * not canonical ULIDs fall back to an ordinary map.
+ */
+final class SlotLocator {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int EMPTY = AlertSlab.NONE;
+
+    private final AlertSlab slab;
+    private final Map<String, Integer> foreign = new HashMap<>();
+
+    private int[] table = newTable(INITIAL_CAPACITY);
+    private int mask = INITIAL_CAPACITY - 1;
+    private int size;
+
+    SlotLocator(AlertSlab slab) {
+        this.slab = slab;
+    }
+
+    int get(String alertId) {
+        if (!UlidCodec.isCanonical(alertId)) {
+            var slot = foreign.get(alertId);
+            return slot == null ? AlertSlab.NONE : slot;
+        }
+        var position = find(UlidCodec.high(alertId), UlidCodec.low(alertId));
+        return position < 0 ? AlertSlab.NONE : table[position];
+    }
+
+    /** Registers a slot just written to the slab; its id must not already be present. */
+    void put(int slot) {
+        if (slab.hasForeignAlertId(slot)) {
+            foreign.put(slab.alertId(slot), slot);
+            return;
+        }
+        if ((size + 1) * 2 > table.length) {
+            rehash(table.length * 2);
+        }
+        insert(slot);
+        size++;
+    }
+
+    /** Unregisters a slot that is still populated in the slab. */
+    void remove(int slot) {
+        if (slab.hasForeignAlertId(slot)) {
+            foreign.remove(slab.alertId(slot));
+            return;
+        }
+        var position = find(slab.alertIdHigh(slot), slab.alertIdLow(slot));
+        if (position >= 0) {
+            delete(position);
+            size--;
+        }
+    }
+
+    long estimatedBytes() {
+        return 16L + (long) table.length * Integer.BYTES
+                + AlertLocator.estimatedBytes(foreign.size());
+    }
+
+    private int find(long high, long low) {
+        var position = home(high, low);
+        while (true) {
+            var slot = table[position];
+            if (slot == EMPTY) {
+                return -1;
+            }
+            if (slab.alertIdHigh(slot) == high && slab.alertIdLow(slot) == low) {
+                return position;
+            }
+            position = (position + 1) & mask;
+        }
+    }
+
+    private void insert(int slot) {
+        var position = home(slab.alertIdHigh(slot), slab.alertIdLow(slot));
+        while (table[position] != EMPTY) {
+            position = (position + 1) & mask;
+        }
+        table[position] = slot;
+    }
+
+    private void delete(int position) {
+        var gap = position;
+        var probe = position;
+        while (true) {
+            probe = (probe + 1) & mask;
+            var slot = table[probe];
+            if (slot == EMPTY) {
+                break;
+            }
+            var home = home(slab.alertIdHigh(slot), slab.alertIdLow(slot));
+            // the entry may fill the gap only if its home is not cyclically within (gap, probe]
+            if (((probe - home) & mask) >= ((probe - gap) & mask)) {
+                table[gap] = slot;
+                gap = probe;
+            }
+        }
+        table[gap] = EMPTY;
+    }
+
+    private void rehash(int capacity) {
+        var old = table;
+        table = newTable(capacity);
+        mask = capacity - 1;
+        for (var slot : old) {
+            if (slot != EMPTY) {
+                insert(slot);
+            }
+        }
+    }
+
+    private int home(long high, long low) {
+        var hash = (high ^ low) * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & mask;
+    }
+
+    private static int[] newTable(int capacity) {
+        var table = new int[capacity];
+        Arrays.fill(table, EMPTY);
+        return table;
+    }
+}
@@ -1,98 +1,56 @@
 package com.pricealert.evaluator.domain.evaluation;
 
-import com.pricealert.common.event.Direction;
+import com.pricealert.common.price.ScaledPrice;
 import java.math.BigDecimal;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.NavigableMap;
-import java.util.TreeMap;
+import java.util.function.Consumer;
 
-public class SymbolAlertIndex {
+/**
+ * In-memory alert index for a single symbol. Evaluation removes fired alerts from the index
+ * (Layer 1 dedup). Implementations are selected via {@link AlertIndexType}.
+ */
+public interface SymbolAlertIndex {
 
-    private final TreeMap<BigDecimal, List<AlertEntry>> aboveAlerts = new TreeMap<>();
-    private final TreeMap<BigDecimal, List<AlertEntry>> belowAlerts = new TreeMap<>();
-    private final TreeMap<BigDecimal, List<AlertEntry>> crossAlerts = new TreeMap<>();
+    /** Adds the alert, replacing any entry already indexed under the same alertId. */
+    void addAlert(AlertEntry alert);
 
-    private BigDecimal lastPrice;
+    void removeAlert(String alertId);
 
-    public void addAlert(AlertEntry alert) {
-        mapFor(alert.direction())
-                .computeIfAbsent(alert.thresholdPrice(), k -> new ArrayList<>())
-                .add(alert);
-    }
-
-    public void removeAlert(String alertId) {
-        removeFrom(aboveAlerts, alertId);
-        removeFrom(belowAlerts, alertId);
-        removeFrom(crossAlerts, alertId);
-    }
-
-    public List<AlertEntry> evaluate(BigDecimal newPrice) {
-        var fired = new ArrayList<AlertEntry>();
-
-        var aboveFired = aboveAlerts.headMap(newPrice, true);
-        for (var entries : aboveFired.values()) {
-            fired.addAll(entries);
-        }
-        aboveFired.clear();
+    List<AlertEntry> evaluate(BigDecimal newPrice);
 
-        var belowFired = belowAlerts.tailMap(newPrice, true);
-        for (var entries : belowFired.values()) {
-            fired.addAll(entries);
-        }
-        belowFired.clear();
+    /**
+     * Evaluates consecutive ticks in a single sweep of the index. Equivalent to calling
+     * {@link #evaluate} for each price in order: every fired alert is tagged with the first tick
+     * that would have fired it, and results are ordered by that tick.
+     */
+    List<FiredAlert> evaluatePath(PricePath path);
 
-        var previousPrice = lastPrice;
-        if (previousPrice != null && previousPrice.compareTo(newPrice) != 0) {
-            var low = previousPrice.min(newPrice);
-            var high = previousPrice.max(newPrice);
-            var crossRange = crossAlerts.subMap(low, false, high, false);
-            for (var entries : crossRange.values()) {
-                fired.addAll(entries);
-            }
-            crossRange.clear();
-        }
+    BigDecimal getLastPrice();
 
-        lastPrice = newPrice;
-        return fired;
-    }
+    void setLastPrice(BigDecimal price);
 
-    public BigDecimal getLastPrice() {
-        return lastPrice;
+    /** {@link #getLastPrice()} as a {@link ScaledPrice}; {@link PricePath#NO_PRICE} if none. */
+    default long getLastScaledPrice() {
+        var price = getLastPrice();
+        return price == null ? PricePath.NO_PRICE : ScaledPrice.toScaled(price);
     }
 
-    public void setLastPrice(BigDecimal price) {
-        this.lastPrice = price;
+    default void setLastScaledPrice(long price) {
+        setLastPrice(price == PricePath.NO_PRICE ? null : ScaledPrice.toBigDecimal(price));
     }
 
-    public int size() {
-        return countEntries(aboveAlerts) + countEntries(belowAlerts) + countEntries(crossAlerts);
-    }
+    int size();
 
-    public boolean isEmpty() {
-        return aboveAlerts.isEmpty() && belowAlerts.isEmpty() && crossAlerts.isEmpty();
-    }
+    /** Visits every indexed alert, in no particular order. */
+    void forEachAlert(Consumer<AlertEntry> action);
 
-    private TreeMap<BigDecimal, List<AlertEntry>> mapFor(Direction direction) {
-        return switch (direction) {
-            case ABOVE -> aboveAlerts;
-            case BELOW -> belowAlerts;
-            case CROSS -> crossAlerts;
-        };
-    }
+    boolean isEmpty();
 
-    private void removeFrom(TreeMap<BigDecimal, List<AlertEntry>> map, String alertId) {
-        var iterator = map.entrySet().iterator();
-        while (iterator.hasNext()) {
-            var entry = iterator.next();
-            entry.getValue().removeIf(a -> a.alertId().equals(alertId));
-            if (entry.getValue().isEmpty()) {
-                iterator.remove();
-            }
-        }
-    }
+    /** Estimated heap retained by the alertId locator. */
+    long locatorBytes();
 
-    private int countEntries(NavigableMap<BigDecimal, List<AlertEntry>> map) {
-        return map.values().stream().mapToInt(List::size).sum();
+    /** Native memory reserved outside the Java heap; zero for heap-only implementations. */
+    default long offHeapBytes() {
+        return 0;
     }
 }
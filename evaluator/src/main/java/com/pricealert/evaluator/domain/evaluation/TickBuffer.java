@@ -0,0 +1,195 @@
+package com.pricealert.evaluator.domain.evaluation;
+
+import com.pricealert.common.event.MarketTick;
+import com.pricealert.common.id.SymbolDictionary;
+import com.pricealert.common.price.ScaledPrice;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * A run of ticks held column-wise, as {@link ScaledPrice} longs and epoch nanoseconds, with each
+ * symbol's ticks chained in arrival order. {@link EvaluationEngine#evaluateBatch(TickBuffer,
+ * EvaluationUndoLog)} walks every symbol's path straight out of the columns, so once the arrays
+ * have grown to the batch size, filling and evaluating a buffer allocates nothing for ticks that
+ * fire no alert. Ticks are grouped by {@link SymbolDictionary} id through a direct-mapped array,
+ * so a tick added by id hashes nothing. A tick whose symbol has no id is dropped: every symbol an
+ * alert watches has one, so no alert misses it.
+ *
+ * <p>Ticks added as {@link MarketTick}s keep the record, so their triggers carry the price and
+ * timestamp exactly as received. Not thread-safe; keep one buffer per evaluating thread.
+ */
+public final class TickBuffer {
+
+    private static final int END = -1;
+    private static final SymbolDictionary SYMBOLS = SymbolDictionary.shared();
+
+    private long[] prices;
+    private long[] timestamps;
+    private MarketTick[] sources;
+    private int[] next;
+    private int size;
+
+    private int[] groupSymbolIds;
+    private int[] groupFirst;
+    private int[] groupLast;
+    private int groupCount;
+
+    /** Group index + 1 by symbol id; 0 marks a symbol with no ticks in the buffer. */
+    private int[] groupBySymbol = new int[256];
+
+    private final PricePath path;
+    private int[] pathPositions;
+
+    public TickBuffer() {
+        this(64);
+    }
+
+    public TickBuffer(int capacity) {
+        capacity = Math.max(capacity, 8);
+        prices = new long[capacity];
+        timestamps = new long[capacity];
+        sources = new MarketTick[capacity];
+        next = new int[capacity];
+        groupSymbolIds = new int[capacity];
+        groupFirst = new int[capacity];
+        groupLast = new int[capacity];
+        path = new PricePath(capacity);
+        pathPositions = new int[capacity];
+    }
+
+    public void add(MarketTick tick) {
+        add(
+                SYMBOLS.idOfTicked(tick.symbol()),
+                ScaledPrice.toScaled(tick.price()),
+                Long.MIN_VALUE,
+                tick);
+    }
+
+    /** Adds a tick known only by its scaled price and epoch-nanosecond timestamp. */
+    public void add(String symbol, long price, long timestampNanos) {
+        add(SYMBOLS.idOfTicked(symbol), price, timestampNanos, null);
+    }
+
+    /** As {@link #add(String, long, long)}, for a symbol already resolved to its id. */
+    public void add(int symbolId, long price, long timestampNanos) {
+        add(symbolId, price, timestampNanos, null);
+    }
+
+    private void add(int symbolId, long price, long timestampNanos, MarketTick source) {
+        if (symbolId == SymbolDictionary.NONE) {
+            return;
+        }
+        if (size == prices.length) {
+            grow();
+        }
+        var group = groupOf(symbolId);
+        prices[size] = price;
+        timestamps[size] = timestampNanos;
+        sources[size] = source;
+        next[size] = END;
+        if (groupLast[group] == END) {
+            groupFirst[group] = size;
+        } else {
+            next[groupLast[group]] = size;
+        }
+        groupLast[group] = size;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        for (var group = 0; group < groupCount; group++) {
+            groupBySymbol[groupSymbolIds[group]] = 0;
+        }
+        Arrays.fill(sources, 0, size, null);
+        groupCount = 0;
+        size = 0;
+    }
+
+    /** Distinct symbols, in order of their first tick. */
+    int groupCount() {
+        return groupCount;
+    }
+
+    String symbol(int group) {
+        return SYMBOLS.symbol(groupSymbolIds[group]);
+    }
+
+    int symbolId(int group) {
+        return groupSymbolIds[group];
+    }
+
+    /**
+     * Loads the group's prices into the buffer's one shared path, valid until the next call;
+     * {@link #position} maps the path's tick indices back to buffer positions.
+     */
+    PricePath path(int group) {
+        path.reset();
+        var length = 0;
+        for (var position = groupFirst[group]; position != END; position = next[position]) {
+            path.add(prices[position]);
+            pathPositions[length++] = position;
+        }
+        var last = sources[groupLast[group]];
+        path.lastPrice(last == null ? null : last.price());
+        return path;
+    }
+
+    long lastPrice(int group) {
+        return prices[groupLast[group]];
+    }
+
+    int position(int tickIndex) {
+        return pathPositions[tickIndex];
+    }
+
+    BigDecimal price(int position) {
+        var source = sources[position];
+        return source != null ? source.price() : ScaledPrice.toBigDecimal(prices[position]);
+    }
+
+    Instant timestamp(int position) {
+        var source = sources[position];
+        if (source != null) {
+            return source.timestamp();
+        }
+        var nanos = timestamps[position];
+        return nanos == Long.MIN_VALUE ? null : Instant.ofEpochSecond(0, nanos);
+    }
+
+    private int groupOf(int symbolId) {
+        if (symbolId >= groupBySymbol.length) {
+            groupBySymbol =
+                    Arrays.copyOf(groupBySymbol, Math.max(symbolId + 1, groupBySymbol.length * 2));
+        }
+        var entry = groupBySymbol[symbolId];
+        if (entry != 0) {
+            return entry - 1;
+        }
+        var group = groupCount++;
+        groupSymbolIds[group] = symbolId;
+        groupLast[group] = END;
+        groupBySymbol[symbolId] = group + 1;
+        return group;
+    }
+
+    private void grow() {
+        var capacity = prices.length * 2;
+        prices = Arrays.copyOf(prices, capacity);
+        timestamps = Arrays.copyOf(timestamps, capacity);
+        sources = Arrays.copyOf(sources, capacity);
+        next = Arrays.copyOf(next, capacity);
+        groupSymbolIds = Arrays.copyOf(groupSymbolIds, capacity);
+        groupFirst = Arrays.copyOf(groupFirst, capacity);
+        groupLast = Arrays.copyOf(groupLast, capacity);
+        pathPositions = new int[capacity];
+    }
+}
@@ -0,0 +1,182 @@
+package com.pricealert.evaluator.domain.evaluation;
+
+import com.pricealert.common.event.Direction;
+import com.pricealert.common.price.ScaledPrice;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+public class TreeMapSymbolAlertIndex implements SymbolAlertIndex {
+
+    private final TreeMap<BigDecimal, List<AlertEntry>> aboveAlerts = new TreeMap<>();
+    private final TreeMap<BigDecimal, List<AlertEntry>> belowAlerts = new TreeMap<>();
+    private final TreeMap<BigDecimal, List<AlertEntry>> crossAlerts = new TreeMap<>();
+
+    private final AlertLocator locator = new AlertLocator();
+
+    private BigDecimal lastPrice;
+
+    @Override
+    public void addAlert(AlertEntry alert) {
+        var previous = locator.put(alert);
+        if (previous != null) {
+            removeFromLevel(previous);
+        }
+        mapFor(alert.direction())
+                .computeIfAbsent(alert.thresholdPrice(), k -> new ArrayList<>())
+                .add(alert);
+    }
+
+    @Override
+    public void removeAlert(String alertId) {
+        var entry = locator.remove(alertId);
+        if (entry != null) {
+            removeFromLevel(entry);
+        }
+    }
+
+    @Override
+    public List<AlertEntry> evaluate(BigDecimal newPrice) {
+        var fired = new ArrayList<AlertEntry>();
+
+        var aboveFired = aboveAlerts.headMap(newPrice, true);
+        for (var entries : aboveFired.values()) {
+            fired.addAll(entries);
+        }
+        aboveFired.clear();
+
+        var belowFired = belowAlerts.tailMap(newPrice, true);
+        for (var entries : belowFired.values()) {
+            fired.addAll(entries);
+        }
+        belowFired.clear();
+
+        var previousPrice = lastPrice;
+        if (previousPrice != null && previousPrice.compareTo(newPrice) != 0) {
+            var low = previousPrice.min(newPrice);
+            var high = previousPrice.max(newPrice);
+            var crossRange = crossAlerts.subMap(low, false, high, false);
+            for (var entries : crossRange.values()) {
+                fired.addAll(entries);
+            }
+            crossRange.clear();
+        }
+
+        locator.removeAll(fired);
+        lastPrice = newPrice;
+        return fired;
+    }
+
+    @Override
+    public List<FiredAlert> evaluatePath(PricePath path) {
+        var fired = new ArrayList<FiredAlert>();
+
+        drainFiring(
+                aboveAlerts.headMap(ScaledPrice.toBigDecimal(path.max()), true),
+                threshold -> path.firstAtOrAbove(ScaledPrice.toScaled(threshold)),
+                fired);
+        drainFiring(
+                belowAlerts.tailMap(ScaledPrice.toBigDecimal(path.min()), true),
+                threshold -> path.firstAtOrBelow(ScaledPrice.toScaled(threshold)),
+                fired);
+
+        var previousPrice =
+                lastPrice == null ? PricePath.NO_PRICE : ScaledPrice.toScaled(lastPrice);
+        var low = lastPrice == null ? path.min() : Math.min(previousPrice, path.min());
+        var high = lastPrice == null ? path.max() : Math.max(previousPrice, path.max());
+        if (low < high) {
+            drainFiring(
+                    crossAlerts.subMap(
+                            ScaledPrice.toBigDecimal(low),
+                            false,
+                            ScaledPrice.toBigDecimal(high),
+                            false),
+                    threshold ->
+                            path.firstStrictCrossing(
+                                    previousPrice, ScaledPrice.toScaled(threshold)),
+                    fired);
+        }
+
+        for (var firedAlert : fired) {
+            locator.remove(firedAlert.alert().alertId());
+        }
+        fired.sort(Comparator.comparingInt(FiredAlert::tickIndex));
+        lastPrice = path.lastPrice();
+        return fired;
+    }
+
+    @Override
+    public BigDecimal getLastPrice() {
+        return lastPrice;
+    }
+
+    @Override
+    public void setLastPrice(BigDecimal price) {
+        this.lastPrice = price;
+    }
+
+    @Override
+    public int size() {
+        return countEntries(aboveAlerts) + countEntries(belowAlerts) + countEntries(crossAlerts);
+    }
+
+    @Override
+    public void forEachAlert(Consumer<AlertEntry> action) {
+        locator.forEach(action);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return aboveAlerts.isEmpty() && belowAlerts.isEmpty() && crossAlerts.isEmpty();
+    }
+
+    @Override
+    public long locatorBytes() {
+        return locator.estimatedBytes();
+    }
+
+    private TreeMap<BigDecimal, List<AlertEntry>> mapFor(Direction direction) {
+        return switch (direction) {
+            case ABOVE -> aboveAlerts;
+            case BELOW -> belowAlerts;
+            case CROSS -> crossAlerts;
+        };
+    }
+
+    private void removeFromLevel(AlertEntry alert) {
+        var map = mapFor(alert.direction());
+        var entries = map.get(alert.thresholdPrice());
+        if (entries != null
+                && entries.removeIf(a -> a.alertId().equals(alert.alertId()))
+                && entries.isEmpty()) {
+            map.remove(alert.thresholdPrice());
+        }
+    }
+
+    /** Removes every level that {@code tickOf} maps to a tick, tagging its alerts with it. */
+    private static void drainFiring(
+            NavigableMap<BigDecimal, List<AlertEntry>> levels,
+            ToIntFunction<BigDecimal> tickOf,
+            List<FiredAlert> out) {
+        var iterator = levels.entrySet().iterator();
+        while (iterator.hasNext()) {
+            var level = iterator.next();
+            var tick = tickOf.applyAsInt(level.getKey());
+            if (tick != PricePath.NONE) {
+                for (var alert : level.getValue()) {
+                    out.add(new FiredAlert(alert, tick));
+                }
+                iterator.remove();
+            }
+        }
+    }
+
+    private int countEntries(NavigableMap<BigDecimal, List<AlertEntry>> map) {
+        return map.values().stream().mapToInt(List::size).sum();
+    }
+}
@@ -1,41 +1,205 @@
 package com.pricealert.evaluator.infrastructure.db;
 
-import com.pricealert.common.event.AlertStatus;
-import lombok.RequiredArgsConstructor;
+import com.pricealert.common.concurrent.MpscRingBuffer;
+import com.pricealert.evaluator.application.config.EvaluatorProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import javax.sql.DataSource;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 /**
- * Async DB status update: ACTIVE → TRIGGERED_TODAY.
- * Layer 2 dedup: conditional UPDATE skips if affected_rows=0.
+ * Write-behind DB status update: ACTIVE → TRIGGERED_TODAY. Fired alert IDs are queued in an
+ * {@link MpscRingBuffer}; one flusher thread drains it every flush interval, or as soon as
+ * max-batch IDs are waiting, and marks each batch with a single UPDATE.
+ * Layer 2 dedup: the UPDATE only matches ACTIVE rows; IDs missing from RETURNING were skipped.
+ *
+ * <p>A failed UPDATE keeps its batch and is retried with exponential backoff while the queue
+ * fills behind it, so a database outage delays updates instead of losing them. A caller finding
+ * the queue full parks between attempts, for longer each time up to a millisecond. Once stopped,
+ * a batch is tried once more and then dropped and counted.
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class AlertStatusUpdater {
 
-    private final AlertWarmUpRepository repository;
+    private static final String MARK_TRIGGERED_SQL =
+            "UPDATE alerts SET status = 'TRIGGERED_TODAY' "
+                    + "WHERE id = ANY(?) AND status = 'ACTIVE' RETURNING id";
 
-    @Async
-    @Transactional
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration RETRY_INITIAL_DELAY = Duration.ofMillis(50);
+    private static final Duration RETRY_MAX_DELAY = Duration.ofSeconds(5);
+    private static final long OFFER_INITIAL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+    private static final long OFFER_MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MpscRingBuffer<String> pending;
+    private final long flushIntervalNanos;
+    private final int maxBatch;
+    private final Thread flusher;
+    private final DistributionSummary flushSize;
+    private final Timer flushLatency;
+    private final Counter dedupSkipped;
+    private final Counter flushRetried;
+    private final Counter flushFailed;
+    private volatile boolean running = true;
+
+    public AlertStatusUpdater(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            EvaluatorProperties properties,
+            MeterRegistry registry) {
+        this.jdbcTemplate = new JdbcTemplate(primaryDataSource);
+        var statusUpdates = properties.statusUpdates();
+        this.pending = new MpscRingBuffer<>(statusUpdates.queueCapacity());
+        this.flushIntervalNanos = statusUpdates.flushInterval().toNanos();
+        this.maxBatch = statusUpdates.maxBatch();
+        this.flusher = Thread.ofPlatform().name("alert-status-flusher").unstarted(this::run);
+
+        Gauge.builder("evaluator.status.pending", pending, MpscRingBuffer::size)
+                .description("Fired alert IDs waiting for their TRIGGERED_TODAY update")
+                .register(registry);
+        this.flushSize =
+                DistributionSummary.builder("evaluator.status.flush.size")
+                        .description("Alert IDs marked TRIGGERED_TODAY per UPDATE")
+                        .publishPercentileHistogram()
+                        .register(registry);
+        this.flushLatency =
+                Timer.builder("evaluator.status.flush.latency")
+                        .description("Round trip of one batched TRIGGERED_TODAY UPDATE")
+                        .publishPercentileHistogram()
+                        .register(registry);
+        this.dedupSkipped =
+                Counter.builder("evaluator.status.dedup.skipped")
+                        .description("Status updates skipped because the alert was not ACTIVE")
+                        .register(registry);
+        this.flushRetried =
+                Counter.builder("evaluator.status.flush.retried")
+                        .description("Batched status updates that failed and were retried")
+                        .register(registry);
+        this.flushFailed =
+                Counter.builder("evaluator.status.flush.failed")
+                        .description("Alert IDs dropped because their status update failed on stop")
+                        .register(registry);
+    }
+
+    @PostConstruct
+    void start() {
+        flusher.start();
+    }
+
+    /** Flushes whatever is still queued before the datasource closes. */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(flusher);
+        flusher.join(STOP_TIMEOUT);
+    }
+
+    /** Queues the alert for the next flush. Never touches the DB on the caller's thread. */
     public void markTriggeredToday(String alertId) {
+        // Full: the DB is behind. Wait for the flusher to make room rather than drop it.
+        for (var park = OFFER_INITIAL_PARK_NANOS; !pending.offer(alertId); ) {
+            if (!running) {
+                log.warn("Status updater stopped; alert {} stays ACTIVE", alertId);
+                return;
+            }
+            LockSupport.unpark(flusher);
+            LockSupport.parkNanos(park);
+            park = Math.min(park * 2, OFFER_MAX_PARK_NANOS);
+        }
+        if (pending.size() >= maxBatch) {
+            LockSupport.unpark(flusher);
+        }
+    }
+
+    private void run() {
+        var batch = new ArrayList<String>(maxBatch);
+        while (running || !pending.isEmpty()) {
+            if (running && pending.size() < maxBatch) {
+                LockSupport.parkNanos(flushIntervalNanos);
+            }
+            while (pending.drain(batch::add, maxBatch) > 0) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+        log.info("Alert status flusher stopped");
+    }
+
+    private void flush(List<String> alertIds) {
+        for (var failures = 1; ; failures++) {
+            try {
+                update(alertIds);
+                return;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    flushFailed.increment(alertIds.size());
+                    log.error(
+                            "Dropping {} TRIGGERED_TODAY updates on stop, alerts stay ACTIVE: {}",
+                            alertIds.size(),
+                            e.getMessage(),
+                            e);
+                    return;
+                }
+                flushRetried.increment();
+                var delay = retryDelay(failures);
+                log.warn(
+                        "Failed to update {} alerts to TRIGGERED_TODAY, retrying in {} ms: {}",
+                        alertIds.size(),
+                        delay.toMillis(),
+                        e.getMessage());
+                backOff(delay);
+            }
+        }
+    }
+
+    private void update(List<String> alertIds) {
+        var start = System.nanoTime();
         try {
             var updated =
-                    repository.updateStatusByIdAndCurrentStatus(
-                            alertId, AlertStatus.TRIGGERED_TODAY, AlertStatus.ACTIVE);
-            if (updated == 0) {
-                log.debug(
-                        "Skipped status update for alert {} (not ACTIVE — Layer 2 dedup)", alertId);
-            } else {
-                log.debug("Marked alert {} as TRIGGERED_TODAY", alertId);
-            }
-        } catch (Exception e) {
-            log.warn(
-                    "Failed to update alert {} status to TRIGGERED_TODAY: {}",
-                    alertId,
-                    e.getMessage());
+                    jdbcTemplate.query(
+                            MARK_TRIGGERED_SQL,
+                            ps ->
+                                    ps.setArray(
+                                            1,
+                                            ps.getConnection()
+                                                    .createArrayOf("varchar", alertIds.toArray())),
+                            (rs, rowNum) -> rs.getString(1));
+            var skipped = alertIds.size() - updated.size();
+            dedupSkipped.increment(skipped);
+            log.debug(
+                    "Marked {} alerts TRIGGERED_TODAY, skipped {} not ACTIVE (Layer 2 dedup)",
+                    updated.size(),
+                    skipped);
+        } finally {
+            flushSize.record(alertIds.size());
+            flushLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Duration retryDelay(int failures) {
+        var delay = RETRY_INITIAL_DELAY.multipliedBy(1L << Math.min(failures - 1, 30));
+        return delay.compareTo(RETRY_MAX_DELAY) > 0 ? RETRY_MAX_DELAY : delay;
+    }
+
+    /** Parks until the delay has passed; a full batch unparks the flusher, stop cuts it short. */
+    private void backOff(Duration delay) {
+        var deadline = System.nanoTime() + delay.toNanos();
+        for (var left = delay.toNanos(); left > 0 && running; left = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(left);
         }
     }
 }
@@ -0,0 +1,220 @@
+package com.pricealert.evaluator.infrastructure.db;
+
+import com.pricealert.common.event.Direction;
+import com.pricealert.evaluator.application.config.EvaluatorProperties;
+import com.pricealert.evaluator.domain.evaluation.AlertEntry;
+import com.pricealert.evaluator.domain.evaluation.AlertIndexManager;
+import com.pricealert.evaluator.domain.evaluation.SymbolAlertIndex;
+import io.micrometer.core.instrument.Counter;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Loads ACTIVE alerts from the read replica. Symbols are split into {@code parallelism} hash
+ * ranges, each streamed by its own virtual thread through its own cursor. A range's rows come
+ * back ordered by symbol, so every symbol's index is built on that thread alone and published to
+ * {@link AlertIndexManager} as soon as the cursor moves past it — never half-built.
+ */
+@Slf4j
+@Component
+public class ParallelWarmUpLoader {
+
+    private static final String SYMBOL_RANGE_SQL =
+            "SELECT id, user_id, symbol, threshold_price, direction "
+                    + "FROM alerts WHERE status = 'ACTIVE' AND symbol = ANY(?) ORDER BY symbol";
+
+    private static final String ACTIVE_SYMBOLS_SQL =
+            "SELECT DISTINCT symbol FROM alerts WHERE status = 'ACTIVE'";
+
+    private final AlertIndexManager indexManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Counter warmUpAlertsCounter;
+    private final int parallelism;
+    private final Semaphore rangePermits;
+
+    private final AtomicLong symbolsTotal = new AtomicLong();
+    private final AtomicLong symbolsLoaded = new AtomicLong();
+
+    public ParallelWarmUpLoader(
+            AlertIndexManager indexManager,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            EvaluatorProperties properties,
+            Counter warmUpAlertsCounter) {
+        this.indexManager = indexManager;
+        this.jdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.jdbcTemplate.setFetchSize(properties.warmup().batchSize());
+        // PostgreSQL only honours the fetch size, and streams, with autocommit off.
+        this.readOnlyTransaction =
+                new TransactionTemplate(new DataSourceTransactionManager(replicaDataSource));
+        this.readOnlyTransaction.setReadOnly(true);
+        this.warmUpAlertsCounter = warmUpAlertsCounter;
+        this.parallelism = properties.warmup().parallelism();
+        // Concurrent partition assignments each list symbols and call load(); cap the replica
+        // queries in flight across all of them so they never queue past the pool's connection
+        // timeout.
+        this.rangePermits = new Semaphore(parallelism);
+    }
+
+    public List<String> activeSymbols() {
+        try {
+            rangePermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted listing active symbols", e);
+        }
+        try {
+            return jdbcTemplate.queryForList(ACTIVE_SYMBOLS_SQL, String.class);
+        } finally {
+            rangePermits.release();
+        }
+    }
+
+    /** Loads every ACTIVE alert; returns how many. */
+    public long loadAll() {
+        return load(activeSymbols());
+    }
+
+    /** Loads the ACTIVE alerts of the given symbols, replacing their indices; returns how many. */
+    public long load(Collection<String> symbols) {
+        if (symbols.isEmpty()) {
+            return 0;
+        }
+        var ranges = new ArrayList<List<String>>(parallelism);
+        for (var i = 0; i < parallelism; i++) {
+            ranges.add(new ArrayList<>());
+        }
+        for (var symbol : symbols) {
+            ranges.get(Math.floorMod(symbol.hashCode(), parallelism)).add(symbol);
+        }
+        symbolsTotal.addAndGet(symbols.size());
+
+        var started = System.nanoTime();
+        var loaded = 0L;
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var futures = new ArrayList<Future<Long>>(parallelism);
+            for (var range : ranges) {
+                if (!range.isEmpty()) {
+                    futures.add(executor.submit(() -> loadRange(range)));
+                }
+            }
+            for (var future : futures) {
+                loaded += await(future);
+            }
+        }
+        var seconds = Math.max(System.nanoTime() - started, 1) / 1e9;
+        log.info(
+                "Loaded {} alerts across {} symbols in {} ranges: {} s, {} alerts/s",
+                loaded,
+                symbols.size(),
+                parallelism,
+                String.format("%.2f", seconds),
+                Math.round(loaded / seconds));
+        return loaded;
+    }
+
+    /** Fraction of all symbols requested since startup whose alerts are indexed. */
+    public double progress() {
+        var total = symbolsTotal.get();
+        return total == 0 ? 1.0 : (double) symbolsLoaded.get() / total;
+    }
+
+    private long loadRange(List<String> symbols) throws InterruptedException {
+        var range = new RangeLoad();
+        rangePermits.acquire();
+        try {
+            readOnlyTransaction.executeWithoutResult(
+                    status ->
+                            jdbcTemplate.query(
+                                    SYMBOL_RANGE_SQL,
+                                    ps ->
+                                            ps.setArray(
+                                                    1,
+                                                    ps.getConnection()
+                                                            .createArrayOf(
+                                                                    "varchar",
+                                                                    symbols.toArray())),
+                                    range));
+        } finally {
+            rangePermits.release();
+        }
+        range.publishCurrent();
+        // Symbols with no rows left (e.g. all alerts fired since activeSymbols ran) still count.
+        symbolsLoaded.addAndGet(symbols.size() - range.symbols);
+        return range.alerts;
+    }
+
+    private static long await(Future<Long> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during warm-up", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Warm-up range failed", e.getCause());
+        }
+    }
+
+    private static AlertEntry toEntry(ResultSet rs) throws SQLException {
+        return AlertEntry.builder()
+                .alertId(rs.getString("id"))
+                .userId(rs.getString("user_id"))
+                .symbol(rs.getString("symbol"))
+                .thresholdPrice(rs.getObject("threshold_price", BigDecimal.class))
+                .direction(Direction.valueOf(rs.getString("direction")))
+                .build();
+    }
+
+    /** Builds one symbol's index at a time from a cursor ordered by symbol. */
+    private final class RangeLoad implements RowCallbackHandler {
+
+        private String symbol;
+        private SymbolAlertIndex index;
+        private long alerts;
+        private int symbols;
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            var entry = toEntry(rs);
+            if (!entry.symbol().equals(symbol)) {
+                publishCurrent();
+                symbol = entry.symbol();
+                index = indexManager.newIndex();
+            }
+            index.addAlert(entry);
+            alerts++;
+            warmUpAlertsCounter.increment();
+        }
+
+        void publishCurrent() {
+            if (symbol == null) {
+                return;
+            }
+            indexManager.publish(symbol, index);
+            symbols++;
+            symbolsLoaded.incrementAndGet();
+            symbol = null;
+            index = null;
+        }
+    }
+}
@@ -1,16 +1,12 @@
 package com.pricealert.evaluator.infrastructure.db;
 
-import com.pricealert.common.event.Direction;
 import com.pricealert.evaluator.application.config.EvaluatorProperties;
-import com.pricealert.evaluator.domain.evaluation.AlertEntry;
+import com.pricealert.evaluator.application.config.EvaluatorProperties.Warmup.Mode;
 import com.pricealert.evaluator.domain.evaluation.AlertIndexManager;
-import java.math.BigDecimal;
-import java.util.concurrent.atomic.AtomicLong;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
-import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
 import org.springframework.stereotype.Component;
 
@@ -19,51 +15,45 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class WarmUpService {
 
-    private static final String WARM_UP_SQL =
-            "SELECT id, user_id, symbol, threshold_price, direction, note "
-                    + "FROM alerts WHERE status = 'ACTIVE'";
-
-    private final JdbcTemplate jdbcTemplate;
+    private final ParallelWarmUpLoader loader;
     private final AlertIndexManager indexManager;
     private final EvaluatorProperties properties;
     private final KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
 
     @EventListener(ApplicationReadyEvent.class)
     public void warmUp() {
+        if (properties.warmup().mode() == Mode.PARTITION_AWARE) {
+            // Alerts are loaded per symbol by TickPartitionRebalanceListener as market-ticks
+            // partitions are assigned, before the owning consumer fetches its first tick.
+            log.info("Partition-aware warm-up: alerts load on market-ticks partition assignment");
+            startListeners();
+            return;
+        }
+
         log.info(
-                "Starting evaluator warm-up: streaming ACTIVE alerts from DB (fetch-size={})",
+                "Starting evaluator warm-up: loading ACTIVE alerts from the replica"
+                        + " (parallelism={}, fetch-size={})",
+                properties.warmup().parallelism(),
                 properties.warmup().batchSize());
 
         // Kafka listener containers are configured with autoStartup=false so that
         // consumer threads cannot call addAlert() on SymbolAlertIndex.aboveAlerts /
-        // belowAlerts (plain TreeMap, not thread-safe) while this warm-up loop is
-        // also calling computeIfAbsent() on the same maps from the main thread.
-        // Starting them only after the index is fully built eliminates the
-        // ConcurrentModificationException observed at 800K+ alerts.
-        AtomicLong count = new AtomicLong();
-        jdbcTemplate.setFetchSize(properties.warmup().batchSize());
-        jdbcTemplate.query(
-                WARM_UP_SQL,
-                rs -> {
-                    indexManager.addAlert(
-                            AlertEntry.builder()
-                                    .alertId(rs.getString("id"))
-                                    .userId(rs.getString("user_id"))
-                                    .symbol(rs.getString("symbol"))
-                                    .thresholdPrice(
-                                            rs.getObject("threshold_price", BigDecimal.class))
-                                    .direction(Direction.valueOf(rs.getString("direction")))
-                                    .note(rs.getString("note"))
-                                    .build());
-                    count.incrementAndGet();
-                });
+        // belowAlerts (plain TreeMap, not thread-safe) while this warm-up is still
+        // building them. Starting them only after the index is fully built eliminates
+        // the ConcurrentModificationException observed at 800K+ alerts. Readiness stays
+        // REFUSING_TRAFFIC until this ApplicationReadyEvent listener returns.
+        var count = loader.loadAll();
 
         log.info(
                 "Evaluator warm-up complete: loaded {} alerts across {} symbols",
-                count.get(),
+                count,
                 indexManager.symbolCount());
 
         // Index is fully built — now safe to start Kafka consumers.
+        startListeners();
+    }
+
+    private void startListeners() {
         log.info("Starting Kafka listener containers");
         kafkaListenerEndpointRegistry.start();
         log.info("Kafka listener containers started");
@@ -0,0 +1,25 @@
+package com.pricealert.evaluator.infrastructure.execution;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** Applies events on the calling listener thread. */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(
+        name = "evaluator.execution.mode",
+        havingValue = "consumer-thread",
+        matchIfMissing = true)
+public class DirectEvaluationExecutor implements EvaluationExecutor {
+
+    private final EventApplier eventApplier;
+
+    @Override
+    public void execute(List<?> events) {
+        if (!events.isEmpty()) {
+            eventApplier.apply(events);
+        }
+    }
+}
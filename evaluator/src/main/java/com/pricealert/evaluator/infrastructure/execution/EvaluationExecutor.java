@@ -0,0 +1,17 @@
+package com.pricealert.evaluator.infrastructure.execution;
+
+import java.util.List;
+
+/**
+ * Runs {@link com.pricealert.common.event.MarketTick} and {@link
+ * com.pricealert.common.event.AlertChange} events against the in-memory index. Under flyweight
+ * decoding a tick may also arrive as its raw binary record value, a {@code byte[]}.
+ */
+public interface EvaluationExecutor {
+
+    /**
+     * Applies {@code events} in list order as seen by each symbol and returns once every one of
+     * them has been applied, so the caller may commit their offsets.
+     */
+    void execute(List<?> events);
+}
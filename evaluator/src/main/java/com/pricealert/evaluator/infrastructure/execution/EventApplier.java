@@ -0,0 +1,62 @@
+package com.pricealert.evaluator.infrastructure.execution;
+
+import com.pricealert.common.event.AlertChange;
+import com.pricealert.common.event.MarketTick;
+import com.pricealert.common.wire.MarketTickView;
+import com.pricealert.evaluator.domain.evaluation.AlertChangeApplier;
+import com.pricealert.evaluator.domain.evaluation.EvaluationUndoLog;
+import com.pricealert.evaluator.domain.evaluation.TickBuffer;
+import com.pricealert.evaluator.infrastructure.kafka.TickBatchProcessor;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies an ordered mix of ticks and changes. Ticks are evaluated in runs; a change flushes the
+ * run before it so each change takes effect at its position in the list. No transaction spans
+ * the batch: only a run that fires opens one, inside {@link TickBatchProcessor}.
+ *
+ * <p>Runs are collected in a {@link TickBuffer} owned by the calling thread and reused batch
+ * after batch; raw binary ticks are read into it through a {@link MarketTickView}, never
+ * decoded into records.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventApplier {
+
+    private final TickBatchProcessor tickBatchProcessor;
+    private final AlertChangeApplier changeApplier;
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    public void apply(List<?> events) {
+        var scratch = this.scratch.get();
+        var ticks = scratch.ticks();
+        ticks.clear();
+        for (var event : events) {
+            switch (event) {
+                case MarketTick tick -> ticks.add(tick);
+                case byte[] binaryTick -> {
+                    var view = scratch.view().wrap(binaryTick);
+                    ticks.add(view.symbolId(), view.price(), view.timestampNanos());
+                }
+                case AlertChange change -> {
+                    tickBatchProcessor.process(ticks, scratch.undoLog());
+                    ticks.clear();
+                    changeApplier.apply(change);
+                }
+                default ->
+                        throw new IllegalArgumentException(
+                                "Unsupported event type: " + event.getClass().getName());
+            }
+        }
+        tickBatchProcessor.process(ticks, scratch.undoLog());
+        ticks.clear();
+    }
+
+    private record Scratch(TickBuffer ticks, EvaluationUndoLog undoLog, MarketTickView view) {
+
+        Scratch() {
+            this(new TickBuffer(), new EvaluationUndoLog(), new MarketTickView());
+        }
+    }
+}
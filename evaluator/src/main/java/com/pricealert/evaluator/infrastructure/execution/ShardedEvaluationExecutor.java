@@ -0,0 +1,227 @@
+package com.pricealert.evaluator.infrastructure.execution;
+
+import com.pricealert.common.concurrent.MpscRingBuffer;
+import com.pricealert.common.event.AlertChange;
+import com.pricealert.common.event.MarketTick;
+import com.pricealert.common.wire.MarketTickView;
+import com.pricealert.evaluator.application.config.EvaluatorProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Splits symbols over a fixed set of shards, each owning an {@link MpscRingBuffer} and one
+ * dedicated evaluation thread. Listener threads only enqueue; the shard thread is the single
+ * writer of its symbols' indices and applies their ticks and changes in arrival order, so
+ * listener concurrency no longer dictates how many threads mutate the index.
+ *
+ * <p>{@link #execute} blocks until every shard has applied its part of the batch, which keeps
+ * offset commits after the work they acknowledge.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "evaluator.execution.mode", havingValue = "sharded")
+public class ShardedEvaluationExecutor implements EvaluationExecutor {
+
+    private static final int SPIN_LIMIT = 100;
+    private static final int YIELD_LIMIT = 200;
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(10);
+
+    private final EventApplier eventApplier;
+    private final Shard[] shards;
+
+    public ShardedEvaluationExecutor(
+            EventApplier eventApplier, EvaluatorProperties properties, MeterRegistry registry) {
+        this.eventApplier = eventApplier;
+        var execution = properties.execution();
+        this.shards = new Shard[execution.shards()];
+        for (var i = 0; i < shards.length; i++) {
+            shards[i] = new Shard(i, execution.queueCapacity(), registry);
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        for (var shard : shards) {
+            shard.thread.start();
+        }
+        log.info("Started {} evaluation shards", shards.length);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        for (var shard : shards) {
+            shard.running = false;
+            LockSupport.unpark(shard.thread);
+        }
+        for (var shard : shards) {
+            shard.thread.join(STOP_TIMEOUT);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void execute(List<?> events) {
+        var perShard = (List<Object>[]) new List<?>[shards.length];
+        var pending = 0;
+        for (var event : events) {
+            var shard = shardOf(symbolOf(event));
+            if (perShard[shard] == null) {
+                perShard[shard] = new ArrayList<>();
+                pending++;
+            }
+            perShard[shard].add(event);
+        }
+        if (pending == 0) {
+            return;
+        }
+
+        var batch = new Batch(pending);
+        for (var i = 0; i < shards.length; i++) {
+            if (perShard[i] != null) {
+                shards[i].submit(new Task(perShard[i], batch));
+            }
+        }
+        batch.await();
+    }
+
+    private int shardOf(String symbol) {
+        return Math.floorMod(symbol.hashCode(), shards.length);
+    }
+
+    private static String symbolOf(Object event) {
+        return switch (event) {
+            case MarketTick tick -> tick.symbol();
+            case byte[] binaryTick -> MarketTickView.symbolOf(binaryTick);
+            case AlertChange change -> change.symbol();
+            default ->
+                    throw new IllegalArgumentException(
+                            "Unsupported event type: " + event.getClass().getName());
+        };
+    }
+
+    /** Spin, then yield, then park briefly: low hand-off latency without burning an idle core. */
+    private static int idle(int idleCount) {
+        if (idleCount < SPIN_LIMIT) {
+            Thread.onSpinWait();
+        } else if (idleCount < YIELD_LIMIT) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+            return idleCount;
+        }
+        return idleCount + 1;
+    }
+
+    private final class Shard implements Runnable {
+
+        private final int id;
+        private final MpscRingBuffer<Task> queue;
+        private final Timer serviceTime;
+        private final Thread thread;
+        private volatile boolean running = true;
+
+        private Shard(int id, int queueCapacity, MeterRegistry registry) {
+            this.id = id;
+            this.queue = new MpscRingBuffer<>(queueCapacity);
+            this.thread = Thread.ofPlatform().name("evaluator-shard-" + id).unstarted(this);
+            var shardTag = String.valueOf(id);
+            Gauge.builder("evaluator.shard.queue.depth", queue, MpscRingBuffer::size)
+                    .description("Batches waiting in the evaluation shard's ring buffer")
+                    .tag("shard", shardTag)
+                    .register(registry);
+            this.serviceTime =
+                    Timer.builder("evaluator.shard.service.time")
+                            .description("Time the evaluation shard spends applying one batch")
+                            .tag("shard", shardTag)
+                            .register(registry);
+        }
+
+        void submit(Task task) {
+            var idleCount = 0;
+            do {
+                if (!running) {
+                    throw new IllegalStateException("Evaluation shard " + id + " is stopped");
+                }
+                if (queue.offer(task)) {
+                    return;
+                }
+                idleCount = idle(idleCount);
+            } while (true);
+        }
+
+        @Override
+        public void run() {
+            var idleCount = 0;
+            while (running || !queue.isEmpty()) {
+                var task = queue.poll();
+                if (task == null) {
+                    idleCount = idle(idleCount);
+                    continue;
+                }
+                idleCount = 0;
+                var start = System.nanoTime();
+                try {
+                    eventApplier.apply(task.events());
+                } catch (RuntimeException | Error e) {
+                    task.batch().fail(e);
+                } finally {
+                    serviceTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    task.batch().complete();
+                }
+            }
+            log.info("Evaluation shard {} stopped", id);
+        }
+    }
+
+    private record Task(List<?> events, Batch batch) {}
+
+    /** Completion of one listener call, shared by the shard tasks it was split into. */
+    private static final class Batch {
+
+        private final CountDownLatch remaining;
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        private Batch(int shards) {
+            this.remaining = new CountDownLatch(shards);
+        }
+
+        void fail(Throwable cause) {
+            if (!failure.compareAndSet(null, cause)) {
+                failure.get().addSuppressed(cause);
+            }
+        }
+
+        void complete() {
+            remaining.countDown();
+        }
+
+        void await() {
+            try {
+                remaining.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted waiting for evaluation shards", e);
+            }
+            switch (failure.get()) {
+                case null -> {}
+                case RuntimeException e -> throw e;
+                case Error e -> throw e;
+                case Throwable t -> throw new IllegalStateException(t);
+            }
+        }
+    }
+}
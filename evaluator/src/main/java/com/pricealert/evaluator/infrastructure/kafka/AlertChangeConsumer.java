@@ -2,66 +2,28 @@ package com.pricealert.evaluator.infrastructure.kafka;
 
 import com.pricealert.common.event.AlertChange;
 import com.pricealert.common.kafka.KafkaTopics;
-import com.pricealert.evaluator.domain.evaluation.AlertEntry;
-import com.pricealert.evaluator.domain.evaluation.AlertIndexManager;
+import com.pricealert.evaluator.infrastructure.execution.EvaluationExecutor;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
-@Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(
+        name = "evaluator.changes.routing",
+        havingValue = "shared-group",
+        matchIfMissing = true)
 public class AlertChangeConsumer {
 
-    private final AlertIndexManager indexManager;
+    private final EvaluationExecutor evaluationExecutor;
 
     @KafkaListener(
             topics = KafkaTopics.ALERT_CHANGES,
             groupId = "evaluator-changes",
             containerFactory = "alertChangeListenerContainerFactory")
     public void onAlertChange(AlertChange change) {
-        switch (change.eventType()) {
-            case CREATED -> handleCreated(change);
-            case UPDATED -> handleUpdated(change);
-            case DELETED -> handleDeleted(change);
-            case RESET -> handleReset(change);
-        }
-    }
-
-    private void handleCreated(AlertChange change) {
-        log.debug("Adding alert {} for {} to index", change.alertId(), change.symbol());
-        indexManager.removeAlert(change.alertId(), change.symbol());
-        indexManager.addAlert(toEntry(change));
-    }
-
-    private void handleUpdated(AlertChange change) {
-        log.debug("Updating alert {} for {} in index", change.alertId(), change.symbol());
-        indexManager.removeAlert(change.alertId(), change.symbol());
-        indexManager.addAlert(toEntry(change));
-    }
-
-    private void handleDeleted(AlertChange change) {
-        log.debug("Removing alert {} for {} from index", change.alertId(), change.symbol());
-        indexManager.removeAlert(change.alertId(), change.symbol());
-    }
-
-    private void handleReset(AlertChange change) {
-        log.debug(
-                "Re-adding alert {} for {} to index (daily reset)",
-                change.alertId(),
-                change.symbol());
-        indexManager.removeAlert(change.alertId(), change.symbol());
-        indexManager.addAlert(toEntry(change));
-    }
-
-    private AlertEntry toEntry(AlertChange change) {
-        return AlertEntry.builder()
-                .alertId(change.alertId())
-                .userId(change.userId())
-                .symbol(change.symbol())
-                .thresholdPrice(change.thresholdPrice())
-                .direction(change.direction())
-                .build();
+        evaluationExecutor.execute(List.of(change));
     }
 }
@@ -1,24 +1,28 @@
 package com.pricealert.evaluator.infrastructure.kafka;
 
-import com.pricealert.common.event.AlertTrigger;
-import io.namastack.outbox.Outbox;
+import com.pricealert.common.event.AlertLevelTrigger;
+import com.pricealert.common.outbox.OutboxWriter;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
- * Schedules AlertTrigger events to the transactional outbox, keyed by user_id.
- * The outbox handler ({@link AlertTriggerOutboxHandler}) publishes to Kafka.
+ * Schedules AlertLevelTrigger events to the transactional outbox, keyed by trigger_id so a gap's
+ * levels spread over every alert-triggers partition. The outbox relay publishes them to Kafka.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class AlertTriggerProducer {
 
-    private final Outbox outbox;
+    private final OutboxWriter outboxWriter;
 
-    public void send(AlertTrigger trigger) {
-        outbox.schedule(trigger, trigger.userId());
-        log.debug("Scheduled AlertTrigger for alert {} to outbox", trigger.alertId());
+    /** Writes a batch's triggers to the outbox in one short transaction, as one JDBC batch. */
+    @Transactional
+    public void send(List<AlertLevelTrigger> triggers) {
+        outboxWriter.scheduleAll(triggers, AlertLevelTrigger::triggerId);
+        log.debug("Scheduled {} AlertLevelTriggers to outbox", triggers.size());
     }
 }
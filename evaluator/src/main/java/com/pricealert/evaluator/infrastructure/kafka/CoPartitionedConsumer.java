@@ -0,0 +1,39 @@
+package com.pricealert.evaluator.infrastructure.kafka;
+
+import com.pricealert.common.kafka.KafkaTopics;
+import com.pricealert.evaluator.infrastructure.execution.EvaluationExecutor;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consumes market-ticks and alert-changes-by-symbol in one container. Both topics have the same
+ * partition count and key, and the range assignor hands partition N of each to the same
+ * consumer, so a symbol's changes reach the executor interleaved with its ticks in the order
+ * they were fetched — no other thread ever touches that symbol's index.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "evaluator.changes.routing", havingValue = "co-partitioned")
+public class CoPartitionedConsumer {
+
+    private final EvaluationExecutor evaluationExecutor;
+    private final IndexCheckpointer checkpointer;
+    private final TickRecordReader tickRecordReader;
+    private final TickPartitionRebalanceListener rebalanceListener;
+
+    @KafkaListener(
+            topics = {KafkaTopics.MARKET_TICKS, KafkaTopics.ALERT_CHANGES_BY_SYMBOL},
+            groupId = "evaluator-ticks",
+            containerFactory = "coPartitionedListenerContainerFactory")
+    public void onRecords(
+            List<ConsumerRecord<String, Object>> records, Consumer<?, ?> consumer) {
+        evaluationExecutor.execute(tickRecordReader.read(records));
+        checkpointer.checkpointDue(consumer);
+        rebalanceListener.retryHeld(consumer);
+    }
+}
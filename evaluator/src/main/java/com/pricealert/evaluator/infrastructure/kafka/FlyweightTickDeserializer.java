@@ -0,0 +1,54 @@
+package com.pricealert.evaluator.infrastructure.kafka;
+
+import com.pricealert.common.event.MarketTick;
+import com.pricealert.common.wire.MarketTickView;
+import com.pricealert.common.wire.WireFormat;
+import java.util.Map;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * Market-tick values for flyweight decoding: a well-formed binary tick is passed on as the raw
+ * record value, to be read in place through a {@link MarketTickView}; every other record goes
+ * through the wrapped deserializer and arrives as a {@link MarketTick}.
+ */
+public class FlyweightTickDeserializer implements Deserializer<Object> {
+
+    private final Deserializer<MarketTick> objects;
+
+    public FlyweightTickDeserializer(Deserializer<MarketTick> objects) {
+        this.objects = objects;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        objects.configure(configs, isKey);
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        return objects.deserialize(topic, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        if (isBinary(headers) && MarketTickView.isMarketTick(data)) {
+            return data;
+        }
+        return objects.deserialize(topic, headers, data);
+    }
+
+    /** An unknown content type is left for the wrapped deserializer to reject. */
+    private static boolean isBinary(Headers headers) {
+        try {
+            return WireFormat.of(headers) == WireFormat.BINARY;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        objects.close();
+    }
+}
@@ -0,0 +1,136 @@
+package com.pricealert.evaluator.infrastructure.kafka;
+
+import com.pricealert.common.kafka.KafkaTopics;
+import com.pricealert.evaluator.application.config.EvaluatorProperties;
+import com.pricealert.evaluator.infrastructure.snapshot.IndexSnapshotStore;
+import com.pricealert.evaluator.infrastructure.snapshot.SnapshotPosition;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ties {@link IndexSnapshotStore} to the co-partitioned consumer. Every call runs on the
+ * consumer thread that owns the partitions involved, so the symbols being written or restored
+ * are not mutated concurrently and {@link Consumer#position} is exactly the next record not yet
+ * reflected in the index.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndexCheckpointer {
+
+    private final IndexSnapshotStore snapshotStore;
+    private final SymbolOwnership ownership;
+    private final EvaluatorProperties properties;
+    private final Map<Integer, Long> lastCheckpoint = new ConcurrentHashMap<>();
+
+    /**
+     * Restores every partition that has a usable snapshot and rewinds both of its topics to the
+     * snapshot's position, so later ticks and changes are replayed on top of it. Returns the
+     * partitions restored; the rest still need loading from the DB.
+     */
+    Set<Integer> restore(Consumer<?, ?> consumer, Collection<Integer> partitions) {
+        var restored = new HashSet<Integer>();
+        if (!snapshotStore.isEnabled()) {
+            return restored;
+        }
+        for (var partition : partitions) {
+            var ticks = new TopicPartition(KafkaTopics.MARKET_TICKS, partition);
+            var changes = new TopicPartition(KafkaTopics.ALERT_CHANGES_BY_SYMBOL, partition);
+            var position =
+                    snapshotStore.restore(
+                            partition,
+                            snapshot -> isReplayable(consumer, ticks, changes, snapshot));
+            if (position.isPresent()) {
+                consumer.seek(ticks, position.get().tickOffset());
+                consumer.seek(changes, position.get().changeOffset());
+                restored.add(partition);
+            }
+        }
+        var now = System.nanoTime();
+        partitions.forEach(partition -> lastCheckpoint.put(partition, now));
+        return restored;
+    }
+
+    /**
+     * Snapshots the given partitions at the consumer's current positions, except held ones: their
+     * index is not loaded, and a snapshot of it would restore as an empty index.
+     */
+    void checkpoint(Consumer<?, ?> consumer, Collection<Integer> partitions) {
+        if (!snapshotStore.isEnabled() || partitions.isEmpty()) {
+            return;
+        }
+        var partitionCount = ownership.partitionCount();
+        for (var partition : partitions) {
+            if (ownership.isHeld(partition)) {
+                continue;
+            }
+            var position =
+                    new SnapshotPosition(
+                            consumer.position(
+                                    new TopicPartition(KafkaTopics.MARKET_TICKS, partition)),
+                            consumer.position(
+                                    new TopicPartition(
+                                            KafkaTopics.ALERT_CHANGES_BY_SYMBOL, partition)));
+            snapshotStore.write(
+                    partition,
+                    position,
+                    symbol -> SymbolOwnership.partitionFor(symbol, partitionCount) == partition);
+            lastCheckpoint.put(partition, System.nanoTime());
+        }
+    }
+
+    /** Snapshots the consumer's partitions whose last snapshot is older than the interval. */
+    public void checkpointDue(Consumer<?, ?> consumer) {
+        if (!snapshotStore.isEnabled()) {
+            return;
+        }
+        var now = System.nanoTime();
+        var interval = properties.snapshot().interval().toNanos();
+        var due = new ArrayList<Integer>();
+        for (var assigned : consumer.assignment()) {
+            if (!KafkaTopics.MARKET_TICKS.equals(assigned.topic())) {
+                continue;
+            }
+            var last = lastCheckpoint.get(assigned.partition());
+            if (last == null || now - last >= interval) {
+                due.add(assigned.partition());
+            }
+        }
+        checkpoint(consumer, due);
+    }
+
+    void forget(Collection<Integer> partitions) {
+        partitions.forEach(lastCheckpoint::remove);
+    }
+
+    /** Both offsets must still be in the log, or the replay would silently skip records. */
+    private static boolean isReplayable(
+            Consumer<?, ?> consumer,
+            TopicPartition ticks,
+            TopicPartition changes,
+            SnapshotPosition position) {
+        if (!consumer.assignment().contains(changes)) {
+            log.warn("{} is not co-assigned with {}; cannot replay its snapshot", changes, ticks);
+            return false;
+        }
+        var topicPartitions = List.of(ticks, changes);
+        var beginning = consumer.beginningOffsets(topicPartitions);
+        var end = consumer.endOffsets(topicPartitions);
+        return within(position.tickOffset(), beginning.get(ticks), end.get(ticks))
+                && within(position.changeOffset(), beginning.get(changes), end.get(changes));
+    }
+
+    private static boolean within(long offset, Long beginning, Long end) {
+        return beginning != null && end != null && offset >= beginning && offset <= end;
+    }
+}
@@ -0,0 +1,74 @@
+package com.pricealert.evaluator.infrastructure.kafka;
+
+import com.pricealert.evaluator.application.config.EvaluatorProperties;
+import com.pricealert.evaluator.application.config.EvaluatorProperties.Warmup.Mode;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.kafka.common.utils.Utils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tracks which market-ticks partitions this instance currently consumes, and which of those are
+ * held paused because their alerts could not be loaded, and maps symbols to partitions exactly as
+ * the producer's default partitioner does for a String key:
+ * {@code toPositive(murmur2(utf8(symbol))) % partitionCount}.
+ */
+@Component
+public class SymbolOwnership {
+
+    private final boolean partitionAware;
+    private final Set<Integer> ownedPartitions = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> heldPartitions = ConcurrentHashMap.newKeySet();
+    private volatile int partitionCount;
+
+    public SymbolOwnership(EvaluatorProperties properties) {
+        this.partitionAware = properties.warmup().mode() == Mode.PARTITION_AWARE;
+    }
+
+    public static int partitionFor(String symbol, int partitionCount) {
+        return Utils.toPositive(Utils.murmur2(symbol.getBytes(StandardCharsets.UTF_8)))
+                % partitionCount;
+    }
+
+    /** Always true in FULL mode; otherwise true only for symbols of an assigned partition. */
+    public boolean owns(String symbol) {
+        if (!partitionAware) {
+            return true;
+        }
+        var count = partitionCount;
+        return count > 0 && ownedPartitions.contains(partitionFor(symbol, count));
+    }
+
+    void assign(Collection<Integer> partitions, int partitionCount) {
+        this.partitionCount = partitionCount;
+        ownedPartitions.addAll(partitions);
+    }
+
+    void revoke(Collection<Integer> partitions) {
+        ownedPartitions.removeAll(partitions);
+        heldPartitions.removeAll(partitions);
+    }
+
+    /** Marks assigned partitions whose index is not loaded; they must not be snapshotted. */
+    void hold(Collection<Integer> partitions) {
+        heldPartitions.addAll(partitions);
+    }
+
+    void release(Collection<Integer> partitions) {
+        heldPartitions.removeAll(partitions);
+    }
+
+    boolean isHeld(int partition) {
+        return heldPartitions.contains(partition);
+    }
+
+    public int heldCount() {
+        return heldPartitions.size();
+    }
+
+    int partitionCount() {
+        return partitionCount;
+    }
+}
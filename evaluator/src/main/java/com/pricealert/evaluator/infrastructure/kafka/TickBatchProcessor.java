@@ -0,0 +1,84 @@
+package com.pricealert.evaluator.infrastructure.kafka;
+
+import com.pricealert.common.event.AlertLevelTrigger;
+import com.pricealert.evaluator.domain.evaluation.AlertIndexManager;
+import com.pricealert.evaluator.domain.evaluation.EvaluationEngine;
+import com.pricealert.evaluator.domain.evaluation.EvaluationUndoLog;
+import com.pricealert.evaluator.domain.evaluation.TickBuffer;
+import com.pricealert.evaluator.infrastructure.db.AlertStatusUpdater;
+import io.micrometer.core.instrument.Counter;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evaluates a batch of ticks and dispatches the resulting triggers, on whichever thread the
+ * configured evaluation executor uses. Evaluation touches no connection; only a batch that fires
+ * opens a transaction, for its outbox rows, and its status updates are queued once that commits.
+ *
+ * <p>Evaluation is speculative until then: if the outbox write fails, the fired alerts and last
+ * prices are restored before the exception propagates, so the redelivered batch fires them again.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TickBatchProcessor {
+
+    private final EvaluationEngine evaluationEngine;
+    private final AlertIndexManager indexManager;
+    private final AlertTriggerProducer triggerProducer;
+    private final AlertStatusUpdater statusUpdater;
+    private final Counter ticksProcessedCounter;
+    private final Counter alertsTriggeredCounter;
+    private final Counter levelTriggersCounter;
+    private final Counter alertsRestoredCounter;
+
+    /** Evaluates {@code ticks}; {@code undoLog} must be empty and is left empty again. */
+    public void process(TickBuffer ticks, EvaluationUndoLog undoLog) {
+        if (ticks.isEmpty()) {
+            return;
+        }
+        List<AlertLevelTrigger> triggers;
+        try {
+            triggers = evaluationEngine.evaluateBatch(ticks, undoLog);
+        } catch (RuntimeException e) {
+            undoLog.rollback(indexManager);
+            throw e;
+        }
+        ticksProcessedCounter.increment(ticks.size());
+
+        if (triggers.isEmpty()) {
+            undoLog.commit();
+            return;
+        }
+
+        var fired = 0;
+        for (var trigger : triggers) {
+            fired += trigger.alerts().size();
+            log.info(
+                    "{} alerts fired for {} at {} (threshold: {})",
+                    trigger.alerts().size(),
+                    trigger.symbol(),
+                    trigger.triggerPrice(),
+                    trigger.thresholdPrice());
+        }
+        try {
+            triggerProducer.send(triggers);
+        } catch (RuntimeException e) {
+            var restored = undoLog.firedCount();
+            undoLog.rollback(indexManager);
+            alertsRestoredCounter.increment(restored);
+            log.warn("Outbox write failed; restored {} fired alerts to the index", restored);
+            throw e;
+        }
+        undoLog.commit();
+        for (var trigger : triggers) {
+            for (var alert : trigger.alerts()) {
+                statusUpdater.markTriggeredToday(alert.alertId());
+            }
+        }
+        alertsTriggeredCounter.increment(fired);
+        levelTriggersCounter.increment(triggers.size());
+    }
+}
@@ -0,0 +1,230 @@
+package com.pricealert.evaluator.infrastructure.kafka;
+
+import com.pricealert.common.kafka.KafkaTopics;
+import com.pricealert.evaluator.application.config.EvaluatorProperties;
+import com.pricealert.evaluator.domain.evaluation.AlertIndexManager;
+import com.pricealert.evaluator.infrastructure.db.ParallelWarmUpLoader;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drives warm-up from the evaluator-ticks group in PARTITION_AWARE mode. Assignment loads the
+ * alerts of every symbol that hashes to a newly assigned partition before the consumer fetches
+ * its first tick; revocation (or loss) evicts those symbols. With the cooperative assignor the
+ * callbacks only carry the partitions that actually moved. In co-partitioned routing the
+ * container also holds alert-changes-by-symbol partitions; only market-ticks ones drive loading.
+ * With snapshots enabled a partition is restored from its snapshot when one is usable, and is
+ * snapshotted again when it is revoked, including at shutdown.
+ *
+ * <p>A failed load is retried with backoff. A partition whose alerts still cannot be loaded is
+ * paused, on both topics, rather than consumed against an empty index; {@link #retryHeld} keeps
+ * retrying it on the consumer thread, between polls and while the consumer is idle, and resumes
+ * it once its alerts are in.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TickPartitionRebalanceListener implements ConsumerAwareRebalanceListener {
+
+    private final SymbolOwnership ownership;
+    private final ParallelWarmUpLoader warmUpLoader;
+    private final AlertIndexManager indexManager;
+    private final IndexCheckpointer checkpointer;
+    private final EvaluatorProperties properties;
+
+    /** Failed load attempts so far and when to retry, per held partition. */
+    private final Map<Integer, Backoff> held = new ConcurrentHashMap<>();
+
+    @Override
+    public void onPartitionsAssigned(
+            Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        var assigned = partitionIds(partitions);
+        if (assigned.isEmpty()) {
+            return;
+        }
+        var partitionCount = consumer.partitionsFor(KafkaTopics.MARKET_TICKS).size();
+        ownership.assign(assigned, partitionCount);
+
+        var fromDatabase = new HashSet<>(assigned);
+        fromDatabase.removeAll(checkpointer.restore(consumer, assigned));
+        if (fromDatabase.isEmpty()) {
+            return;
+        }
+        var retry = properties.warmup().retry();
+        for (var failures = 1; ; failures++) {
+            try {
+                load(fromDatabase, partitionCount);
+                return;
+            } catch (RuntimeException e) {
+                if (failures > retry.maxRetries() || !sleep(retry.delayAfter(failures))) {
+                    hold(consumer, fromDatabase, failures, e);
+                    return;
+                }
+                log.warn(
+                        "Loading partitions {} failed (attempt {}), retrying: {}",
+                        fromDatabase,
+                        failures,
+                        e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Retries the held partitions of {@code consumer} that are due, resuming those that load.
+     * Must run on the consumer's thread; does nothing while no partition is held.
+     */
+    public void retryHeld(Consumer<?, ?> consumer) {
+        if (held.isEmpty()) {
+            return;
+        }
+        var now = System.nanoTime();
+        var due = new HashSet<Integer>();
+        for (var partition : partitionIds(consumer.assignment())) {
+            var backoff = held.get(partition);
+            if (backoff != null && now - backoff.retryAt() >= 0) {
+                due.add(partition);
+            }
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+        try {
+            load(due, ownership.partitionCount());
+        } catch (RuntimeException e) {
+            var retry = properties.warmup().retry();
+            for (var partition : due) {
+                held.computeIfPresent(
+                        partition, (p, backoff) -> Backoff.after(backoff.failures() + 1, retry));
+            }
+            log.warn("Held partitions {} still fail to load: {}", due, e.getMessage());
+            return;
+        }
+        due.forEach(held::remove);
+        ownership.release(due);
+        consumer.resume(topicPartitions(consumer, due));
+        log.info("Partitions {} resumed", due);
+    }
+
+    @EventListener
+    public void onIdle(ListenerContainerIdleEvent event) {
+        retryHeld(event.getConsumer());
+    }
+
+    @Override
+    public void onPartitionsRevokedBeforeCommit(
+            Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        checkpointer.checkpoint(consumer, partitionIds(partitions));
+    }
+
+    @Override
+    public void onPartitionsRevokedAfterCommit(
+            Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        evict(partitions, "revoked");
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        evict(partitions, "lost");
+    }
+
+    private void load(Set<Integer> partitions, int partitionCount) {
+        var symbols = new HashSet<String>();
+        for (var symbol : warmUpLoader.activeSymbols()) {
+            if (partitions.contains(SymbolOwnership.partitionFor(symbol, partitionCount))) {
+                symbols.add(symbol);
+            }
+        }
+        var loaded = warmUpLoader.load(symbols);
+        log.info(
+                "Partitions {}: loaded {} alerts across {} symbols from the DB",
+                partitions,
+                loaded,
+                symbols.size());
+    }
+
+    /** Pauses the partitions, so no tick of theirs is consumed before their alerts load. */
+    private void hold(
+            Consumer<?, ?> consumer, Set<Integer> partitions, int failures, RuntimeException e) {
+        consumer.pause(topicPartitions(consumer, partitions));
+        ownership.hold(partitions);
+        var backoff = Backoff.after(failures, properties.warmup().retry());
+        partitions.forEach(partition -> held.put(partition, backoff));
+        log.error(
+                "Loading partitions {} failed after {} attempts; paused until they load",
+                partitions,
+                failures,
+                e);
+    }
+
+    private static boolean sleep(Duration delay) {
+        try {
+            Thread.sleep(delay);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void evict(Collection<TopicPartition> partitions, String reason) {
+        var evicted = partitionIds(partitions);
+        if (evicted.isEmpty()) {
+            return;
+        }
+        var partitionCount = ownership.partitionCount();
+        evicted.forEach(held::remove);
+        ownership.revoke(evicted);
+        checkpointer.forget(evicted);
+        var removed =
+                indexManager.removeSymbols(
+                        symbol ->
+                                evicted.contains(
+                                        SymbolOwnership.partitionFor(symbol, partitionCount)));
+        log.info("Partitions {} {}: evicted {} alerts", evicted, reason, removed);
+    }
+
+    /** Both topics' partitions with these ids, as far as the consumer is assigned them. */
+    private static List<TopicPartition> topicPartitions(
+            Consumer<?, ?> consumer, Set<Integer> partitions) {
+        var topicPartitions = new ArrayList<TopicPartition>();
+        for (var assigned : consumer.assignment()) {
+            if (partitions.contains(assigned.partition())
+                    && (KafkaTopics.MARKET_TICKS.equals(assigned.topic())
+                            || KafkaTopics.ALERT_CHANGES_BY_SYMBOL.equals(assigned.topic()))) {
+                topicPartitions.add(assigned);
+            }
+        }
+        return topicPartitions;
+    }
+
+    private static Set<Integer> partitionIds(Collection<TopicPartition> partitions) {
+        var ids = new HashSet<Integer>();
+        for (var partition : partitions) {
+            if (KafkaTopics.MARKET_TICKS.equals(partition.topic())) {
+                ids.add(partition.partition());
+            }
+        }
+        return ids;
+    }
+
+    private record Backoff(int failures, long retryAt) {
+
+        static Backoff after(int failures, EvaluatorProperties.Warmup.Retry retry) {
+            return new Backoff(failures, System.nanoTime() + retry.delayAfter(failures).toNanos());
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.pricealert.evaluator.infrastructure.kafka;
+
+import com.pricealert.common.event.AlertChange;
+import com.pricealert.common.event.MarketTick;
+import com.pricealert.evaluator.domain.evaluation.AlertIndexManager;
+import io.micrometer.core.instrument.Counter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * Turns a poll of market-ticks (and co-partitioned alert-changes) records into executor events.
+ *
+ * <p>When skipping unwatched symbols, the container leaves tick values as raw bytes and the
+ * record key decides: a tick for a symbol no alert watches is never decoded, except the last one
+ * per poll, which still reaches the engine so the symbol's last price stays current for a CROSS
+ * alert created later. A symbol with an alert change in the same poll is always decoded.
+ */
+@Slf4j
+public class TickRecordReader {
+
+    private final Deserializer<Object> tickDeserializer;
+    private final AlertIndexManager indexManager;
+    private final boolean skipUnwatched;
+    private final Counter ticksSkippedCounter;
+
+    public TickRecordReader(
+            Deserializer<Object> tickDeserializer,
+            AlertIndexManager indexManager,
+            boolean skipUnwatched,
+            Counter ticksSkippedCounter) {
+        this.tickDeserializer = tickDeserializer;
+        this.indexManager = indexManager;
+        this.skipUnwatched = skipUnwatched;
+        this.ticksSkippedCounter = ticksSkippedCounter;
+    }
+
+    /**
+     * {@link MarketTick}s, raw binary ticks under flyweight decoding, and {@link AlertChange}s,
+     * in record order except for the unwatched symbols' last ticks, which come at the end.
+     */
+    public List<Object> read(List<? extends ConsumerRecord<String, ?>> records) {
+        var events = new ArrayList<>(records.size());
+        var changed = skipUnwatched ? changedSymbols(records) : Set.<String>of();
+        Map<String, ConsumerRecord<String, ?>> lastUnwatched = null;
+        var skipped = 0;
+        for (var record : records) {
+            switch (record.value()) {
+                case byte[] value when skipUnwatched -> {
+                    var symbol = record.key();
+                    if (symbol == null
+                            || changed.contains(symbol)
+                            || indexManager.isWatched(symbol)) {
+                        decode(record, value, events);
+                    } else {
+                        if (lastUnwatched == null) {
+                            lastUnwatched = new LinkedHashMap<>();
+                        }
+                        if (lastUnwatched.put(symbol, record) != null) {
+                            skipped++;
+                        }
+                    }
+                }
+                case byte[] binaryTick -> events.add(binaryTick);
+                case MarketTick tick -> events.add(tick);
+                case AlertChange change -> events.add(change);
+                case null, default -> warnUnexpected(record);
+            }
+        }
+        if (lastUnwatched != null) {
+            for (var record : lastUnwatched.values()) {
+                decode(record, (byte[]) record.value(), events);
+            }
+        }
+        if (skipped > 0) {
+            ticksSkippedCounter.increment(skipped);
+        }
+        return events;
+    }
+
+    private void decode(ConsumerRecord<String, ?> record, byte[] value, List<Object> events) {
+        try {
+            var tick = tickDeserializer.deserialize(record.topic(), record.headers(), value);
+            if (tick != null) {
+                events.add(tick);
+            }
+        } catch (SerializationException e) {
+            log.warn(
+                    "Skipping undecodable tick on {}-{}@{}: {}",
+                    record.topic(),
+                    record.partition(),
+                    record.offset(),
+                    e.getMessage());
+        }
+    }
+
+    private static Set<String> changedSymbols(List<? extends ConsumerRecord<String, ?>> records) {
+        Set<String> symbols = null;
+        for (var record : records) {
+            if (record.value() instanceof AlertChange change) {
+                if (symbols == null) {
+                    symbols = new HashSet<>();
+                }
+                symbols.add(change.symbol());
+            }
+        }
+        return symbols == null ? Set.of() : symbols;
+    }
+
+    private static void warnUnexpected(ConsumerRecord<String, ?> record) {
+        log.warn(
+                "Ignoring unexpected record on {}-{}@{}",
+                record.topic(),
+                record.partition(),
+                record.offset());
+    }
+}
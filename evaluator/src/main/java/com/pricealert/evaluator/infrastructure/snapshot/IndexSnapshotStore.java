@@ -0,0 +1,357 @@
+package com.pricealert.evaluator.infrastructure.snapshot;
+
+import com.pricealert.common.event.Direction;
+import com.pricealert.common.price.ScaledPrice;
+import com.pricealert.evaluator.application.config.EvaluatorProperties;
+import com.pricealert.evaluator.application.config.EvaluatorProperties.Changes.Routing;
+import com.pricealert.evaluator.application.config.EvaluatorProperties.Warmup.Mode;
+import com.pricealert.evaluator.domain.evaluation.AlertEntry;
+import com.pricealert.evaluator.domain.evaluation.AlertIndexManager;
+import com.pricealert.evaluator.domain.evaluation.SymbolAlertIndex;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads and writes one memory-mapped snapshot file per market-ticks partition, holding every
+ * alert and the last price of the partition's symbols together with the {@link
+ * SnapshotPosition} they are consistent with. Files are written to a temporary name and moved
+ * into place, and carry a CRC32 trailer, so a crash mid-write leaves the previous snapshot.
+ *
+ * <p>Layout (big-endian): header {@code magic, version, partition, tickOffset, changeOffset,
+ * writtenAtMillis, symbolCount}; per symbol {@code symbol, lastPrice, alertCount} followed by
+ * {@code alertId, userId, threshold, direction} per alert; then the CRC32 of all
+ * preceding bytes. Strings are a byte length ({@code -1} for null) and UTF-8 bytes; prices are
+ * {@link ScaledPrice} longs.
+ */
+@Slf4j
+@Component
+public class IndexSnapshotStore {
+
+    private static final int MAGIC = 0x50415358;
+    private static final int VERSION = 2;
+    private static final long HEADER_BYTES = 3 * Integer.BYTES + 3 * Long.BYTES + Integer.BYTES;
+    private static final long TRAILER_BYTES = Long.BYTES;
+    private static final long NO_PRICE = Long.MIN_VALUE;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private static final ValueLayout.OfInt INT =
+            ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final ValueLayout.OfLong LONG =
+            ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+
+    private final AlertIndexManager indexManager;
+    private final Path directory;
+    private final Duration maxAge;
+    private final boolean enabled;
+
+    public IndexSnapshotStore(AlertIndexManager indexManager, EvaluatorProperties properties) {
+        this.indexManager = indexManager;
+        var snapshot = properties.snapshot();
+        this.directory = snapshot.directory();
+        this.maxAge = snapshot.maxAge();
+        // A snapshot is restored on market-ticks assignment and rewinds the co-partitioned
+        // change partition, so it needs both of those modes.
+        var supported =
+                properties.changes().routing() == Routing.CO_PARTITIONED
+                        && properties.warmup().mode() == Mode.PARTITION_AWARE;
+        this.enabled = snapshot.enabled() && supported;
+        if (snapshot.enabled() && !supported) {
+            log.warn(
+                    "Index snapshots disabled: they need co-partitioned routing and"
+                            + " partition-aware warm-up");
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Writes the alerts of every indexed symbol accepted by {@code symbols}. */
+    public void write(int partition, SnapshotPosition position, Predicate<String> symbols) {
+        var selected = new ArrayList<Map.Entry<String, SymbolAlertIndex>>();
+        indexManager.forEach(
+                (symbol, index) -> {
+                    if (symbols.test(symbol)) {
+                        selected.add(Map.entry(symbol, index));
+                    }
+                });
+
+        var size = HEADER_BYTES + TRAILER_BYTES;
+        var alerts = 0;
+        for (var entry : selected) {
+            size += stringBytes(entry.getKey()) + Long.BYTES + Integer.BYTES;
+            var index = entry.getValue();
+            var sizer = new AlertSizer();
+            index.forEachAlert(sizer);
+            size += sizer.bytes;
+            alerts += index.size();
+        }
+
+        Path temporary = null;
+        try {
+            Files.createDirectories(directory);
+            temporary = Files.createTempFile(directory, fileName(partition), ".tmp");
+            try (var channel =
+                            FileChannel.open(
+                                    temporary,
+                                    StandardOpenOption.READ,
+                                    StandardOpenOption.WRITE,
+                                    StandardOpenOption.TRUNCATE_EXISTING);
+                    var arena = Arena.ofConfined()) {
+                var segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, size, arena);
+                var writer = new SegmentWriter(segment);
+                writer.putInt(MAGIC);
+                writer.putInt(VERSION);
+                writer.putInt(partition);
+                writer.putLong(position.tickOffset());
+                writer.putLong(position.changeOffset());
+                writer.putLong(System.currentTimeMillis());
+                writer.putInt(selected.size());
+                for (var entry : selected) {
+                    var index = entry.getValue();
+                    var lastPrice = index.getLastPrice();
+                    writer.putString(entry.getKey());
+                    writer.putLong(lastPrice == null ? NO_PRICE : ScaledPrice.toScaled(lastPrice));
+                    writer.putInt(index.size());
+                    index.forEachAlert(writer::putAlert);
+                }
+                writer.putLong(checksum(segment, writer.position));
+                segment.force();
+            }
+            Files.move(
+                    temporary,
+                    fileFor(partition),
+                    StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+            log.debug(
+                    "Wrote snapshot of partition {}: {} alerts across {} symbols at {}",
+                    partition,
+                    alerts,
+                    selected.size(),
+                    position);
+        } catch (IOException e) {
+            log.warn("Could not write snapshot of partition {}", partition, e);
+            deleteQuietly(temporary);
+        }
+    }
+
+    /**
+     * Loads the partition's snapshot into the index if it is intact, younger than the configured
+     * max age and accepted by {@code replayable}; returns the position to resume from.
+     */
+    public Optional<SnapshotPosition> restore(
+            int partition, Predicate<SnapshotPosition> replayable) {
+        var file = fileFor(partition);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ);
+                var arena = Arena.ofConfined()) {
+            var size = channel.size();
+            if (size < HEADER_BYTES + TRAILER_BYTES) {
+                log.warn("Ignoring truncated snapshot {}", file);
+                return Optional.empty();
+            }
+            var segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, size, arena);
+            var body = size - TRAILER_BYTES;
+            if (segment.get(LONG, body) != checksum(segment, body)) {
+                log.warn("Ignoring corrupt snapshot {}: checksum mismatch", file);
+                return Optional.empty();
+            }
+
+            var reader = new SegmentReader(segment);
+            if (reader.getInt() != MAGIC
+                    || reader.getInt() != VERSION
+                    || reader.getInt() != partition) {
+                log.warn("Ignoring snapshot {}: unknown format or wrong partition", file);
+                return Optional.empty();
+            }
+            var position = new SnapshotPosition(reader.getLong(), reader.getLong());
+            var age = Duration.between(Instant.ofEpochMilli(reader.getLong()), Instant.now());
+            if (age.compareTo(maxAge) > 0) {
+                log.info("Ignoring snapshot of partition {}: {} old", partition, age);
+                return Optional.empty();
+            }
+            if (!replayable.test(position)) {
+                log.info(
+                        "Ignoring snapshot of partition {}: {} no longer replayable",
+                        partition,
+                        position);
+                return Optional.empty();
+            }
+
+            var symbolCount = reader.getInt();
+            var alerts = 0;
+            for (var i = 0; i < symbolCount; i++) {
+                var symbol = reader.getString();
+                var lastPrice = reader.getLong();
+                var alertCount = reader.getInt();
+                var index = indexManager.getOrCreate(symbol);
+                for (var j = 0; j < alertCount; j++) {
+                    index.addAlert(reader.getAlert(symbol));
+                }
+                index.setLastPrice(
+                        lastPrice == NO_PRICE ? null : ScaledPrice.toBigDecimal(lastPrice));
+                alerts += alertCount;
+            }
+            log.info(
+                    "Restored partition {} from a {} old snapshot: {} alerts across {} symbols",
+                    partition,
+                    age,
+                    alerts,
+                    symbolCount);
+            return Optional.of(position);
+        } catch (IOException e) {
+            log.warn("Could not read snapshot {}", file, e);
+            return Optional.empty();
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Could not delete {}", file, e);
+        }
+    }
+
+    private Path fileFor(int partition) {
+        return directory.resolve(fileName(partition) + ".snap");
+    }
+
+    private static String fileName(int partition) {
+        return "market-ticks-" + partition;
+    }
+
+    private static long checksum(MemorySegment segment, long length) {
+        var crc = new CRC32();
+        crc.update(segment.asSlice(0, length).asByteBuffer());
+        return crc.getValue();
+    }
+
+    private static long stringBytes(String value) {
+        return Integer.BYTES
+                + (value == null ? 0 : value.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    private static final class AlertSizer implements Consumer<AlertEntry> {
+
+        private long bytes;
+
+        @Override
+        public void accept(AlertEntry alert) {
+            bytes +=
+                    stringBytes(alert.alertId())
+                            + stringBytes(alert.userId())
+                            + Long.BYTES
+                            + Byte.BYTES;
+        }
+    }
+
+    private static final class SegmentWriter {
+
+        private final MemorySegment segment;
+        private long position;
+
+        private SegmentWriter(MemorySegment segment) {
+            this.segment = segment;
+        }
+
+        void putInt(int value) {
+            segment.set(INT, position, value);
+            position += Integer.BYTES;
+        }
+
+        void putLong(long value) {
+            segment.set(LONG, position, value);
+            position += Long.BYTES;
+        }
+
+        void putString(String value) {
+            if (value == null) {
+                putInt(-1);
+                return;
+            }
+            var bytes = value.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            MemorySegment.copy(bytes, 0, segment, ValueLayout.JAVA_BYTE, position, bytes.length);
+            position += bytes.length;
+        }
+
+        void putAlert(AlertEntry alert) {
+            putString(alert.alertId());
+            putString(alert.userId());
+            putLong(ScaledPrice.toScaled(alert.thresholdPrice()));
+            segment.set(ValueLayout.JAVA_BYTE, position++, (byte) alert.direction().ordinal());
+        }
+    }
+
+    private static final class SegmentReader {
+
+        private final MemorySegment segment;
+        private long position;
+
+        private SegmentReader(MemorySegment segment) {
+            this.segment = segment;
+        }
+
+        int getInt() {
+            var value = segment.get(INT, position);
+            position += Integer.BYTES;
+            return value;
+        }
+
+        long getLong() {
+            var value = segment.get(LONG, position);
+            position += Long.BYTES;
+            return value;
+        }
+
+        String getString() {
+            var length = getInt();
+            if (length < 0) {
+                return null;
+            }
+            var bytes = new byte[length];
+            MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, position, bytes, 0, length);
+            position += length;
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        AlertEntry getAlert(String symbol) {
+            var alertId = getString();
+            var userId = getString();
+            var threshold = ScaledPrice.toBigDecimal(getLong());
+            var direction = DIRECTIONS[segment.get(ValueLayout.JAVA_BYTE, position++)];
+            return AlertEntry.builder()
+                    .alertId(alertId)
+                    .userId(userId)
+                    .symbol(symbol)
+                    .thresholdPrice(threshold)
+                    .direction(direction)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.pricealert.evaluator.infrastructure.snapshot;
+
+/**
+ * Consumer positions a partition snapshot is consistent with: the next market-ticks and
+ * alert-changes-by-symbol offsets that were not yet reflected in the index when it was taken.
+ */
+public record SnapshotPosition(long tickOffset, long changeOffset) {}
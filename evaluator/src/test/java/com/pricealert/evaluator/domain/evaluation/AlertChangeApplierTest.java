@@ -0,0 +1,81 @@
+package com.pricealert.evaluator.domain.evaluation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.pricealert.common.event.AlertChange;
+import com.pricealert.common.event.AlertChangeType;
+import com.pricealert.common.event.Direction;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AlertChangeApplierTest {
+
+    private AlertIndexManager indexManager;
+    private AlertChangeApplier applier;
+
+    @BeforeEach
+    void setUp() {
+        indexManager = new AlertIndexManager();
+        applier = new AlertChangeApplier(indexManager);
+    }
+
+    private AlertChange change(AlertChangeType type, String threshold) {
+        return AlertChange.builder()
+                .eventType(type)
+                .alertId("a1")
+                .userId("user1")
+                .symbol("AAPL")
+                .thresholdPrice(new BigDecimal(threshold))
+                .direction(Direction.ABOVE)
+                .build();
+    }
+
+    @Test
+    void shouldIndexCreatedAlert() {
+        // when
+        applier.apply(change(AlertChangeType.CREATED, "150.00"));
+
+        // then
+        assertThat(indexManager.get("AAPL").size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReplaceThresholdOnUpdate() {
+        // given
+        applier.apply(change(AlertChangeType.CREATED, "150.00"));
+
+        // when
+        applier.apply(change(AlertChangeType.UPDATED, "170.00"));
+
+        // then
+        var index = indexManager.get("AAPL");
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.evaluate(new BigDecimal("160.00"))).isEmpty();
+    }
+
+    @Test
+    void shouldRemoveDeletedAlert() {
+        // given
+        applier.apply(change(AlertChangeType.CREATED, "150.00"));
+
+        // when
+        applier.apply(change(AlertChangeType.DELETED, "150.00"));
+
+        // then
+        assertThat(indexManager.get("AAPL").isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldReAddAlertOnReset() {
+        // given
+        applier.apply(change(AlertChangeType.CREATED, "150.00"));
+        indexManager.get("AAPL").evaluate(new BigDecimal("155.00"));
+
+        // when
+        applier.apply(change(AlertChangeType.RESET, "150.00"));
+
+        // then
+        assertThat(indexManager.get("AAPL").size()).isEqualTo(1);
+    }
+}
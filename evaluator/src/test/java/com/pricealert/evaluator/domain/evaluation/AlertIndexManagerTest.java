@@ -3,7 +3,10 @@ package com.pricealert.evaluator.domain.evaluation;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.pricealert.common.event.Direction;
+import com.pricealert.common.id.SymbolDictionary;
+import com.pricealert.common.price.ScaledPrice;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -46,6 +49,18 @@ class AlertIndexManagerTest {
         assertThat(first).isSameAs(second);
     }
 
+    @Test
+    void shouldCreateIndexOfConfiguredType() {
+        // given
+        var fixedPointManager = new AlertIndexManager(AlertIndexType.FIXED_POINT);
+
+        // when
+        var index = fixedPointManager.getOrCreate("AAPL");
+
+        // then
+        assertThat(index).isInstanceOf(FixedPointSymbolAlertIndex.class);
+    }
+
     @Test
     void shouldReturnNullForNonExistentSymbol() {
         // when/then
@@ -113,4 +128,95 @@ class AlertIndexManagerTest {
         assertThat(manager.totalAlerts()).isZero();
         assertThat(manager.symbolCount()).isZero();
     }
+
+    @Test
+    void shouldRemoveOnlyMatchingSymbols() {
+        // given
+        manager.addAlert(alert("a1", "AAPL", new BigDecimal("150.00"), Direction.ABOVE));
+        manager.addAlert(alert("a2", "AAPL", new BigDecimal("160.00"), Direction.ABOVE));
+        manager.addAlert(alert("a3", "MSFT", new BigDecimal("300.00"), Direction.BELOW));
+
+        // when
+        var removed = manager.removeSymbols("AAPL"::equals);
+
+        // then
+        assertThat(removed).isEqualTo(2);
+        assertThat(manager.get("AAPL")).isNull();
+        assertThat(manager.totalAlerts()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReachIndexBySymbolId() {
+        // given
+        manager.addAlert(alert("a1", "AAPL", new BigDecimal("150.00"), Direction.ABOVE));
+
+        // when
+        var symbolId = SymbolDictionary.shared().find("AAPL");
+
+        // then
+        assertThat(manager.get(symbolId)).isSameAs(manager.get("AAPL"));
+        assertThat(manager.get(SymbolDictionary.shared().idOf("UNSEEN"))).isNull();
+    }
+
+    @Test
+    void shouldShareSymbolAcrossIndexedAlerts() {
+        // given
+        manager.addAlert(
+                alert("a1", new String("AAPL"), new BigDecimal("150.00"), Direction.ABOVE));
+        manager.addAlert(
+                alert("a2", new String("AAPL"), new BigDecimal("140.00"), Direction.BELOW));
+
+        // when
+        var indexed = new ArrayList<AlertEntry>();
+        manager.get("AAPL").forEachAlert(indexed::add);
+
+        // then
+        assertThat(indexed).hasSize(2);
+        assertThat(indexed.get(0).symbol()).isSameAs(indexed.get(1).symbol());
+    }
+
+    @Test
+    void shouldWatchOnlySymbolsWithAlerts() {
+        // given
+        manager.addAlert(alert("a1", "AAPL", new BigDecimal("150.00"), Direction.ABOVE));
+        manager.addAlert(alert("a2", "MSFT", new BigDecimal("300.00"), Direction.ABOVE));
+        manager.removeAlert("a2", "MSFT");
+
+        // then
+        assertThat(manager.isWatched("AAPL")).isTrue();
+        assertThat(manager.isWatched("MSFT")).isFalse();
+        assertThat(manager.isWatched("TSLA")).isFalse();
+    }
+
+    @Test
+    void shouldSeedNewIndexWithLastUnindexedPrice() {
+        // given
+        manager.recordUnindexedPrice("AAPL", ScaledPrice.toScaled(new BigDecimal("149.50")));
+        manager.recordUnindexedPrice("MSFT", ScaledPrice.toScaled(new BigDecimal("301.00")));
+        var rebuilt = manager.newIndex();
+
+        // when
+        manager.addAlert(alert("a1", "AAPL", new BigDecimal("150.00"), Direction.CROSS));
+        manager.publish("MSFT", rebuilt);
+
+        // then
+        assertThat(manager.get("AAPL").getLastPrice()).isEqualByComparingTo("149.50");
+        assertThat(rebuilt.getLastPrice()).isEqualByComparingTo("301.00");
+    }
+
+    @Test
+    void shouldPublishIndexBuiltOutsideTheManager() {
+        // given
+        manager.addAlert(alert("a1", "AAPL", new BigDecimal("150.00"), Direction.ABOVE));
+        var rebuilt = manager.newIndex();
+        rebuilt.addAlert(alert("a2", "AAPL", new BigDecimal("160.00"), Direction.ABOVE));
+        rebuilt.addAlert(alert("a3", "AAPL", new BigDecimal("140.00"), Direction.BELOW));
+
+        // when
+        manager.publish("AAPL", rebuilt);
+
+        // then
+        assertThat(manager.get("AAPL")).isSameAs(rebuilt);
+        assertThat(manager.totalAlerts()).isEqualTo(2);
+    }
 }
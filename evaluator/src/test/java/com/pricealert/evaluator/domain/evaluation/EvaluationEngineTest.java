@@ -1,11 +1,15 @@
 package com.pricealert.evaluator.domain.evaluation;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
-import com.pricealert.common.event.AlertTrigger;
+import com.pricealert.common.event.AlertLevelTrigger;
 import com.pricealert.common.event.Direction;
+import com.pricealert.common.event.MarketTick;
+import com.pricealert.common.price.ScaledPrice;
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -64,17 +68,18 @@ class EvaluationEngineTest {
         assertThat(triggers).hasSize(1);
         var trigger = triggers.getFirst();
         var expectedTrigger =
-                AlertTrigger.builder()
+                AlertLevelTrigger.builder()
                         .triggerId(trigger.triggerId())
-                        .alertId("a1")
-                        .userId("user1")
                         .symbol("AAPL")
                         .thresholdPrice(new BigDecimal("150.00"))
                         .triggerPrice(new BigDecimal("155.00"))
-                        .direction(Direction.ABOVE)
                         .tickTimestamp(trigger.tickTimestamp())
                         .triggeredAt(trigger.triggeredAt())
                         .tradingDate(trigger.tradingDate())
+                        .alerts(
+                                List.of(
+                                        new AlertLevelTrigger.Entry(
+                                                "a1", "user1", Direction.ABOVE, null)))
                         .build();
         assertThat(trigger)
                 .usingRecursiveComparison()
@@ -108,7 +113,7 @@ class EvaluationEngineTest {
 
         // then
         assertThat(triggers).hasSize(2);
-        assertThat(triggers).extracting(t -> t.alertId()).containsExactlyInAnyOrder("a1", "a2");
+        assertThat(alertIds(triggers)).containsExactlyInAnyOrder("a1", "a2");
     }
 
     @Test
@@ -126,10 +131,10 @@ class EvaluationEngineTest {
     }
 
     @Test
-    void shouldAssignUniqueTriggerId() {
+    void shouldAssignUniqueTriggerIdPerLevel() {
         // given
         indexManager.addAlert(alert("a1", "AAPL", new BigDecimal("100.00"), Direction.ABOVE));
-        indexManager.addAlert(alert("a2", "AAPL", new BigDecimal("100.00"), Direction.ABOVE));
+        indexManager.addAlert(alert("a2", "AAPL", new BigDecimal("110.00"), Direction.ABOVE));
 
         // when
         var triggers = engine.evaluate("AAPL", new BigDecimal("150.00"), Instant.now());
@@ -139,6 +144,70 @@ class EvaluationEngineTest {
         assertThat(triggers.get(0).triggerId()).isNotEqualTo(triggers.get(1).triggerId());
     }
 
+    @Test
+    void shouldPackAlertsFiredAtSameLevelIntoOneTrigger() {
+        // given
+        indexManager.addAlert(alert("a1", "AAPL", new BigDecimal("150.00"), Direction.ABOVE));
+        indexManager.addAlert(alert("a2", "AAPL", new BigDecimal("150.0"), Direction.ABOVE));
+        indexManager.addAlert(alert("c1", "AAPL", new BigDecimal("150.00"), Direction.CROSS));
+        indexManager.addAlert(alert("a3", "AAPL", new BigDecimal("152.00"), Direction.ABOVE));
+        indexManager.getOrCreate("AAPL").setLastPrice(new BigDecimal("148.00"));
+
+        // when
+        var triggers = engine.evaluate("AAPL", new BigDecimal("155.00"), Instant.now());
+
+        // then
+        assertThat(triggers).hasSize(2);
+        var level150 =
+                triggers.stream()
+                        .filter(t -> t.thresholdPrice().compareTo(new BigDecimal("150")) == 0)
+                        .findFirst()
+                        .orElseThrow();
+        assertThat(level150.alerts())
+                .extracting(AlertLevelTrigger.Entry::alertId, AlertLevelTrigger.Entry::direction)
+                .containsExactlyInAnyOrder(
+                        tuple("a1", Direction.ABOVE),
+                        tuple("a2", Direction.ABOVE),
+                        tuple("c1", Direction.CROSS));
+    }
+
+    @Test
+    void shouldSplitLevelsLargerThanMaxAlerts() {
+        // given
+        var alerts = AlertLevelTrigger.MAX_ALERTS + 1;
+        for (var i = 0; i < alerts; i++) {
+            indexManager.addAlert(
+                    alert("a" + i, "AAPL", new BigDecimal("150.00"), Direction.ABOVE));
+        }
+
+        // when
+        var triggers = engine.evaluate("AAPL", new BigDecimal("155.00"), Instant.now());
+
+        // then
+        assertThat(triggers)
+                .extracting(t -> t.alerts().size())
+                .containsExactly(AlertLevelTrigger.MAX_ALERTS, 1);
+        assertThat(alertIds(triggers)).hasSize(alerts).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void shouldSeparateLevelsFiredByDifferentTicksOfBatch() {
+        // given
+        indexManager.addAlert(alert("a1", "AAPL", new BigDecimal("150.00"), Direction.ABOVE));
+        indexManager.addAlert(alert("b1", "AAPL", new BigDecimal("150.00"), Direction.BELOW));
+        indexManager.getOrCreate("AAPL").setLastPrice(new BigDecimal("149.00"));
+        var now = Instant.now();
+        var ticks = List.of(tick("AAPL", "151.00", now), tick("AAPL", "149.50", now));
+
+        // when
+        var triggers = engine.evaluateBatch(ticks);
+
+        // then
+        assertThat(triggers)
+                .extracting(t -> t.triggerPrice().toPlainString(), t -> alertIds(List.of(t)))
+                .containsExactly(tuple("151.00", List.of("a1")), tuple("149.50", List.of("b1")));
+    }
+
     @Test
     void shouldDeriveTradingDateFromTickTimestamp() {
         // given
@@ -152,4 +221,181 @@ class EvaluationEngineTest {
         // then
         assertThat(triggers.getFirst().tradingDate().toString()).isEqualTo("2026-02-23");
     }
+
+    @Test
+    void shouldReportFirstCrossingTickWhenEvaluatingBatch() {
+        // given
+        indexManager.addAlert(alert("a1", "AAPL", new BigDecimal("150.00"), Direction.ABOVE));
+        var crossingTime = Instant.parse("2026-02-23T14:30:01Z");
+        var ticks =
+                List.of(
+                        tick("AAPL", "149.00", Instant.parse("2026-02-23T14:30:00Z")),
+                        tick("AAPL", "151.00", crossingTime),
+                        tick("AAPL", "158.00", Instant.parse("2026-02-23T14:30:02Z")));
+
+        // when
+        var triggers = engine.evaluateBatch(ticks);
+
+        // then
+        assertThat(triggers).hasSize(1);
+        assertThat(triggers.getFirst().triggerPrice()).isEqualByComparingTo("151.00");
+        assertThat(triggers.getFirst().tickTimestamp()).isEqualTo(crossingTime);
+    }
+
+    @Test
+    void shouldEvaluateBatchPerSymbolAndSkipUnindexedSymbols() {
+        // given
+        indexManager.addAlert(alert("a1", "AAPL", new BigDecimal("150.00"), Direction.ABOVE));
+        indexManager.addAlert(alert("m1", "MSFT", new BigDecimal("300.00"), Direction.BELOW));
+        var now = Instant.now();
+        var ticks =
+                List.of(
+                        tick("MSFT", "310.00", now),
+                        tick("AAPL", "155.00", now),
+                        tick("TSLA", "200.00", now),
+                        tick("MSFT", "299.00", now));
+
+        // when
+        var triggers = engine.evaluateBatch(ticks);
+
+        // then
+        assertThat(alertIds(triggers)).containsExactlyInAnyOrder("a1", "m1");
+    }
+
+    @Test
+    void shouldJudgeCrossAlertAgainstPriceTickedBeforeSymbolWasIndexed() {
+        // given
+        var now = Instant.now();
+        engine.evaluate("TSLA", new BigDecimal("190.00"), now);
+        engine.evaluateBatch(List.of(tick("TSLA", "195.00", now), tick("TSLA", "198.00", now)));
+        indexManager.addAlert(alert("c1", "TSLA", new BigDecimal("200.00"), Direction.CROSS));
+
+        // when
+        var triggers = engine.evaluate("TSLA", new BigDecimal("201.00"), now);
+
+        // then
+        assertThat(alertIds(triggers)).containsExactly("c1");
+    }
+
+    @Test
+    void shouldRefireAlertsAfterRollingBackBatch() {
+        // given
+        indexManager.addAlert(alert("a1", "AAPL", new BigDecimal("150.00"), Direction.ABOVE));
+        indexManager.addAlert(alert("c1", "AAPL", new BigDecimal("152.00"), Direction.CROSS));
+        indexManager.getOrCreate("AAPL").setLastPrice(new BigDecimal("148.00"));
+        var now = Instant.now();
+        var ticks = List.of(tick("AAPL", "149.00", now), tick("AAPL", "155.00", now));
+        var undoLog = new EvaluationUndoLog();
+        var fired = engine.evaluateBatch(ticks, undoLog);
+
+        // when
+        undoLog.rollback(indexManager);
+        var redelivered = engine.evaluateBatch(ticks);
+
+        // then
+        assertThat(alertIds(fired)).containsExactlyInAnyOrder("a1", "c1");
+        assertThat(alertIds(redelivered)).containsExactlyInAnyOrder("a1", "c1");
+    }
+
+    @Test
+    void shouldRestoreLastPriceOfSymbolsThatFiredNothingOnRollback() {
+        // given
+        indexManager.addAlert(alert("a1", "AAPL", new BigDecimal("150.00"), Direction.ABOVE));
+        indexManager.getOrCreate("AAPL").setLastPrice(new BigDecimal("140.00"));
+        var undoLog = new EvaluationUndoLog();
+        engine.evaluateBatch(List.of(tick("AAPL", "145.00", Instant.now())), undoLog);
+
+        // when
+        undoLog.rollback(indexManager);
+
+        // then
+        assertThat(indexManager.get("AAPL").getLastPrice()).isEqualByComparingTo("140.00");
+        assertThat(indexManager.get("AAPL").size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepFiredAlertsRemovedOnceCommitted() {
+        // given
+        indexManager.addAlert(alert("a1", "AAPL", new BigDecimal("150.00"), Direction.ABOVE));
+        var undoLog = new EvaluationUndoLog();
+        engine.evaluateBatch(List.of(tick("AAPL", "151.00", Instant.now())), undoLog);
+
+        // when
+        undoLog.commit();
+        undoLog.rollback(indexManager);
+
+        // then
+        assertThat(undoLog.firedCount()).isZero();
+        assertThat(indexManager.get("AAPL").isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldFireBufferedTicksLikeTheTicksTheyWereReadFrom() {
+        // given
+        indexManager.addAlert(alert("a1", "AAPL", new BigDecimal("150.00"), Direction.ABOVE));
+        indexManager.addAlert(alert("m1", "MSFT", new BigDecimal("300.00"), Direction.CROSS));
+        indexManager.getOrCreate("MSFT").setLastPrice(new BigDecimal("301.00"));
+        var crossingTime = Instant.parse("2026-02-23T14:30:01.000000123Z");
+        var buffer = new TickBuffer(2);
+        buffer.add("MSFT", ScaledPrice.toScaled(new BigDecimal("302.00")), 0);
+        buffer.add("AAPL", ScaledPrice.toScaled(new BigDecimal("149.00")), 0);
+        buffer.add("MSFT", ScaledPrice.toScaled(new BigDecimal("299.50")), nanos(crossingTime));
+        buffer.add("AAPL", ScaledPrice.toScaled(new BigDecimal("151.25")), nanos(crossingTime));
+
+        // when
+        var triggers = engine.evaluateBatch(buffer, new EvaluationUndoLog());
+
+        // then
+        assertThat(triggers)
+                .extracting(
+                        t -> alertIds(List.of(t)).getFirst(),
+                        t -> t.triggerPrice().toPlainString(),
+                        AlertLevelTrigger::tickTimestamp)
+                .containsExactly(
+                        tuple("m1", "299.500000", crossingTime),
+                        tuple("a1", "151.250000", crossingTime));
+    }
+
+    @Test
+    void shouldReuseBufferAndUndoLogAcrossBatches() {
+        // given
+        indexManager.addAlert(alert("a1", "AAPL", new BigDecimal("150.00"), Direction.ABOVE));
+        indexManager.getOrCreate("AAPL").setLastPrice(new BigDecimal("140.00"));
+        var buffer = new TickBuffer();
+        var undoLog = new EvaluationUndoLog();
+        buffer.add(tick("AAPL", "145.00", Instant.now()));
+        engine.evaluateBatch(buffer, undoLog);
+        undoLog.commit();
+        buffer.clear();
+
+        // when
+        buffer.add(tick("AAPL", "151.00", Instant.now()));
+        var fired = engine.evaluateBatch(buffer, undoLog);
+        undoLog.rollback(indexManager);
+
+        // then
+        assertThat(alertIds(fired)).containsExactly("a1");
+        assertThat(buffer.size()).isEqualTo(1);
+        assertThat(indexManager.get("AAPL").getLastPrice()).isEqualByComparingTo("145.00");
+        assertThat(indexManager.get("AAPL").size()).isEqualTo(1);
+    }
+
+    private static long nanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    private static List<String> alertIds(List<AlertLevelTrigger> triggers) {
+        return triggers.stream()
+                .flatMap(t -> t.alerts().stream())
+                .map(AlertLevelTrigger.Entry::alertId)
+                .toList();
+    }
+
+    private MarketTick tick(String symbol, String price, Instant timestamp) {
+        return MarketTick.builder()
+                .symbol(symbol)
+                .price(new BigDecimal(price))
+                .timestamp(timestamp)
+                .build();
+    }
 }
@@ -0,0 +1,9 @@
+package com.pricealert.evaluator.domain.evaluation;
+
+class FixedPointSymbolAlertIndexAboveTest extends SymbolAlertIndexAboveTest {
+
+    @Override
+    SymbolAlertIndex newIndex() {
+        return new FixedPointSymbolAlertIndex();
+    }
+}
@@ -0,0 +1,9 @@
+package com.pricealert.evaluator.domain.evaluation;
+
+class FixedPointSymbolAlertIndexAddRemoveTest extends SymbolAlertIndexAddRemoveTest {
+
+    @Override
+    SymbolAlertIndex newIndex() {
+        return new FixedPointSymbolAlertIndex();
+    }
+}
@@ -0,0 +1,9 @@
+package com.pricealert.evaluator.domain.evaluation;
+
+class FixedPointSymbolAlertIndexCrossTest extends SymbolAlertIndexCrossTest {
+
+    @Override
+    SymbolAlertIndex newIndex() {
+        return new FixedPointSymbolAlertIndex();
+    }
+}
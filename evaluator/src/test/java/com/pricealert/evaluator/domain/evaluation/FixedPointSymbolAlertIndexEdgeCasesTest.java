@@ -0,0 +1,9 @@
+package com.pricealert.evaluator.domain.evaluation;
+
+class FixedPointSymbolAlertIndexEdgeCasesTest extends SymbolAlertIndexEdgeCasesTest {
+
+    @Override
+    SymbolAlertIndex newIndex() {
+        return new FixedPointSymbolAlertIndex();
+    }
+}
@@ -0,0 +1,9 @@
+package com.pricealert.evaluator.domain.evaluation;
+
+class OffHeapSymbolAlertIndexAboveTest extends SymbolAlertIndexAboveTest {
+
+    @Override
+    SymbolAlertIndex newIndex() {
+        return new OffHeapSymbolAlertIndex();
+    }
+}
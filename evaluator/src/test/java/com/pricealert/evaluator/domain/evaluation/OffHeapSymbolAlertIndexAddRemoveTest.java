@@ -0,0 +1,67 @@
+package com.pricealert.evaluator.domain.evaluation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.pricealert.common.event.Direction;
+import com.pricealert.common.id.UlidGenerator;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+
+class OffHeapSymbolAlertIndexAddRemoveTest extends SymbolAlertIndexAddRemoveTest {
+
+    @Override
+    SymbolAlertIndex newIndex() {
+        return new OffHeapSymbolAlertIndex();
+    }
+
+    @Test
+    void shouldRestoreUlidPayloadWhenAlertFires() {
+        // given
+        var alertId = UlidGenerator.generate();
+        var userId = UlidGenerator.generate();
+        index.addAlert(AlertEntry.builder()
+                .alertId(alertId)
+                .userId(userId)
+                .symbol("AAPL")
+                .thresholdPrice(new BigDecimal("150.123456"))
+                .direction(Direction.ABOVE)
+                .build());
+
+        // when
+        var fired = index.evaluate(new BigDecimal("151.00"));
+
+        // then
+        assertThat(fired).singleElement().satisfies(entry -> {
+            assertThat(entry.alertId()).isEqualTo(alertId);
+            assertThat(entry.userId()).isEqualTo(userId);
+            assertThat(entry.symbol()).isEqualTo("AAPL");
+            assertThat(entry.thresholdPrice()).isEqualByComparingTo("150.123456");
+        });
+    }
+
+    @Test
+    void shouldLocateAndReuseSlotsForManyUlidAlerts() {
+        // given
+        var ids = new String[1_000];
+        for (var i = 0; i < ids.length; i++) {
+            ids[i] = UlidGenerator.generate();
+            index.addAlert(alert(ids[i], new BigDecimal(100 + i), Direction.ABOVE));
+        }
+        var reserved = index.offHeapBytes();
+
+        // when
+        for (var i = 0; i < ids.length; i += 2) {
+            index.removeAlert(ids[i]);
+        }
+        for (var i = 0; i < ids.length; i += 2) {
+            index.addAlert(alert(ids[i], new BigDecimal(100 + i), Direction.ABOVE));
+        }
+
+        // then
+        assertThat(index.size()).isEqualTo(ids.length);
+        assertThat(index.offHeapBytes()).isEqualTo(reserved).isPositive();
+        assertThat(index.evaluate(new BigDecimal("100")))
+                .extracting(AlertEntry::alertId)
+                .containsExactly(ids[0]);
+    }
+}
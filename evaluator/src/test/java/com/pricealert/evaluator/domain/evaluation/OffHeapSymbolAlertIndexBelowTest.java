@@ -0,0 +1,9 @@
+package com.pricealert.evaluator.domain.evaluation;
+
+class OffHeapSymbolAlertIndexBelowTest extends SymbolAlertIndexBelowTest {
+
+    @Override
+    SymbolAlertIndex newIndex() {
+        return new OffHeapSymbolAlertIndex();
+    }
+}
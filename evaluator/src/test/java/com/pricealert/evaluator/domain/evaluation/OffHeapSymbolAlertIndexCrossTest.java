@@ -0,0 +1,9 @@
+package com.pricealert.evaluator.domain.evaluation;
+
+class OffHeapSymbolAlertIndexCrossTest extends SymbolAlertIndexCrossTest {
+
+    @Override
+    SymbolAlertIndex newIndex() {
+        return new OffHeapSymbolAlertIndex();
+    }
+}
@@ -0,0 +1,9 @@
+package com.pricealert.evaluator.domain.evaluation;
+
+class OffHeapSymbolAlertIndexMixedDirectionsTest extends SymbolAlertIndexMixedDirectionsTest {
+
+    @Override
+    SymbolAlertIndex newIndex() {
+        return new OffHeapSymbolAlertIndex();
+    }
+}
@@ -1,9 +1,11 @@
 package com.pricealert.evaluator.domain.evaluation;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 import com.pricealert.common.event.Direction;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import org.junit.jupiter.api.Test;
 
 class SymbolAlertIndexAddRemoveTest extends SymbolAlertIndexBaseTest {
@@ -52,4 +54,82 @@ class SymbolAlertIndexAddRemoveTest extends SymbolAlertIndexBaseTest {
         // then
         assertThat(index.size()).isEqualTo(2);
     }
+
+    @Test
+    void shouldReplaceExistingEntryWhenSameAlertIdAddedAgain() {
+        // given
+        index.addAlert(alert("a1", new BigDecimal("150.00"), Direction.ABOVE));
+
+        // when
+        index.addAlert(alert("a1", new BigDecimal("200.00"), Direction.BELOW));
+
+        // then
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.evaluate(new BigDecimal("160.00")))
+                .extracting(AlertEntry::alertId)
+                .containsExactly("a1");
+    }
+
+    @Test
+    void shouldRemoveOnlyTargetAlertFromSharedPriceLevel() {
+        // given
+        index.addAlert(alert("a1", new BigDecimal("150.00"), Direction.ABOVE));
+        index.addAlert(alert("a2", new BigDecimal("150.00"), Direction.ABOVE));
+
+        // when
+        index.removeAlert("a1");
+
+        // then
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.evaluate(new BigDecimal("150.00")))
+                .extracting(AlertEntry::alertId)
+                .containsExactly("a2");
+    }
+
+    @Test
+    void shouldAllowReAddingAlertAfterItFired() {
+        // given
+        index.addAlert(alert("a1", new BigDecimal("150.00"), Direction.ABOVE));
+        index.evaluate(new BigDecimal("155.00"));
+
+        // when
+        index.removeAlert("a1");
+        index.addAlert(alert("a1", new BigDecimal("150.00"), Direction.ABOVE));
+
+        // then
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReportLocatorFootprint() {
+        // given
+        var emptyFootprint = index.locatorBytes();
+
+        // when
+        index.addAlert(alert("a1", new BigDecimal("150.00"), Direction.ABOVE));
+
+        // then
+        assertThat(index.locatorBytes()).isGreaterThan(emptyFootprint);
+    }
+
+    @Test
+    void shouldVisitEveryIndexedAlert() {
+        // given
+        index.addAlert(alert("a1", new BigDecimal("150.00"), Direction.ABOVE));
+        index.addAlert(alert("a2", new BigDecimal("140.00"), Direction.BELOW));
+        index.addAlert(alert("a3", new BigDecimal("145.00"), Direction.CROSS));
+        index.addAlert(alert("a4", new BigDecimal("145.00"), Direction.CROSS));
+        index.removeAlert("a4");
+        index.evaluate(new BigDecimal("150.00"));
+        var visited = new ArrayList<AlertEntry>();
+
+        // when
+        index.forEachAlert(visited::add);
+
+        // then
+        assertThat(visited)
+                .extracting(AlertEntry::alertId, AlertEntry::direction)
+                .containsExactlyInAnyOrder(
+                        tuple("a2", Direction.BELOW), tuple("a3", Direction.CROSS));
+    }
 }
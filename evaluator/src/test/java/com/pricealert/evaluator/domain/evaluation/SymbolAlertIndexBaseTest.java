@@ -10,7 +10,11 @@ public abstract class SymbolAlertIndexBaseTest {
 
     @BeforeEach
     void setUp() {
-        index = new SymbolAlertIndex();
+        index = newIndex();
+    }
+
+    SymbolAlertIndex newIndex() {
+        return new TreeMapSymbolAlertIndex();
     }
 
     AlertEntry alert(String id, BigDecimal threshold, Direction direction) {
@@ -0,0 +1,101 @@
+package com.pricealert.evaluator.domain.evaluation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.pricealert.common.event.Direction;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class SymbolAlertIndexPathTest extends SymbolAlertIndexBaseTest {
+
+    @Test
+    void shouldTagAboveAlertWithFirstTickReachingThreshold() {
+        // given
+        index.addAlert(alert("a1", new BigDecimal("150.00"), Direction.ABOVE));
+
+        // when
+        var fired = index.evaluatePath(path("148.00", "151.00", "149.00", "155.00"));
+
+        // then
+        assertThat(fired).extracting(FiredAlert::tickIndex).containsExactly(1);
+        assertThat(index.isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldTagBelowAlertWithFirstTickReachingThreshold() {
+        // given
+        index.addAlert(alert("b1", new BigDecimal("100.00"), Direction.BELOW));
+
+        // when
+        var fired = index.evaluatePath(path("105.00", "102.00", "100.00", "90.00"));
+
+        // then
+        assertThat(fired).extracting(FiredAlert::tickIndex).containsExactly(2);
+    }
+
+    @Test
+    void shouldCrossFromLastPriceBeforeThePath() {
+        // given
+        index.addAlert(alert("c1", new BigDecimal("155.00"), Direction.CROSS));
+        index.setLastPrice(new BigDecimal("150.00"));
+
+        // when
+        var fired = index.evaluatePath(path("160.00", "150.00"));
+
+        // then
+        assertThat(fired).extracting(FiredAlert::tickIndex).containsExactly(0);
+    }
+
+    @Test
+    void shouldKeepCrossAlertWhenPathOnlyTouchesThreshold() {
+        // given
+        index.addAlert(alert("c1", new BigDecimal("155.00"), Direction.CROSS));
+        index.setLastPrice(new BigDecimal("150.00"));
+
+        // when
+        var fired = index.evaluatePath(path("155.00", "150.00", "152.00"));
+
+        // then
+        assertThat(fired).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCrossAfterTouchingThresholdExactly() {
+        // given
+        index.addAlert(alert("c1", new BigDecimal("155.00"), Direction.CROSS));
+        index.setLastPrice(new BigDecimal("150.00"));
+
+        // when
+        var fired = index.evaluatePath(path("155.00", "153.00", "156.00"));
+
+        // then
+        assertThat(fired).extracting(FiredAlert::tickIndex).containsExactly(2);
+    }
+
+    @Test
+    void shouldOrderFiredAlertsByTickAndUpdateLastPrice() {
+        // given
+        index.addAlert(alert("a1", new BigDecimal("160.00"), Direction.ABOVE));
+        index.addAlert(alert("b1", new BigDecimal("140.00"), Direction.BELOW));
+        index.addAlert(alert("c1", new BigDecimal("150.00"), Direction.CROSS));
+
+        // when
+        var fired = index.evaluatePath(path("145.00", "139.00", "155.00", "161.00", "158.00"));
+
+        // then
+        assertThat(fired)
+                .extracting(f -> f.alert().alertId(), FiredAlert::tickIndex)
+                .containsExactly(
+                        tuple("b1", 1),
+                        tuple("c1", 2),
+                        tuple("a1", 3));
+        assertThat(index.getLastPrice()).isEqualByComparingTo("158.00");
+    }
+
+    private static PricePath path(String... prices) {
+        return PricePath.of(Arrays.stream(prices).map(BigDecimal::new).toList());
+    }
+}
@@ -0,0 +1,185 @@
+package com.pricealert.evaluator.infrastructure.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+
+import com.pricealert.evaluator.application.config.EvaluatorProperties;
+import com.pricealert.evaluator.application.config.EvaluatorProperties.StatusUpdates;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AlertStatusUpdaterTest {
+
+    private static final Duration LONG_INTERVAL = Duration.ofHours(1);
+
+    @Mock DataSource dataSource;
+
+    @Mock Connection connection;
+
+    @Mock PreparedStatement statement;
+
+    @Mock ResultSet resultSet;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+    private final Set<String> active = ConcurrentHashMap.newKeySet();
+    private final Queue<String> returned = new ArrayDeque<>();
+    private String row;
+    private AlertStatusUpdater updater;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (updater != null) {
+            updater.stop();
+        }
+    }
+
+    private void createUpdater(Duration flushInterval, int maxBatch) {
+        var properties =
+                new EvaluatorProperties(
+                        null,
+                        null,
+                        null,
+                        null,
+                        null,
+                        null,
+                        new StatusUpdates(flushInterval, maxBatch, 64));
+        updater = new AlertStatusUpdater(dataSource, properties, registry);
+    }
+
+    /** Each UPDATE records its batch and returns the IDs that were still ACTIVE. */
+    private void givenStatement() throws SQLException {
+        given(connection.prepareStatement(anyString())).willReturn(statement);
+        given(statement.getConnection()).willReturn(connection);
+        given(connection.createArrayOf(eq("varchar"), any()))
+                .willAnswer(
+                        invocation -> {
+                            Object[] ids = invocation.getArgument(1);
+                            var batch = Arrays.stream(ids).map(String.class::cast).toList();
+                            batches.add(batch);
+                            batch.stream().filter(active::remove).forEach(returned::add);
+                            return null;
+                        });
+        given(statement.executeQuery()).willReturn(resultSet);
+        given(resultSet.next()).willAnswer(invocation -> (row = returned.poll()) != null);
+        given(resultSet.getString(1)).willAnswer(invocation -> row);
+    }
+
+    private double count(String name) {
+        return registry.counter(name).count();
+    }
+
+    @Test
+    void shouldMarkQueuedAlertsInBatchesOfMaxBatch() throws Exception {
+        // given
+        given(dataSource.getConnection()).willReturn(connection);
+        givenStatement();
+        active.addAll(List.of("a1", "a3"));
+        createUpdater(LONG_INTERVAL, 2);
+        updater.start();
+
+        // when
+        updater.markTriggeredToday("a1");
+        updater.markTriggeredToday("a2");
+        updater.markTriggeredToday("a3");
+        updater.stop();
+
+        // then
+        assertThat(batches).containsExactly(List.of("a1", "a2"), List.of("a3"));
+        assertThat(count("evaluator.status.dedup.skipped")).isEqualTo(1.0);
+        assertThat(count("evaluator.status.flush.failed")).isZero();
+    }
+
+    @Test
+    void shouldRetryAFailedFlushWithTheSameAlerts() throws Exception {
+        // given a database that refuses the first two connections
+        var attempts = new AtomicInteger();
+        given(dataSource.getConnection())
+                .willAnswer(
+                        invocation -> {
+                            if (attempts.incrementAndGet() <= 2) {
+                                throw new SQLException("Connection refused");
+                            }
+                            return connection;
+                        });
+        givenStatement();
+        active.addAll(List.of("a1", "a2"));
+        createUpdater(Duration.ofMillis(10), 100);
+        updater.markTriggeredToday("a1");
+        updater.markTriggeredToday("a2");
+
+        // when
+        updater.start();
+
+        // then
+        var deadline = System.currentTimeMillis() + 5_000;
+        while (batches.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(batches).containsExactly(List.of("a1", "a2"));
+        assertThat(active).isEmpty();
+        assertThat(count("evaluator.status.flush.retried")).isEqualTo(2.0);
+        assertThat(count("evaluator.status.flush.failed")).isZero();
+    }
+
+    @Test
+    void shouldDropAndCountAlertsStillFailingOnStop() throws Exception {
+        // given
+        given(dataSource.getConnection()).willThrow(new SQLException("Connection refused"));
+        createUpdater(Duration.ofMillis(10), 100);
+        updater.markTriggeredToday("a1");
+        updater.markTriggeredToday("a2");
+        updater.start();
+
+        // when
+        updater.stop();
+
+        // then
+        assertThat(count("evaluator.status.flush.failed")).isEqualTo(2.0);
+    }
+
+    @Test
+    void shouldHoldTheCallerWhileTheQueueIsFull() throws Exception {
+        // given a full queue and a flusher not yet started
+        given(dataSource.getConnection()).willReturn(connection);
+        givenStatement();
+        createUpdater(LONG_INTERVAL, 100);
+        for (var i = 0; i < 64; i++) {
+            updater.markTriggeredToday("a" + i);
+        }
+        var caller = Thread.ofPlatform().start(() -> updater.markTriggeredToday("late"));
+        caller.join(100);
+        assertThat(caller.isAlive()).isTrue();
+
+        // when
+        updater.start();
+        caller.join(5_000);
+        updater.stop();
+
+        // then
+        assertThat(caller.isAlive()).isFalse();
+        assertThat(batches.stream().flatMap(List::stream).toList()).hasSize(65).contains("late");
+    }
+}
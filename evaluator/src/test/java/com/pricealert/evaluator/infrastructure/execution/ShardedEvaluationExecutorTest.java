@@ -0,0 +1,238 @@
+package com.pricealert.evaluator.infrastructure.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.willAnswer;
+
+import com.pricealert.common.event.AlertChange;
+import com.pricealert.common.event.AlertChangeType;
+import com.pricealert.common.event.MarketTick;
+import com.pricealert.common.wire.BinaryEventCodec;
+import com.pricealert.common.wire.MarketTickView;
+import com.pricealert.evaluator.application.config.EvaluatorProperties;
+import com.pricealert.evaluator.application.config.EvaluatorProperties.Execution;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ShardedEvaluationExecutorTest {
+
+    @Mock EventApplier eventApplier;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    /** What each shard thread applied, as "symbol#sequence" or "symbol:alertId". */
+    private final Map<String, List<String>> appliedByThread = new ConcurrentHashMap<>();
+
+    private ShardedEvaluationExecutor executor;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (executor != null) {
+            executor.stop();
+        }
+    }
+
+    private void createExecutor(int shards) {
+        var properties =
+                new EvaluatorProperties(
+                        null,
+                        null,
+                        null,
+                        null,
+                        new Execution(Execution.Mode.SHARDED, shards, 64),
+                        null,
+                        null);
+        executor = new ShardedEvaluationExecutor(eventApplier, properties, registry);
+        executor.start();
+    }
+
+    private void givenApplierRecords() {
+        willAnswer(
+                        invocation -> {
+                            List<?> events = invocation.getArgument(0);
+                            appliedByThread
+                                    .computeIfAbsent(
+                                            Thread.currentThread().getName(),
+                                            name -> new CopyOnWriteArrayList<>())
+                                    .addAll(events.stream().map(this::describe).toList());
+                            return null;
+                        })
+                .given(eventApplier)
+                .apply(anyList());
+    }
+
+    private static MarketTick tick(String symbol, long sequence) {
+        return new MarketTick(symbol, BigDecimal.ONE, null, null, 0, null, sequence);
+    }
+
+    private static AlertChange change(String symbol, String alertId) {
+        return AlertChange.builder()
+                .eventType(AlertChangeType.CREATED)
+                .alertId(alertId)
+                .userId("user1")
+                .symbol(symbol)
+                .build();
+    }
+
+    private String describe(Object event) {
+        return switch (event) {
+            case MarketTick tick -> tick.symbol() + "#" + tick.sequence();
+            case byte[] binaryTick -> {
+                var view = new MarketTickView().wrap(binaryTick);
+                yield view.symbol() + "#" + view.sequence();
+            }
+            case AlertChange change -> change.symbol() + ":" + change.alertId();
+            default -> throw new IllegalArgumentException(String.valueOf(event));
+        };
+    }
+
+    /** The shard threads that applied events of the symbol. */
+    private List<String> threadsOf(String symbol) {
+        return appliedByThread.entrySet().stream()
+                .filter(entry -> entry.getValue().stream().anyMatch(isOf(symbol)))
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /** The events applied for the symbol, asserting they were all applied by one thread. */
+    private List<String> appliedFor(String symbol) {
+        var threads = threadsOf(symbol);
+        assertThat(threads).as("threads applying " + symbol).hasSize(1);
+        return appliedByThread.get(threads.get(0)).stream().filter(isOf(symbol)).toList();
+    }
+
+    private static Predicate<String> isOf(String symbol) {
+        return event -> event.startsWith(symbol);
+    }
+
+    @Test
+    void shouldApplyEverySymbolOnOneShardInArrivalOrder() {
+        // given
+        givenApplierRecords();
+        createExecutor(4);
+
+        // when
+        executor.execute(
+                List.of(
+                        tick("AAPL", 1),
+                        tick("NVDA", 1),
+                        BinaryEventCodec.encode(tick("AAPL", 2)),
+                        change("AAPL", "a1"),
+                        tick("META", 1),
+                        BinaryEventCodec.encode(tick("NVDA", 2)),
+                        tick("AAPL", 3)));
+
+        // then every event was applied before execute returned
+        assertThat(appliedByThread.values().stream().mapToInt(List::size).sum()).isEqualTo(7);
+        assertThat(appliedFor("AAPL")).containsExactly("AAPL#1", "AAPL#2", "AAPL:a1", "AAPL#3");
+        assertThat(appliedFor("NVDA")).containsExactly("NVDA#1", "NVDA#2");
+        assertThat(appliedFor("META")).containsExactly("META#1");
+        // AAPL and NVDA hash to different shards of four
+        assertThat(threadsOf("AAPL")).isNotEqualTo(threadsOf("NVDA"));
+    }
+
+    @Test
+    void shouldRethrowAShardFailureOnlyOnceEveryShardHasFinished() {
+        // given AAPL and NVDA on different shards of two; NVDA's shard is slow
+        var failure = new IllegalStateException("index corrupt");
+        var slowShardFinished = new AtomicBoolean();
+        willAnswer(
+                        invocation -> {
+                            List<?> events = invocation.getArgument(0);
+                            if (describe(events.get(0)).startsWith("AAPL")) {
+                                throw failure;
+                            }
+                            Thread.sleep(100);
+                            slowShardFinished.set(true);
+                            return null;
+                        })
+                .given(eventApplier)
+                .apply(anyList());
+        createExecutor(2);
+
+        // when / then
+        assertThatThrownBy(() -> executor.execute(List.of(tick("AAPL", 1), tick("NVDA", 1))))
+                .isSameAs(failure);
+        assertThat(slowShardFinished).isTrue();
+    }
+
+    @Test
+    void shouldRethrowTheFirstFailureWithTheOthersSuppressed() {
+        // given
+        willAnswer(
+                        invocation -> {
+                            List<?> events = invocation.getArgument(0);
+                            throw new IllegalStateException(describe(events.get(0)));
+                        })
+                .given(eventApplier)
+                .apply(anyList());
+        createExecutor(2);
+
+        // when / then
+        assertThatThrownBy(() -> executor.execute(List.of(tick("AAPL", 1), tick("NVDA", 1))))
+                .isInstanceOf(IllegalStateException.class)
+                .satisfies(
+                        e ->
+                                assertThat(
+                                                List.of(
+                                                        e.getMessage(),
+                                                        e.getSuppressed()[0].getMessage()))
+                                        .containsExactlyInAnyOrder("AAPL#1", "NVDA#1"));
+    }
+
+    @Test
+    void shouldRethrowAnErrorAsIsAndKeepTheShardRunning() {
+        // given a shard whose first batch fails with an Error
+        var calls = new AtomicBoolean();
+        willAnswer(
+                        invocation -> {
+                            if (!calls.getAndSet(true)) {
+                                throw new InternalError("fault on mapped file");
+                            }
+                            return null;
+                        })
+                .given(eventApplier)
+                .apply(anyList());
+        createExecutor(1);
+
+        // when / then
+        assertThatThrownBy(() -> executor.execute(List.of(tick("AAPL", 1))))
+                .isInstanceOf(InternalError.class);
+        executor.execute(List.of(tick("AAPL", 2)));
+    }
+
+    @Test
+    void shouldRejectEventsOfAnUnsupportedType() {
+        // given
+        createExecutor(1);
+
+        // when / then
+        assertThatThrownBy(() -> executor.execute(List.of("AAPL")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldRefuseBatchesOnceStopped() throws InterruptedException {
+        // given
+        createExecutor(1);
+        executor.stop();
+
+        // when / then
+        assertThatThrownBy(() -> executor.execute(List.of(tick("AAPL", 1))))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("stopped");
+    }
+}
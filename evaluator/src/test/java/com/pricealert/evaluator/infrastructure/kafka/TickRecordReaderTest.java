@@ -0,0 +1,231 @@
+package com.pricealert.evaluator.infrastructure.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.pricealert.common.event.AlertChange;
+import com.pricealert.common.event.AlertChangeType;
+import com.pricealert.common.event.Direction;
+import com.pricealert.common.event.MarketTick;
+import com.pricealert.common.wire.MarketTickView;
+import com.pricealert.common.wire.WireDeserializer;
+import com.pricealert.common.wire.WireFormat;
+import com.pricealert.common.wire.WireSerializer;
+import com.pricealert.evaluator.domain.evaluation.AlertEntry;
+import com.pricealert.evaluator.domain.evaluation.AlertIndexManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JacksonJsonDeserializer;
+
+class TickRecordReaderTest {
+
+    private static final String TOPIC = "market-ticks";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AlertIndexManager indexManager = new AlertIndexManager();
+    private final List<ConsumerRecord<String, ?>> records = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        indexManager.addAlert(
+                AlertEntry.builder()
+                        .alertId("a1")
+                        .userId("user1")
+                        .symbol("AAPL")
+                        .thresholdPrice(new BigDecimal("150.00"))
+                        .direction(Direction.ABOVE)
+                        .build());
+    }
+
+    private static Deserializer<MarketTick> jsonOrBinary() {
+        var json = new JacksonJsonDeserializer<>(MarketTick.class);
+        json.addTrustedPackages("com.pricealert.common.*");
+        return new WireDeserializer<>(MarketTick.class, json);
+    }
+
+    private TickRecordReader reader(Deserializer<Object> ticks, boolean skipUnwatched) {
+        return new TickRecordReader(
+                ticks, indexManager, skipUnwatched, registry.counter("evaluator.ticks.skipped"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private TickRecordReader objectReader(boolean skipUnwatched) {
+        return reader((Deserializer<Object>) (Deserializer<?>) jsonOrBinary(), skipUnwatched);
+    }
+
+    private TickRecordReader flyweightReader() {
+        return reader(new FlyweightTickDeserializer(jsonOrBinary()), true);
+    }
+
+    private static MarketTick tick(String symbol, long sequence) {
+        return new MarketTick(symbol, BigDecimal.ONE, null, null, 0, null, sequence);
+    }
+
+    /** A record whose value is left undecoded, as the container does when skipping. */
+    private void encoded(WireFormat format, String key, MarketTick tick) {
+        var serializer = new WireSerializer();
+        serializer.configure(Map.of(WireSerializer.FORMAT_CONFIG, format.name()), false);
+        var headers = new RecordHeaders();
+        var value = serializer.serialize(TOPIC, headers, tick);
+        add(key, value, headers);
+    }
+
+    private void encoded(WireFormat format, MarketTick tick) {
+        encoded(format, tick.symbol(), tick);
+    }
+
+    private void decoded(String key, Object value) {
+        add(key, value, new RecordHeaders());
+    }
+
+    private void add(String key, Object value, RecordHeaders headers) {
+        records.add(
+                new ConsumerRecord<>(
+                        TOPIC,
+                        0,
+                        records.size(),
+                        -1,
+                        TimestampType.CREATE_TIME,
+                        -1,
+                        -1,
+                        key,
+                        value,
+                        headers,
+                        Optional.empty()));
+    }
+
+    private static AlertChange change(String symbol, String alertId) {
+        return AlertChange.builder()
+                .eventType(AlertChangeType.CREATED)
+                .alertId(alertId)
+                .userId("user1")
+                .symbol(symbol)
+                .thresholdPrice(new BigDecimal("100.00"))
+                .direction(Direction.BELOW)
+                .build();
+    }
+
+    private static List<String> describe(List<Object> events) {
+        return events.stream().map(TickRecordReaderTest::describe).toList();
+    }
+
+    /** "symbol#sequence", "binary symbol#sequence" or "symbol:alertId". */
+    private static String describe(Object event) {
+        return switch (event) {
+            case MarketTick tick -> tick.symbol() + "#" + tick.sequence();
+            case byte[] binaryTick -> {
+                var view = new MarketTickView().wrap(binaryTick);
+                yield "binary " + view.symbol() + "#" + view.sequence();
+            }
+            case AlertChange change -> change.symbol() + ":" + change.alertId();
+            default -> throw new IllegalArgumentException(String.valueOf(event));
+        };
+    }
+
+    private double skipped() {
+        return registry.counter("evaluator.ticks.skipped").count();
+    }
+
+    @Test
+    void shouldPassDecodedValuesThroughInOrderWhenNotSkipping() {
+        // given
+        decoded("AAPL", tick("AAPL", 1));
+        decoded("TSLA", tick("TSLA", 1));
+        decoded("TSLA", change("TSLA", "t1"));
+        decoded("AAPL", null);
+        decoded("TSLA", tick("TSLA", 2));
+
+        // when
+        var events = objectReader(false).read(records);
+
+        // then
+        assertThat(describe(events)).containsExactly("AAPL#1", "TSLA#1", "TSLA:t1", "TSLA#2");
+        assertThat(skipped()).isZero();
+    }
+
+    @Test
+    void shouldDecodeWatchedJsonTicksAndOnlyTheLastUnwatchedTickPerSymbol() {
+        // given
+        encoded(WireFormat.JSON, tick("AAPL", 1));
+        encoded(WireFormat.JSON, tick("TSLA", 1));
+        encoded(WireFormat.JSON, tick("NVDA", 1));
+        encoded(WireFormat.JSON, tick("TSLA", 2));
+        encoded(WireFormat.JSON, tick("AAPL", 2));
+        encoded(WireFormat.JSON, tick("TSLA", 3));
+
+        // when
+        var events = objectReader(true).read(records);
+
+        // then the unwatched symbols' last ticks come last, in order of each symbol's first tick
+        assertThat(describe(events)).containsExactly("AAPL#1", "AAPL#2", "TSLA#3", "NVDA#1");
+        assertThat(skipped()).isEqualTo(2.0);
+    }
+
+    @Test
+    void shouldKeepWatchedBinaryTicksUndecodedUnderFlyweightDecoding() {
+        // given
+        encoded(WireFormat.BINARY, tick("TSLA", 1));
+        encoded(WireFormat.BINARY, tick("AAPL", 1));
+        encoded(WireFormat.JSON, tick("AAPL", 2));
+        encoded(WireFormat.BINARY, tick("TSLA", 2));
+
+        // when
+        var events = flyweightReader().read(records);
+
+        // then
+        assertThat(describe(events)).containsExactly("binary AAPL#1", "AAPL#2", "binary TSLA#2");
+        assertThat(skipped()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldDecodeEveryTickOfASymbolChangedInThePoll() {
+        // given an alert created for TSLA amid its ticks
+        encoded(WireFormat.BINARY, tick("TSLA", 1));
+        decoded("TSLA", change("TSLA", "t1"));
+        encoded(WireFormat.BINARY, tick("TSLA", 2));
+        encoded(WireFormat.BINARY, tick("NVDA", 1));
+
+        // when
+        var events = objectReader(true).read(records);
+
+        // then
+        assertThat(describe(events)).containsExactly("TSLA#1", "TSLA:t1", "TSLA#2", "NVDA#1");
+        assertThat(skipped()).isZero();
+    }
+
+    @Test
+    void shouldDecodeTicksWithoutAKey() {
+        // given
+        encoded(WireFormat.JSON, null, tick("TSLA", 1));
+        encoded(WireFormat.JSON, null, tick("TSLA", 2));
+
+        // when
+        var events = objectReader(true).read(records);
+
+        // then
+        assertThat(describe(events)).containsExactly("TSLA#1", "TSLA#2");
+    }
+
+    @Test
+    void shouldSkipAnUndecodableTick() {
+        // given
+        add("AAPL", "{not json".getBytes(StandardCharsets.UTF_8), new RecordHeaders());
+        encoded(WireFormat.JSON, tick("AAPL", 2));
+
+        // when
+        var events = objectReader(true).read(records);
+
+        // then
+        assertThat(describe(events)).containsExactly("AAPL#2");
+    }
+}
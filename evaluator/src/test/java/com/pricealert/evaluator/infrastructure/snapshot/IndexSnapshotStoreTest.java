@@ -0,0 +1,258 @@
+package com.pricealert.evaluator.infrastructure.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.pricealert.common.event.Direction;
+import com.pricealert.evaluator.application.config.EvaluatorProperties;
+import com.pricealert.evaluator.application.config.EvaluatorProperties.Changes;
+import com.pricealert.evaluator.application.config.EvaluatorProperties.Changes.Routing;
+import com.pricealert.evaluator.application.config.EvaluatorProperties.Snapshot;
+import com.pricealert.evaluator.application.config.EvaluatorProperties.Warmup;
+import com.pricealert.evaluator.domain.evaluation.AlertEntry;
+import com.pricealert.evaluator.domain.evaluation.AlertIndexManager;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class IndexSnapshotStoreTest {
+
+    private static final int PARTITION = 3;
+    private static final SnapshotPosition POSITION = new SnapshotPosition(120, 45);
+    private static final Duration MAX_AGE = Duration.ofHours(1);
+
+    @TempDir Path directory;
+
+    private AlertIndexManager source;
+    private AlertIndexManager target;
+
+    @BeforeEach
+    void setUp() {
+        source = new AlertIndexManager();
+        target = new AlertIndexManager();
+        source.addAlert(alert("a1", "user1", "AAPL", "150.25", Direction.ABOVE));
+        source.addAlert(alert("a2", "user2", "AAPL", "140", Direction.BELOW));
+        source.getOrCreate("AAPL").setLastPrice(new BigDecimal("145.5"));
+        source.addAlert(alert("m1", "user1", "MSFT", "400.123456", Direction.CROSS));
+        source.addAlert(alert("g1", "user3", "GOOG", "170", Direction.ABOVE));
+    }
+
+    private static AlertEntry alert(
+            String id, String userId, String symbol, String threshold, Direction direction) {
+        return AlertEntry.builder()
+                .alertId(id)
+                .userId(userId)
+                .symbol(symbol)
+                .thresholdPrice(new BigDecimal(threshold))
+                .direction(direction)
+                .build();
+    }
+
+    private IndexSnapshotStore store(AlertIndexManager manager, Duration maxAge, Routing routing) {
+        var properties =
+                new EvaluatorProperties(
+                        new Warmup(1000, Warmup.Mode.PARTITION_AWARE, 1, null),
+                        null,
+                        null,
+                        new Changes(routing),
+                        null,
+                        new Snapshot(true, directory, Duration.ofSeconds(30), maxAge),
+                        null);
+        return new IndexSnapshotStore(manager, properties);
+    }
+
+    private IndexSnapshotStore store(AlertIndexManager manager, Duration maxAge) {
+        return store(manager, maxAge, Routing.CO_PARTITIONED);
+    }
+
+    private void writeSnapshot() {
+        store(source, MAX_AGE).write(PARTITION, POSITION, symbol -> !symbol.equals("GOOG"));
+    }
+
+    private Path snapshotFile() {
+        return directory.resolve("market-ticks-" + PARTITION + ".snap");
+    }
+
+    private static List<String> alerts(AlertIndexManager manager, String symbol) {
+        var alerts = new ArrayList<String>();
+        manager.get(symbol)
+                .forEachAlert(
+                        alert ->
+                                alerts.add(
+                                        "%s %s %s %s %s"
+                                                .formatted(
+                                                        alert.alertId(),
+                                                        alert.userId(),
+                                                        alert.symbol(),
+                                                        alert.direction(),
+                                                        alert.thresholdPrice()
+                                                                .stripTrailingZeros()
+                                                                .toPlainString())));
+        return alerts;
+    }
+
+    @Test
+    void shouldRestoreTheSelectedSymbolsAndTheirPosition() {
+        // given
+        writeSnapshot();
+
+        // when
+        var restored = store(target, MAX_AGE).restore(PARTITION, position -> true);
+
+        // then
+        assertThat(restored).hasValue(POSITION);
+        assertThat(target.symbolCount()).isEqualTo(2);
+        assertThat(alerts(target, "AAPL"))
+                .containsExactlyInAnyOrder(
+                        "a1 user1 AAPL ABOVE 150.25", "a2 user2 AAPL BELOW 140");
+        assertThat(alerts(target, "MSFT")).containsExactly("m1 user1 MSFT CROSS 400.123456");
+        assertThat(target.get("GOOG")).isNull();
+        assertThat(target.get("AAPL").getLastPrice())
+                .isEqualByComparingTo(new BigDecimal("145.5"));
+    }
+
+    @Test
+    void shouldRestoreAMissingLastPriceAsNone() {
+        // given MSFT has alerts but has not ticked yet
+        writeSnapshot();
+
+        // when
+        store(target, MAX_AGE).restore(PARTITION, position -> true);
+
+        // then
+        assertThat(target.get("MSFT").getLastPrice()).isNull();
+    }
+
+    @Test
+    void shouldIgnoreAMissingSnapshot() {
+        // when
+        var restored = store(target, MAX_AGE).restore(PARTITION, position -> true);
+
+        // then
+        assertThat(restored).isEmpty();
+    }
+
+    @Test
+    void shouldRejectASnapshotWithABadChecksum() throws IOException {
+        // given
+        writeSnapshot();
+        try (var channel = FileChannel.open(snapshotFile(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {(byte) 0xFF}), 40);
+        }
+
+        // when
+        var restored = store(target, MAX_AGE).restore(PARTITION, position -> true);
+
+        // then
+        assertThat(restored).isEmpty();
+        assertThat(target.symbolCount()).isZero();
+    }
+
+    @Test
+    void shouldRejectATruncatedSnapshot() throws IOException {
+        // given
+        writeSnapshot();
+        var size = Files.size(snapshotFile());
+        try (var channel = FileChannel.open(snapshotFile(), StandardOpenOption.WRITE)) {
+            channel.truncate(size - 1);
+        }
+
+        // when
+        var restored = store(target, MAX_AGE).restore(PARTITION, position -> true);
+
+        // then
+        assertThat(restored).isEmpty();
+        assertThat(target.symbolCount()).isZero();
+    }
+
+    @Test
+    void shouldRejectASnapshotShorterThanItsHeader() throws IOException {
+        // given
+        writeSnapshot();
+        try (var channel = FileChannel.open(snapshotFile(), StandardOpenOption.WRITE)) {
+            channel.truncate(10);
+        }
+
+        // when / then
+        assertThat(store(target, MAX_AGE).restore(PARTITION, position -> true)).isEmpty();
+    }
+
+    @Test
+    void shouldRejectASnapshotOfAnotherPartition() throws IOException {
+        // given
+        writeSnapshot();
+        Files.copy(snapshotFile(), directory.resolve("market-ticks-4.snap"));
+
+        // when / then
+        assertThat(store(target, MAX_AGE).restore(4, position -> true)).isEmpty();
+    }
+
+    @Test
+    void shouldRejectASnapshotOlderThanMaxAge() throws InterruptedException {
+        // given
+        writeSnapshot();
+        Thread.sleep(20);
+
+        // when
+        var restored = store(target, Duration.ofMillis(1)).restore(PARTITION, position -> true);
+
+        // then
+        assertThat(restored).isEmpty();
+        assertThat(target.symbolCount()).isZero();
+    }
+
+    @Test
+    void shouldRejectASnapshotWhosePositionIsNoLongerReplayable() {
+        // given
+        writeSnapshot();
+        var offered = new AtomicReference<SnapshotPosition>();
+
+        // when
+        var restored =
+                store(target, MAX_AGE)
+                        .restore(
+                                PARTITION,
+                                position -> {
+                                    offered.set(position);
+                                    return false;
+                                });
+
+        // then
+        assertThat(offered.get()).isEqualTo(POSITION);
+        assertThat(restored).isEmpty();
+        assertThat(target.symbolCount()).isZero();
+    }
+
+    @Test
+    void shouldReplaceThePreviousSnapshot() {
+        // given
+        writeSnapshot();
+        source.removeAlert("a1", "AAPL");
+        var later = new SnapshotPosition(200, 60);
+
+        // when
+        store(source, MAX_AGE).write(PARTITION, later, symbol -> symbol.equals("AAPL"));
+        var restored = store(target, MAX_AGE).restore(PARTITION, position -> true);
+
+        // then
+        assertThat(restored).hasValue(later);
+        assertThat(alerts(target, "AAPL")).containsExactly("a2 user2 AAPL BELOW 140");
+        assertThat(target.get("MSFT")).isNull();
+    }
+
+    @Test
+    void shouldBeDisabledWithoutCoPartitionedRouting() {
+        assertThat(store(target, MAX_AGE, Routing.SHARED_GROUP).isEnabled()).isFalse();
+        assertThat(store(target, MAX_AGE).isEnabled()).isTrue();
+    }
+}
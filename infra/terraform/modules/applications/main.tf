@@ -115,7 +115,7 @@ resource "docker_container" "alert_api" {
 }
 
 # ---------------------------------------------------------------------------
-# tick-ingestor — WebSocket → Kafka via transactional outbox
+# tick-ingestor — WebSocket → local tick journal → Kafka
 # Flyway disabled: alert-api owns all migrations
 # ---------------------------------------------------------------------------
 
@@ -133,6 +133,11 @@ resource "docker_image" "tick_ingestor" {
   }
 }
 
+# Ticks acknowledged to the feed but not yet acked by Kafka live here across restarts.
+resource "docker_volume" "tick_journal" {
+  name = "price-alert-tick-journal"
+}
+
 resource "docker_container" "tick_ingestor" {
   name  = "tick-ingestor"
   image = docker_image.tick_ingestor.image_id
@@ -146,8 +151,14 @@ resource "docker_container" "tick_ingestor" {
     "SPRING_DATASOURCE_USERNAME=${var.db_user}",
     "SPRING_DATASOURCE_PASSWORD=${var.db_password}",
     "SPRING_FLYWAY_ENABLED=false",
+    "INGESTOR_JOURNAL_DIRECTORY=/var/lib/tick-ingestor/journal",
   ]
 
+  volumes {
+    volume_name    = docker_volume.tick_journal.name
+    container_path = "/var/lib/tick-ingestor/journal"
+  }
+
   # No host port — tick-ingestor is an internal consumer service
   # (port 8081 accessible within the Docker network only)
 
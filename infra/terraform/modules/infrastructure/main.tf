@@ -153,6 +153,13 @@ resource "docker_container" "kafka_init" {
       --replication-factor 3 \
       --config retention.ms=86400000
 
+    /opt/kafka/bin/kafka-topics.sh --bootstrap-server kafka:19092 \
+      --create --if-not-exists \
+      --topic alert-changes-by-symbol \
+      --partitions 16 \
+      --replication-factor 3 \
+      --config retention.ms=86400000
+
     /opt/kafka/bin/kafka-topics.sh --bootstrap-server kafka:19092 \
       --create --if-not-exists \
       --topic alert-triggers \
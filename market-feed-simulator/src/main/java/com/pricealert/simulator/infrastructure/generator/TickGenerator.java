@@ -10,7 +10,6 @@ import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicLong;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
@@ -26,7 +25,6 @@ public class TickGenerator {
     private final SimulatorWebSocketHandler webSocketHandler;
     private final ObjectMapper objectMapper;
     private final Map<String, BigDecimal> currentPrices = new ConcurrentHashMap<>();
-    private final AtomicLong sequenceCounter = new AtomicLong(0);
     private final AtomicBoolean running = new AtomicBoolean(false);
 
     public TickGenerator(
@@ -63,6 +61,8 @@ public class TickGenerator {
 
     private void generateTicksForSymbol(String symbol) {
         var random = new Random();
+        // Numbered per symbol so a subscriber can spot gaps in any symbol it follows.
+        long sequence = 0;
         while (running.get()) {
             try {
                 var price = currentPrices.get(symbol);
@@ -82,7 +82,7 @@ public class TickGenerator {
                                 .max(BigDecimal.valueOf(0.01));
                 var bid = newPrice.subtract(spread);
                 var ask = newPrice.add(spread);
-                var seq = sequenceCounter.incrementAndGet();
+                var seq = ++sequence;
                 var volume = random.nextInt(1000, 10000);
 
                 var tick =
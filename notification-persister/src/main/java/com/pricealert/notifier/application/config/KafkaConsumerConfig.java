@@ -1,6 +1,6 @@
 package com.pricealert.notifier.application.config;
 
-import com.pricealert.common.event.AlertTrigger;
+import com.pricealert.common.wire.WireDeserializer;
 import java.util.HashMap;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
@@ -17,9 +17,9 @@ import org.springframework.kafka.support.serializer.JacksonJsonDeserializer;
 public class KafkaConsumerConfig {
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, AlertTrigger>
+    public ConcurrentKafkaListenerContainerFactory<String, Object>
             alertTriggerListenerContainerFactory(KafkaProperties kafkaProperties) {
-        var factory = new ConcurrentKafkaListenerContainerFactory<String, AlertTrigger>();
+        var factory = new ConcurrentKafkaListenerContainerFactory<String, Object>();
         factory.setConsumerFactory(consumerFactory(kafkaProperties));
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.RECORD);
         // alert-triggers has 8 partitions — use one thread per partition so all
@@ -29,7 +29,7 @@ public class KafkaConsumerConfig {
         return factory;
     }
 
-    private ConsumerFactory<String, AlertTrigger> consumerFactory(KafkaProperties kafkaProperties) {
+    private ConsumerFactory<String, Object> consumerFactory(KafkaProperties kafkaProperties) {
         var props = new HashMap<String, Object>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaProperties.getBootstrapServers());
         props.put(ConsumerConfig.GROUP_ID_CONFIG, "notification-persister-group");
@@ -44,8 +44,11 @@ public class KafkaConsumerConfig {
             props.put(ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG, assignmentStrategy);
         }
 
-        var deserializer = new JacksonJsonDeserializer<>(AlertTrigger.class);
-        deserializer.addTrustedPackages("com.pricealert.common.*");
+        // The topic carries AlertLevelTrigger and legacy AlertTrigger records; the producer's
+        // type header, or the binary type tag, picks the class and the listener dispatches on it.
+        var json = new JacksonJsonDeserializer<Object>();
+        json.addTrustedPackages("com.pricealert.common.*");
+        var deserializer = new WireDeserializer<>(Object.class, json);
 
         return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), deserializer);
     }
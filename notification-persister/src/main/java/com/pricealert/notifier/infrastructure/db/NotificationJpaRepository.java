@@ -6,6 +6,11 @@ import org.springframework.data.jpa.repository.Query;
 
 public interface NotificationJpaRepository extends JpaRepository<NotificationRow, String> {
 
+    /**
+     * The note is the alert's current one, read by primary key as the row is inserted: the
+     * evaluator keeps notes out of its index and publishes triggers without them. A note carried
+     * by an older trigger is used only when the alert has none.
+     */
     @Modifying
     @Query(
             value =
@@ -14,8 +19,10 @@ public interface NotificationJpaRepository extends JpaRepository<NotificationRow
                             + " created_at, read) VALUES (:#{#row.id}, :#{#row.alertTriggerId},"
                             + " :#{#row.alertId}, :#{#row.userId}, :#{#row.symbol},"
                             + " :#{#row.thresholdPrice}, :#{#row.triggerPrice}, :#{#row.direction},"
-                            + " :#{#row.note}, :#{#row.idempotencyKey}, :#{#row.createdAt},"
-                            + " :#{#row.read}) ON CONFLICT (idempotency_key) DO NOTHING",
+                            + " COALESCE((SELECT a.note FROM alerts a WHERE a.id ="
+                            + " :#{#row.alertId}), :#{#row.note}), :#{#row.idempotencyKey},"
+                            + " :#{#row.createdAt}, :#{#row.read})"
+                            + " ON CONFLICT (idempotency_key) DO NOTHING",
             nativeQuery = true)
     void insertIdempotent(NotificationRow row);
 
@@ -1,33 +1,59 @@
 package com.pricealert.notifier.infrastructure.kafka;
 
+import com.pricealert.common.event.AlertLevelTrigger;
 import com.pricealert.common.event.AlertTrigger;
 import com.pricealert.common.kafka.KafkaTopics;
 import com.pricealert.notifier.domain.persistence.NotificationPersistenceService;
 import io.micrometer.core.instrument.Counter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaHandler;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+/**
+ * Consumes alert-triggers. The evaluator publishes one {@link AlertLevelTrigger} per fired price
+ * level, expanded here into one notification per alert; plain {@link AlertTrigger} records are
+ * still accepted for anything published before that.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@KafkaListener(
+        topics = KafkaTopics.ALERT_TRIGGERS,
+        groupId = "notification-persister-group",
+        containerFactory = "alertTriggerListenerContainerFactory")
 public class AlertTriggerConsumer {
 
     private final NotificationPersistenceService persistenceService;
     private final Counter notificationsPersistedCounter;
     private final Counter notificationsDeduplicatedCounter;
 
-    @KafkaListener(
-            topics = KafkaTopics.ALERT_TRIGGERS,
-            groupId = "notification-persister-group",
-            containerFactory = "alertTriggerListenerContainerFactory")
+    @KafkaHandler
+    public void onLevelTrigger(AlertLevelTrigger trigger) {
+        log.debug(
+                "Received AlertLevelTrigger: trigger_id={}, symbol={}, trigger_price={}, alerts={}",
+                trigger.triggerId(),
+                trigger.symbol(),
+                trigger.triggerPrice(),
+                trigger.alerts().size());
+        // A redelivered record re-inserts every row; ON CONFLICT makes the repeats no-ops.
+        for (var alertTrigger : trigger.expand()) {
+            persist(alertTrigger);
+        }
+    }
+
+    @KafkaHandler
     public void onAlertTrigger(AlertTrigger trigger) {
         log.debug(
                 "Received AlertTrigger: alert_id={}, symbol={}, trigger_price={}",
                 trigger.alertId(),
                 trigger.symbol(),
                 trigger.triggerPrice());
+        persist(trigger);
+    }
+
+    private void persist(AlertTrigger trigger) {
         var inserted = persistenceService.persist(trigger);
         if (inserted) {
             notificationsPersistedCounter.increment();
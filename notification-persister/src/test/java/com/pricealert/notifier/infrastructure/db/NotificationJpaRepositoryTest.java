@@ -0,0 +1,140 @@
+package com.pricealert.notifier.infrastructure.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.pricealert.common.id.UlidGenerator;
+import java.math.BigDecimal;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class NotificationJpaRepositoryTest {
+
+    private static final PostgreSQLContainer<?> postgres;
+
+    static {
+        postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:17-alpine"));
+        postgres.start();
+    }
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        // alert-api owns the schema; this service only validates it
+        registry.add(
+                "spring.flyway.locations",
+                () -> "filesystem:../alert-api/src/main/resources/db/migration");
+    }
+
+    @Autowired NotificationJpaRepository notificationJpaRepository;
+
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    private String createAlert(String note) {
+        var alertId = UlidGenerator.generate();
+        jdbcTemplate.update(
+                "INSERT INTO alerts (id, user_id, symbol, threshold_price, direction, status, note)"
+                        + " VALUES (?, 'user1', 'AAPL', 150.00, 'ABOVE', 'TRIGGERED_TODAY', ?)",
+                alertId,
+                note);
+        return alertId;
+    }
+
+    private static NotificationRow notification(String alertId, String note) {
+        return NotificationRow.builder()
+                .id(UlidGenerator.generate())
+                .alertTriggerId(UlidGenerator.generate())
+                .alertId(alertId)
+                .userId("user1")
+                .symbol("AAPL")
+                .thresholdPrice(new BigDecimal("150.00"))
+                .triggerPrice(new BigDecimal("155.50"))
+                .direction("ABOVE")
+                .note(note)
+                .idempotencyKey(alertId + ":2026-10-16")
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    private String storedNote(NotificationRow row) {
+        return notificationJpaRepository.findById(row.getId()).orElseThrow().getNote();
+    }
+
+    @Test
+    void shouldStoreTheAlertsCurrentNote() {
+        // given an alert whose note was edited after the trigger was published
+        var alertId = createAlert("Earnings beat, take profit");
+        var row = notification(alertId, "Earnings beat");
+
+        // when
+        notificationJpaRepository.insertIdempotent(row);
+
+        // then
+        assertThat(storedNote(row)).isEqualTo("Earnings beat, take profit");
+    }
+
+    @Test
+    void shouldStoreTheTriggersNoteWhenTheAlertHasNone() {
+        // given
+        var alertId = createAlert(null);
+        var row = notification(alertId, "Earnings beat");
+
+        // when
+        notificationJpaRepository.insertIdempotent(row);
+
+        // then
+        assertThat(storedNote(row)).isEqualTo("Earnings beat");
+    }
+
+    @Test
+    void shouldStoreTheTriggersNoteWhenTheAlertIsGone() {
+        // given
+        var row = notification(UlidGenerator.generate(), "Earnings beat");
+
+        // when
+        notificationJpaRepository.insertIdempotent(row);
+
+        // then
+        assertThat(storedNote(row)).isEqualTo("Earnings beat");
+    }
+
+    @Test
+    void shouldStoreNoNoteWhenNeitherHasOne() {
+        // given
+        var alertId = createAlert(null);
+        var row = notification(alertId, null);
+
+        // when
+        notificationJpaRepository.insertIdempotent(row);
+
+        // then
+        assertThat(storedNote(row)).isNull();
+    }
+
+    @Test
+    void shouldSkipANotificationWithADuplicateIdempotencyKey() {
+        // given
+        var alertId = createAlert("Earnings beat");
+        var first = notification(alertId, null);
+        notificationJpaRepository.insertIdempotent(first);
+
+        // when
+        notificationJpaRepository.insertIdempotent(notification(alertId, null));
+
+        // then
+        assertThat(notificationJpaRepository.count()).isEqualTo(1);
+        assertThat(notificationJpaRepository.existsByIdempotencyKey(first.getIdempotencyKey()))
+                .isTrue();
+    }
+}
@@ -189,8 +189,9 @@ run_e2e_test() {
   outbox_status=$(docker compose exec -T postgres psql -U alerts -d price_alerts -t -c \
     "SELECT status FROM alertapi_outbox_record WHERE record_key='AAPL' ORDER BY created_at DESC LIMIT 1;" 2>/dev/null | tr -d ' ')
 
-  if [ "$outbox_status" = "COMPLETED" ]; then
-    ok "Outbox: CREATED event published (COMPLETED)"
+  # The relay deletes a record once Kafka acks it.
+  if [ -z "$outbox_status" ]; then
+    ok "Outbox: CREATED event published (record deleted)"
   else
     echo -e "  ${YELLOW}!${NC} Outbox status: '$outbox_status' (may still be processing)"
   fi
@@ -12,3 +12,4 @@ include("tick-ingestor")
 include("alert-api")
 include("evaluator")
 include("notification-persister")
+include("benchmarks")
@@ -8,6 +8,63 @@ import org.springframework.validation.annotation.Validated;
 @Validated
 @ConfigurationProperties(prefix = "ingestor")
 public record IngestorProperties(
-        @NotBlank String simulatorUrl, List<String> subscribeSymbols, ReconnectConfig reconnect) {
+        @NotBlank String simulatorUrl,
+        List<String> subscribeSymbols,
+        ReconnectConfig reconnect,
+        FeedConfig feed,
+        Mode mode,
+        JournalConfig journal,
+        BatchConfig batch,
+        ConflationConfig conflation) {
     public record ReconnectConfig(long initialDelayMs, long maxDelayMs, int multiplier) {}
+
+    /**
+     * @param failoverUrls feeds tried in order after {@code simulatorUrl} when a connection fails
+     *     or goes stale
+     * @param staleAfterMs how old the newest tick may get before the feed is abandoned
+     */
+    public record FeedConfig(List<String> failoverUrls, long staleAfterMs) {}
+
+    /**
+     * @param bufferCapacity ticks the ring buffer between the socket and the writer holds
+     * @param maxSize ticks written per batch at most
+     * @param lingerMs how long the writer waits for a batch to fill
+     * @param onFull what the socket thread does when the buffer is full
+     */
+    public record BatchConfig(
+            int bufferCapacity, int maxSize, long lingerMs, OverflowPolicy onFull) {}
+
+    /** @param enabled whether each batch is cut to its low, high and last tick per symbol */
+    public record ConflationConfig(boolean enabled) {}
+
+    public enum OverflowPolicy {
+        /** Wait for room; the feed slows down through TCP flow control. */
+        BLOCK,
+        /** Drop the incoming tick and count it. */
+        DROP
+    }
+
+    /**
+     * @param directory where segment files and the checkpoint live
+     * @param segmentSizeBytes size each segment file is mapped at
+     * @param forceIntervalMs how often appended ticks are forced to disk and the checkpoint
+     *     advanced; an OS crash can lose up to this much of the feed
+     * @param maxInFlight ticks sent to Kafka and not yet acked
+     * @param maxBacklogBytes unpublished journal bytes at which appends fail, pushing back on
+     *     the feed until Kafka catches up
+     */
+    public record JournalConfig(
+            String directory,
+            long segmentSizeBytes,
+            long forceIntervalMs,
+            int maxInFlight,
+            long maxBacklogBytes) {}
+
+    /** Where ticks go between the feed and {@code market-ticks}. */
+    public enum Mode {
+        /** A transactional outbox row per tick in the shared database. */
+        OUTBOX,
+        /** A local memory-mapped journal; the database is not on the tick path. */
+        JOURNAL
+    }
 }
@@ -0,0 +1,47 @@
+package com.pricealert.ingestor.application.config;
+
+import com.pricealert.common.event.MarketTick;
+import com.pricealert.common.json.JacksonConfig;
+import com.pricealert.common.kafka.KafkaTopics;
+import com.pricealert.common.outbox.OutboxProperties;
+import com.pricealert.common.outbox.OutboxRelay;
+import com.pricealert.common.outbox.OutboxWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+@ConditionalOnProperty(name = "ingestor.mode", havingValue = "outbox", matchIfMissing = true)
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+    @Bean
+    public OutboxWriter outboxWriter(DataSource dataSource, OutboxProperties properties) {
+        return new OutboxWriter(
+                dataSource, JacksonConfig.createObjectMapper(), properties.tablePrefix());
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public OutboxRelay outboxRelay(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            KafkaTemplate<String, Object> kafkaTemplate,
+            OutboxProperties properties,
+            MeterRegistry registry) {
+        return new OutboxRelay(
+                dataSource,
+                transactionManager,
+                kafkaTemplate,
+                JacksonConfig.createObjectMapper(),
+                properties,
+                Map.of(MarketTick.class, List.of(KafkaTopics.MARKET_TICKS)),
+                registry);
+    }
+}
@@ -0,0 +1,41 @@
+package com.pricealert.ingestor.application.config;
+
+import com.pricealert.ingestor.infrastructure.journal.TickJournal;
+import com.pricealert.ingestor.infrastructure.kafka.TickJournalRelay;
+import com.pricealert.ingestor.infrastructure.websocket.TickMessageParser;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.file.Path;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.KafkaTemplate;
+
+@Configuration
+@ConditionalOnProperty(name = "ingestor.mode", havingValue = "journal")
+public class TickJournalConfig {
+
+    @Bean(destroyMethod = "close")
+    public TickJournal tickJournal(IngestorProperties properties) {
+        var journal = properties.journal();
+        return new TickJournal(
+                Path.of(journal.directory()),
+                journal.segmentSizeBytes(),
+                journal.maxBacklogBytes());
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public TickJournalRelay tickJournalRelay(
+            TickJournal tickJournal,
+            KafkaTemplate<String, Object> kafkaTemplate,
+            TickMessageParser tickParser,
+            IngestorProperties properties,
+            MeterRegistry registry) {
+        return new TickJournalRelay(
+                tickJournal,
+                kafkaTemplate,
+                tickParser,
+                properties.journal().maxInFlight(),
+                properties.journal().forceIntervalMs(),
+                registry);
+    }
+}
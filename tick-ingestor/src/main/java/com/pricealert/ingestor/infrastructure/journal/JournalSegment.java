@@ -0,0 +1,137 @@
+package com.pricealert.ingestor.infrastructure.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * One memory-mapped journal file. Its first byte sits at journal position {@code base}; the file
+ * is named after it so segments sort in journal order. Mapped in a shared arena so {@link
+ * #delete()} unmaps it immediately instead of waiting for GC. A new file is written out in full
+ * before it is mapped: stores into a sparse mapping on a full disk raise SIGBUS, while writing
+ * the file fails with an IOException.
+ */
+final class JournalSegment {
+
+    static final String SUFFIX = ".seg";
+
+    private static final int ZEROS = 1 << 20;
+
+    private final long base;
+    private final Path path;
+    private final Arena arena;
+    private final MemorySegment memory;
+
+    /** Offset of the end-of-segment marker, or -1 while the segment is still appended to. */
+    private volatile long sealedAt = -1;
+
+    private JournalSegment(long base, Path path, Arena arena, MemorySegment memory) {
+        this.base = base;
+        this.path = path;
+        this.arena = arena;
+        this.memory = memory;
+    }
+
+    static JournalSegment create(Path directory, long base, long size) {
+        var path = directory.resolve(name(base));
+        try {
+            preallocate(path, size);
+        } catch (IOException e) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw new UncheckedIOException("Cannot create journal segment " + path, e);
+        }
+        return map(path, base, size);
+    }
+
+    static JournalSegment open(Path path) {
+        try {
+            var base = Long.parseLong(path.getFileName().toString().replace(SUFFIX, ""));
+            return map(path, base, Files.size(path));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open journal segment " + path, e);
+        }
+    }
+
+    private static JournalSegment map(Path path, long base, long size) {
+        var arena = Arena.ofShared();
+        try (var channel =
+                FileChannel.open(
+                        path,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.READ,
+                        StandardOpenOption.WRITE)) {
+            var memory = channel.map(FileChannel.MapMode.READ_WRITE, 0, size, arena);
+            return new JournalSegment(base, path, arena, memory);
+        } catch (IOException e) {
+            arena.close();
+            throw new UncheckedIOException("Cannot map journal segment " + path, e);
+        }
+    }
+
+    private static void preallocate(Path path, long size) throws IOException {
+        try (var channel =
+                FileChannel.open(
+                        path,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+            var zeros = ByteBuffer.allocateDirect(ZEROS);
+            for (var position = 0L; position < size; ) {
+                zeros.clear().limit((int) Math.min(ZEROS, size - position));
+                position += channel.write(zeros, position);
+            }
+            channel.force(true);
+        }
+    }
+
+    private static String name(long base) {
+        return "%020d%s".formatted(base, SUFFIX);
+    }
+
+    long base() {
+        return base;
+    }
+
+    long end() {
+        return base + memory.byteSize();
+    }
+
+    MemorySegment memory() {
+        return memory;
+    }
+
+    long sealedAt() {
+        return sealedAt;
+    }
+
+    void seal(long offset) {
+        sealedAt = offset;
+    }
+
+    void force() {
+        memory.force();
+    }
+
+    void close() {
+        arena.close();
+    }
+
+    void delete() {
+        close();
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot delete journal segment " + path, e);
+        }
+    }
+}
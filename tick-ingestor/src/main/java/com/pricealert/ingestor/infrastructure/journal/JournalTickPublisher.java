@@ -0,0 +1,23 @@
+package com.pricealert.ingestor.infrastructure.journal;
+
+import com.pricealert.ingestor.infrastructure.kafka.TickPublisher;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** Appends the raw messages to the journal; {@code TickJournalRelay} publishes them. */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ingestor.mode", havingValue = "journal")
+public class JournalTickPublisher implements TickPublisher {
+
+    private final TickJournal journal;
+
+    @Override
+    public void sendAll(List<FeedTick> ticks) {
+        journal.appendAll(
+                ticks.stream().map(tick -> tick.json().getBytes(StandardCharsets.UTF_8)).toList());
+    }
+}
@@ -0,0 +1,344 @@
+package com.pricealert.ingestor.infrastructure.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.zip.CRC32;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only journal of raw tick messages in memory-mapped segment files. A record is an int
+ * length, an int CRC32 of the payload and the payload; a length of -1 ends a sealed segment and
+ * 0 means nothing was written there yet. Positions count from the journal's first byte across
+ * segments, so a position identifies both a segment and an offset in it.
+ *
+ * <p>An append is durable against a process crash once it returns, because the mapped pages
+ * belong to the page cache; {@link #force()} makes it durable against an OS crash. {@link
+ * #commit(long)} records how far the journal has been published and deletes the segments
+ * wholly before that point. On start the journal is scanned from the last commit, and a record
+ * whose CRC does not match ends it; the rest of that segment is zeroed, so records appended over
+ * a torn tail can never be followed by stale ones from before the crash.
+ *
+ * <p>Segments are written out in full when created, so a full disk fails the append that needs
+ * a new segment instead of faulting on a later write to a sparse mapping. Appends also fail
+ * while the unpublished backlog would exceed {@code maxBacklogBytes}, which pushes back on the
+ * feed while Kafka is unreachable instead of filling the volume.
+ *
+ * <p>Appends are serialized; reads, force and commit come from the single relay thread.
+ */
+@Slf4j
+public class TickJournal implements AutoCloseable {
+
+    /** Far above any tick message. */
+    public static final int MAX_RECORD_BYTES = 64 * 1024;
+
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED;
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+    private static final int END_OF_SEGMENT = -1;
+    private static final String CHECKPOINT = "checkpoint";
+
+    private final Path directory;
+    private final long segmentSize;
+    private final long maxBacklogBytes;
+    private final ConcurrentSkipListMap<Long, JournalSegment> segments =
+            new ConcurrentSkipListMap<>();
+    private JournalSegment active;
+    private volatile long writePosition;
+    private volatile long committedPosition;
+    private long forcedPosition;
+
+    public TickJournal(Path directory, long segmentSize, long maxBacklogBytes) {
+        if (segmentSize < HEADER_BYTES + MAX_RECORD_BYTES + Integer.BYTES) {
+            throw new IllegalArgumentException("Journal segment size too small: " + segmentSize);
+        }
+        if (maxBacklogBytes < segmentSize) {
+            throw new IllegalArgumentException(
+                    "Journal backlog limit below one segment: " + maxBacklogBytes);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxBacklogBytes = maxBacklogBytes;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create journal directory " + directory, e);
+        }
+        recover();
+    }
+
+    public record Entry(byte[] payload, long next) {}
+
+    /**
+     * Appends one record and returns the position after it.
+     *
+     * @throws IllegalStateException if the backlog limit leaves no room for it
+     * @throws UncheckedIOException if the disk has no room for a new segment
+     */
+    public synchronized long append(byte[] payload) {
+        reserve(HEADER_BYTES + payload.length);
+        return write(payload);
+    }
+
+    /**
+     * Appends the records in order under one lock and returns the position after the last. Either
+     * all of them are appended or, if the backlog limit leaves no room for them, none.
+     */
+    public synchronized long appendAll(List<byte[]> payloads) {
+        var bytes = 0L;
+        for (var payload : payloads) {
+            bytes += HEADER_BYTES + payload.length;
+        }
+        reserve(bytes);
+        for (var payload : payloads) {
+            write(payload);
+        }
+        return writePosition;
+    }
+
+    private void reserve(long bytes) {
+        if (backlogBytes() + bytes > maxBacklogBytes) {
+            throw new IllegalStateException(
+                    "Tick journal backlog of %d bytes is at its %d byte limit"
+                            .formatted(backlogBytes(), maxBacklogBytes));
+        }
+    }
+
+    private long write(byte[] payload) {
+        if (payload.length == 0 || payload.length > MAX_RECORD_BYTES) {
+            throw new IllegalArgumentException("Journal record of " + payload.length + " bytes");
+        }
+        var offset = writePosition - active.base();
+        var needed = HEADER_BYTES + payload.length;
+        // Always leave room for the end-of-segment marker.
+        if (offset + needed + Integer.BYTES > active.memory().byteSize()) {
+            roll(offset);
+            offset = 0;
+        }
+        var memory = active.memory();
+        memory.set(INT, offset + Integer.BYTES, crc(payload));
+        MemorySegment.copy(
+                payload, 0, memory, ValueLayout.JAVA_BYTE, offset + HEADER_BYTES, payload.length);
+        memory.set(INT, offset, payload.length);
+        writePosition = active.base() + offset + needed;
+        return writePosition;
+    }
+
+    /** Creates the next segment before sealing this one, so a failed create changes nothing. */
+    private void roll(long offset) {
+        var next = JournalSegment.create(directory, active.end(), segmentSize);
+        active.memory().set(INT, offset, END_OF_SEGMENT);
+        active.seal(offset);
+        segments.put(next.base(), next);
+        active = next;
+    }
+
+    /** Reads up to {@code max} records starting at {@code position}. */
+    public List<Entry> read(long position, int max) {
+        var limit = writePosition;
+        var entries = new ArrayList<Entry>(Math.min(max, 1024));
+        while (entries.size() < max && position < limit) {
+            var segment = segments.floorEntry(position).getValue();
+            var offset = position - segment.base();
+            if (offset == segment.sealedAt()) {
+                position = segments.higherKey(segment.base());
+                continue;
+            }
+            var memory = segment.memory();
+            var length = memory.get(INT, offset);
+            var payload = new byte[length];
+            MemorySegment.copy(
+                    memory, ValueLayout.JAVA_BYTE, offset + HEADER_BYTES, payload, 0, length);
+            position += HEADER_BYTES + length;
+            entries.add(new Entry(payload, position));
+        }
+        return entries;
+    }
+
+    /** Flushes every record appended since the last call to disk. */
+    public void force() {
+        var limit = writePosition;
+        if (limit == forcedPosition) {
+            return;
+        }
+        // Null once a commit has deleted the segment the last force ended in.
+        var from = segments.floorKey(forcedPosition);
+        var unforced = from == null ? segments : segments.tailMap(from);
+        for (var segment : unforced.values()) {
+            segment.force();
+        }
+        forcedPosition = limit;
+    }
+
+    /**
+     * Records that everything before {@code position} is published, then deletes the segments
+     * that lie wholly before it. A restart resumes from the last committed position.
+     */
+    public void commit(long position) {
+        if (position <= committedPosition) {
+            return;
+        }
+        writeCheckpoint(position);
+        committedPosition = position;
+        for (var first = segments.firstEntry();
+                first != null && first.getValue().end() <= position;
+                first = segments.firstEntry()) {
+            segments.remove(first.getKey());
+            first.getValue().delete();
+        }
+    }
+
+    public long writePosition() {
+        return writePosition;
+    }
+
+    public long committedPosition() {
+        return committedPosition;
+    }
+
+    /** Bytes appended and not yet committed, including segment slack. */
+    public long backlogBytes() {
+        return writePosition - committedPosition;
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public synchronized void close() {
+        force();
+        segments.values().forEach(JournalSegment::close);
+        segments.clear();
+    }
+
+    private void recover() {
+        var checkpoint = readCheckpoint();
+        for (var path : segmentFiles()) {
+            var segment = JournalSegment.open(path);
+            if (segment.end() <= checkpoint) {
+                segment.delete();
+            } else {
+                segments.put(segment.base(), segment);
+            }
+        }
+        if (!segments.isEmpty()) {
+            checkpoint = Math.max(checkpoint, segments.firstKey());
+        }
+        JournalSegment last = null;
+        var end = checkpoint;
+        for (var segment : segments.values()) {
+            if (last != null && last.sealedAt() < 0) {
+                log.warn("Journal segment {} ends without a marker; sealing it", last.base());
+                last.seal(end - last.base());
+            }
+            end = segment.base() + scan(segment, Math.max(0, checkpoint - segment.base()));
+            last = segment;
+        }
+        if (last == null || last.sealedAt() >= 0) {
+            var base = last == null ? checkpoint : last.end();
+            last = JournalSegment.create(directory, base, segmentSize);
+            segments.put(base, last);
+            end = base;
+        } else {
+            // A torn record may be followed by intact ones the crash left behind; appends over
+            // it must not leave them readable.
+            last.memory().asSlice(end - last.base()).fill((byte) 0);
+            last.force();
+        }
+        active = last;
+        writePosition = end;
+        committedPosition = checkpoint;
+        forcedPosition = end;
+        log.info(
+                "Tick journal in {}: {} segments, {} bytes to publish",
+                directory,
+                segments.size(),
+                backlogBytes());
+    }
+
+    /** Returns the offset just past the segment's last intact record. */
+    private static long scan(JournalSegment segment, long offset) {
+        var memory = segment.memory();
+        var size = memory.byteSize();
+        while (offset + Integer.BYTES <= size) {
+            var length = memory.get(INT, offset);
+            if (length == END_OF_SEGMENT) {
+                segment.seal(offset);
+                break;
+            }
+            if (length <= 0
+                    || length > MAX_RECORD_BYTES
+                    || offset + HEADER_BYTES + length > size
+                    || memory.get(INT, offset + Integer.BYTES)
+                            != crc(memory.asSlice(offset + HEADER_BYTES, length))) {
+                break;
+            }
+            offset += HEADER_BYTES + length;
+        }
+        return offset;
+    }
+
+    private List<Path> segmentFiles() {
+        try (var files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(JournalSegment.SUFFIX))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list journal directory " + directory, e);
+        }
+    }
+
+    private long readCheckpoint() {
+        var path = directory.resolve(CHECKPOINT);
+        try {
+            return Files.exists(path) ? ByteBuffer.wrap(Files.readAllBytes(path)).getLong() : 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read journal checkpoint " + path, e);
+        }
+    }
+
+    private void writeCheckpoint(long position) {
+        var tmp = directory.resolve(CHECKPOINT + ".tmp");
+        try (var channel =
+                FileChannel.open(
+                        tmp,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(position).flip());
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write journal checkpoint " + tmp, e);
+        }
+        try {
+            Files.move(
+                    tmp,
+                    directory.resolve(CHECKPOINT),
+                    StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot replace journal checkpoint", e);
+        }
+    }
+
+    private static int crc(byte[] payload) {
+        var crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    // CRC32 cannot read buffers of a shared arena directly; only recovery takes this copy.
+    private static int crc(MemorySegment payload) {
+        return crc(payload.toArray(ValueLayout.JAVA_BYTE));
+    }
+}
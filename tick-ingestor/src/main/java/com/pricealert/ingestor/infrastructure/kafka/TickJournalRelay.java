@@ -0,0 +1,231 @@
+package com.pricealert.ingestor.infrastructure.kafka;
+
+import com.pricealert.common.event.MarketTick;
+import com.pricealert.common.kafka.KafkaTopics;
+import com.pricealert.ingestor.infrastructure.journal.TickJournal;
+import com.pricealert.ingestor.infrastructure.websocket.TickMessageParser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+
+/**
+ * Publishes the {@link TickJournal} to {@code market-ticks}. Up to {@code maxInFlight} ticks are
+ * sent without waiting; acks are taken in journal order, so the acked position only moves past
+ * a tick once every tick before it is acked. Every force interval the journal is flushed and the
+ * acked position committed, which deletes the fully published segments.
+ *
+ * <p>If a send fails, the relay rewinds to the acked position and sends everything after it
+ * again. With the idempotent producer that keeps each symbol in order; delivery is
+ * at-least-once, as it was through the outbox.
+ */
+@Slf4j
+public class TickJournalRelay {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final long RETRY_DELAY_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long STOP_TIMEOUT_MS = 10_000;
+
+    private final TickJournal journal;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final TickMessageParser tickParser;
+    private final int maxInFlight;
+    private final long forceIntervalNanos;
+    private final Thread relay;
+    private final ArrayDeque<InFlight> inFlight = new ArrayDeque<>();
+    private final AtomicInteger inFlightCount = new AtomicInteger();
+    private final Counter published;
+    private final Counter failed;
+    private final Counter skipped;
+    private volatile boolean running = true;
+    private long readPosition;
+    private long ackedPosition;
+
+    public TickJournalRelay(
+            TickJournal journal,
+            KafkaTemplate<String, Object> kafkaTemplate,
+            TickMessageParser tickParser,
+            int maxInFlight,
+            long forceIntervalMs,
+            MeterRegistry registry) {
+        this.journal = journal;
+        this.kafkaTemplate = kafkaTemplate;
+        this.tickParser = tickParser;
+        this.maxInFlight = maxInFlight;
+        this.forceIntervalNanos = TimeUnit.MILLISECONDS.toNanos(forceIntervalMs);
+        this.readPosition = journal.committedPosition();
+        this.ackedPosition = readPosition;
+        this.relay = Thread.ofPlatform().name("tick-journal-relay").unstarted(this::run);
+
+        Gauge.builder("ingestor.journal.backlog", journal, TickJournal::backlogBytes)
+                .description("Journal bytes appended and not yet published")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("ingestor.journal.segments", journal, TickJournal::segmentCount)
+                .description("Journal segment files on disk")
+                .register(registry);
+        Gauge.builder("ingestor.journal.in.flight", inFlightCount, AtomicInteger::get)
+                .description("Journaled ticks sent to Kafka and not yet acked")
+                .register(registry);
+        this.published =
+                Counter.builder("ingestor.journal.published")
+                        .description("Journaled ticks acked by Kafka")
+                        .register(registry);
+        this.failed =
+                Counter.builder("ingestor.journal.failed")
+                        .description("Journal sends that failed and made the relay rewind")
+                        .register(registry);
+        this.skipped =
+                Counter.builder("ingestor.journal.skipped")
+                        .description("Journal records that could not be read as a tick")
+                        .register(registry);
+    }
+
+    public void start() {
+        relay.start();
+    }
+
+    /** Waits for the sends in flight, then commits what they acked. */
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(relay);
+        relay.join(STOP_TIMEOUT_MS);
+    }
+
+    private void run() {
+        var nextForce = System.nanoTime() + forceIntervalNanos;
+        while (running) {
+            try {
+                var sent = sendAvailable();
+                var acked = takeAcks(sent == 0 ? IDLE_PARK_NANOS : 0);
+                if (System.nanoTime() >= nextForce) {
+                    checkpoint();
+                    nextForce = System.nanoTime() + forceIntervalNanos;
+                }
+                if (sent == 0 && acked == 0 && inFlight.isEmpty()) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            } catch (SendFailedException e) {
+                failed.increment();
+                log.warn(
+                        "Tick send failed, resending from journal position {}: {}",
+                        ackedPosition,
+                        e.getMessage());
+                rewind();
+                LockSupport.parkNanos(RETRY_DELAY_NANOS);
+            } catch (RuntimeException e) {
+                log.error("Tick journal relay error: {}", e.getMessage(), e);
+                LockSupport.parkNanos(RETRY_DELAY_NANOS);
+            }
+        }
+        drain();
+        log.info("Tick journal relay stopped at position {}", ackedPosition);
+    }
+
+    private int sendAvailable() {
+        var room = maxInFlight - inFlight.size();
+        if (room <= 0) {
+            return 0;
+        }
+        var entries = journal.read(readPosition, room);
+        for (var entry : entries) {
+            inFlight.add(new InFlight(send(entry.payload()), entry.next()));
+            readPosition = entry.next();
+        }
+        return entries.size();
+    }
+
+    private CompletableFuture<?> send(byte[] payload) {
+        MarketTick tick = null;
+        try {
+            tick = tickParser.parse(payload);
+        } catch (RuntimeException e) {
+            log.error("Unreadable journal record: {}", e.getMessage());
+        }
+        if (tick == null) {
+            // Retrying cannot fix a bad record; let the acked position move past it.
+            skipped.increment();
+            return CompletableFuture.completedFuture(null);
+        }
+        var ack = kafkaTemplate.send(KafkaTopics.MARKET_TICKS, tick.symbol(), tick);
+        inFlightCount.incrementAndGet();
+        return ack.whenComplete((result, error) -> inFlightCount.decrementAndGet());
+    }
+
+    /**
+     * Advances the acked position over the completed sends at the head of the queue, waiting up
+     * to {@code waitNanos} for the first one.
+     */
+    private int takeAcks(long waitNanos) {
+        var acked = 0;
+        for (var head = inFlight.peek(); head != null; head = inFlight.peek()) {
+            if (!head.ack().isDone()) {
+                if (acked > 0 || waitNanos == 0 || !await(head, waitNanos)) {
+                    break;
+                }
+            }
+            if (head.ack().isCompletedExceptionally()) {
+                throw new SendFailedException(head.ack().exceptionNow());
+            }
+            inFlight.poll();
+            ackedPosition = head.next();
+            acked++;
+        }
+        if (acked > 0) {
+            published.increment(acked);
+        }
+        return acked;
+    }
+
+    private static boolean await(InFlight head, long waitNanos) {
+        try {
+            head.ack().get(waitNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return false;
+        } catch (ExecutionException e) {
+            // Surfaced by the caller through isCompletedExceptionally().
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return true;
+    }
+
+    private void checkpoint() {
+        journal.force();
+        journal.commit(ackedPosition);
+    }
+
+    private void rewind() {
+        inFlight.clear();
+        readPosition = ackedPosition;
+    }
+
+    private void drain() {
+        var deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(STOP_TIMEOUT_MS / 2);
+        try {
+            while (!inFlight.isEmpty() && System.nanoTime() < deadline) {
+                takeAcks(deadline - System.nanoTime());
+            }
+        } catch (SendFailedException e) {
+            log.warn("Tick send failed during shutdown; resent after restart");
+        }
+        checkpoint();
+    }
+
+    private record InFlight(CompletableFuture<?> ack, long next) {}
+
+    private static final class SendFailedException extends RuntimeException {
+        SendFailedException(Throwable cause) {
+            super(cause.getMessage(), cause);
+        }
+    }
+}
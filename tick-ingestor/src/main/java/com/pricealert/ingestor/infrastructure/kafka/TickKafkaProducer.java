@@ -1,36 +1,24 @@
 package com.pricealert.ingestor.infrastructure.kafka;
 
 import com.pricealert.common.event.MarketTick;
-import io.namastack.outbox.Outbox;
+import com.pricealert.common.outbox.OutboxWriter;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
-import tools.jackson.databind.ObjectMapper;
-import tools.jackson.databind.json.JsonMapper;
 
-@Slf4j
+/** Writes each batch of ticks to the outbox in one JDBC batch and one commit. */
 @Component
 @RequiredArgsConstructor
-public class TickKafkaProducer {
+@ConditionalOnProperty(name = "ingestor.mode", havingValue = "outbox", matchIfMissing = true)
+public class TickKafkaProducer implements TickPublisher {
 
-    private final Outbox outbox;
-    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private final OutboxWriter outboxWriter;
 
+    @Override
     @Transactional
-    public void send(String tickJson) {
-        try {
-            var node = objectMapper.readTree(tickJson);
-            var type = node.path("type").asString("");
-
-            if (!"TICK".equals(type)) {
-                return;
-            }
-
-            var tick = objectMapper.readValue(tickJson, MarketTick.class);
-            outbox.schedule(tick, tick.symbol());
-        } catch (Exception e) {
-            log.error("Failed to schedule tick to outbox: {}", e.getMessage());
-        }
+    public void sendAll(List<FeedTick> ticks) {
+        outboxWriter.scheduleAll(ticks.stream().map(FeedTick::tick).toList(), MarketTick::symbol);
     }
 }
@@ -0,0 +1,20 @@
+package com.pricealert.ingestor.infrastructure.kafka;
+
+import com.pricealert.common.event.MarketTick;
+import java.util.List;
+
+/**
+ * Takes ticks from the feed on their way to {@code market-ticks}. Once {@link #sendAll} returns,
+ * the batch survives a restart of the ingestor. {@code ingestor.mode} picks the implementation.
+ */
+public interface TickPublisher {
+
+    /** Writes the batch as one unit, in order. */
+    void sendAll(List<FeedTick> ticks);
+
+    /**
+     * @param tick the parsed message
+     * @param json the message as received
+     */
+    record FeedTick(MarketTick tick, String json) {}
+}
@@ -0,0 +1,118 @@
+package com.pricealert.ingestor.infrastructure.websocket;
+
+import com.pricealert.common.event.MarketTick;
+import com.pricealert.ingestor.application.config.IngestorProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Watches the health of the current feed session. The simulator numbers each symbol's ticks
+ * from 1, so a jump counts the ticks missed, a repeat is a duplicate and a step back arrived
+ * out of order. Duplicates and out-of-order ticks are rejected before they reach the batch
+ * writer; a late tick would otherwise move the evaluator's last price backwards.
+ *
+ * <p>The feed is stale when its newest tick timestamp, or the session start if no tick has
+ * arrived yet, is older than {@code stale-after-ms}. That catches a connection that stays open
+ * but stops delivering ticks, which a closed-socket check never sees. Time the socket thread
+ * spends held back by the batch writer does not count: ticks waiting in the socket are not the
+ * feed's fault, so {@link #heldBack()} restarts the clock.
+ *
+ * <p>Sequences restart with every session, since a reconnect may reach another feed or a
+ * restarted simulator.
+ */
+@Slf4j
+@Component
+public class FeedMonitor {
+
+    private final long staleAfterMs;
+    private final Counter gaps;
+    private final Counter duplicates;
+    private final Counter outOfOrder;
+    private volatile Map<String, long[]> lastSequence = new ConcurrentHashMap<>();
+    private volatile long sessionStartedAt = System.currentTimeMillis();
+    private volatile long newestTickAt;
+    private volatile long heldBackAt;
+
+    public FeedMonitor(IngestorProperties properties, MeterRegistry registry) {
+        this.staleAfterMs = properties.feed().staleAfterMs();
+
+        Gauge.builder("ingestor.feed.lag", this, monitor -> monitor.lag().toMillis() / 1000.0)
+                .description("Time since the newest tick timestamp on the current feed")
+                .baseUnit("seconds")
+                .register(registry);
+        this.gaps =
+                Counter.builder("ingestor.feed.gaps")
+                        .description("Ticks missing from per-symbol feed sequences")
+                        .register(registry);
+        this.duplicates =
+                Counter.builder("ingestor.feed.duplicates")
+                        .description("Feed ticks dropped as repeats of a sequence already seen")
+                        .register(registry);
+        this.outOfOrder =
+                Counter.builder("ingestor.feed.out.of.order")
+                        .description("Feed ticks dropped for arriving after a later sequence")
+                        .register(registry);
+    }
+
+    /** Starts tracking a new feed session. */
+    public void reset() {
+        lastSequence = new ConcurrentHashMap<>();
+        newestTickAt = 0;
+        heldBackAt = 0;
+        sessionStartedAt = System.currentTimeMillis();
+    }
+
+    /** Records the tick and returns whether it should be published. */
+    public boolean accept(MarketTick tick) {
+        var last = lastSequence.computeIfAbsent(tick.symbol(), symbol -> new long[1]);
+        var sequence = tick.sequence();
+        if (last[0] > 0) {
+            if (sequence == last[0]) {
+                duplicates.increment();
+                return false;
+            }
+            if (sequence < last[0]) {
+                outOfOrder.increment();
+                return false;
+            }
+            if (sequence > last[0] + 1) {
+                gaps.increment(sequence - last[0] - 1);
+                log.debug("Feed gap on {}: {} after {}", tick.symbol(), sequence, last[0]);
+            }
+        }
+        last[0] = sequence;
+        if (tick.timestamp() != null) {
+            var at = tick.timestamp().toEpochMilli();
+            if (at > newestTickAt) {
+                newestTickAt = at;
+            }
+        }
+        return true;
+    }
+
+    /** Whether the current session has delivered a tick yet. */
+    public boolean hasTicks() {
+        return newestTickAt > 0;
+    }
+
+    public Duration lag() {
+        return Duration.ofMillis(
+                System.currentTimeMillis() - Math.max(newestTickAt, sessionStartedAt));
+    }
+
+    /** Records that ticks are being held back on our side rather than missing from the feed. */
+    public void heldBack() {
+        heldBackAt = System.currentTimeMillis();
+    }
+
+    public boolean isStale() {
+        return lag().toMillis() > staleAfterMs
+                && System.currentTimeMillis() - heldBackAt > staleAfterMs;
+    }
+}
@@ -1,7 +1,10 @@
 package com.pricealert.ingestor.infrastructure.websocket;
 
 import com.pricealert.ingestor.application.config.IngestorProperties;
-import com.pricealert.ingestor.infrastructure.kafka.TickKafkaProducer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 import lombok.extern.slf4j.Slf4j;
@@ -20,16 +23,36 @@ import tools.jackson.databind.json.JsonMapper;
 @Component
 public class SimulatorWebSocketClient extends TextWebSocketHandler {
 
+    private static final long WATCH_INTERVAL_MS = 1000;
+
     private final IngestorProperties properties;
-    private final TickKafkaProducer kafkaProducer;
+    private final TickBatcher tickBatcher;
+    private final TickMessageParser tickParser;
+    private final FeedMonitor feedMonitor;
     private final ObjectMapper objectMapper;
+    private final Counter stale;
+    private final Counter failovers;
     private final AtomicBoolean running = new AtomicBoolean(true);
 
     public SimulatorWebSocketClient(
-            IngestorProperties properties, TickKafkaProducer kafkaProducer) {
+            IngestorProperties properties,
+            TickBatcher tickBatcher,
+            TickMessageParser tickParser,
+            FeedMonitor feedMonitor,
+            MeterRegistry registry) {
         this.properties = properties;
-        this.kafkaProducer = kafkaProducer;
+        this.tickBatcher = tickBatcher;
+        this.tickParser = tickParser;
+        this.feedMonitor = feedMonitor;
         this.objectMapper = JsonMapper.builder().build();
+        this.stale =
+                Counter.builder("ingestor.feed.stale")
+                        .description("Feed sessions closed because no fresh tick arrived")
+                        .register(registry);
+        this.failovers =
+                Counter.builder("ingestor.feed.failovers")
+                        .description("Switches from one feed URL to the next")
+                        .register(registry);
     }
 
     @EventListener(ApplicationReadyEvent.class)
@@ -37,14 +60,25 @@ public class SimulatorWebSocketClient extends TextWebSocketHandler {
         Thread.startVirtualThread(this::connectWithRetry);
     }
 
+    /**
+     * Connects to each feed in turn. A feed is left when its socket closes or {@link
+     * FeedMonitor} finds it stale, and the next one in the list is tried at once; the backoff
+     * delay applies only after every feed has failed in a row. A session that delivered ticks
+     * resets that count.
+     */
     private void connectWithRetry() {
+        var urls = feedUrls();
+        var index = 0;
+        var failures = 0;
         var delay = properties.reconnect().initialDelayMs();
         while (running.get()) {
+            var url = urls.get(index);
             try {
-                log.info("Connecting to simulator at {}", properties.simulatorUrl());
+                log.info("Connecting to feed at {}", url);
+                feedMonitor.reset();
                 var client = new StandardWebSocketClient();
-                var session = client.execute(this, properties.simulatorUrl()).get();
-                log.info("Connected to simulator, session={}", session.getId());
+                var session = client.execute(this, url).get();
+                log.info("Connected to feed, session={}", session.getId());
 
                 var subscribeMsg =
                         Map.of("action", "subscribe", "symbols", properties.subscribeSymbols());
@@ -52,17 +86,32 @@ public class SimulatorWebSocketClient extends TextWebSocketHandler {
                 session.sendMessage(new TextMessage(json));
                 log.info("Subscribed to symbols: {}", properties.subscribeSymbols());
 
-                delay = properties.reconnect().initialDelayMs();
-
-                while (session.isOpen() && running.get()) {
-                    Thread.sleep(1000);
-                }
+                watch(session, url);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
             } catch (Exception e) {
-                log.warn("Connection failed: {}. Retrying in {}ms", e.getMessage(), delay);
+                log.warn("Connection to {} failed: {}", url, e.getMessage());
             }
 
             if (!running.get()) break;
 
+            if (feedMonitor.hasTicks()) {
+                failures = 0;
+                delay = properties.reconnect().initialDelayMs();
+            } else {
+                failures++;
+            }
+            if (urls.size() > 1) {
+                index = (index + 1) % urls.size();
+                failovers.increment();
+                log.warn("Failing over from {} to {}", url, urls.get(index));
+            }
+            if (failures == 0 || failures % urls.size() != 0) {
+                continue;
+            }
+
+            log.warn("All feeds failed. Retrying in {}ms", delay);
             try {
                 Thread.sleep(delay);
             } catch (InterruptedException e) {
@@ -76,10 +125,40 @@ public class SimulatorWebSocketClient extends TextWebSocketHandler {
         }
     }
 
+    /** Returns once the session has closed, or after closing it because the feed went stale. */
+    private void watch(WebSocketSession session, String url) throws Exception {
+        while (session.isOpen() && running.get()) {
+            Thread.sleep(WATCH_INTERVAL_MS);
+            if (tickBatcher.isBlocking()) {
+                feedMonitor.heldBack();
+            }
+            if (feedMonitor.isStale()) {
+                stale.increment();
+                log.warn("Feed at {} is stale, newest tick {} old", url, feedMonitor.lag());
+                session.close(CloseStatus.SESSION_NOT_RELIABLE);
+                return;
+            }
+        }
+    }
+
+    private List<String> feedUrls() {
+        var urls = new ArrayList<String>();
+        urls.add(properties.simulatorUrl());
+        var failoverUrls = properties.feed().failoverUrls();
+        if (failoverUrls != null) {
+            urls.addAll(failoverUrls);
+        }
+        return urls;
+    }
+
     @Override
     protected void handleTextMessage(WebSocketSession session, TextMessage message) {
         try {
-            kafkaProducer.send(message.getPayload());
+            var payload = message.getPayload();
+            var tick = tickParser.parse(payload);
+            if (tick != null && feedMonitor.accept(tick)) {
+                tickBatcher.offer(tick, payload);
+            }
         } catch (Exception e) {
             log.error("Error processing message: {}", e.getMessage());
         }
@@ -0,0 +1,220 @@
+package com.pricealert.ingestor.infrastructure.websocket;
+
+import com.pricealert.common.concurrent.MpscRingBuffer;
+import com.pricealert.common.event.MarketTick;
+import com.pricealert.ingestor.application.config.IngestorProperties;
+import com.pricealert.ingestor.application.config.IngestorProperties.OverflowPolicy;
+import com.pricealert.ingestor.infrastructure.kafka.TickPublisher;
+import com.pricealert.ingestor.infrastructure.kafka.TickPublisher.FeedTick;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Group commit between the WebSocket and the {@link TickPublisher}. The socket thread only
+ * offers each tick to an {@link MpscRingBuffer}; one writer thread drains it every linger
+ * interval, or as soon as max-size ticks are waiting, and hands each batch to {@link
+ * TickPublisher#sendAll} as one write, after {@link TickConflator} if conflation is on. When
+ * the buffer is full, {@code ingestor.batch.on-full} decides between blocking the socket thread
+ * and dropping the tick. A blocked socket thread parks between attempts, for longer each time up
+ * to a millisecond, and {@link #isBlocking()} tells the feed watchdog the silence is ours.
+ *
+ * <p>A failed write is retried with exponential backoff until it succeeds, so an unreachable
+ * database or a full journal holds the feed back through {@code on-full} instead of losing
+ * batches. Errors are retried like exceptions; the writer thread only ends on stop, and a batch
+ * still failing then is dropped and counted.
+ */
+@Slf4j
+@Component
+public class TickBatcher {
+
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration RETRY_INITIAL_DELAY = Duration.ofMillis(50);
+    private static final Duration RETRY_MAX_DELAY = Duration.ofSeconds(5);
+    private static final long OFFER_INITIAL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+    private static final long OFFER_MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final TickPublisher tickPublisher;
+    private final TickConflator conflator;
+    private final MpscRingBuffer<FeedTick> buffer;
+    private final int maxSize;
+    private final long lingerNanos;
+    private final OverflowPolicy onFull;
+    private final Thread writer;
+    private final DistributionSummary batchSize;
+    private final Timer batchLatency;
+    private final Counter dropped;
+    private final Counter retried;
+    private final Counter failed;
+    private volatile boolean running = true;
+    private volatile boolean blocking;
+
+    public TickBatcher(
+            TickPublisher tickPublisher,
+            TickConflator conflator,
+            IngestorProperties properties,
+            MeterRegistry registry) {
+        this.tickPublisher = tickPublisher;
+        this.conflator = conflator;
+        var batch = properties.batch();
+        this.buffer = new MpscRingBuffer<>(batch.bufferCapacity());
+        this.maxSize = batch.maxSize();
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(batch.lingerMs());
+        this.onFull = batch.onFull();
+        this.writer = Thread.ofPlatform().name("tick-batch-writer").unstarted(this::run);
+
+        Gauge.builder("ingestor.buffer.depth", buffer, MpscRingBuffer::size)
+                .description("Ticks waiting in the ring buffer for the batch writer")
+                .register(registry);
+        this.batchSize =
+                DistributionSummary.builder("ingestor.batch.size")
+                        .description("Ticks written per batch")
+                        .publishPercentileHistogram()
+                        .register(registry);
+        this.batchLatency =
+                Timer.builder("ingestor.batch.latency")
+                        .description("Time to write one batch of ticks")
+                        .publishPercentileHistogram()
+                        .register(registry);
+        this.dropped =
+                Counter.builder("ingestor.buffer.dropped")
+                        .description("Ticks dropped because the ring buffer was full")
+                        .register(registry);
+        this.retried =
+                Counter.builder("ingestor.batch.retried")
+                        .description("Batch writes that failed and were retried")
+                        .register(registry);
+        this.failed =
+                Counter.builder("ingestor.batch.failed")
+                        .description("Ticks dropped because their batch could not be written")
+                        .register(registry);
+    }
+
+    @PostConstruct
+    void start() {
+        writer.start();
+    }
+
+    /** Writes whatever is still buffered before the publisher shuts down. */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(STOP_TIMEOUT.toMillis());
+    }
+
+    /** Queues the tick for the next batch. Never writes on the caller's thread. */
+    public void offer(MarketTick tick, String tickJson) {
+        var feedTick = new FeedTick(tick, tickJson);
+        if (!buffer.offer(feedTick) && !offerBlocking(feedTick)) {
+            dropped.increment();
+            return;
+        }
+        if (buffer.size() >= maxSize) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /** Whether the socket thread is waiting for room in the buffer under {@code on-full: block}. */
+    public boolean isBlocking() {
+        return blocking;
+    }
+
+    /** Waits for room in the full buffer, unless the tick is to be dropped. */
+    private boolean offerBlocking(FeedTick feedTick) {
+        if (onFull == OverflowPolicy.DROP) {
+            return false;
+        }
+        blocking = true;
+        try {
+            for (var park = OFFER_INITIAL_PARK_NANOS; running; ) {
+                LockSupport.unpark(writer);
+                LockSupport.parkNanos(park);
+                if (buffer.offer(feedTick)) {
+                    return true;
+                }
+                park = Math.min(park * 2, OFFER_MAX_PARK_NANOS);
+            }
+            return false;
+        } finally {
+            blocking = false;
+        }
+    }
+
+    private void run() {
+        var batch = new ArrayList<FeedTick>(maxSize);
+        while (running || !buffer.isEmpty()) {
+            if (running && buffer.size() < maxSize) {
+                LockSupport.parkNanos(lingerNanos);
+            }
+            while (buffer.drain(batch::add, maxSize) > 0) {
+                write(batch);
+                batch.clear();
+            }
+        }
+        log.info("Tick batch writer stopped");
+    }
+
+    private void write(List<FeedTick> batch) {
+        var start = System.nanoTime();
+        List<FeedTick> ticks;
+        try {
+            ticks = conflator.conflate(batch);
+        } catch (RuntimeException e) {
+            // Retrying cannot fix a batch that does not conflate.
+            failed.increment(batch.size());
+            log.error("Failed to conflate {} ticks: {}", batch.size(), e.getMessage(), e);
+            return;
+        }
+        for (var failures = 1; ; failures++) {
+            try {
+                tickPublisher.sendAll(ticks);
+                break;
+            } catch (RuntimeException | Error e) {
+                if (!running) {
+                    failed.increment(batch.size());
+                    log.error(
+                            "Dropping {} ticks on stop after a failed write: {}",
+                            batch.size(),
+                            e.getMessage(),
+                            e);
+                    return;
+                }
+                retried.increment();
+                var delay = retryDelay(failures);
+                log.warn(
+                        "Failed to write {} ticks, retrying in {} ms: {}",
+                        batch.size(),
+                        delay.toMillis(),
+                        e.getMessage());
+                backOff(delay);
+            }
+        }
+        batchSize.record(batch.size());
+        batchLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static Duration retryDelay(int failures) {
+        var delay = RETRY_INITIAL_DELAY.multipliedBy(1L << Math.min(failures - 1, 30));
+        return delay.compareTo(RETRY_MAX_DELAY) > 0 ? RETRY_MAX_DELAY : delay;
+    }
+
+    /** Parks until the delay has passed; offers unpark the writer, stop cuts it short. */
+    private void backOff(Duration delay) {
+        var deadline = System.nanoTime() + delay.toNanos();
+        for (var left = delay.toNanos(); left > 0 && running; left = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(left);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.pricealert.ingestor.infrastructure.websocket;
+
+import com.pricealert.ingestor.application.config.IngestorProperties;
+import com.pricealert.ingestor.infrastructure.kafka.TickPublisher.FeedTick;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+/**
+ * Optional conflation of each {@link TickBatcher} batch. Per symbol only three ticks are kept:
+ * the first to reach the batch's low, the first to reach its high, and the last. The evaluator
+ * fires ABOVE and BELOW alerts on a path's max and min, and CROSS alerts on the range it spans
+ * from the previous last price, so the three fire exactly the alerts the full path would; the
+ * last tick keeps the symbol's last price right for the next batch. The kept ticks are
+ * forwarded unchanged, sequence included, in timestamp order.
+ *
+ * <p>A fired trigger then carries the extreme tick's price and time instead of those of the
+ * first tick past the level; both lie within the same batch window.
+ */
+@Component
+public class TickConflator {
+
+    private static final Comparator<Kept> TIMESTAMP_ORDER =
+            Comparator.comparing(
+                            (Kept kept) -> kept.tick().tick().timestamp(),
+                            Comparator.nullsLast(Comparator.<Instant>naturalOrder()))
+                    .thenComparingInt(Kept::index);
+
+    private final boolean enabled;
+    private final Counter forwarded;
+    private final Counter dropped;
+
+    public TickConflator(IngestorProperties properties, MeterRegistry registry) {
+        this.enabled = properties.conflation().enabled();
+        this.forwarded =
+                Counter.builder("ingestor.conflation.forwarded")
+                        .description("Ticks kept by conflation and forwarded")
+                        .register(registry);
+        this.dropped =
+                Counter.builder("ingestor.conflation.dropped")
+                        .description("Ticks conflated away as neither low, high nor last")
+                        .register(registry);
+    }
+
+    /** Returns the batch cut to each symbol's low, high and last tick, or as is if disabled. */
+    public List<FeedTick> conflate(List<FeedTick> batch) {
+        if (!enabled) {
+            return batch;
+        }
+        var extremes = new HashMap<String, Extremes>();
+        for (var i = 0; i < batch.size(); i++) {
+            var tick = batch.get(i).tick();
+            var symbolExtremes = extremes.get(tick.symbol());
+            if (symbolExtremes == null) {
+                extremes.put(tick.symbol(), new Extremes(i));
+            } else {
+                symbolExtremes.add(batch, i);
+            }
+        }
+
+        var kept = new ArrayList<Kept>(Math.min(batch.size(), 3 * extremes.size()));
+        for (var symbolExtremes : extremes.values()) {
+            symbolExtremes.collect(batch, kept);
+        }
+        kept.sort(TIMESTAMP_ORDER);
+
+        var result = new ArrayList<FeedTick>(kept.size());
+        for (var tick : kept) {
+            result.add(tick.tick());
+        }
+        forwarded.increment(result.size());
+        dropped.increment(batch.size() - result.size());
+        return result;
+    }
+
+    /** Batch indices of one symbol's low, high and last tick. */
+    private static final class Extremes {
+
+        private int low;
+        private int high;
+        private int last;
+
+        Extremes(int index) {
+            low = index;
+            high = index;
+            last = index;
+        }
+
+        void add(List<FeedTick> batch, int index) {
+            var price = batch.get(index).tick().price();
+            // Strict comparisons keep the first tick to reach each extreme.
+            if (price.compareTo(batch.get(low).tick().price()) < 0) {
+                low = index;
+            }
+            if (price.compareTo(batch.get(high).tick().price()) > 0) {
+                high = index;
+            }
+            last = index;
+        }
+
+        void collect(List<FeedTick> batch, List<Kept> kept) {
+            kept.add(new Kept(batch.get(low), low));
+            if (high != low) {
+                kept.add(new Kept(batch.get(high), high));
+            }
+            if (last != low && last != high) {
+                kept.add(new Kept(batch.get(last), last));
+            }
+        }
+    }
+
+    private record Kept(FeedTick tick, int index) {}
+}
@@ -0,0 +1,94 @@
+package com.pricealert.ingestor.infrastructure.websocket;
+
+import com.pricealert.common.event.MarketTick;
+import java.math.BigDecimal;
+import java.time.Instant;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Reads a simulator feed message into a {@link MarketTick} in one streaming pass, without a
+ * tree or databind. Any message that is not {@code "type": "TICK"} yields null. The simulator
+ * does not fix field order, so fields before {@code type} are read as usual, but the rest of a
+ * HEARTBEAT is skipped as soon as its type is seen. A tick without a symbol or price is
+ * rejected like malformed JSON: conflation compares prices and Kafka keys by symbol.
+ */
+@Component
+public class TickMessageParser {
+
+    private static final String TICK = "TICK";
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+    /**
+     * Returns the tick, or null if the message is not a tick.
+     *
+     * @throws IllegalArgumentException if a tick has no symbol or price
+     */
+    public MarketTick parse(String message) {
+        try (var parser = objectMapper.createParser(message)) {
+            return read(parser);
+        }
+    }
+
+    /** {@link #parse(String)} over UTF-8 bytes, as the tick journal stores them. */
+    public MarketTick parse(byte[] message) {
+        try (var parser = objectMapper.createParser(message)) {
+            return read(parser);
+        }
+    }
+
+    private static MarketTick read(JsonParser parser) {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return null;
+        }
+        var isTick = false;
+        String symbol = null;
+        BigDecimal price = null;
+        BigDecimal bid = null;
+        BigDecimal ask = null;
+        long volume = 0;
+        Instant timestamp = null;
+        long sequence = 0;
+        for (var token = parser.nextToken();
+                token != null && token != JsonToken.END_OBJECT;
+                token = parser.nextToken()) {
+            var name = parser.currentName();
+            parser.nextToken();
+            switch (name) {
+                case "type" -> {
+                    if (!TICK.equals(parser.getValueAsString())) {
+                        return null;
+                    }
+                    isTick = true;
+                }
+                case "symbol" -> symbol = parser.getValueAsString();
+                case "price" -> price = decimal(parser);
+                case "bid" -> bid = decimal(parser);
+                case "ask" -> ask = decimal(parser);
+                case "volume" -> volume = parser.getValueAsLong();
+                case "timestamp" -> timestamp = Instant.parse(parser.getValueAsString());
+                case "sequence" -> sequence = parser.getValueAsLong();
+                default -> parser.skipChildren();
+            }
+        }
+        if (!isTick) {
+            return null;
+        }
+        if (symbol == null || price == null) {
+            throw new IllegalArgumentException("Tick without a symbol or price");
+        }
+        return new MarketTick(symbol, price, bid, ask, volume, timestamp, sequence);
+    }
+
+    private static BigDecimal decimal(JsonParser parser) {
+        return switch (parser.currentToken()) {
+            case VALUE_NULL -> null;
+            case VALUE_STRING -> new BigDecimal(parser.getValueAsString());
+            default -> parser.getDecimalValue();
+        };
+    }
+}
@@ -0,0 +1,260 @@
+package com.pricealert.ingestor.infrastructure.journal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TickJournalTest {
+
+    private static final long SEGMENT_SIZE = 128 * 1024;
+    private static final long MAX_BACKLOG = 4 * SEGMENT_SIZE;
+    // 12 of these fill a segment; the 13th rolls to the next one.
+    private static final int LARGE = 10 * 1024;
+
+    @TempDir Path directory;
+
+    private TickJournal current;
+
+    @AfterEach
+    void tearDown() {
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    /** Closes the journal opened before, as a restart would, and opens the directory again. */
+    private TickJournal open(long maxBacklog) {
+        tearDown();
+        current = new TickJournal(directory, SEGMENT_SIZE, maxBacklog);
+        return current;
+    }
+
+    private TickJournal open() {
+        return open(MAX_BACKLOG);
+    }
+
+    private static byte[] tick(int i) {
+        return ("tick-" + i).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] large(int i) {
+        var payload = new byte[LARGE];
+        payload[0] = (byte) i;
+        return payload;
+    }
+
+    private static List<String> texts(List<TickJournal.Entry> entries) {
+        return entries.stream()
+                .map(entry -> new String(entry.payload(), StandardCharsets.UTF_8))
+                .toList();
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(JournalSegment.SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    @Test
+    void shouldReadBackAppendedRecordsInOrder() {
+        // given
+        var journal = open();
+
+        // when
+        journal.append(tick(1));
+        journal.appendAll(List.of(tick(2), tick(3)));
+        var entries = journal.read(0, 10);
+
+        // then
+        assertThat(texts(entries)).containsExactly("tick-1", "tick-2", "tick-3");
+        assertThat(entries.getLast().next()).isEqualTo(journal.writePosition());
+        assertThat(journal.read(entries.getFirst().next(), 1))
+                .extracting(entry -> new String(entry.payload(), StandardCharsets.UTF_8))
+                .containsExactly("tick-2");
+    }
+
+    @Test
+    void shouldRollToANewSegmentAndReadAcrossIt() {
+        // given
+        var journal = open();
+
+        // when
+        for (var i = 0; i < 13; i++) {
+            journal.append(large(i));
+        }
+        var entries = journal.read(0, 100);
+
+        // then
+        assertThat(journal.segmentCount()).isEqualTo(2);
+        assertThat(entries).hasSize(13);
+        assertThat(entries)
+                .extracting(entry -> (int) entry.payload()[0])
+                .containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12);
+        assertThat(journal.writePosition()).isEqualTo(SEGMENT_SIZE + 8 + LARGE);
+    }
+
+    @Test
+    void shouldPreallocateEachSegment() throws IOException {
+        // when
+        open();
+
+        // then
+        assertThat(segmentFiles()).hasSize(1);
+        assertThat(Files.size(segmentFiles().getFirst())).isEqualTo(SEGMENT_SIZE);
+    }
+
+    @Test
+    void shouldResumeFromTheCommittedPositionAfterReopening() {
+        // given
+        var journal = open();
+        journal.append(tick(1));
+        var committed = journal.append(tick(2));
+        journal.append(tick(3));
+        journal.commit(committed);
+
+        // when
+        var reopened = open();
+
+        // then
+        assertThat(reopened.committedPosition()).isEqualTo(committed);
+        assertThat(texts(reopened.read(reopened.committedPosition(), 10)))
+                .containsExactly("tick-3");
+    }
+
+    @Test
+    void shouldEndRecoveryAtARecordWithABadCrc() throws IOException {
+        // given
+        var journal = open();
+        var first = journal.append(tick(0));
+        for (var i = 1; i < 4; i++) {
+            journal.append(tick(i));
+        }
+        journal.close();
+        corruptCrcAt(first);
+
+        // when
+        var reopened = open();
+
+        // then
+        assertThat(reopened.writePosition()).isEqualTo(first);
+        assertThat(texts(reopened.read(0, 10))).containsExactly("tick-0");
+    }
+
+    @Test
+    void shouldNotResurrectRecordsBehindATornTailOnceAppendedOver() throws IOException {
+        // given
+        var journal = open();
+        var first = journal.append(tick(0));
+        for (var i = 1; i < 4; i++) {
+            journal.append(tick(i));
+        }
+        journal.close();
+        corruptCrcAt(first);
+
+        // when a record the size of the torn one lands exactly where it was
+        open().append(tick(9));
+        var reopened = open();
+
+        // then the intact tick-2 and tick-3 after it stay gone
+        assertThat(texts(reopened.read(0, 10))).containsExactly("tick-0", "tick-9");
+    }
+
+    @Test
+    void shouldDeleteSegmentsWhollyBeforeTheCommit() throws IOException {
+        // given
+        var journal = open();
+        for (var i = 0; i < 13; i++) {
+            journal.append(large(i));
+        }
+        var entries = journal.read(0, 100);
+        assertThat(segmentFiles()).hasSize(2);
+
+        // when the commit lands in the second segment
+        journal.commit(entries.get(12).next());
+
+        // then
+        assertThat(journal.segmentCount()).isEqualTo(1);
+        assertThat(segmentFiles()).hasSize(1);
+        assertThat(journal.backlogBytes()).isZero();
+    }
+
+    @Test
+    void shouldKeepTheSegmentHoldingTheCommit() throws IOException {
+        // given
+        var journal = open();
+        for (var i = 0; i < 13; i++) {
+            journal.append(large(i));
+        }
+        var entries = journal.read(0, 100);
+
+        // when
+        journal.commit(entries.get(5).next());
+
+        // then
+        assertThat(segmentFiles()).hasSize(2);
+        assertThat(journal.read(journal.committedPosition(), 100)).hasSize(7);
+    }
+
+    @Test
+    void shouldRejectAppendsBeyondTheBacklogLimit() {
+        // given
+        var journal = open(SEGMENT_SIZE);
+        for (var i = 0; i < 12; i++) {
+            journal.append(large(i));
+        }
+        var position = journal.writePosition();
+
+        // when / then
+        assertThatThrownBy(() -> journal.append(large(12)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("limit");
+        assertThat(journal.writePosition()).isEqualTo(position);
+
+        journal.commit(position);
+        journal.append(large(12));
+        assertThat(journal.writePosition()).isGreaterThan(position);
+    }
+
+    @Test
+    void shouldAppendNoneOfABatchThatExceedsTheBacklogLimit() {
+        // given
+        var journal = open(SEGMENT_SIZE);
+        for (var i = 0; i < 11; i++) {
+            journal.append(large(i));
+        }
+        var position = journal.writePosition();
+
+        // when / then
+        assertThatThrownBy(() -> journal.appendAll(List.of(tick(1), large(11), large(12))))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(journal.writePosition()).isEqualTo(position);
+        assertThat(journal.read(0, 100)).hasSize(11);
+    }
+
+    @Test
+    void shouldRejectABacklogLimitBelowOneSegment() {
+        assertThatThrownBy(() -> new TickJournal(directory, SEGMENT_SIZE, SEGMENT_SIZE - 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /** Flips the CRC of the record that starts at {@code position} in the first segment. */
+    private void corruptCrcAt(long position) throws IOException {
+        try (var channel =
+                FileChannel.open(segmentFiles().getFirst(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0xBAD).flip(), position + 4);
+        }
+    }
+}
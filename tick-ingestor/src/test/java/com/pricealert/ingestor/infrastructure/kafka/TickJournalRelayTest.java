@@ -0,0 +1,193 @@
+package com.pricealert.ingestor.infrastructure.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+
+import com.pricealert.common.kafka.KafkaTopics;
+import com.pricealert.ingestor.infrastructure.journal.TickJournal;
+import com.pricealert.ingestor.infrastructure.websocket.TickMessageParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+@ExtendWith(MockitoExtension.class)
+class TickJournalRelayTest {
+
+    private static final long SEGMENT_SIZE = 128 * 1024;
+    private static final long TIMEOUT_MS = 5_000;
+
+    @TempDir Path directory;
+
+    @Mock KafkaTemplate<String, Object> kafkaTemplate;
+
+    private final BlockingQueue<Send> sends = new LinkedBlockingQueue<>();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private TickJournal journal;
+    private TickJournalRelay relay;
+
+    private record Send(String symbol, CompletableFuture<SendResult<String, Object>> ack) {}
+
+    @BeforeEach
+    void setUp() {
+        given(kafkaTemplate.send(eq(KafkaTopics.MARKET_TICKS), anyString(), any()))
+                .willAnswer(
+                        invocation -> {
+                            var ack = new CompletableFuture<SendResult<String, Object>>();
+                            sends.add(new Send(invocation.getArgument(1), ack));
+                            return ack;
+                        });
+        journal = new TickJournal(directory, SEGMENT_SIZE, 4 * SEGMENT_SIZE);
+        relay =
+                new TickJournalRelay(
+                        journal, kafkaTemplate, new TickMessageParser(), 16, 1, registry);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        sends.forEach(send -> send.ack().complete(null));
+        relay.stop();
+        journal.close();
+    }
+
+    private static byte[] tick(String symbol, int sequence) {
+        return """
+                {"type":"TICK","symbol":"%s","price":"100.5","timestamp":"2026-01-01T00:00:00Z",\
+                "sequence":%d}"""
+                .formatted(symbol, sequence)
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private List<Send> takeSends(int count) throws InterruptedException {
+        var taken = new ArrayList<Send>();
+        for (var i = 0; i < count; i++) {
+            var send = sends.poll(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            assertThat(send).as("send %d of %d", i + 1, count).isNotNull();
+            taken.add(send);
+        }
+        return taken;
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        var deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    @Test
+    void shouldCommitOnlyPastTicksWhoseEarlierTicksAreAllAcked() throws InterruptedException {
+        // given
+        journal.append(tick("AAPL", 1));
+        journal.append(tick("MSFT", 1));
+        var end = journal.append(tick("AAPL", 2));
+        relay.start();
+        var sent = takeSends(3);
+
+        // when the later two are acked first
+        sent.get(1).ack().complete(null);
+        sent.get(2).ack().complete(null);
+        Thread.sleep(50);
+
+        // then
+        assertThat(journal.committedPosition()).isZero();
+
+        // when the first one is acked
+        sent.get(0).ack().complete(null);
+
+        // then
+        awaitUntil(() -> journal.committedPosition() == end);
+        assertThat(registry.counter("ingestor.journal.published").count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void shouldResendFromTheAckedPositionAfterAFailedSend() throws InterruptedException {
+        // given
+        journal.append(tick("AAPL", 1));
+        journal.append(tick("MSFT", 1));
+        var end = journal.append(tick("AAPL", 2));
+        relay.start();
+        var sent = takeSends(3);
+
+        // when
+        sent.get(0).ack().complete(null);
+        sent.get(1).ack().completeExceptionally(new IllegalStateException("broker down"));
+        sent.get(2).ack().complete(null);
+
+        // then everything after the last acked tick is sent again, in order
+        var resent = takeSends(2);
+        assertThat(resent).extracting(Send::symbol).containsExactly("MSFT", "AAPL");
+        assertThat(registry.counter("ingestor.journal.failed").count()).isEqualTo(1.0);
+
+        resent.forEach(send -> send.ack().complete(null));
+        awaitUntil(() -> journal.committedPosition() == end);
+    }
+
+    @Test
+    void shouldSkipRecordsThatAreNotTicks() throws InterruptedException {
+        // given
+        journal.append("{\"type\":\"HEARTBEAT\"}".getBytes(StandardCharsets.UTF_8));
+        journal.append("{\"type\":\"TICK\",\"price\":\"1.0\"}".getBytes(StandardCharsets.UTF_8));
+        var end = journal.append(tick("AAPL", 1));
+        relay.start();
+
+        // when
+        takeSends(1).getFirst().ack().complete(null);
+
+        // then
+        awaitUntil(() -> journal.committedPosition() == end);
+        assertThat(registry.counter("ingestor.journal.skipped").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void shouldWaitForTicksInFlightWhenStopped() throws InterruptedException {
+        // given
+        journal.append(tick("AAPL", 1));
+        journal.append(tick("AAPL", 2));
+        relay.start();
+        var sent = takeSends(2);
+        sent.get(0).ack().complete(null);
+
+        // when
+        var stopping = Thread.ofPlatform().start(this::stopQuietly);
+        Thread.sleep(50);
+
+        // then
+        assertThat(stopping.isAlive()).isTrue();
+
+        // when
+        sent.get(1).ack().complete(null);
+        stopping.join(TIMEOUT_MS);
+
+        // then
+        assertThat(stopping.isAlive()).isFalse();
+        assertThat(journal.committedPosition()).isEqualTo(journal.writePosition());
+    }
+
+    private void stopQuietly() {
+        try {
+            relay.stop();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.pricealert.ingestor.infrastructure.websocket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.pricealert.common.event.MarketTick;
+import com.pricealert.ingestor.application.config.IngestorProperties;
+import com.pricealert.ingestor.application.config.IngestorProperties.FeedConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class FeedMonitorTest {
+
+    private static final long HOUR_MS = 3_600_000;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private FeedMonitor monitor(long staleAfterMs) {
+        var properties =
+                new IngestorProperties(
+                        "ws://localhost:8085/ws",
+                        List.of(),
+                        null,
+                        new FeedConfig(List.of(), staleAfterMs),
+                        null,
+                        null,
+                        null,
+                        null);
+        return new FeedMonitor(properties, registry);
+    }
+
+    private static MarketTick tick(String symbol, long sequence) {
+        return tick(symbol, sequence, Instant.now());
+    }
+
+    private static MarketTick tick(String symbol, long sequence, Instant timestamp) {
+        return new MarketTick(symbol, BigDecimal.ONE, null, null, 0, timestamp, sequence);
+    }
+
+    private double count(String name) {
+        return registry.counter(name).count();
+    }
+
+    @Test
+    void shouldAcceptConsecutiveSequencesPerSymbol() {
+        // given
+        var monitor = monitor(HOUR_MS);
+
+        // when / then
+        assertThat(monitor.accept(tick("AAPL", 1))).isTrue();
+        assertThat(monitor.accept(tick("MSFT", 1))).isTrue();
+        assertThat(monitor.accept(tick("AAPL", 2))).isTrue();
+        assertThat(monitor.accept(tick("MSFT", 2))).isTrue();
+        assertThat(count("ingestor.feed.gaps")).isZero();
+    }
+
+    @Test
+    void shouldCountTheTicksMissingFromAGapAndAcceptTheTick() {
+        // given
+        var monitor = monitor(HOUR_MS);
+        monitor.accept(tick("AAPL", 1));
+
+        // when
+        var accepted = monitor.accept(tick("AAPL", 5));
+
+        // then
+        assertThat(accepted).isTrue();
+        assertThat(count("ingestor.feed.gaps")).isEqualTo(3.0);
+    }
+
+    @Test
+    void shouldRejectDuplicates() {
+        // given
+        var monitor = monitor(HOUR_MS);
+        monitor.accept(tick("AAPL", 1));
+
+        // when
+        var accepted = monitor.accept(tick("AAPL", 1));
+
+        // then
+        assertThat(accepted).isFalse();
+        assertThat(count("ingestor.feed.duplicates")).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldRejectTicksArrivingAfterALaterSequence() {
+        // given
+        var monitor = monitor(HOUR_MS);
+        monitor.accept(tick("AAPL", 1));
+        monitor.accept(tick("AAPL", 3));
+
+        // when
+        var accepted = monitor.accept(tick("AAPL", 2));
+
+        // then
+        assertThat(accepted).isFalse();
+        assertThat(count("ingestor.feed.out.of.order")).isEqualTo(1.0);
+        assertThat(count("ingestor.feed.gaps")).isEqualTo(1.0);
+        assertThat(monitor.accept(tick("AAPL", 4))).isTrue();
+    }
+
+    @Test
+    void shouldRestartSequencesOnReset() {
+        // given
+        var monitor = monitor(HOUR_MS);
+        monitor.accept(tick("AAPL", 7));
+
+        // when
+        monitor.reset();
+
+        // then
+        assertThat(monitor.hasTicks()).isFalse();
+        assertThat(monitor.accept(tick("AAPL", 1))).isTrue();
+        assertThat(count("ingestor.feed.out.of.order")).isZero();
+    }
+
+    @Test
+    void shouldGoStaleWhenNoTickArrivesInASession() throws InterruptedException {
+        // given
+        var monitor = monitor(20);
+
+        // when
+        Thread.sleep(50);
+
+        // then
+        assertThat(monitor.hasTicks()).isFalse();
+        assertThat(monitor.isStale()).isTrue();
+    }
+
+    @Test
+    void shouldGoStaleWhenTheNewestTickGetsOld() throws InterruptedException {
+        // given
+        var monitor = monitor(200);
+        monitor.accept(tick("AAPL", 1));
+        assertThat(monitor.isStale()).isFalse();
+
+        // when
+        Thread.sleep(250);
+
+        // then
+        assertThat(monitor.hasTicks()).isTrue();
+        assertThat(monitor.isStale()).isTrue();
+        monitor.accept(tick("AAPL", 2));
+        assertThat(monitor.isStale()).isFalse();
+    }
+
+    @Test
+    void shouldNotGoStaleWhileTicksAreHeldBackOnOurSide() throws InterruptedException {
+        // given
+        var monitor = monitor(200);
+        monitor.accept(tick("AAPL", 1));
+        Thread.sleep(250);
+
+        // when
+        monitor.heldBack();
+
+        // then
+        assertThat(monitor.isStale()).isFalse();
+        Thread.sleep(250);
+        assertThat(monitor.isStale()).isTrue();
+    }
+
+    @Test
+    void shouldMeasureLagFromTheSessionStartForOldTicks() {
+        // given a fresh session replaying ticks stamped an hour ago
+        var monitor = monitor(60_000);
+
+        // when
+        monitor.accept(tick("AAPL", 1, Instant.now().minusMillis(HOUR_MS)));
+
+        // then
+        assertThat(monitor.isStale()).isFalse();
+        assertThat(monitor.lag().toMillis()).isLessThan(60_000L);
+    }
+}
@@ -0,0 +1,197 @@
+package com.pricealert.ingestor.infrastructure.websocket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.pricealert.common.event.MarketTick;
+import com.pricealert.ingestor.application.config.IngestorProperties;
+import com.pricealert.ingestor.application.config.IngestorProperties.BatchConfig;
+import com.pricealert.ingestor.application.config.IngestorProperties.ConflationConfig;
+import com.pricealert.ingestor.application.config.IngestorProperties.Mode;
+import com.pricealert.ingestor.application.config.IngestorProperties.OverflowPolicy;
+import com.pricealert.ingestor.infrastructure.kafka.TickPublisher;
+import com.pricealert.ingestor.infrastructure.kafka.TickPublisher.FeedTick;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class TickBatcherTest {
+
+    private static final long LONG_LINGER_MS = 60_000;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<FeedTick> published = new CopyOnWriteArrayList<>();
+    private TickBatcher batcher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (batcher != null) {
+            batcher.stop();
+        }
+    }
+
+    private void createBatcher(
+            TickPublisher publisher, int capacity, long lingerMs, OverflowPolicy onFull) {
+        var properties =
+                new IngestorProperties(
+                        "ws://localhost:8085/ws",
+                        List.of(),
+                        null,
+                        null,
+                        Mode.JOURNAL,
+                        null,
+                        new BatchConfig(capacity, 100, lingerMs, onFull),
+                        new ConflationConfig(false));
+        batcher =
+                new TickBatcher(
+                        publisher, new TickConflator(properties, registry), properties, registry);
+    }
+
+    private void offer(int sequence) {
+        var tick = new MarketTick("AAPL", BigDecimal.ONE, null, null, 0, null, sequence);
+        batcher.offer(tick, "{\"sequence\":" + sequence + "}");
+    }
+
+    private List<Long> publishedSequences() {
+        return published.stream().map(tick -> tick.tick().sequence()).toList();
+    }
+
+    private double count(String name) {
+        return registry.counter(name).count();
+    }
+
+    @Test
+    void shouldDropTicksWhenTheBufferIsFullUnderDrop() {
+        // given a batcher whose writer never runs
+        createBatcher(published::addAll, 4, LONG_LINGER_MS, OverflowPolicy.DROP);
+
+        // when
+        for (var i = 1; i <= 6; i++) {
+            offer(i);
+        }
+
+        // then
+        assertThat(count("ingestor.buffer.dropped")).isEqualTo(2.0);
+    }
+
+    @Test
+    void shouldHoldTheCallerWhenTheBufferIsFullUnderBlock() throws InterruptedException {
+        // given a writer stuck in its first write
+        var release = new CountDownLatch(1);
+        var writing = new CountDownLatch(1);
+        createBatcher(
+                ticks -> {
+                    writing.countDown();
+                    await(release);
+                    published.addAll(ticks);
+                },
+                4,
+                1,
+                OverflowPolicy.BLOCK);
+        batcher.start();
+        offer(1);
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        for (var i = 2; i <= 5; i++) {
+            offer(i);
+        }
+
+        // when
+        var caller = Thread.ofPlatform().start(() -> offer(6));
+        caller.join(100);
+
+        // then
+        assertThat(caller.isAlive()).isTrue();
+        assertThat(batcher.isBlocking()).isTrue();
+
+        // when
+        release.countDown();
+        caller.join(5_000);
+        batcher.stop();
+
+        // then
+        assertThat(caller.isAlive()).isFalse();
+        assertThat(batcher.isBlocking()).isFalse();
+        assertThat(publishedSequences()).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+        assertThat(count("ingestor.buffer.dropped")).isZero();
+    }
+
+    @Test
+    void shouldWriteWhatIsBufferedOnStop() throws InterruptedException {
+        // given
+        createBatcher(published::addAll, 64, LONG_LINGER_MS, OverflowPolicy.BLOCK);
+        batcher.start();
+        for (var i = 1; i <= 3; i++) {
+            offer(i);
+        }
+
+        // when
+        batcher.stop();
+
+        // then
+        assertThat(publishedSequences()).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void shouldRetryAFailedWriteUntilItSucceeds() throws InterruptedException {
+        // given a publisher that fails three times, once with an Error
+        var attempts = new AtomicInteger();
+        createBatcher(
+                ticks -> {
+                    switch (attempts.incrementAndGet()) {
+                        case 1, 2 -> throw new IllegalStateException("journal full");
+                        case 3 -> throw new InternalError("fault on mapped file");
+                        default -> published.addAll(ticks);
+                    }
+                },
+                64,
+                1,
+                OverflowPolicy.BLOCK);
+        batcher.start();
+
+        // when
+        offer(1);
+
+        // then
+        var deadline = System.currentTimeMillis() + 5_000;
+        while (published.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(publishedSequences()).containsExactly(1L);
+        assertThat(count("ingestor.batch.retried")).isEqualTo(3.0);
+        assertThat(count("ingestor.batch.failed")).isZero();
+    }
+
+    @Test
+    void shouldDropAndCountABatchStillFailingOnStop() throws InterruptedException {
+        // given
+        createBatcher(
+                ticks -> {
+                    throw new IllegalStateException("database down");
+                },
+                64,
+                1,
+                OverflowPolicy.BLOCK);
+        batcher.start();
+        offer(1);
+        offer(2);
+
+        // when
+        batcher.stop();
+
+        // then
+        assertThat(count("ingestor.batch.failed")).isEqualTo(2.0);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
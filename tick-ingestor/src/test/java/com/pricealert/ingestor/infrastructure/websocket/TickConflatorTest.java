@@ -0,0 +1,146 @@
+package com.pricealert.ingestor.infrastructure.websocket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.pricealert.common.event.MarketTick;
+import com.pricealert.ingestor.application.config.IngestorProperties;
+import com.pricealert.ingestor.application.config.IngestorProperties.ConflationConfig;
+import com.pricealert.ingestor.infrastructure.kafka.TickPublisher.FeedTick;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TickConflatorTest {
+
+    private static final Instant START = Instant.parse("2026-01-01T10:00:00Z");
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private TickConflator conflator(boolean enabled) {
+        var properties =
+                new IngestorProperties(
+                        "ws://localhost:8085/ws",
+                        List.of(),
+                        null,
+                        null,
+                        null,
+                        null,
+                        null,
+                        new ConflationConfig(enabled));
+        return new TickConflator(properties, registry);
+    }
+
+    private static FeedTick tick(String symbol, String price, Instant timestamp, long sequence) {
+        return new FeedTick(
+                new MarketTick(symbol, new BigDecimal(price), null, null, 0, timestamp, sequence),
+                "{}");
+    }
+
+    /** One symbol's ticks a millisecond apart, numbered from 1. */
+    private static List<FeedTick> path(String symbol, String... prices) {
+        var ticks = new ArrayList<FeedTick>();
+        for (var i = 0; i < prices.length; i++) {
+            ticks.add(tick(symbol, prices[i], START.plusMillis(i), i + 1));
+        }
+        return ticks;
+    }
+
+    private static List<Long> sequences(List<FeedTick> ticks) {
+        return ticks.stream().map(tick -> tick.tick().sequence()).toList();
+    }
+
+    @Test
+    void shouldReturnTheBatchAsIsWhenDisabled() {
+        // given
+        var batch = path("AAPL", "10", "8", "12", "9", "11");
+
+        // when
+        var result = conflator(false).conflate(batch);
+
+        // then
+        assertThat(result).isSameAs(batch);
+    }
+
+    @Test
+    void shouldKeepTheLowHighAndLastTick() {
+        // given
+        var batch = path("AAPL", "10", "8", "12", "9", "11");
+
+        // when
+        var result = conflator(true).conflate(batch);
+
+        // then
+        assertThat(sequences(result)).containsExactly(2L, 3L, 5L);
+        assertThat(registry.counter("ingestor.conflation.forwarded").count()).isEqualTo(3.0);
+        assertThat(registry.counter("ingestor.conflation.dropped").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void shouldKeepTheFirstTickToReachATiedExtreme() {
+        // given
+        var batch = path("AAPL", "10", "8", "8.00", "12", "12", "9");
+
+        // when
+        var result = conflator(true).conflate(batch);
+
+        // then
+        assertThat(sequences(result)).containsExactly(2L, 4L, 6L);
+    }
+
+    @Test
+    void shouldKeepATickOnceWhenItIsSeveralExtremes() {
+        // given a rising path, whose last tick is also its high
+        var batch = path("AAPL", "10", "11", "12");
+
+        // when
+        var result = conflator(true).conflate(batch);
+
+        // then
+        assertThat(sequences(result)).containsExactly(1L, 3L);
+        assertThat(conflator(true).conflate(path("AAPL", "10"))).hasSize(1);
+    }
+
+    @Test
+    void shouldConflateEachSymbolSeparatelyAndKeepTimestampOrder() {
+        // given two symbols interleaved
+        var batch =
+                List.of(
+                        tick("AAPL", "10", START, 1),
+                        tick("MSFT", "50", START.plusMillis(1), 1),
+                        tick("AAPL", "12", START.plusMillis(2), 2),
+                        tick("MSFT", "48", START.plusMillis(3), 2),
+                        tick("AAPL", "11", START.plusMillis(4), 3),
+                        tick("MSFT", "49", START.plusMillis(5), 3),
+                        tick("AAPL", "11.5", START.plusMillis(6), 4));
+
+        // when
+        var result = conflator(true).conflate(batch);
+
+        // then
+        assertThat(result)
+                .extracting(tick -> tick.tick().symbol() + "#" + tick.tick().sequence())
+                .containsExactly("AAPL#1", "MSFT#1", "AAPL#2", "MSFT#2", "MSFT#3", "AAPL#4");
+    }
+
+    @Test
+    void shouldOrderByTimestampThenBatchOrderWithMissingTimestampsLast() {
+        // given
+        var batch =
+                List.of(
+                        tick("AAPL", "10", null, 1),
+                        tick("MSFT", "50", START.plusMillis(5), 1),
+                        tick("IBM", "20", START, 1),
+                        tick("TSLA", "30", START, 1));
+
+        // when
+        var result = conflator(true).conflate(batch);
+
+        // then
+        assertThat(result)
+                .extracting(tick -> tick.tick().symbol())
+                .containsExactly("IBM", "TSLA", "MSFT", "AAPL");
+    }
+}
@@ -0,0 +1,114 @@
+package com.pricealert.ingestor.infrastructure.websocket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.pricealert.common.event.MarketTick;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+class TickMessageParserTest {
+
+    private static final MarketTick EXPECTED =
+            new MarketTick(
+                    "AAPL",
+                    new BigDecimal("150.25"),
+                    new BigDecimal("150.20"),
+                    new BigDecimal("150.30"),
+                    1200,
+                    Instant.parse("2026-01-01T10:00:00Z"),
+                    42);
+
+    private final TickMessageParser parser = new TickMessageParser();
+
+    @Test
+    void shouldReadEveryTickField() {
+        // given
+        var message =
+                """
+                {"type":"TICK","symbol":"AAPL","price":"150.25","bid":"150.20","ask":"150.30",
+                 "volume":1200,"timestamp":"2026-01-01T10:00:00Z","sequence":42}""";
+
+        // when
+        var tick = parser.parse(message);
+
+        // then
+        assertThat(tick).isEqualTo(EXPECTED);
+    }
+
+    @Test
+    void shouldReadFieldsInAnyOrder() {
+        // given type last, numbers unquoted and an unknown nested field in between
+        var message =
+                """
+                {"sequence":42,"timestamp":"2026-01-01T10:00:00Z","volume":1200,"ask":150.30,
+                 "extra":{"venue":["X","Y"]},"bid":150.20,"price":150.25,"symbol":"AAPL",
+                 "type":"TICK"}""";
+
+        // when
+        var tick = parser.parse(message);
+
+        // then
+        assertThat(tick).isEqualTo(EXPECTED);
+    }
+
+    @Test
+    void shouldParseUtf8BytesLikeTheString() {
+        // given
+        var message =
+                """
+                {"type":"TICK","symbol":"AAPL","price":"150.25","bid":"150.20","ask":"150.30",
+                 "volume":1200,"timestamp":"2026-01-01T10:00:00Z","sequence":42}""";
+
+        // when
+        var tick = parser.parse(message.getBytes(StandardCharsets.UTF_8));
+
+        // then
+        assertThat(tick).isEqualTo(EXPECTED);
+    }
+
+    @Test
+    void shouldReturnNullForHeartbeatWithoutReadingThePayload() {
+        // given a heartbeat whose payload after the type is not even valid JSON
+        var message = "{\"type\":\"HEARTBEAT\",\"timestamp\":\"not a time\"";
+
+        // when
+        var tick = parser.parse(message);
+
+        // then
+        assertThat(tick).isNull();
+    }
+
+    @Test
+    void shouldReturnNullForMessagesWithoutType() {
+        assertThat(parser.parse("{\"symbol\":\"AAPL\",\"price\":\"1.0\"}")).isNull();
+        assertThat(parser.parse("[]")).isNull();
+    }
+
+    @Test
+    void shouldLeaveOptionalFieldsAtTheirDefaults() {
+        // when
+        var tick = parser.parse("{\"type\":\"TICK\",\"symbol\":\"AAPL\",\"price\":\"1.5\"}");
+
+        // then
+        assertThat(tick)
+                .isEqualTo(new MarketTick("AAPL", new BigDecimal("1.5"), null, null, 0, null, 0));
+    }
+
+    @Test
+    void shouldRejectTickWithoutSymbol() {
+        assertThatThrownBy(() -> parser.parse("{\"type\":\"TICK\",\"price\":\"1.5\"}"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldRejectTickWithoutPrice() {
+        assertThatThrownBy(() -> parser.parse("{\"type\":\"TICK\",\"symbol\":\"AAPL\"}"))
+                .isInstanceOf(IllegalArgumentException.class);
+        var nullPrice = "{\"type\":\"TICK\",\"symbol\":\"AAPL\",\"price\":null}";
+        assertThatThrownBy(() -> parser.parse(nullPrice))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}